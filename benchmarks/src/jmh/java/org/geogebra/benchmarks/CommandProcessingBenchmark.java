@@ -0,0 +1,48 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing and processing of algebra input through the command dispatcher.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommandProcessingBenchmark extends KernelBenchmark {
+
+	@Param({ "Intersect(Circle((0, 0), 3), Line((-4, -1), (4, 2)))",
+			"Sequence((k, sin(k)), k, 1, 100)",
+			"Mean(Sequence(k^2, k, 1, 500))",
+			"Polygon((0, 0), (4, 0), (4, 3), (1, 5))" })
+	private String command;
+
+	private AlgebraProcessor algebraProcessor;
+
+	/**
+	 * Creates the app.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		algebraProcessor = kernel.getAlgebraProcessor();
+	}
+
+	/**
+	 * @return created elements (consumed by JMH)
+	 */
+	@Benchmark
+	public GeoElementND[] process() {
+		GeoElementND[] result = algebraProcessor.processAlgebraCommand(command,
+				false);
+		kernel.clearConstruction(true);
+		return result;
+	}
+}
@@ -0,0 +1,94 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.CurvePlotterBuffers;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.kernel.geos.GeoCurveCartesian;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Adaptive sampling of functions and parametric curves into a path, as done by
+ * DrawParametricCurve on every repaint.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CurvePlotterBenchmark extends KernelBenchmark {
+
+	private EuclidianView view;
+	private GeoFunction smooth;
+	private GeoFunction oscillating;
+	private GeoCurveCartesian curve;
+	private GeneralPathClippedForCurvePlotter reusedPath;
+	private CurvePlotterBuffers buffers;
+
+	/**
+	 * Creates the curves to be plotted.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		view = app.getActiveEuclidianView();
+		smooth = add("f(x) = x^3 / 10 - x + 1");
+		oscillating = add("g(x) = sin(1 / x) + tan(x)");
+		curve = add("c = Curve(5 cos(7t), 4 sin(5t), t, 0, 2pi)");
+		reusedPath = new GeneralPathClippedForCurvePlotter(view);
+		reusedPath.setReusePoints(true);
+		buffers = new CurvePlotterBuffers();
+	}
+
+	/**
+	 * @return label position (consumed by JMH)
+	 */
+	@Benchmark
+	public GPoint plotSmoothFunction() {
+		return plot(smooth, view.getXmin(), view.getXmax());
+	}
+
+	/**
+	 * @return label position (consumed by JMH)
+	 */
+	@Benchmark
+	public GPoint plotOscillatingFunction() {
+		return plot(oscillating, view.getXmin(), view.getXmax());
+	}
+
+	/**
+	 * @return label position (consumed by JMH)
+	 */
+	@Benchmark
+	public GPoint plotParametricCurve() {
+		return plot(curve, curve.getMinParameter(), curve.getMaxParameter());
+	}
+
+	/**
+	 * Replotting with path and buffers kept between plots, as done by
+	 * DrawParametricCurve.
+	 * 
+	 * @return label position (consumed by JMH)
+	 */
+	@Benchmark
+	public GPoint plotParametricCurveReusingBuffers() {
+		reusedPath.reset();
+		return CurvePlotter.plotCurve(curve, curve.getMinParameter(),
+				curve.getMaxParameter(), view, reusedPath, true, Gap.MOVE_TO,
+				buffers);
+	}
+
+	private GPoint plot(CurveEvaluable toPlot, double min, double max) {
+		GeneralPathClippedForCurvePlotter gp = new GeneralPathClippedForCurvePlotter(
+				view);
+		return CurvePlotter.plotCurve(toPlot, min, max, view, gp, true,
+				Gap.MOVE_TO);
+	}
+}
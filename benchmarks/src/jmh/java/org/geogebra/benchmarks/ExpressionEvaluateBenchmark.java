@@ -0,0 +1,68 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Evaluation of expression trees, both through the generic evaluator and
+ * through the real function path used by the plotter.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExpressionEvaluateBenchmark extends KernelBenchmark {
+
+	private ExpressionNode expression;
+	private GeoFunction function;
+	private double x;
+
+	/**
+	 * Creates a dependent number and a function with nontrivial trees.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		add("a = 1.5");
+		GeoNumeric number = add(
+				"b = sqrt(a^2 + 3) * sin(a / 7) + exp(-a) * ln(a + 4) - abs(a - 2)");
+		expression = number.getDefinition();
+		function = add(
+				"f(x) = sin(x)^2 + a * cos(3x) / (1 + x^2) + exp(-x^2 / 4) * sqrt(abs(x))");
+	}
+
+	/**
+	 * @return evaluated value (consumed by JMH)
+	 */
+	@Benchmark
+	public Object evaluateNode() {
+		return expression.evaluate(StringTemplate.defaultTemplate);
+	}
+
+	/**
+	 * @return evaluated value (consumed by JMH)
+	 */
+	@Benchmark
+	public double evaluateDouble() {
+		return expression.evaluateDouble();
+	}
+
+	/**
+	 * @return function value (consumed by JMH)
+	 */
+	@Benchmark
+	public double functionValue() {
+		x += 0.001;
+		if (x > 10) {
+			x = -10;
+		}
+		return function.value(x);
+	}
+}
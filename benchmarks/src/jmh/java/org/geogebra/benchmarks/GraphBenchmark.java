@@ -0,0 +1,167 @@
+package org.geogebra.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections15.Transformer;
+import org.geogebra.common.kernel.discrete.CsrGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
+import edu.uci.ics.jung.algorithms.shortestpath.MinimumSpanningForest2;
+import edu.uci.ics.jung.graph.DelegateForest;
+import edu.uci.ics.jung.graph.DelegateTree;
+import edu.uci.ics.jung.graph.SparseMultigraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+/**
+ * Shortest path and minimum spanning tree on a grid graph with 10k edges:
+ * JUNG graphs (as previously used by ShortestDistance and
+ * MinimumSpanningTree) against {@link CsrGraph}, built from scratch or
+ * reused with new weights.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GraphBenchmark {
+
+	private static final int COLUMNS = 71;
+	private static final int ROWS = 71;
+	private static final Transformer<Link, Double> WEIGHT =
+			new Transformer<Link, Double>() {
+				@Override
+				public Double transform(Link link) {
+					return link.weight;
+				}
+			};
+
+	private int vertexCount;
+	private int edgeCount;
+	private int[] from;
+	private int[] to;
+	private double[] weights;
+	private CsrGraph cached;
+	private int[] path;
+
+	/** JUNG edge */
+	private static class Link {
+		final double weight;
+
+		Link(double weight) {
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Creates a grid graph with random edge lengths.
+	 */
+	@Setup
+	public void setup() {
+		vertexCount = COLUMNS * ROWS;
+		int capacity = 2 * vertexCount;
+		from = new int[capacity];
+		to = new int[capacity];
+		weights = new double[capacity];
+		Random random = new Random(42);
+		for (int row = 0; row < ROWS; row++) {
+			for (int col = 0; col < COLUMNS; col++) {
+				int v = row * COLUMNS + col;
+				if (col + 1 < COLUMNS) {
+					addEdge(v, v + 1, random);
+				}
+				if (row + 1 < ROWS) {
+					addEdge(v, v + COLUMNS, random);
+				}
+			}
+		}
+		cached = new CsrGraph(vertexCount, from, to, edgeCount);
+		path = new int[vertexCount];
+	}
+
+	private void addEdge(int start, int end, Random random) {
+		from[edgeCount] = start;
+		to[edgeCount] = end;
+		weights[edgeCount++] = 1 + random.nextDouble();
+	}
+
+	private SparseMultigraph<Integer, Link> createJungGraph() {
+		SparseMultigraph<Integer, Link> graph = new SparseMultigraph<>();
+		for (int e = 0; e < edgeCount; e++) {
+			graph.addEdge(new Link(weights[e]), from[e], to[e],
+					EdgeType.UNDIRECTED);
+		}
+		return graph;
+	}
+
+	private CsrGraph createCsrGraph() {
+		CsrGraph graph = new CsrGraph(vertexCount, from, to, edgeCount);
+		setWeights(graph);
+		return graph;
+	}
+
+	private void setWeights(CsrGraph graph) {
+		for (int e = 0; e < edgeCount; e++) {
+			graph.setWeight(e, weights[e]);
+		}
+	}
+
+	/**
+	 * @return path length
+	 */
+	@Benchmark
+	public int shortestPathJung() {
+		List<Link> result = new DijkstraShortestPath<>(createJungGraph(),
+				WEIGHT).getPath(0, vertexCount - 1);
+		return result.size();
+	}
+
+	/**
+	 * @return path length
+	 */
+	@Benchmark
+	public int shortestPathCsr() {
+		return createCsrGraph().shortestPath(0, vertexCount - 1, true, path);
+	}
+
+	/**
+	 * @return path length
+	 */
+	@Benchmark
+	public int shortestPathCsrCached() {
+		setWeights(cached);
+		return cached.shortestPath(0, vertexCount - 1, true, path);
+	}
+
+	/**
+	 * @return number of tree edges
+	 */
+	@Benchmark
+	public int spanningTreeJung() {
+		MinimumSpanningForest2<Integer, Link> prim =
+				new MinimumSpanningForest2<>(createJungGraph(),
+						new DelegateForest<Integer, Link>(),
+						DelegateTree.<Integer, Link> getFactory(), WEIGHT);
+		return prim.getForest().getEdgeCount();
+	}
+
+	/**
+	 * @return number of tree edges
+	 */
+	@Benchmark
+	public int spanningTreeCsr() {
+		return createCsrGraph().minimumSpanningForest(path);
+	}
+
+	/**
+	 * @return number of tree edges
+	 */
+	@Benchmark
+	public int spanningTreeCsrCached() {
+		setWeights(cached);
+		return cached.minimumSpanningForest(path);
+	}
+}
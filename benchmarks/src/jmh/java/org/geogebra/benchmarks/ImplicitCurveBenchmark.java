@@ -0,0 +1,50 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Quadtree marching of implicit curves.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImplicitCurveBenchmark extends KernelBenchmark {
+
+	private GeoImplicitCurve polynomial;
+	private GeoImplicitCurve transcendental;
+
+	/**
+	 * Creates a high degree polynomial and a non-polynomial implicit curve.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		polynomial = add(
+				"eq1: x^6 + y^6 - 3x^4 y + 2x^2 y^3 - 5x y^2 + x^3 = 4");
+		transcendental = add("eq2: sin(x y) + cos(x + y^2) = 0.5");
+	}
+
+	/**
+	 * @return number of locus points (consumed by JMH)
+	 */
+	@Benchmark
+	public int polynomialPath() {
+		polynomial.updatePath();
+		return polynomial.getLocus().getPointLength();
+	}
+
+	/**
+	 * @return number of locus points (consumed by JMH)
+	 */
+	@Benchmark
+	public int transcendentalPath() {
+		transcendental.updatePath();
+		return transcendental.getLocus().getPointLength();
+	}
+}
@@ -0,0 +1,38 @@
+package org.geogebra.benchmarks;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Common setup for benchmarks running on a headless app.
+ */
+public abstract class KernelBenchmark {
+
+	/** headless app */
+	protected AppCommon app;
+	/** kernel */
+	protected Kernel kernel;
+
+	/**
+	 * Creates a fresh headless app; call from the benchmark's setup method.
+	 */
+	protected void createApp() {
+		app = AppCommonFactory.create();
+		kernel = app.getKernel();
+	}
+
+	/**
+	 * @param command
+	 *            algebra input
+	 * @return first created element
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T extends GeoElement> T add(String command) {
+		GeoElementND[] geos = kernel.getAlgebraProcessor()
+				.processAlgebraCommand(command, false);
+		return geos == null || geos.length == 0 ? null : (T) geos[0];
+	}
+}
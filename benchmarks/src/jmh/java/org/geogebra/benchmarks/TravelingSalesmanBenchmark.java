@@ -0,0 +1,62 @@
+package org.geogebra.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.discrete.tsp.impl.TourOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Tour through 5000 random cities: from scratch and after moving one city,
+ * as when a point of a TravelingSalesman command is dragged.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TravelingSalesmanBenchmark {
+
+	private static final int CITIES = 5000;
+
+	private double[] xs;
+	private double[] ys;
+	private TourOptimizer warm;
+	private Random random;
+
+	/**
+	 * Creates random cities and an optimized tour through them.
+	 */
+	@Setup
+	public void setup() {
+		random = new Random(42);
+		xs = new double[CITIES];
+		ys = new double[CITIES];
+		for (int i = 0; i < CITIES; i++) {
+			xs[i] = random.nextDouble() * 100;
+			ys[i] = random.nextDouble() * 100;
+		}
+		warm = new TourOptimizer(Long.MAX_VALUE / 2);
+		warm.optimise(xs, ys, CITIES);
+	}
+
+	/**
+	 * @return tour length
+	 */
+	@Benchmark
+	public double solve() {
+		return new TourOptimizer(Long.MAX_VALUE / 2).optimise(xs, ys, CITIES);
+	}
+
+	/**
+	 * @return tour length
+	 */
+	@Benchmark
+	public double moveCity() {
+		int i = random.nextInt(CITIES);
+		xs[i] += random.nextDouble() - 0.5;
+		ys[i] += random.nextDouble() - 0.5;
+		return warm.optimise(xs, ys, CITIES);
+	}
+}
@@ -0,0 +1,66 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Update of a slider / free point with a large dependent cone, as happens on
+ * every drag event.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UpdateCascadeBenchmark extends KernelBenchmark {
+
+	@Param({ "100", "1000" })
+	private int size;
+
+	private GeoNumeric slider;
+	private GeoPoint freePoint;
+	private double value;
+
+	/**
+	 * Builds a slider with a chain and a fan of dependent objects.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		slider = add("a = Slider(0, 10)");
+		freePoint = add("A = (1, 1)");
+		for (int i = 0; i < size; i++) {
+			add("n_{" + i + "} = a * " + i + " + sin(a)");
+			add("P_{" + i + "} = A + (n_{" + i + "}, a)");
+		}
+		add("c = Circle(A, a)");
+		add("Q = Point(c)");
+	}
+
+	/**
+	 * @return slider value (consumed by JMH)
+	 */
+	@Benchmark
+	public double sliderCascade() {
+		value += 0.01;
+		slider.setValue(value % 10);
+		slider.updateCascade();
+		return slider.getValue();
+	}
+
+	/**
+	 * @return x-coord of the point (consumed by JMH)
+	 */
+	@Benchmark
+	public double freePointCascade() {
+		value += 0.01;
+		freePoint.setCoords(value % 10, 1, 1);
+		freePoint.updateCascade(true);
+		return freePoint.getInhomX();
+	}
+}
@@ -0,0 +1,60 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.io.MyXMLio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Construction XML serialization and loading.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class XmlIoBenchmark extends KernelBenchmark {
+
+	@Param({ "200", "2000" })
+	private int size;
+
+	private MyXMLio xmlio;
+	private String xml;
+
+	/**
+	 * Builds a construction with mixed object types and stores its XML.
+	 */
+	@Setup
+	public void setup() {
+		createApp();
+		add("a = Slider(0, 10)");
+		for (int i = 0; i < size; i++) {
+			add("A_{" + i + "} = (" + i + ", a)");
+			add("s_{" + i + "} = Segment(A_{" + i + "}, (0, " + i + "))");
+			add("t_{" + i + "} = \"value \" + (a + " + i + ")");
+		}
+		xmlio = app.getXMLio();
+		xml = xmlio.getFullXML();
+	}
+
+	/**
+	 * @return XML (consumed by JMH)
+	 */
+	@Benchmark
+	public String save() {
+		return xmlio.getFullXML();
+	}
+
+	/**
+	 * @return number of loaded objects (consumed by JMH)
+	 * @throws Exception
+	 *             when XML is invalid
+	 */
+	@Benchmark
+	public int load() throws Exception {
+		xmlio.processXMLString(xml, true, false);
+		return kernel.getConstruction().steps();
+	}
+}
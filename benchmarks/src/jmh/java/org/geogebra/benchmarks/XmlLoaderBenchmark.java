@@ -0,0 +1,195 @@
+package org.geogebra.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.io.QDParser;
+import org.geogebra.common.util.Charsets;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Loading .ggb files: XML parsing alone and the full loader. The megabytes
+ * and elements counters are reported per second, allocations per element
+ * are printed at the end of each trial (and can be derived from
+ * gc.alloc.rate.norm).
+ *
+ * Other files can be measured with -p source=/path/to/file.ggb.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class XmlLoaderBenchmark extends KernelBenchmark {
+
+	/** "generated" or path of a .ggb file relative to the benchmarks project */
+	@Param({ "generated",
+			"../test/scripts/benchmark/art-plotter/tests/circle-limacon.ggb" })
+	private String source;
+
+	private MyXMLio xmlio;
+	private String xml;
+	private double megabytes;
+	private int elements;
+	private final QDParser parser = new QDParser();
+	private final ElementCounter counter = new ElementCounter();
+
+	/**
+	 * Counters reported as rates by JMH.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Throughput {
+		/** megabytes of XML */
+		public double megabytes;
+		/** XML elements (tags) */
+		public long elements;
+	}
+
+	/**
+	 * Reads the XML of the file or builds a construction with mixed object
+	 * types.
+	 *
+	 * @throws Exception
+	 *             if the file can't be read
+	 */
+	@Setup
+	public void setup() throws Exception {
+		createApp();
+		xmlio = app.getXMLio();
+		if ("generated".equals(source)) {
+			add("a = Slider(0, 10)");
+			for (int i = 0; i < 2000; i++) {
+				add("A_{" + i + "} = (" + i + ", a)");
+				add("s_{" + i + "} = Segment(A_{" + i + "}, (0, " + i + "))");
+				add("t_{" + i + "} = \"value \" + (a + " + i + ")");
+			}
+			xml = xmlio.getFullXML();
+		} else {
+			xml = readXML(source);
+		}
+		megabytes = xml.getBytes(Charsets.getUtf8()).length / 1E6;
+		elements = parse(new Throughput());
+	}
+
+	private static String readXML(String fileName) throws Exception {
+		ZipFile zip = new ZipFile(fileName);
+		try {
+			ZipEntry entry = zip.getEntry(MyXMLio.XML_FILE);
+			InputStream is = zip.getInputStream(entry);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) > 0) {
+				bytes.write(buffer, 0, read);
+			}
+			return new String(bytes.toByteArray(), Charsets.getUtf8());
+		} finally {
+			zip.close();
+		}
+	}
+
+	/**
+	 * @param throughput
+	 *            counters
+	 * @return number of elements (consumed by JMH)
+	 * @throws Exception
+	 *             when XML is invalid
+	 */
+	@Benchmark
+	public int parse(Throughput throughput) throws Exception {
+		counter.count = 0;
+		parser.parse(counter, new StringReader(xml));
+		throughput.megabytes += megabytes;
+		throughput.elements += counter.count;
+		return counter.count;
+	}
+
+	/**
+	 * @param throughput
+	 *            counters
+	 * @return number of loaded objects (consumed by JMH)
+	 * @throws Exception
+	 *             when XML is invalid
+	 */
+	@Benchmark
+	public int load(Throughput throughput) throws Exception {
+		xmlio.processXMLString(xml, true, false);
+		throughput.megabytes += megabytes;
+		throughput.elements += elements;
+		return kernel.getConstruction().steps();
+	}
+
+	/**
+	 * Prints bytes allocated per element by parsing and loading (HotSpot
+	 * only).
+	 *
+	 * @throws Exception
+	 *             when XML is invalid
+	 */
+	@TearDown
+	public void reportAllocations() throws Exception {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)
+				|| elements == 0) {
+			return;
+		}
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean) bean;
+		long thread = Thread.currentThread().getId();
+		long start = threads.getThreadAllocatedBytes(thread);
+		parse(new Throughput());
+		long parsed = threads.getThreadAllocatedBytes(thread);
+		load(new Throughput());
+		long loaded = threads.getThreadAllocatedBytes(thread);
+		System.out.println(String.format(Locale.ROOT,
+				"%s: %d elements, %.3f MB, allocated per element:"
+						+ " parse %d B, load %d B",
+				source, elements, megabytes, (parsed - start) / elements,
+				(loaded - parsed) / elements));
+	}
+
+	private static class ElementCounter implements DocHandler {
+		int count;
+
+		@Override
+		public void startElement(String tag,
+				LinkedHashMap<String, String> h) {
+			count++;
+		}
+
+		@Override
+		public void endElement(String tag) {
+			// only start tags are counted
+		}
+
+		@Override
+		public void startDocument() {
+			// nothing to do
+		}
+
+		@Override
+		public void endDocument() {
+			// nothing to do
+		}
+
+		@Override
+		public void text(String str) {
+			// nothing to do
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.ParallelAlgoComputer;
+
+/**
+ * Computes independent algorithms on a fork/join pool shared by all kernels.
+ */
+public class ParallelAlgoComputerJre implements ParallelAlgoComputer {
+
+	/** number of algos computed in one task without further splitting */
+	private static final int TASK_SIZE = 4;
+
+	private static volatile ForkJoinPool pool;
+
+	@Override
+	public void computeAll(AlgoElement[] algos, int size) {
+		getPool().invoke(new ComputeTask(algos, 0, size));
+	}
+
+	/**
+	 * @return pool shared by all kernels
+	 */
+	static ForkJoinPool getPool() {
+		if (pool == null) {
+			synchronized (ParallelAlgoComputerJre.class) {
+				if (pool == null) {
+					pool = new ForkJoinPool();
+				}
+			}
+		}
+		return pool;
+	}
+
+	private static class ComputeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final AlgoElement[] algos;
+		private final int from;
+		private final int to;
+
+		ComputeTask(AlgoElement[] algos, int from, int to) {
+			this.algos = algos;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= TASK_SIZE) {
+				for (int i = from; i < to; i++) {
+					algos[i].compute();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new ComputeTask(algos, from, mid),
+					new ComputeTask(algos, mid, to));
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.util.ParallelTaskRunner;
+
+/**
+ * Runs tasks on the fork/join pool used for parallel algo updates.
+ */
+public class ParallelTaskRunnerJre implements ParallelTaskRunner {
+
+	@Override
+	public void runAll(Runnable[] tasks, int size) {
+		if (size == 1) {
+			tasks[0].run();
+			return;
+		}
+		ParallelAlgoComputerJre.getPool().invoke(new RunTask(tasks, 0, size));
+	}
+
+	private static class RunTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Runnable[] tasks;
+		private final int from;
+		private final int to;
+
+		RunTask(Runnable[] tasks, int from, int to) {
+			this.tasks = tasks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				for (int i = from; i < to; i++) {
+					tasks[i].run();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RunTask(tasks, from, mid),
+					new RunTask(tasks, mid, to));
+		}
+	}
+}
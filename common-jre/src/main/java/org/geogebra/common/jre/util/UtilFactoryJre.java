@@ -1,6 +1,10 @@
 package org.geogebra.common.jre.util;
 
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.jre.kernel.ParallelAlgoComputerJre;
+import org.geogebra.common.jre.kernel.ParallelTaskRunnerJre;
+import org.geogebra.common.kernel.algos.ParallelAlgoComputer;
+import org.geogebra.common.util.ParallelTaskRunner;
 import org.geogebra.common.util.Reflection;
 
 public abstract class UtilFactoryJre extends UtilFactory  {
@@ -9,4 +13,14 @@ public abstract class UtilFactoryJre extends UtilFactory  {
 	public Reflection newReflection(Class clazz) {
 		return new ReflectionJre(clazz);
 	}
+
+	@Override
+	public ParallelAlgoComputer newParallelAlgoComputer() {
+		return new ParallelAlgoComputerJre();
+	}
+
+	@Override
+	public ParallelTaskRunner newParallelTaskRunner() {
+		return new ParallelTaskRunnerJre();
+	}
 }
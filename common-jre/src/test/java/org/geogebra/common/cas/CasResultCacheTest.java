@@ -0,0 +1,97 @@
+package org.geogebra.common.cas;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CasResultCacheTest {
+
+	@Test
+	public void whitespaceIsIgnored() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Factor( x^2 - 1 )", "(x-1)*(x+1)");
+		assertThat(cache.get("Factor(x^2-1)"), is("(x-1)*(x+1)"));
+		assertThat(cache.get("Factor(x^2 -1)"), nullValue());
+		assertThat(cache.get("{1 -2}"), nullValue());
+		cache.put("{1-2}", "{-1}");
+		assertThat(cache.get("{1 -2}"), nullValue());
+	}
+
+	@Test
+	public void stringLiteralsAreKept() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Text(\"a  b\")", "a  b");
+		assertThat(cache.get("Text(\"a b\")"), nullValue());
+		assertThat(cache.get("Text( \"a  b\" )"), is("a  b"));
+	}
+
+	@Test
+	public void variableNamesAreKept() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("expand((ggbtmpvara+ggbtmpvarb)^2)",
+				"ggbtmpvara^2+2*ggbtmpvara*ggbtmpvarb+ggbtmpvarb^2");
+		assertThat(cache.get("expand((ggbtmpvarp + ggbtmpvarq)^2)"),
+				nullValue());
+		// ggbtmpvarX is a 3D line for Intersect[Plane, Cas3dLine]
+		cache.put("Intersect(ggbtmpvarp,ggbtmpvarX=(1,2,3))", "(1,2,3)");
+		assertThat(cache.get("Intersect(ggbtmpvarp,ggbtmpvarY=(1,2,3))"),
+				nullValue());
+		assertThat(cache.get("Intersect(ggbtmpvarp, ggbtmpvarX = (1,2,3))"),
+				is("(1,2,3)"));
+	}
+
+	@Test
+	public void entriesAreRemovedByPrefix() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("1+1", "2");
+		cache.put(CasResultCache.COEFFICIENTS + "x^2,x", "0,0,1");
+		long bytes = cache.getSizeInBytes();
+		cache.removeAll(CasResultCache.COEFFICIENTS);
+		assertThat(cache.get(CasResultCache.COEFFICIENTS + "x^2,x"),
+				nullValue());
+		assertThat(cache.get("1+1"), is("2"));
+		assertThat(cache.getSizeInBytes() < bytes, is(true));
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() {
+		CasResultCache cache = new CasResultCache(500);
+		cache.put("1+1", "2");
+		cache.put("2+2", "4");
+		cache.get("1+1");
+		for (int i = 0; i < 3; i++) {
+			cache.put(i + "*3", String.valueOf(3 * i));
+		}
+		assertThat(cache.get("1+1"), is("2"));
+		assertThat(cache.get("2+2"), nullValue());
+		assertThat(cache.getSizeInBytes() <= 500, is(true));
+		assertThat(cache.getEvictionCount() > 0, is(true));
+	}
+
+	@Test
+	public void statisticsAreCounted() {
+		CasResultCache cache = new CasResultCache();
+		assertThat(cache.get("1+1"), nullValue());
+		cache.put("1+1", "2", 4);
+		cache.get("1+1");
+		cache.get("1 + 1");
+		assertThat(cache.getHitCount(), is(2));
+		assertThat(cache.getMissCount(), is(1));
+		assertThat(cache.getAverageComputeTime(), is(4.0));
+	}
+
+	@Test
+	public void snapshotRestoresEntries() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Text(\"a\\tb\")", "line\nbreak\\");
+		cache.put("ggbtmpvarx+1", "ggbtmpvarx+1");
+		CasResultCache copy = new CasResultCache();
+		assertThat(copy.loadSnapshot(cache.getSnapshot()), is(2));
+		assertThat(copy.get("Text(\"a\\tb\")"), is("line\nbreak\\"));
+		assertThat(copy.get("ggbtmpvarx+1"), is("ggbtmpvarx+1"));
+		assertThat(copy.getSizeInBytes(), is(cache.getSizeInBytes()));
+		assertThat(copy.loadSnapshot("# other format\n1+1\t2"), is(0));
+	}
+}
@@ -0,0 +1,62 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.awt.GFont;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.factories.AwtFactoryCommon;
+import org.geogebra.common.jre.headless.LocalizationCommon;
+import org.geogebra.common.main.AppCommon3D;
+import org.geogebra.common.main.DrawEquationCommon;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.himamis.retex.renderer.share.TeXIcon;
+import com.himamis.retex.renderer.share.platform.graphics.Color;
+import com.himamis.retex.renderer.share.platform.graphics.stubs.ColorStub;
+
+public class DrawEquationTest {
+	private AppCommon3D app;
+	private DrawEquation drawEquation;
+	private GFont font;
+
+	/**
+	 * Creates app and font for the icons
+	 */
+	@Before
+	public void setupApp() {
+		app = new AppCommon3D(new LocalizationCommon(3),
+				new AwtFactoryCommon());
+		drawEquation = new DrawEquationCommon();
+		font = AwtFactory.getPrototype().newFont("serif", GFont.PLAIN, 12);
+	}
+
+	private TeXIcon createIcon(String text, Color color) {
+		return drawEquation.createIcon(text, color, font,
+				font.getLaTeXStyle(true), null, null, app);
+	}
+
+	@Test
+	public void unchangedFormulaShouldReuseLayout() {
+		Color color = new ColorStub();
+		TeXIcon first = createIcon("\\frac{a}{b}", color);
+		TeXIcon second = createIcon("\\frac{a}{b}", color);
+		assertNotSame(first, second);
+		assertSame(first.getBox(), second.getBox());
+		assertNotSame(first.getBox(), createIcon("\\frac{b}{a}", color)
+				.getBox());
+	}
+
+	@Test
+	public void cachedIconShouldKeepColorOfEachText() {
+		Color red = new ColorStub();
+		Color blue = new ColorStub();
+		TeXIcon redIcon = createIcon("x^2", red);
+		TeXIcon blueIcon = createIcon("x^2", blue);
+		assertSame(redIcon.getBox(), blueIcon.getBox());
+		assertSame(red, redIcon.getForeground());
+		assertSame(blue, blueIcon.getForeground());
+		assertSame(red, createIcon("x^2", red).getForeground());
+	}
+}
@@ -0,0 +1,99 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.factories.AwtFactoryCommon;
+import org.geogebra.common.jre.headless.LocalizationCommon;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.main.AppCommon3D;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HitDetectorTest {
+	private AppCommon3D app;
+	private EuclidianView view;
+
+	/**
+	 * Creates enough points for the drawables to be indexed
+	 */
+	@Before
+	public void setupApp() {
+		app = new AppCommon3D(new LocalizationCommon(3),
+				new AwtFactoryCommon());
+		view = app.getActiveEuclidianView();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				add("P_{" + i + "," + j + "}=(" + (i * 0.5 - 2) + ","
+						+ (j * 0.5 - 2) + ")");
+			}
+		}
+		add("f:y=x+0.25");
+		view.repaintView();
+	}
+
+	private void add(String command) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(command,
+				false);
+	}
+
+	private GeoElement lookup(String label) {
+		return app.getKernel().lookupLabel(label);
+	}
+
+	private Hits hitsAt(double x, double y) {
+		view.setHits(new GPoint(view.toScreenCoordX(x), view.toScreenCoordY(y)),
+				PointerEventType.MOUSE);
+		return view.getHits();
+	}
+
+	@Test
+	public void hitsIndexedDrawables() {
+		Hits hits = hitsAt(1, 1.5);
+		assertTrue(hits.contains(lookup("P_{6,7}")));
+		assertFalse(hits.contains(lookup("P_{7,7}")));
+	}
+
+	@Test
+	public void hitsUnboundedDrawables() {
+		assertTrue(hitsAt(-2.75, -2.5).contains(lookup("f")));
+	}
+
+	@Test
+	public void hitsMovedDrawables() {
+		GeoPoint point = (GeoPoint) lookup("P_{0,0}");
+		hitsAt(7, 3);
+		point.setCoords(7, 3, 1);
+		point.updateRepaint();
+		// as done by next repaint
+		((Drawable) view.getDrawableFor(point)).updateIfNeeded();
+		assertTrue(hitsAt(7, 3).contains(point));
+	}
+
+	@Test
+	public void movedDrawablesLeaveOldCells() {
+		GeoPoint point = (GeoPoint) lookup("P_{0,0}");
+		assertTrue(hitsAt(-2, -2).contains(point));
+		point.setCoords(1.25, 1.5, 1);
+		point.updateRepaint();
+		((Drawable) view.getDrawableFor(point)).updateIfNeeded();
+		assertFalse(hitsAt(-2, -2).contains(point));
+		assertTrue(hitsAt(1.25, 1.5).contains(point));
+		assertTrue(hitsAt(1, 1.5).contains(lookup("P_{6,7}")));
+	}
+
+	@Test
+	public void rectangleHitsIndexedDrawables() {
+		int x = view.toScreenCoordX(1);
+		int y = view.toScreenCoordY(1.5);
+		view.getHitDetector().setHits(
+				AwtFactory.getPrototype().newRectangle(x - 5, y - 5, 10, 10));
+		Hits hits = view.getHits();
+		assertTrue(hits.contains(lookup("P_{6,7}")));
+		assertFalse(hits.contains(lookup("P_{7,7}")));
+	}
+}
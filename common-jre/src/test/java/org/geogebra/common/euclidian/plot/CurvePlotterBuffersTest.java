@@ -0,0 +1,63 @@
+package org.geogebra.common.euclidian.plot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GRectangle2D;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.junit.Test;
+
+public class CurvePlotterBuffersTest extends BaseUnitTest {
+
+	@Test
+	public void replotDoesNotAllocateBuffers() {
+		GeoFunction f = add("f(x) = sin(3x) / x");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		GeneralPathClippedForCurvePlotter gp = new GeneralPathClippedForCurvePlotter(
+				view);
+		gp.setReusePoints(true);
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		plot(f, view, gp, buffers);
+		long firstAllocation = buffers.getAllocatedBytes();
+		int points = buffers.getPointCount();
+		int evaluations = buffers.getEvaluationCount();
+		plot(f, view, gp, buffers);
+		assertThat(buffers.getPointCount(), is(points));
+		assertThat(buffers.getEvaluationCount(), is(evaluations));
+		assertThat(points > 0, is(true));
+		assertThat(buffers.getAllocatedBytes() < firstAllocation / 10,
+				is(true));
+	}
+
+	@Test
+	public void reusedBuffersGiveSamePath() {
+		GeoFunction f = add("f(x) = ln(x) + x^2");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		GeneralPathClippedForCurvePlotter reused = new GeneralPathClippedForCurvePlotter(
+				view);
+		reused.setReusePoints(true);
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		plot(add("g(x) = tan(x)"), view, reused, buffers);
+		plot(f, view, reused, buffers);
+		GeneralPathClippedForCurvePlotter fresh = new GeneralPathClippedForCurvePlotter(
+				view);
+		CurvePlotter.plotCurve(f, view.getXmin(), view.getXmax(), view, fresh,
+				false, Gap.MOVE_TO);
+		GRectangle2D expected = fresh.getBounds2D();
+		GRectangle2D actual = reused.getBounds2D();
+		assertThat(actual.getX(), is(expected.getX()));
+		assertThat(actual.getY(), is(expected.getY()));
+		assertThat(actual.getWidth(), is(expected.getWidth()));
+		assertThat(actual.getHeight(), is(expected.getHeight()));
+	}
+
+	private static void plot(GeoFunction f, EuclidianView view,
+			GeneralPathClippedForCurvePlotter gp, CurvePlotterBuffers buffers) {
+		gp.reset();
+		CurvePlotter.plotCurve(f, view.getXmin(), view.getXmax(), view, gp,
+				true, Gap.MOVE_TO, buffers);
+	}
+}
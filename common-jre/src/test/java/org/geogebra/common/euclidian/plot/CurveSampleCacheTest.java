@@ -0,0 +1,97 @@
+package org.geogebra.common.euclidian.plot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GRectangle2D;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.junit.Test;
+
+public class CurveSampleCacheTest extends BaseUnitTest {
+
+	/** cached paths may reach one segment beyond the view */
+	private static final int MAX_ERROR = CurvePlotter.MAX_PIXEL_DISTANCE + 1;
+
+	@Test
+	public void sameViewIsNotSampledAgain() {
+		GeoFunction f = add("f(x) = sin(3x) / x");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = new CurveSampleCache();
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		plot(f, view, cache, buffers);
+		int points = buffers.getPointCount();
+		plot(f, view, cache, buffers);
+		assertThat(buffers.getEvaluationCount(), is(0));
+		assertThat(buffers.getPointCount(), is(points));
+	}
+
+	@Test
+	public void panSamplesOnlyNewStrip() {
+		GeoFunction f = add("f(x) = sin(3x) / x");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = new CurveSampleCache();
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		plot(f, view, cache, buffers);
+		int fullEvaluations = buffers.getEvaluationCount();
+		view.setCoordSystem(view.getXZero() - 40, view.getYZero(),
+				view.getXscale(), view.getYscale());
+		GeneralPathClippedForCurvePlotter gp = plot(f, view, cache, buffers);
+		assertThat(buffers.getEvaluationCount() < fullEvaluations / 4,
+				is(true));
+		assertSameBounds(gp, fullPlot(f, view));
+	}
+
+	@Test
+	public void zoomKeepsShape() {
+		GeoFunction f = add("f(x) = x^3 - 4x + tan(x / 4)");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = new CurveSampleCache();
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		plot(f, view, cache, buffers);
+		view.setCoordSystem(view.getXZero(), view.getYZero() + 30,
+				view.getXscale() * 3, view.getYscale() * 2);
+		GeneralPathClippedForCurvePlotter gp = plot(f, view, cache, buffers);
+		assertSameBounds(gp, fullPlot(f, view));
+		view.setCoordSystem(view.getXZero() + 100, view.getYZero(),
+				view.getXscale() / 5, view.getYscale() / 5);
+		gp = plot(f, view, cache, buffers);
+		assertSameBounds(gp, fullPlot(f, view));
+	}
+
+	private static GeneralPathClippedForCurvePlotter plot(GeoFunction f,
+			EuclidianView view, CurveSampleCache cache,
+			CurvePlotterBuffers buffers) {
+		GeneralPathClippedForCurvePlotter gp = new GeneralPathClippedForCurvePlotter(
+				view);
+		cache.plot(f, view.getXmin(), view.getXmax(), view, gp, true,
+				buffers);
+		return gp;
+	}
+
+	private static GeneralPathClippedForCurvePlotter fullPlot(GeoFunction f,
+			EuclidianView view) {
+		GeneralPathClippedForCurvePlotter gp = new GeneralPathClippedForCurvePlotter(
+				view);
+		CurvePlotter.plotCurve(f, view.getXmin(), view.getXmax(), view, gp,
+				false, Gap.MOVE_TO);
+		return gp;
+	}
+
+	private static void assertSameBounds(GeneralPathClippedForCurvePlotter gp,
+			GeneralPathClippedForCurvePlotter expectedPath) {
+		GRectangle2D expected = expectedPath.getBounds2D();
+		GRectangle2D actual = gp.getBounds2D();
+		assertClose(actual.getMinX(), expected.getMinX());
+		assertClose(actual.getMaxX(), expected.getMaxX());
+		assertClose(actual.getMinY(), expected.getMinY());
+		assertClose(actual.getMaxY(), expected.getMaxY());
+	}
+
+	private static void assertClose(double actual, double expected) {
+		assertThat(actual + " vs " + expected,
+				Math.abs(actual - expected) < MAX_ERROR, is(true));
+	}
+}
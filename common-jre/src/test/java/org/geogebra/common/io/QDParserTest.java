@@ -0,0 +1,106 @@
+package org.geogebra.common.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.junit.Test;
+
+public class QDParserTest {
+
+	@Test
+	public void attributesAndEntities() throws Exception {
+		assertThat(parse("<?xml version=\"1.0\"?>\n<a x=\"1 &lt; 2\" "
+				+ "y='&#65;&#x42;'><b/>text &amp; more</a>"),
+				is("<a x=1 < 2 y=AB><b></b>[text & more]</a>"));
+	}
+
+	@Test
+	public void commentsAreSkipped() throws Exception {
+		assertThat(parse("<a><!-- <b/> - -- -->x<!---->y</a>"),
+				is("<a>[x][y]</a>"));
+	}
+
+	@Test
+	public void lineBreaksAreNormalized() throws Exception {
+		assertThat(parse("<a s=\"1\r\n2\r3\"/>"), is("<a s=1\n2\n3></a>"));
+	}
+
+	@Test
+	public void inputLongerThanBuffer() throws Exception {
+		StringBuilder xml = new StringBuilder("<list>");
+		StringBuilder expected = new StringBuilder("<list>");
+		for (int i = 0; i < 2000; i++) {
+			xml.append("<element label=\"A_{" + i + "}\" value=\"" + i
+					+ "\"/>\n");
+			expected.append("<element label=A_{" + i + "} value=" + i
+					+ "></element>[\n]");
+		}
+		xml.append("</list>");
+		expected.append("</list>");
+		assertThat(parse(xml.toString()), is(expected.toString()));
+	}
+
+	@Test
+	public void namesAreShared() throws Exception {
+		final ArrayList<String> names = new ArrayList<>();
+		new QDParser().parse(new Recorder(new StringBuilder()) {
+			@Override
+			public void startElement(String tag,
+					LinkedHashMap<String, String> h) {
+				names.add(tag);
+				names.addAll(h.keySet());
+				names.addAll(h.values());
+			}
+		}, new StringReader("<a><b x=\"true\"/><b x=\"true\"/></a>"));
+		assertThat(names.get(1) == names.get(4), is(true));
+		assertThat(names.get(2) == names.get(5), is(true));
+		assertThat(names.get(3) == names.get(6), is(true));
+	}
+
+	private static String parse(String xml) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		new QDParser().parse(new Recorder(sb), new StringReader(xml));
+		return sb.toString();
+	}
+
+	private static class Recorder implements DocHandler {
+		private final StringBuilder sb;
+
+		Recorder(StringBuilder sb) {
+			this.sb = sb;
+		}
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h) {
+			sb.append('<').append(tag);
+			for (String key : h.keySet()) {
+				sb.append(' ').append(key).append('=').append(h.get(key));
+			}
+			sb.append('>');
+		}
+
+		@Override
+		public void endElement(String tag) {
+			sb.append("</").append(tag).append('>');
+		}
+
+		@Override
+		public void startDocument() {
+			// not needed
+		}
+
+		@Override
+		public void endDocument() {
+			// not needed
+		}
+
+		@Override
+		public void text(String str) {
+			sb.append('[').append(str).append(']');
+		}
+	}
+}
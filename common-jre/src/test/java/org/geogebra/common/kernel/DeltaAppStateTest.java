@@ -0,0 +1,125 @@
+package org.geogebra.common.kernel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Test;
+
+public class DeltaAppStateTest extends BaseUnitTest {
+
+	@Test
+	public void unchangedElementsAreShared() {
+		DeltaAppStateStore store = new DeltaAppStateStore(Long.MAX_VALUE);
+		DeltaAppState first = store.createState(
+				xml(point("A", 1), point("B", 2)));
+		long firstBytes = store.getHeldBytes();
+		String xml = xml(point("A", 1), point("B", 3), point("C", 4));
+		DeltaAppState second = store.createState(xml);
+		assertThat(second.getXml(), is(xml));
+		// header, A, B, C and footer
+		assertThat(second.segments.length, is(5));
+		assertThat(second.segments[0] == first.segments[0], is(true));
+		assertThat(second.segments[1] == first.segments[1], is(true));
+		assertThat(second.segments[2] == first.segments[2], is(false));
+		assertThat(second.segments[4] == first.segments[3], is(true));
+		assertThat(store.getHeldBytes() - firstBytes < firstBytes, is(true));
+	}
+
+	@Test
+	public void deletingPreviousStateKeepsAccounting() {
+		DeltaAppStateStore store = new DeltaAppStateStore(Long.MAX_VALUE);
+		DeltaAppState first = store.createState(
+				xml(point("A", 1), point("B", 2)));
+		String xml = xml(point("A", 1), point("B", 3));
+		store.createState(xml);
+		first.delete();
+		assertThat(first.getXml(), nullValue());
+		DeltaAppStateStore fresh = new DeltaAppStateStore(Long.MAX_VALUE);
+		fresh.createState(xml);
+		assertThat(store.getHeldBytes(), is(fresh.getHeldBytes()));
+	}
+
+	@Test
+	public void equalStatesAreDetected() {
+		DeltaAppStateStore store = new DeltaAppStateStore(Long.MAX_VALUE);
+		DeltaAppState first = store.createState(xml(point("A", 1)));
+		DeltaAppState second = store.createState(xml(point("A", 1)));
+		DeltaAppState third = store.createState(xml(point("A", 2)));
+		assertThat(first.equalsTo(second), is(true));
+		assertThat(second.equalsTo(third), is(false));
+		assertThat(third.equalsTo(new StringAppState(xml(point("A", 2)))),
+				is(true));
+	}
+
+	@Test
+	public void undoRedoWithDeltaStorage() {
+		DefaultUndoManager undoManager = initDeltaUndo(Long.MAX_VALUE);
+		add("A = (1, 2)");
+		getApp().storeUndoInfo();
+		add("B = (3, 4)");
+		getApp().storeUndoInfo();
+		add("A = (5, 6)");
+		getApp().storeUndoInfo();
+		undoManager.undo();
+		assertThat(valueOf("A"), is("(1, 2)"));
+		undoManager.undo();
+		assertThat(lookup("B"), nullValue());
+		undoManager.redo();
+		undoManager.redo();
+		assertThat(valueOf("A"), is("(5, 6)"));
+		assertThat(valueOf("B"), is("(3, 4)"));
+		assertThat(undoManager.getUndoMemoryUsage() > 0, is(true));
+	}
+
+	@Test
+	public void memoryBudgetDropsOldestUndoPoints() {
+		DefaultUndoManager undoManager = initDeltaUndo(1);
+		add("A = (1, 2)");
+		getApp().storeUndoInfo();
+		add("B = (3, 4)");
+		getApp().storeUndoInfo();
+		assertThat(undoManager.getHistorySize(), is(0));
+		assertThat(undoManager.undoPossible(), is(false));
+	}
+
+	@Test
+	public void unchangedConstructionShouldNotAddUndoPoint() {
+		UndoManager undoManager = initDeltaUndo(Long.MAX_VALUE);
+		add("A = (1, 2)");
+		getApp().storeUndoInfo();
+		getApp().storeUndoInfo();
+		undoManager.undo();
+		assertThat(lookup("A"), nullValue());
+	}
+
+	private DefaultUndoManager initDeltaUndo(long maxBytes) {
+		getApp().setUndoActive(true);
+		DefaultUndoManager undoManager = (DefaultUndoManager) getConstruction()
+				.getUndoManager();
+		undoManager.setDeltaStorage(maxBytes);
+		undoManager.initUndoInfo();
+		return undoManager;
+	}
+
+	private String valueOf(String label) {
+		return lookup(label).toValueString(StringTemplate.defaultTemplate);
+	}
+
+	private static String xml(String... elements) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<geogebra format=\"5.0\">\n<construction title=\"\">\n");
+		for (String element : elements) {
+			sb.append(element);
+		}
+		sb.append("</construction>\n</geogebra>");
+		return sb.toString();
+	}
+
+	private static String point(String label, int x) {
+		return "<element type=\"point\" label=\"" + label + "\">\n"
+				+ "\t<coords x=\"" + x + "\" y=\"0\" z=\"1\"/>\n"
+				+ "</element>\n";
+	}
+}
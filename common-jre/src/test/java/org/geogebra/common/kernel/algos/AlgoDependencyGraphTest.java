@@ -0,0 +1,90 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ParallelAlgoComputerJre;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class AlgoDependencyGraphTest extends BaseUnitTest {
+
+	@Test
+	public void testLevels() {
+		add("A = (1, 2)");
+		add("B = (3, 4)");
+		GeoElement mid = add("M = Midpoint(A, B)");
+		GeoElement seg = add("s = Segment(A, M)");
+		GeoElement len = add("l = s + 1");
+		assertThat(mid.getParentAlgorithm().getDependencyLevel(), is(1));
+		assertThat(seg.getParentAlgorithm().getDependencyLevel(), is(2));
+		assertThat(len.getParentAlgorithm().getDependencyLevel(), is(3));
+	}
+
+	@Test
+	public void testCascadeFromSeveralGeos() {
+		GeoPoint a = add("A = (1, 2)");
+		GeoPoint b = add("B = (3, 4)");
+		add("M = Midpoint(A, B)");
+		GeoNumeric dist = add("d = Distance(A, M) + x(B)");
+		a.setCoords(0, 0, 1);
+		b.setCoords(4, 0, 1);
+		ArrayList<GeoElement> moved = new ArrayList<>();
+		moved.add(a);
+		moved.add(b);
+		GeoElement.updateCascade(moved, false);
+		assertThat(dist.getValue(), is(6.0));
+	}
+
+	@Test
+	public void testRemoveKeepsOrder() {
+		add("A = (1, 2)");
+		add("B = Midpoint(A, (0, 0))");
+		add("C = Midpoint(B, (0, 0))");
+		lookup("B").remove();
+		assertThat(lookup("C") == null, is(true));
+		GeoElement d = add("D = Midpoint(A, (2, 2))");
+		assertThat(d.getParentAlgorithm().getDependencyLevel(), is(1));
+	}
+
+	@Test
+	public void testHelperAlgoUpdatedAfterInput() {
+		GeoNumeric slider = add("a = 0");
+		add("f(x) = x^2 + a");
+		add("A = (a, a^2 + a)");
+		// curvature vector helper is not in the algorithm list
+		add("c = OsculatingCircle(A, f)");
+		GeoNumeric radius = add("r = Radius(c)");
+		assertThat(Math.abs(radius.getValue() - 0.5) < DELTA, is(true));
+		slider.setValue(1);
+		slider.updateCascade();
+		assertThat(Math.abs(radius.getValue() - Math.pow(5, 1.5) / 2) < DELTA,
+				is(true));
+	}
+
+	@Test
+	public void testParallelUpdate() {
+		getConstruction().getDependencyGraph()
+				.setParallelComputer(new ParallelAlgoComputerJre());
+		GeoNumeric slider = add("a = 1");
+		add("O = (0, 0)");
+		add("s = Segment(O, (10, 0))");
+		for (int i = 0; i < 100; i++) {
+			add("n_{" + i + "} = a * " + i + " + 1");
+			add("P_{" + i + "} = Point(s, n_{" + i + "} / 1000)");
+		}
+		slider.setValue(2);
+		slider.updateCascade();
+		for (int i = 0; i < 100; i++) {
+			assertThat(((GeoNumeric) lookup("n_{" + i + "}")).getValue(),
+					is(2.0 * i + 1));
+		}
+		double x = ((GeoPoint) lookup("P_{99}")).getInhomX();
+		assertThat(Math.abs(x - 1.99) < DELTA * 10, is(true));
+	}
+}
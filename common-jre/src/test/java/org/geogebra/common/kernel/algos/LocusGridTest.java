@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ParallelAlgoComputerJre;
+import org.geogebra.common.jre.kernel.ParallelTaskRunnerJre;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocusGridTest extends BaseUnitTest {
+
+	@Before
+	public void setupTaskRunner() {
+		LocusGrid.setTaskRunner(new ParallelTaskRunnerJre());
+	}
+
+	@After
+	public void resetTaskRunner() {
+		LocusGrid.setTaskRunner(null);
+	}
+
+	@Test
+	public void parallelLocusShouldMatchSequential() {
+		add("s = Segment((-2, 0), (2, 0))");
+		GeoElement mover = add("P = Point(s)");
+		add("Q = (x(P), x(P)^2 - 1)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+		ArrayList<MyPoint> sequential = copyPoints(locus);
+		assertThat(sequential.size() > 1, is(true));
+
+		getConstruction().getDependencyGraph()
+				.setParallelComputer(new ParallelAlgoComputerJre());
+		mover.updateCascade();
+		ArrayList<MyPoint> parallel = copyPoints(locus);
+		assertThat(parallel.size(), is(sequential.size()));
+		for (int i = 0; i < sequential.size(); i++) {
+			assertThat(parallel.get(i).isEqual(sequential.get(i)), is(true));
+			assertThat(parallel.get(i).getLineTo(),
+					is(sequential.get(i).getLineTo()));
+		}
+	}
+
+	@Test
+	public void intersectionShouldNotBeComputedInWorkers() {
+		add("c: x^2 + y^2 = 4");
+		add("l: y = 1");
+		GeoElement mover = add("P = Point(c)");
+		GeoElement dependent = add("Q = (x(P), 2 y(P))");
+		GeoElement intersection = add("A = Intersect(c, l, 1)");
+		TreeSet<ConstructionElement> elements = new TreeSet<>();
+		elements.add(mover.getParentAlgorithm());
+		elements.add(dependent.getParentAlgorithm());
+		assertThat(LocusGrid.isThreadSafe(elements, mover), is(true));
+		elements.add(intersection.getParentAlgorithm());
+		assertThat(LocusGrid.isThreadSafe(elements, mover), is(false));
+	}
+
+	private static ArrayList<MyPoint> copyPoints(GeoLocus locus) {
+		ArrayList<MyPoint> ret = new ArrayList<>();
+		for (MyPoint point : locus.getPoints()) {
+			ret.add(new MyPoint(point.x, point.y, point.getSegmentType()));
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,112 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Test;
+
+public class CompiledFunctionTest extends BaseUnitTest {
+
+	private static final double[] POINTS = { -7.5, -2, -1, -0.5, 0, 0.05, 0.3,
+			1, Math.PI / 2, 3, 10 * Math.PI, 100 };
+
+	@Test
+	public void compiledValuesMatchTree() {
+		add("a = 1.5");
+		String[] definitions = { "x^2 - 3x + 1", "sin(x) / x", "cos(2x) + a x",
+				"tan(x) * exp(-x^2)", "sqrt(abs(x)) + ln(x^2 + 1)",
+				"x^(1/3)", "e^x - 2^x", "sgn(x) cbrt(x)", "atan(x) + asin(x / 200)",
+				"sinh(x / 10) - cosh(x / 10) + tanh(x)", "sin(sin(x)) + x°",
+				"3" };
+		for (String definition : definitions) {
+			Function fun = ((GeoFunction) add("f(x) = " + definition))
+					.getFunction();
+			CompiledFunction compiled = CompiledFunction
+					.compile(fun.getExpression(), fun.getFunctionVariables());
+			assertThat(definition, compiled, notNullValue());
+			for (double x : POINTS) {
+				fun.getFunctionVariables()[0].set(x);
+				double expected = fun.getExpression().evaluateDouble();
+				assertSameValue(definition + " at " + x, compiled.evaluate(x),
+						expected);
+			}
+		}
+	}
+
+	@Test
+	public void compiledFunctionOfTwoVariables() {
+		FunctionNVar fun = ((GeoFunctionNVar) add("g(x, y) = x^2 + sin(x y)"))
+				.getFunction();
+		assertThat(fun.evaluate(2, 0.5), is(4 + Math.sin(1)));
+		assertThat(fun.evaluate(new double[] { 1, 0 }), is(1.0));
+	}
+
+	@Test
+	public void unsupportedExpressionsAreNotCompiled() {
+		Function fun = ((GeoFunction) add("h(x) = If(x > 0, x, -x)"))
+				.getFunction();
+		assertThat(CompiledFunction.compile(fun.getExpression(),
+				fun.getFunctionVariables()), nullValue());
+		assertThat(fun.value(-2), is(2.0));
+	}
+
+	@Test
+	public void valueFollowsSliderAndRedefinition() {
+		GeoNumeric slider = add("a = 2");
+		GeoFunction f = add("f(x) = a x + 1");
+		assertThat(f.value(3), is(7.0));
+		slider.setValue(-1);
+		slider.updateCascade();
+		assertThat(f.value(3), is(-2.0));
+		add("f(x) = x^2");
+		assertThat(((GeoFunction) lookup("f")).value(3), is(9.0));
+	}
+
+	@Test
+	public void valueFollowsTranslation() {
+		GeoFunction f = add("f(x) = x^2");
+		assertThat(f.value(1), is(1.0));
+		f.translate(1, 2);
+		assertThat(f.value(1), is(2.0));
+		f.getFunction().dilateX(2);
+		assertThat(f.value(4), is(3.0));
+	}
+
+	@Test
+	public void valueFollowsInPlaceChanges() {
+		Function fun = ((GeoFunction) add("f(x) = x^2 + 1")).getFunction();
+		ExpressionNode expression = fun.getExpression();
+		assertThat(fun.value(2), is(5.0));
+		expression.setOperation(Operation.MINUS);
+		assertThat(fun.value(2), is(3.0));
+		expression.replace(fun.getFunctionVariable(),
+				new MyDouble(getKernel(), 3));
+		assertThat(fun.value(2), is(8.0));
+	}
+
+	@Test
+	public void valueFollowsReplacedVariables() {
+		Function fun = ((GeoFunction) add("f(x) = x^2 + 1")).getFunction();
+		assertThat(fun.value(2), is(5.0));
+		FunctionVariable other = new FunctionVariable(getKernel(), "t");
+		other.set(5);
+		fun.getExpression().replaceVariables("x", other);
+		assertThat(fun.value(2), is(26.0));
+	}
+
+	private static void assertSameValue(String message, double actual,
+			double expected) {
+		if (Double.isNaN(expected)) {
+			assertThat(message, Double.isNaN(actual), is(true));
+		} else {
+			assertThat(message, actual, is(expected));
+		}
+	}
+}
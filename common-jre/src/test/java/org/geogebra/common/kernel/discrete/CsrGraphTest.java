@@ -0,0 +1,57 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CsrGraphTest {
+
+	// square 0-1-2-3 with diagonal 0-2 and isolated vertex 4
+	private static final int[] FROM = { 0, 1, 2, 3, 0 };
+	private static final int[] TO = { 1, 2, 3, 0, 2 };
+
+	@Test
+	public void shortestPathShouldUseWeights() {
+		CsrGraph graph = new CsrGraph(5, FROM, TO, 5);
+		setWeights(graph, 1, 1, 1, 1, 3);
+		int[] path = new int[5];
+		assertThat(graph.shortestPath(0, 2, true, path), is(2));
+		assertThat(path[0], is(0));
+		assertThat(path[1], is(1));
+		assertThat(graph.shortestPath(0, 2, false, path), is(1));
+		assertThat(path[0], is(4));
+		setWeights(graph, 1, 1, 1, 1, 1.5);
+		assertThat(graph.shortestPath(2, 0, true, path), is(1));
+		assertThat(graph.shortestPath(0, 4, true, path), is(-1));
+		assertThat(graph.shortestPath(3, 3, true, path), is(0));
+	}
+
+	@Test
+	public void spanningForestShouldBeMinimal() {
+		CsrGraph graph = new CsrGraph(5, FROM, TO, 5);
+		setWeights(graph, 4, 1, 2, 3, 1.5);
+		int[] tree = new int[5];
+		assertThat(graph.minimumSpanningForest(tree), is(3));
+		double total = 0;
+		double[] weights = { 4, 1, 2, 3, 1.5 };
+		for (int i = 0; i < 3; i++) {
+			total += weights[tree[i]];
+		}
+		assertThat(total, is(4.5));
+	}
+
+	@Test
+	public void sameEdgesShouldBeRecognized() {
+		CsrGraph graph = new CsrGraph(5, FROM, TO, 5);
+		assertThat(graph.hasEdges(5, FROM, TO, 5), is(true));
+		assertThat(graph.hasEdges(5, TO, FROM, 5), is(false));
+		assertThat(graph.hasEdges(5, FROM, TO, 4), is(false));
+	}
+
+	private static void setWeights(CsrGraph graph, double... weights) {
+		for (int e = 0; e < weights.length; e++) {
+			graph.setWeight(e, weights[e]);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package org.geogebra.common.kernel.discrete.delaunay;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class HalfEdgeTriangulationTest {
+
+	@Test
+	public void randomPointsShouldBeTriangulated() {
+		Random random = new Random(42);
+		int n = 2000;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			xs[i] = random.nextDouble() * 100;
+			ys[i] = random.nextDouble() * 100;
+		}
+		HalfEdgeTriangulation dt = new HalfEdgeTriangulation();
+		dt.setPoints(xs, ys, n);
+		assertDelaunay(dt);
+		// n vertices and the ghost vertex form a triangulated sphere
+		assertThat(dt.getTriangleCount(), is(2 * n - 2));
+	}
+
+	@Test
+	public void gridShouldBeTriangulated() {
+		int n = 20;
+		double[] xs = new double[n * n + 1];
+		double[] ys = new double[n * n + 1];
+		for (int i = 0; i < n * n; i++) {
+			xs[i] = i % n;
+			ys[i] = i / n;
+		}
+		// duplicate
+		xs[n * n] = 3;
+		ys[n * n] = 4;
+		HalfEdgeTriangulation dt = new HalfEdgeTriangulation();
+		dt.setPoints(xs, ys, n * n + 1);
+		assertDelaunay(dt);
+		assertThat(countTriangles(dt), is(2 * (n - 1) * (n - 1)));
+	}
+
+	@Test
+	public void collinearPointsShouldNotBeTriangulated() {
+		HalfEdgeTriangulation dt = new HalfEdgeTriangulation();
+		dt.setPoints(new double[] { 0, 1, 2, 3 }, new double[] { 1, 2, 3, 4 },
+				4);
+		assertThat(dt.isAllCollinear(), is(true));
+		dt.setPoints(new double[] { 0, 1, 2, Double.NaN },
+				new double[] { 1, 2, 3, 0 }, 4);
+		assertThat(dt.isAllCollinear(), is(true));
+		dt.setPoints(new double[] { 0, 1, 2, 0 }, new double[] { 1, 2, 3, 0 },
+				4);
+		assertThat(dt.isAllCollinear(), is(false));
+	}
+
+	@Test
+	public void movedPointShouldGiveSameTriangulation() {
+		Random random = new Random(1);
+		int n = 500;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			xs[i] = random.nextDouble() * 10;
+			ys[i] = random.nextDouble() * 10;
+		}
+		HalfEdgeTriangulation dt = new HalfEdgeTriangulation();
+		dt.setPoints(xs, ys, n);
+		for (int step = 0; step < 200; step++) {
+			int i = random.nextInt(n);
+			xs[i] += random.nextDouble() * 0.4 - 0.2;
+			ys[i] += random.nextDouble() * 0.4 - 0.2;
+			dt.update(xs, ys, n);
+			assertDelaunay(dt);
+			HalfEdgeTriangulation rebuilt = new HalfEdgeTriangulation();
+			rebuilt.setPoints(xs, ys, n);
+			assertThat(edges(dt), is(edges(rebuilt)));
+		}
+	}
+
+	private static int countTriangles(HalfEdgeTriangulation dt) {
+		int count = 0;
+		for (int t = 0; t < dt.getTriangleCount(); t++) {
+			if (!dt.isGhost(t)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static TreeSet<String> edges(HalfEdgeTriangulation dt) {
+		TreeSet<String> edges = new TreeSet<>();
+		for (int e = 0; e < 3 * dt.getTriangleCount(); e++) {
+			int a = dt.getVertex(e);
+			int b = dt.getVertex(HalfEdgeTriangulation.next(e));
+			if (a != HalfEdgeTriangulation.GHOST
+					&& b != HalfEdgeTriangulation.GHOST && a < b) {
+				edges.add(a + "-" + b);
+			}
+		}
+		return edges;
+	}
+
+	private static void assertDelaunay(HalfEdgeTriangulation dt) {
+		double[] center = new double[2];
+		for (int e = 0; e < 3 * dt.getTriangleCount(); e++) {
+			assertThat(dt.getTwin(dt.getTwin(e)), is(e));
+			assertThat(dt.getVertex(dt.getTwin(e)),
+					is(dt.getVertex(HalfEdgeTriangulation.next(e))));
+		}
+		for (int t = 0; t < dt.getTriangleCount(); t++) {
+			if (dt.isGhost(t)) {
+				continue;
+			}
+			int a = dt.getVertex(3 * t);
+			int b = dt.getVertex(3 * t + 1);
+			int c = dt.getVertex(3 * t + 2);
+			double area = (dt.getX(b) - dt.getX(a)) * (dt.getY(c) - dt.getY(a))
+					- (dt.getY(b) - dt.getY(a)) * (dt.getX(c) - dt.getX(a));
+			assertThat(area > 0, is(true));
+			dt.getCircumcenter(t, center);
+			double r = Math.hypot(dt.getX(a) - center[0],
+					dt.getY(a) - center[1]);
+			// opposite vertices of the neighbours are outside of the circle
+			for (int e = 3 * t; e < 3 * t + 3; e++) {
+				int d = dt.getVertex(
+						HalfEdgeTriangulation.prev(dt.getTwin(e)));
+				if (d != HalfEdgeTriangulation.GHOST) {
+					assertThat(Math.hypot(dt.getX(d) - center[0],
+							dt.getY(d) - center[1]) > r - 1E-9, is(true));
+				}
+			}
+		}
+	}
+}
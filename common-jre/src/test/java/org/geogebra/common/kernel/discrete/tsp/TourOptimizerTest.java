@@ -0,0 +1,93 @@
+package org.geogebra.common.kernel.discrete.tsp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Random;
+
+import org.geogebra.common.kernel.discrete.tsp.impl.TourOptimizer;
+import org.junit.Test;
+
+public class TourOptimizerTest {
+
+	@Test
+	public void gridTourShouldBeOptimal() {
+		int n = 10;
+		double[] xs = new double[n * n];
+		double[] ys = new double[n * n];
+		for (int i = 0; i < n * n; i++) {
+			xs[i] = i % n;
+			ys[i] = i / n;
+		}
+		TourOptimizer optimizer = new TourOptimizer(10000);
+		double length = optimizer.optimise(xs, ys, n * n);
+		assertPermutation(optimizer, n * n);
+		assertThat(optimizer.isFinished(), is(true));
+		// optimum is n * n, local search may miss it slightly
+		assertThat(length < n * n * 1.05, is(true));
+	}
+
+	@Test
+	public void randomTourShouldBeShort() {
+		Random random = new Random(42);
+		int n = 2000;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			xs[i] = random.nextDouble();
+			ys[i] = random.nextDouble();
+		}
+		TourOptimizer optimizer = new TourOptimizer(10000);
+		double length = optimizer.optimise(xs, ys, n);
+		assertPermutation(optimizer, n);
+		// optimal tour has length about 0.7124 * sqrt(n)
+		assertThat(length < 0.8 * Math.sqrt(n), is(true));
+		assertThat(Math.abs(length - tourLength(optimizer, xs, ys, n)) < 1E-9,
+				is(true));
+
+		for (int step = 0; step < 50; step++) {
+			int i = random.nextInt(n);
+			xs[i] = random.nextDouble();
+			ys[i] = random.nextDouble();
+			length = optimizer.optimise(xs, ys, n);
+			assertPermutation(optimizer, n);
+			assertThat(Math.abs(length - tourLength(optimizer, xs, ys, n))
+					< 1E-9, is(true));
+		}
+		assertThat(length < 0.8 * Math.sqrt(n), is(true));
+	}
+
+	@Test
+	public void smallToursShouldBeValid() {
+		TourOptimizer optimizer = new TourOptimizer(10000);
+		for (int n = 1; n < 8; n++) {
+			double[] xs = new double[n];
+			double[] ys = new double[n];
+			for (int i = 0; i < n; i++) {
+				xs[i] = Math.cos(i * 3.0);
+				ys[i] = Math.sin(i * 3.0);
+			}
+			optimizer.optimise(xs, ys, n);
+			assertPermutation(optimizer, n);
+		}
+	}
+
+	private static double tourLength(TourOptimizer optimizer, double[] xs,
+			double[] ys, int n) {
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			int a = optimizer.getCity(i);
+			int b = optimizer.getCity((i + 1) % n);
+			sum += Math.hypot(xs[a] - xs[b], ys[a] - ys[b]);
+		}
+		return sum;
+	}
+
+	private static void assertPermutation(TourOptimizer optimizer, int n) {
+		boolean[] seen = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			assertThat(seen[optimizer.getCity(i)], is(false));
+			seen[optimizer.getCity(i)] = true;
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package org.geogebra.common.kernel.geos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.kernel.StringTemplate;
@@ -23,4 +26,40 @@ public class GeoListTest extends BaseUnitTest {
 		assertEquals("\\left(\\begin{array}{rr}a&2\\\\a + 2&4\\\\ \\end{array}\\right)",
 				matrix.toLaTeXString(true, StringTemplate.latexTemplate));
 	}
+
+	@Test
+	public void columnElementsShouldBeCreatedOnDemand() {
+		GeoList list = new GeoList(getConstruction());
+		ListColumns values = new ListColumns(false, 2);
+		values.add(3);
+		values.add(1);
+		values.add(2);
+		list.setColumns(values);
+		assertEquals(3, list.size());
+		assertEquals("{3, 1, 2}",
+				list.toValueString(StringTemplate.editTemplate));
+		GeoElement element = list.get(1);
+		assertSame(element, list.get(1));
+		assertEquals(1, element.evaluateDouble(), 0);
+		list.add(new GeoNumeric(getConstruction(), 4));
+		assertNull(list.getColumns());
+		assertEquals("{3, 1, 2, 4}",
+				list.toValueString(StringTemplate.editTemplate));
+		assertSame(element, list.get(1));
+	}
+
+	@Test
+	public void statisticsShouldUseColumns() {
+		GeoList data = add("data = RandomUniform(2, 2, 1000)");
+		assertNotNull(data.getColumns());
+		assertEquals(2000, add("Sum(data)").evaluateDouble(), 1E-9);
+		assertEquals(2, add("Mean(data)").evaluateDouble(), 1E-9);
+		GeoList sorted = add("Sort(data)");
+		assertNotNull(sorted.getColumns());
+		assertEquals(1000, sorted.size());
+		GeoList points = add("PointList({{1, 2}, {2, 4}, {3, 6}})");
+		assertNotNull(points.getColumns());
+		add("f = FitPoly(points, 1)");
+		assertEquals(10, add("f(5)").evaluateDouble(), 1E-9);
+	}
 }
@@ -0,0 +1,78 @@
+package org.geogebra.common.kernel.implicit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.kernel.MyPoint;
+import org.junit.Test;
+
+public class QuadTreeTileTest extends BaseUnitTest {
+
+	@Test
+	public void pannedPathMatchesFreshPath() {
+		GeoImplicitCurve curve = add("x^4 + y^4 - 3x y = 1");
+		assertThat(curve.getLocus().getPoints().isEmpty(), is(false));
+		EuclidianView view = getApp().getActiveEuclidianView();
+		view.setCoordSystem(view.getXZero() + 37, view.getYZero() - 21,
+				view.getXscale(), view.getYscale());
+		curve.updatePath();
+		GeoImplicitCurve fresh = add("x^4 + y^4 - 3x y = 1");
+		assertSamePoints(curve.getLocus().getPoints(),
+				fresh.getLocus().getPoints());
+	}
+
+	@Test
+	public void qualityChangesResolution() {
+		GeoImplicitCurve curve = add("x^6 + y^6 - 5x^2 y = 1");
+		curve.setPlotQuality(2, 1, 24);
+		int coarse = curve.getLocus().getPoints().size();
+		curve.setPlotQuality(4, 2, 48);
+		int fine = curve.getLocus().getPoints().size();
+		assertThat(fine > coarse, is(true));
+		curve.setPlotQuality(GeoImplicitCurve.PLOT_QUALITY_AUTO, 0, 0);
+		assertThat(curve.getLocus().getPoints().isEmpty(), is(false));
+	}
+
+	@Test
+	public void curveIsFollowedIntoNeighborTile() {
+		// the curve crosses the tile border x = 4 twice, the cell right of
+		// the border has no corner inside the curve
+		GeoImplicitCurve curve = add(
+				"(x - 3.2)^2 + (y - 0.5)^2 + 0.00001 x^4 = 0.81");
+		QuadTree tree = new QuadTree(curve) {
+			@Override
+			public void updatePath() {
+				// only tiles are plotted
+			}
+		};
+		QuadTreeTile left = new QuadTreeTile(tree, curve, 0, 0, 0, 1, 1);
+		QuadTreeTile right = new QuadTreeTile(tree, curve, 0, 1, 0, 1, 1);
+		left.setTargetDepth(3, 2);
+		right.setTargetDepth(3, 2);
+		left.run();
+		right.run();
+		assertThat(right.getSegments().isEmpty(), is(true));
+
+		assertThat(right.revive(QuadTreeTile.LEFT,
+				left.getOutgoing(QuadTreeTile.RIGHT)), is(true));
+		assertThat(right.needsUpdate(), is(true));
+		right.run();
+		assertThat(right.getRevivedSegments().isEmpty(), is(false));
+
+		right.clearRevived();
+		assertThat(right.getRevivedSegments().isEmpty(), is(true));
+	}
+
+	private static void assertSamePoints(ArrayList<MyPoint> actual,
+			ArrayList<MyPoint> expected) {
+		assertThat(actual.size(), is(expected.size()));
+		for (int i = 0; i < actual.size(); i++) {
+			assertThat(actual.get(i).x, is(expected.get(i).x));
+			assertThat(actual.get(i).y, is(expected.get(i).y));
+		}
+	}
+}
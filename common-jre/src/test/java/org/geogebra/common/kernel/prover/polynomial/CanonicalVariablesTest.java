@@ -0,0 +1,44 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CanonicalVariablesTest {
+
+	@Test
+	public void variablesShouldBeRenumberedByFirstOccurrence() {
+		CanonicalVariables first = new CanonicalVariables(
+				"eliminate([v17-v5,v5*v23],[v17,v5])");
+		CanonicalVariables second = new CanonicalVariables(
+				"eliminate([v3-v9,v9*v42],[v3,v9])");
+		assertThat(first.getProgram(), is("eliminate([v1-v2,v2*v3],[v1,v2])"));
+		assertThat(second.getProgram(), is(first.getProgram()));
+	}
+
+	@Test
+	public void resultsShouldRoundTrip() {
+		CanonicalVariables program = new CanonicalVariables(
+				"eliminate([v17-v5,v5*v23],[v17,v5])");
+		String canonical = program.toCanonical("{{v23,v5-1}}");
+		assertThat(canonical, is("{{v3,v2-1}}"));
+		assertThat(program.fromCanonical(canonical), is("{{v23,v5-1}}"));
+	}
+
+	@Test
+	public void unknownVariablesShouldBeRejected() {
+		CanonicalVariables program = new CanonicalVariables("[v7,v8]");
+		assertThat(program.toCanonical("v9+1"), nullValue());
+		assertThat(program.fromCanonical("v3+1"), nullValue());
+		assertThat(program.fromCanonical("v12345678901"), nullValue());
+	}
+
+	@Test
+	public void otherIdentifiersShouldBeKept() {
+		CanonicalVariables program = new CanonicalVariables(
+				"[ev7,v7a,v_7,v,v7]");
+		assertThat(program.getProgram(), is("[ev7,v7a,v_7,v,v1]"));
+	}
+}
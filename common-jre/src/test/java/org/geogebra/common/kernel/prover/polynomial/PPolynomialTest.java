@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Test;
+
+public class PPolynomialTest extends BaseUnitTest {
+
+	@Test
+	public void productShouldBeSortedAndCollected() {
+		PVariable x = new PVariable(getKernel());
+		PVariable y = new PVariable(getKernel());
+		PPolynomial sum = new PPolynomial(x).add(new PPolynomial(y));
+		PPolynomial difference = new PPolynomial(x)
+				.subtract(new PPolynomial(y));
+		PPolynomial product = sum.multiply(difference);
+		assertThat(product, is(PPolynomial.sqr(new PPolynomial(x))
+				.subtract(PPolynomial.sqr(new PPolynomial(y)))));
+		assertThat(product.getTermCount(), is(2));
+		assertThat(sum.multiply(sum).toString(),
+				is(y + "^2+2*" + y + "*" + x + "+" + x + "^2"));
+		assertThat(sum.subtract(sum).isZero(), is(true));
+		assertThat(new PPolynomial(0).isZero(), is(true));
+	}
+
+	@Test
+	public void deniedZeroStatementShouldBeConstant() {
+		PVariable z = new PVariable(getKernel());
+		// Rabinowitsch trick for a statement that always holds
+		PPolynomial denied = new PPolynomial().multiply(new PPolynomial(z))
+				.subtract(new PPolynomial(BigInteger.ONE));
+		assertThat(denied, is(new PPolynomial(-1)));
+		assertThat(denied.toString(), is("-1"));
+	}
+
+	@Test
+	public void largeCoefficientsShouldNotOverflow() {
+		PVariable x = new PVariable(getKernel());
+		PPolynomial p = new PPolynomial(Long.MAX_VALUE)
+				.add(new PPolynomial(x));
+		PPolynomial square = p.multiply(p);
+		BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+		assertThat(square.getConstant() == null, is(true));
+		assertThat(square.getCoefficient(0), is(max.multiply(max)));
+		assertThat(square.getCoefficient(1), is(max.shiftLeft(1)));
+		PPolynomial sum = p.add(new PPolynomial(1));
+		assertThat(sum.getCoefficient(0), is(max.add(BigInteger.ONE)));
+		assertThat(sum.subtract(new PPolynomial(1)), is(p));
+		assertThat(sum.subtract(new PPolynomial(1)).hashCode(),
+				is(p.hashCode()));
+	}
+
+	@Test
+	public void substituteShouldCollectTerms() {
+		PVariable x = new PVariable(getKernel());
+		PVariable y = new PVariable(getKernel());
+		PPolynomial p = new PPolynomial(x).multiply(new PPolynomial(y))
+				.add(new PPolynomial(BigInteger.valueOf(3), x))
+				.add(new PPolynomial(y));
+		HashMap<PVariable, BigInteger> values = new HashMap<>();
+		values.put(y, BigInteger.valueOf(-3));
+		// x*y+3x+y -> -3x+3x-3
+		assertThat(p.substitute(values), is(new PPolynomial(-3)));
+		// x*y+3x+y -> x^2+4x
+		assertThat(p.substitute(y, x).toString(),
+				is("4*" + x + "+" + x + "^2"));
+		assertThat(p.substitute(y, x).isConstant(), is(false));
+	}
+}
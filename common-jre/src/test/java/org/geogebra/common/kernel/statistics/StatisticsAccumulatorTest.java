@@ -0,0 +1,65 @@
+package org.geogebra.common.kernel.statistics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.ListColumns;
+import org.junit.Test;
+
+public class StatisticsAccumulatorTest extends BaseUnitTest {
+
+	@Test
+	public void statisticsOfListShouldBeShared() {
+		GeoList list = add("l = {1, 2, 3, 4}");
+		GeoNumeric mean = add("Mean(l)");
+		StatisticsAccumulator stats = list.getStatistics();
+		GeoNumeric sd = add("SD(l)");
+		GeoNumeric max = add("Max(l)");
+		assertThat(list.getStatistics(), sameInstance(stats));
+		assertEquals(2.5, mean.getValue(), 1E-12);
+		assertEquals(Math.sqrt(1.25), sd.getValue(), 1E-12);
+		assertEquals(4, max.getValue(), 0);
+		add("SetValue(l, 2, 6)");
+		assertEquals(3.5, mean.getValue(), 1E-12);
+		assertEquals(6, max.getValue(), 0);
+	}
+
+	@Test
+	public void varianceShouldNotLoseLargeMean() {
+		GeoNumeric variance = add("Variance({1E9 + 1, 1E9 + 2, 1E9 + 3})");
+		assertEquals(2 / 3.0, variance.getValue(), 1E-9);
+	}
+
+	@Test
+	public void pairsAndPointsShouldGiveSameResults() {
+		GeoNumeric pmcc = add("PMCC({1, 2, 3}, {2, 5, 7})");
+		GeoNumeric pmccPoints = add("PMCC({(1, 2), (2, 5), (3, 7)})");
+		assertEquals(pmcc.getValue(), pmccPoints.getValue(), 1E-12);
+		assertEquals(5 / Math.sqrt(2 * 38 / 3.0),
+				pmcc.getValue(), 1E-8);
+		assertThat(add("Covariance({1, 2}, {3})").isDefined(), is(false));
+	}
+
+	@Test
+	public void appendedColumnsShouldExtendStatistics() {
+		GeoList list = new GeoList(getConstruction());
+		ListColumns columns = new ListColumns(false, 2);
+		columns.add(1);
+		columns.add(2);
+		list.setColumns(columns);
+		StatisticsAccumulator stats = StatisticsAccumulator.getNumbers(list);
+		assertEquals(1.5, stats.getMeanX(), 0);
+		columns.add(6);
+		list.setColumns(columns);
+		assertThat(StatisticsAccumulator.getNumbers(list), sameInstance(stats));
+		assertEquals(3, stats.getMeanX(), 0);
+		assertEquals(14, stats.getSXX(), 1E-12);
+		list.setColumns(new ListColumns(new double[] { 5 }));
+		assertEquals(5, StatisticsAccumulator.getNumbers(list).getMeanX(), 0);
+	}
+}
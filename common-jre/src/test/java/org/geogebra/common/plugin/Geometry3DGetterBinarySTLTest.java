@@ -0,0 +1,81 @@
+package org.geogebra.common.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.geogebra.common.plugin.Geometry3DGetter.GeometryType;
+import org.junit.Test;
+
+public class Geometry3DGetterBinarySTLTest {
+
+	private static void addSquare(Geometry3DGetter getter, double nz) {
+		getter.startGeometry(GeometryType.SURFACE);
+		getter.addVertexNormalColor(0, 0, 0, 0, 0, nz, 1, 0, 0, 1);
+		getter.addVertexNormalColor(1, 0, 0, 0, 0, nz, 1, 0, 0, 1);
+		getter.addVertexNormalColor(1, 1, 0, 0, 0, nz, 1, 0, 0, 1);
+		getter.addVertexNormalColor(0, 1, 0, 0, 0, nz, 1, 0, 0, 1);
+		getter.addTriangle(0, 1, 2);
+		getter.addTriangle(0, 2, 3);
+		// degenerated
+		getter.addTriangle(0, 0, 2);
+	}
+
+	@Test
+	public void writesHeaderAndTriangles() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Geometry3DGetterBinarySTL getter = new Geometry3DGetterBinarySTL(out,
+				2, 10);
+		addSquare(getter, 1);
+		getter.finish();
+
+		assertEquals(2, getter.getTriangleCount());
+		ByteBuffer stl = ByteBuffer.wrap(out.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(Geometry3DGetterBinarySTL.HEADER_LENGTH + 4
+				+ 2 * Geometry3DGetterBinarySTL.TRIANGLE_LENGTH, stl.limit());
+		assertEquals(2,
+				stl.getInt(Geometry3DGetterBinarySTL.TRIANGLE_COUNT_OFFSET));
+
+		// first triangle: normal, then scaled vertices
+		stl.position(Geometry3DGetterBinarySTL.HEADER_LENGTH + 4);
+		assertEquals(0, stl.getFloat(), 0);
+		assertEquals(0, stl.getFloat(), 0);
+		assertEquals(1, stl.getFloat(), 0);
+		stl.position(stl.position() + 3 * 4);
+		assertEquals(10, stl.getFloat(), 0);
+		assertEquals(0, stl.getFloat(), 0);
+		assertEquals(0, stl.getFloat(), 0);
+	}
+
+	@Test
+	public void followsRenderingNormals() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Geometry3DGetterBinarySTL getter = new Geometry3DGetterBinarySTL(out,
+				2, 1);
+		addSquare(getter, -1);
+		getter.finish();
+
+		ByteBuffer stl = ByteBuffer.wrap(out.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+		stl.position(Geometry3DGetterBinarySTL.HEADER_LENGTH + 4 + 2 * 4);
+		assertEquals(-1, stl.getFloat(), 0);
+		// vertices order is reversed: second vertex is (1,1,0)
+		stl.position(stl.position() + 3 * 4);
+		assertEquals(1, stl.getFloat(), 0);
+		assertEquals(1, stl.getFloat(), 0);
+	}
+
+	@Test
+	public void countsWithoutOutput() throws IOException {
+		Geometry3DGetterBinarySTL getter = new Geometry3DGetterBinarySTL(null,
+				0, 1);
+		addSquare(getter, 1);
+		addSquare(getter, 1);
+		getter.finish();
+		assertEquals(4, getter.getTriangleCount());
+	}
+}
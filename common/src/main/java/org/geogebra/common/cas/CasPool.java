@@ -0,0 +1,74 @@
+package org.geogebra.common.cas;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.main.settings.CASSettings;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Additional CAS instances for computations running in worker threads, e.g.
+ * independent subtasks of the prover. Each instance (on desktop: its own Giac
+ * context of the JNI binding) is used by one thread at a time; instances are
+ * created on demand and kept for later computations.
+ *
+ * Only used on platforms with threads.
+ */
+public class CasPool {
+
+	private final Kernel kernel;
+	private final CASparser casParser;
+	private final ArrayList<CASGenericInterface> idle = new ArrayList<>();
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @param casParser
+	 *            parser, shared with the main CAS
+	 */
+	public CasPool(Kernel kernel, CASparser casParser) {
+		this.kernel = kernel;
+		this.casParser = casParser;
+	}
+
+	/**
+	 * Evaluates an expression in Giac syntax in one of the pooled instances.
+	 *
+	 * @param exp
+	 *            expression
+	 * @param timeoutMillis
+	 *            timeout for this expression in milliseconds
+	 * @return result, null on timeout or error
+	 */
+	public String evaluate(String exp, long timeoutMillis) {
+		CASGenericInterface cas = take();
+		try {
+			CASSettings settings = new CASSettings();
+			settings.setTimeoutMilliseconds(timeoutMillis);
+			cas.settingsChanged(settings);
+			return cas.evaluateCAS(exp);
+		} catch (RuntimeException e) {
+			Log.debug("pooled CAS failed: " + e.getMessage());
+			return null;
+		} finally {
+			release(cas);
+		}
+	}
+
+	private CASGenericInterface take() {
+		synchronized (idle) {
+			if (!idle.isEmpty()) {
+				return idle.remove(idle.size() - 1);
+			}
+		}
+		return kernel.getApplication().getCASFactory().newGiac(casParser,
+				kernel);
+	}
+
+	private void release(CASGenericInterface cas) {
+		synchronized (idle) {
+			idle.add(cas);
+		}
+	}
+}
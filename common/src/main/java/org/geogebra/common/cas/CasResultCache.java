@@ -0,0 +1,355 @@
+package org.geogebra.common.cas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.geogebra.common.util.StringUtil;
+
+/**
+ * Cache for CAS results (GeoGebra and raw Giac syntax) and polynomial
+ * coefficients, shared by the kernel and its macro kernels.
+ *
+ * Keys are normalized: whitespace that can't change the meaning of an
+ * expression is removed. Variable names are kept as they are: the translation
+ * to Giac treats some temporary variables specially (e.g. ggbtmpvarX for 3D
+ * lines, ggbtmpvart and ggbtmpvars for Laplace transforms), so inputs that
+ * only differ in names may have different results.
+ *
+ * Least recently used entries are evicted once the estimated memory use
+ * exceeds the limit. The cache counts hits, misses and evictions and the time
+ * spent computing missing results, and can be saved to and loaded from a text
+ * snapshot.
+ */
+public class CasResultCache {
+
+	/** default memory limit in bytes */
+	public static final long DEFAULT_MAX_BYTES = 1 << 20;
+	/** key prefix for coefficients of polynomials */
+	public static final String COEFFICIENTS = "#coeffs:";
+	/** key prefix for eliminations and solvability checks of the prover */
+	public static final String PROVER = "#prover:";
+	/** estimated memory of a map entry and two strings without chars */
+	private static final int ENTRY_OVERHEAD = 100;
+	private static final String SNAPSHOT_HEADER = "# CAS result cache 1";
+	private static final String OPERATORS = "+-*/^=<>";
+	private static final String OPENING = ",;([{";
+	private static final String CLOSING = ",;)]}";
+
+	private final LinkedHashMap<String, String> map = new LinkedHashMap<>(
+			16, 0.75f, true);
+	private final long maxBytes;
+	private long bytes;
+	private int hits;
+	private int misses;
+	private int evictions;
+	private int computations;
+	private double computeTime;
+
+	/**
+	 * Creates cache with default memory limit.
+	 */
+	public CasResultCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * @param maxBytes
+	 *            memory limit in bytes
+	 */
+	public CasResultCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @param exp
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	public synchronized String get(String exp) {
+		String result = map.get(normalize(exp));
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	/**
+	 * @param exp
+	 *            CAS input
+	 * @param result
+	 *            result, null results are not stored
+	 */
+	public synchronized void put(String exp, String result) {
+		if (result == null) {
+			return;
+		}
+		store(normalize(exp), result);
+	}
+
+	/**
+	 * Stores a computed result and records how long the computation took.
+	 *
+	 * @param exp
+	 *            CAS input
+	 * @param result
+	 *            result
+	 * @param millis
+	 *            computation time in milliseconds
+	 */
+	public synchronized void put(String exp, String result, double millis) {
+		computations++;
+		computeTime += millis;
+		put(exp, result);
+	}
+
+	private void store(String key, String result) {
+		String old = map.put(key, result);
+		if (old != null) {
+			bytes -= estimateSize(key, old);
+		}
+		bytes += estimateSize(key, result);
+		Iterator<Entry<String, String>> it = map.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Entry<String, String> eldest = it.next();
+			bytes -= estimateSize(eldest.getKey(), eldest.getValue());
+			it.remove();
+			evictions++;
+		}
+	}
+
+	private static long estimateSize(String key, String value) {
+		return ENTRY_OVERHEAD + 2L * (key.length() + value.length());
+	}
+
+	/**
+	 * Removes all entries, statistics are kept.
+	 */
+	public synchronized void clear() {
+		map.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Removes all entries whose normalized input starts with given prefix,
+	 * statistics are kept.
+	 *
+	 * @param prefix
+	 *            key prefix, e.g. {@link #COEFFICIENTS}
+	 */
+	public synchronized void removeAll(String prefix) {
+		Iterator<Entry<String, String>> it = map.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<String, String> entry = it.next();
+			if (entry.getKey().startsWith(prefix)) {
+				bytes -= estimateSize(entry.getKey(), entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * @return estimated memory used by the entries in bytes
+	 */
+	public synchronized long getSizeInBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public synchronized int getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return number of failed lookups
+	 */
+	public synchronized int getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * @return number of entries evicted because of the memory limit
+	 */
+	public synchronized int getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * @return average time in milliseconds needed to compute a missing
+	 *         result, 0 if no computation was recorded
+	 */
+	public synchronized double getAverageComputeTime() {
+		return computations == 0 ? 0 : computeTime / computations;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CAS cache: " + map.size() + " entries, " + bytes + " bytes, "
+				+ hits + " hits, " + misses + " misses, " + evictions
+				+ " evictions, " + getAverageComputeTime() + " ms per miss";
+	}
+
+	/**
+	 * Serializes the entries, least recently used first.
+	 *
+	 * @return snapshot for {@link #loadSnapshot(String)}
+	 */
+	public synchronized String getSnapshot() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(SNAPSHOT_HEADER);
+		sb.append('\n');
+		for (Entry<String, String> entry : map.entrySet()) {
+			escape(entry.getKey(), sb);
+			sb.append('\t');
+			escape(entry.getValue(), sb);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Adds entries of a snapshot; snapshots of other versions are ignored.
+	 *
+	 * @param snapshot
+	 *            snapshot created by {@link #getSnapshot()}
+	 * @return number of loaded entries
+	 */
+	public synchronized int loadSnapshot(String snapshot) {
+		if (snapshot == null || !snapshot.startsWith(SNAPSHOT_HEADER)) {
+			return 0;
+		}
+		int loaded = 0;
+		int start = snapshot.indexOf('\n');
+		while (start >= 0 && start < snapshot.length()) {
+			int end = snapshot.indexOf('\n', start + 1);
+			if (end < 0) {
+				end = snapshot.length();
+			}
+			int tab = snapshot.indexOf('\t', start + 1);
+			if (tab > start && tab < end) {
+				store(unescape(snapshot, start + 1, tab),
+						unescape(snapshot, tab + 1, end));
+				loaded++;
+			}
+			start = end;
+		}
+		return loaded;
+	}
+
+	private static void escape(String str, StringBuilder sb) {
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+	}
+
+	private static String unescape(String str, int start, int end) {
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int i = start; i < end; i++) {
+			char c = str.charAt(i);
+			if (c == '\\' && i + 1 < end) {
+				i++;
+				switch (str.charAt(i)) {
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				default:
+					sb.append(str.charAt(i));
+				}
+			} else if (c != '\r') {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Removes whitespace next to brackets, separators and binary operators,
+	 * other whitespace is collapsed to a single space. String literals are
+	 * kept.
+	 *
+	 * @param exp
+	 *            CAS input
+	 * @return normalized input
+	 */
+	static String normalize(String exp) {
+		StringBuilder sb = new StringBuilder(exp.length());
+		boolean inString = false;
+		boolean space = false;
+		for (int i = 0; i < exp.length(); i++) {
+			char c = exp.charAt(i);
+			if (inString) {
+				sb.append(c);
+				if (c == '\\' && i + 1 < exp.length()) {
+					sb.append(exp.charAt(++i));
+				} else if (c == '"') {
+					inString = false;
+				}
+				continue;
+			}
+			if (StringUtil.isWhitespace(c)) {
+				space = sb.length() > 0;
+				continue;
+			}
+			if (space && !canDropSpace(sb.charAt(sb.length() - 1), exp, i)) {
+				sb.append(' ');
+			}
+			space = false;
+			inString = c == '"';
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	private static boolean canDropSpace(char prev, String exp, int next) {
+		char c = exp.charAt(next);
+		boolean prevOperator = OPERATORS.indexOf(prev) >= 0;
+		boolean nextOperator = OPERATORS.indexOf(c) >= 0;
+		if (prevOperator && nextOperator) {
+			// e.g. "> =" or "- -1"
+			return false;
+		}
+		if (prevOperator || OPENING.indexOf(prev) >= 0
+				|| CLOSING.indexOf(c) >= 0) {
+			return true;
+		}
+		if (c == '+' || c == '-') {
+			// "1 -2" may be a list of two numbers, "1 - 2" is not
+			return next + 1 < exp.length()
+					&& StringUtil.isWhitespace(exp.charAt(next + 1));
+		}
+		return nextOperator;
+	}
+}
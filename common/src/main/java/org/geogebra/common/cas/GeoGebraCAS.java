@@ -3,7 +3,6 @@ package org.geogebra.common.cas;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -41,7 +40,6 @@ import org.geogebra.common.kernel.kernelND.GeoQuadricND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.MyError.Errors;
 import org.geogebra.common.main.error.ErrorHelper;
-import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.debug.Log;
 
 import com.google.j2objc.annotations.Weak;
@@ -57,11 +55,10 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	private App app;
 	private CASparser casParser;
 	private CASGenericInterface cas;
+	private CasPool casPool;
 
 	private ArrayList<String> varSwaps = new ArrayList<>();
 	// these variables are cached to gain some speed in getPolynomialCoeffs
-	private Map<String, String[]> getPolynomialCoeffsCache = new MaxSizeHashMap<>(
-			Kernel.GEOGEBRA_CAS_CACHE_SIZE);
 	private StringBuilder getPolynomialCoeffsSB = new StringBuilder();
 	private StringBuilder sbPolyCoeffs = new StringBuilder();
 	private int counter = 1;
@@ -116,6 +113,16 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		}
 	}
 
+	/**
+	 * @return additional CAS instances for worker threads
+	 */
+	public synchronized CasPool getCasPool() {
+		if (casPool == null) {
+			casPool = new CasPool(app.getKernel(), casParser);
+		}
+		return casPool;
+	}
+
 	/**
 	 * @return Giac
 	 */
@@ -215,10 +222,14 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		getPolynomialCoeffsSB.append(',');
 		getPolynomialCoeffsSB.append(variable);
 
-		String[] result = getPolynomialCoeffsCache
-				.get(getPolynomialCoeffsSB.toString());
-		if (result != null) {
-			return result.length == 0 ? null : result;
+		// coefficients are cached in the kernel's CAS cache, "" means that the
+		// expression is not a polynomial
+		CasResultCache cache = app.getKernel().getCasCache();
+		String cacheKey = CasResultCache.COEFFICIENTS
+				+ getPolynomialCoeffsSB.toString();
+		String cached = cache.get(cacheKey);
+		if (cached != null) {
+			return cached.isEmpty() ? null : cached.split(",");
 		}
 
 		sbPolyCoeffs.setLength(0);
@@ -241,8 +252,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 
 			// not a polynomial -- cache
 			if ("{}".equals(tmp)) {
-				getPolynomialCoeffsCache.put(getPolynomialCoeffsSB.toString(),
-						new String[0]);
+				cache.put(cacheKey, "");
 				return null;
 			}
 			// invalid output -- don't cache
@@ -260,11 +270,8 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 			tmp = Kernel.removeCASVariablePrefix(tmp);
 
 			tmp = tmp.substring(1, tmp.length() - 1); // strip '{' and '}'
-			result = tmp.split(",");
-
-			getPolynomialCoeffsCache.put(getPolynomialCoeffsSB.toString(),
-					result);
-			return result;
+			cache.put(cacheKey, tmp);
+			return tmp.split(",");
 		} catch (Throwable e) {
 			Log.debug("GeoGebraCAS.getPolynomialCoeffs(): " + e.getMessage());
 			// e.printStackTrace();
@@ -1192,7 +1199,18 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 
 	@Override
 	public void clearCache() {
-		getPolynomialCoeffsCache.clear();
+		// polynomial coefficients are stored in the kernel's CAS cache
+		if (app.getKernel().hasCasCache()) {
+			app.getKernel().getCasCache()
+					.removeAll(CasResultCache.COEFFICIENTS);
+		}
+	}
+
+	@Override
+	public void clearResultCache() {
+		if (app.getKernel().hasCasCache()) {
+			app.getKernel().getCasCache().clear();
+		}
 	}
 
 	/**
@@ -2,6 +2,7 @@ package org.geogebra.common.euclidian;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 
 import org.geogebra.common.awt.GColor;
@@ -29,6 +30,23 @@ import com.himamis.retex.renderer.share.platform.graphics.Insets;
  */
 public abstract class DrawEquation implements DrawEquationI {
 	private static Object initJLaTeXMath;
+	/** maximal number of icons kept by {@link #createIcon} */
+	private static final int MAX_CACHED_ICONS = 256;
+
+	/**
+	 * Laid out formulas by size, style and LaTeX string, least recently used
+	 * first. Dynamic texts are drawn, measured and redrawn on every update,
+	 * so formulas that didn't change are parsed only once.
+	 */
+	private final LinkedHashMap<String, TeXIcon> icons =
+			new LinkedHashMap<String, TeXIcon>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, TeXIcon> eldest) {
+			return size() > MAX_CACHED_ICONS;
+		}
+	};
 
 	/**
 	 * @return \newcommand definitions for GeoGebra specific commands and do
@@ -227,8 +245,15 @@ public abstract class DrawEquation implements DrawEquationI {
 	public TeXIcon createIcon(String text, Color fgColor, GFont font, int style,
 			Integer maxWidth, Double lineSpace, App app) {
 		checkFirstCall(app);
+		TeXIcon icon = getCachedIcon(text, font, style);
+		if (icon != null) {
+			// color is not part of the layout; the cached icon is shared
+			icon = icon.copy();
+			icon.setForeground(fgColor);
+			icon.setInsets(new Insets(1, 1, 1, 1));
+			return icon;
+		}
 		TeXFormula formula;
-		TeXIcon icon;
 
 		try {
 			formula = new TeXFormula(text);
@@ -236,6 +261,7 @@ public abstract class DrawEquation implements DrawEquationI {
 			// if (maxWidth == null) {
 			icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
 					font.getSize() + 3, style, fgColor);
+			cacheIcon(text, font, style, icon);
 			// } else {
 			// icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
 			// font.getSize() + 3, TeXLength.Unit.CM,
@@ -282,6 +308,37 @@ public abstract class DrawEquation implements DrawEquationI {
 		return icon;
 	}
 
+	private static String getIconKey(String text, GFont font, int style) {
+		return (font.getSize() + 3) + "," + style + "," + text;
+	}
+
+	/**
+	 * @param text
+	 *            LaTeX
+	 * @param font
+	 *            font
+	 * @param style
+	 *            LaTeX style, see {@link GFont#getLaTeXStyle(boolean)}
+	 * @return icon created for the same formula, size and style; null if not
+	 *         cached
+	 */
+	private TeXIcon getCachedIcon(String text, GFont font, int style) {
+		synchronized (icons) {
+			return icons.get(getIconKey(text, font, style));
+		}
+	}
+
+	/**
+	 * Caches successfully parsed formulas only, so that errors are reported
+	 * again when the text is drawn. The icon is copied before the caller may
+	 * change its insets or color, so the cached icon is never changed.
+	 */
+	private void cacheIcon(String text, GFont font, int style, TeXIcon icon) {
+		synchronized (icons) {
+			icons.put(getIconKey(text, font, style), icon.copy());
+		}
+	}
+
 	/**
 	 * @param app
 	 *            application
@@ -306,8 +363,12 @@ public abstract class DrawEquation implements DrawEquationI {
 		GColor fgColor = GColor.BLACK;
 		int style = font.getLaTeXStyle(serif);
 
+		TeXIcon icon = getCachedIcon(text, font, style);
+		if (icon != null) {
+			return AwtFactory.getPrototype().newDimension(icon.getIconWidth(),
+					icon.getIconHeight());
+		}
 		TeXFormula formula;
-		TeXIcon icon;
 
 		try {
 			formula = new TeXFormula(text);
@@ -315,6 +376,7 @@ public abstract class DrawEquation implements DrawEquationI {
 			// if (maxWidth == null) {
 			icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
 					font.getSize() + 3, style, convertColor(fgColor));
+			cacheIcon(text, font, style, icon);
 			// } else {
 			// icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
 			// font.getSize() + 3, TeXLength.Unit.CM,
@@ -0,0 +1,260 @@
+package org.geogebra.common.euclidian;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.geogebra.common.awt.GRectangle;
+
+/**
+ * Uniform grid of screen cells, each one listing the drawables whose bounding
+ * box (or label) intersects the cell. Drawables without bounds or with very
+ * big bounds are candidates for every query. A drawable that changed is moved
+ * to its new cells by {@link #update(Drawable)}.
+ */
+final class DrawableIndex {
+
+	private static final int CELL_SIZE = 64;
+	/** area indexed around the view */
+	private static final int MARGIN = CELL_SIZE;
+	/** added around bounds to cover line thickness */
+	private static final int PADDING = 16;
+	private static final int MAX_CELLS_PER_DRAWABLE = 64;
+	// first column of drawables that are not in any cell
+	private static final int UNBOUNDED = -1;
+	private static final int OFF_SCREEN = -2;
+
+	private final Drawable[] drawables;
+	private final HashMap<Drawable, Integer> positions;
+	// first and last column, first and last row of each drawable
+	private final int[] ranges;
+	private final int minX;
+	private final int minY;
+	private final int maxX;
+	private final int maxY;
+	private final int columns;
+	private final int rows;
+	private final int[][] cells;
+	private final int[] cellSizes;
+	private int[] unbounded = new int[16];
+	private int unboundedSize;
+
+	// drawables found by current query, by position in list
+	private int[] found = new int[64];
+	private int foundSize;
+	private final int[] stamps;
+	private int stamp;
+
+	/**
+	 * @param list
+	 *            drawables in drawing order
+	 * @param width
+	 *            view width
+	 * @param height
+	 *            view height
+	 */
+	DrawableIndex(List<Drawable> list, int width, int height) {
+		drawables = list.toArray(new Drawable[0]);
+		positions = new HashMap<>(2 * drawables.length);
+		ranges = new int[4 * drawables.length];
+		stamps = new int[drawables.length];
+		minX = -MARGIN;
+		minY = -MARGIN;
+		maxX = width + MARGIN;
+		maxY = height + MARGIN;
+		columns = (maxX - minX) / CELL_SIZE + 1;
+		rows = (maxY - minY) / CELL_SIZE + 1;
+		cells = new int[columns * rows][];
+		cellSizes = new int[columns * rows];
+		for (int i = 0; i < drawables.length; i++) {
+			positions.put(drawables[i], i);
+			add(i);
+		}
+	}
+
+	/**
+	 * Moves a drawable from the cells of its old bounds to the cells of its
+	 * current bounds
+	 *
+	 * @param d
+	 *            drawable
+	 */
+	void update(Drawable d) {
+		Integer position = positions.get(d);
+		if (position != null) {
+			remove(position);
+			add(position);
+		}
+	}
+
+	private void add(int position) {
+		Drawable d = drawables[position];
+		GRectangle bounds = d.getBounds();
+		if (bounds == null) {
+			addUnbounded(position);
+			return;
+		}
+		double left = bounds.getMinX();
+		double top = bounds.getMinY();
+		double right = bounds.getMaxX();
+		double bottom = bounds.getMaxY();
+		GRectangle label = d.labelRectangle;
+		if (label != null && label.getWidth() > 0 && label.getHeight() > 0) {
+			left = Math.min(left, label.getMinX());
+			top = Math.min(top, label.getMinY());
+			right = Math.max(right, label.getMaxX());
+			bottom = Math.max(bottom, label.getMaxY());
+		}
+		if (Double.isNaN(left + top + right + bottom)) {
+			addUnbounded(position);
+			return;
+		}
+		if (right + PADDING < minX || left - PADDING > maxX
+				|| bottom + PADDING < minY || top - PADDING > maxY) {
+			// off screen: can't be hit
+			ranges[4 * position] = OFF_SCREEN;
+			return;
+		}
+		int column0 = column(left - PADDING);
+		int column1 = column(right + PADDING);
+		int row0 = row(top - PADDING);
+		int row1 = row(bottom + PADDING);
+		if ((column1 - column0 + 1)
+				* (row1 - row0 + 1) > MAX_CELLS_PER_DRAWABLE) {
+			addUnbounded(position);
+			return;
+		}
+		ranges[4 * position] = column0;
+		ranges[4 * position + 1] = column1;
+		ranges[4 * position + 2] = row0;
+		ranges[4 * position + 3] = row1;
+		for (int row = row0; row <= row1; row++) {
+			for (int column = column0; column <= column1; column++) {
+				int cell = row * columns + column;
+				if (cells[cell] == null) {
+					cells[cell] = new int[4];
+				}
+				cells[cell] = append(cells[cell], cellSizes[cell]++, position);
+			}
+		}
+	}
+
+	private void addUnbounded(int position) {
+		ranges[4 * position] = UNBOUNDED;
+		unbounded = append(unbounded, unboundedSize++, position);
+	}
+
+	private void remove(int position) {
+		int column0 = ranges[4 * position];
+		if (column0 == OFF_SCREEN) {
+			return;
+		}
+		if (column0 == UNBOUNDED) {
+			unboundedSize = remove(unbounded, unboundedSize, position);
+			return;
+		}
+		int column1 = ranges[4 * position + 1];
+		int row1 = ranges[4 * position + 3];
+		for (int row = ranges[4 * position + 2]; row <= row1; row++) {
+			for (int column = column0; column <= column1; column++) {
+				int cell = row * columns + column;
+				cellSizes[cell] = remove(cells[cell], cellSizes[cell],
+						position);
+			}
+		}
+	}
+
+	/**
+	 * Removes a value from an unordered array, moving the last value to its
+	 * place.
+	 *
+	 * @return new size
+	 */
+	private static int remove(int[] array, int size, int value) {
+		for (int i = 0; i < size; i++) {
+			if (array[i] == value) {
+				array[i] = array[size - 1];
+				return size - 1;
+			}
+		}
+		return size;
+	}
+
+	private static int[] append(int[] array, int index, int value) {
+		int[] ret = array;
+		if (index == array.length) {
+			ret = Arrays.copyOf(array, 2 * array.length);
+		}
+		ret[index] = value;
+		return ret;
+	}
+
+	private int column(double x) {
+		return clamp((int) Math.floor((x - minX) / CELL_SIZE), columns);
+	}
+
+	private int row(double y) {
+		return clamp((int) Math.floor((y - minY) / CELL_SIZE), rows);
+	}
+
+	private static int clamp(int value, int length) {
+		return Math.max(0, Math.min(length - 1, value));
+	}
+
+	/**
+	 * @param left
+	 *            min x of the query rectangle
+	 * @param top
+	 *            min y of the query rectangle
+	 * @param right
+	 *            max x of the query rectangle
+	 * @param bottom
+	 *            max y of the query rectangle
+	 * @return whether the rectangle is inside the indexed area
+	 */
+	boolean covers(int left, int top, int right, int bottom) {
+		return left >= minX && top >= minY && right <= maxX
+				&& bottom <= maxY;
+	}
+
+	/**
+	 * @param left
+	 *            min x of the query rectangle
+	 * @param top
+	 *            min y of the query rectangle
+	 * @param right
+	 *            max x of the query rectangle
+	 * @param bottom
+	 *            max y of the query rectangle
+	 * @param result
+	 *            list to store the drawables that may intersect the
+	 *            rectangle, in drawing order
+	 */
+	void query(int left, int top, int right, int bottom,
+			List<Drawable> result) {
+		stamp++;
+		foundSize = 0;
+		addFound(unbounded, unboundedSize);
+		for (int row = row(top); row <= row(bottom); row++) {
+			for (int column = column(left); column <= column(
+					right); column++) {
+				int cell = row * columns + column;
+				addFound(cells[cell], cellSizes[cell]);
+			}
+		}
+		Arrays.sort(found, 0, foundSize);
+		for (int i = 0; i < foundSize; i++) {
+			result.add(drawables[found[i]]);
+		}
+	}
+
+	private void addFound(int[] positions, int size) {
+		for (int i = 0; i < size; i++) {
+			int position = positions[i];
+			if (stamps[position] != stamp) {
+				stamps[position] = stamp;
+				found = append(found, foundSize++, position);
+			}
+		}
+	}
+}
@@ -15,8 +15,10 @@ package org.geogebra.common.euclidian;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 
 import org.geogebra.common.awt.GGraphics2D;
+import org.geogebra.common.awt.GRectangle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPriorityComparator;
@@ -26,7 +28,17 @@ import org.geogebra.common.kernel.geos.GeoPriorityComparator;
  */
 public class DrawableList extends ArrayList<Drawable> {
 
+	/** smaller lists are searched without spatial index */
+	private static final int INDEX_MIN_SIZE = 256;
+
 	private Comparator<Drawable> comparator;
+	// spatial index for hit testing, built lazily
+	private DrawableIndex index;
+	private int indexWidth;
+	private int indexHeight;
+	// drawables to move to their new cells before the next query
+	private final ArrayList<Drawable> changed = new ArrayList<>();
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
 
 	/**
 	 * Create a DrawableList with the given GeoPriorityComparator
@@ -55,6 +67,30 @@ public class DrawableList extends ArrayList<Drawable> {
 		return true;
 	}
 
+	@Override
+	public void add(int i, Drawable d) {
+		super.add(i, d);
+		invalidateIndex();
+	}
+
+	@Override
+	public Drawable remove(int i) {
+		invalidateIndex();
+		return super.remove(i);
+	}
+
+	@Override
+	public boolean remove(Object d) {
+		invalidateIndex();
+		return super.remove(d);
+	}
+
+	@Override
+	public void clear() {
+		invalidateIndex();
+		super.clear();
+	}
+
 	/**
 	 * Draws all drawables in the list.
 	 * 
@@ -67,6 +103,9 @@ public class DrawableList extends ArrayList<Drawable> {
 			if (geo.isDefined()
 					&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
 					&& !geo.isGeoInputBox() && !geo.isMask()) {
+				if (d.needsUpdate()) {
+					updateIndex(d);
+				}
 				d.updateIfNeeded();
 				d.draw(g2);
 			}
@@ -77,6 +116,7 @@ public class DrawableList extends ArrayList<Drawable> {
 	 * Updates all drawables in list
 	 */
 	public final void updateAll() {
+		invalidateIndex();
 		for (Drawable d : this) {
 			d.update();
 		}
@@ -84,5 +124,92 @@ public class DrawableList extends ArrayList<Drawable> {
 
 	public void sort() {
 		Collections.sort(this, comparator);
+		invalidateIndex();
+	}
+
+	/**
+	 * Drops the spatial index: needed whenever drawables are added, removed
+	 * or reordered, or all of them are updated
+	 */
+	public void invalidateIndex() {
+		index = null;
+		changed.clear();
+	}
+
+	/**
+	 * Moves a drawable to the cells of its new bounds in the spatial index
+	 * before the next query: needed whenever a drawable of this list is
+	 * updated
+	 * 
+	 * @param d
+	 *            updated drawable
+	 */
+	public void updateIndex(Drawable d) {
+		if (index == null) {
+			return;
+		}
+		// many changes: rebuilding is cheaper
+		if (4 * changed.size() >= size()) {
+			invalidateIndex();
+		} else {
+			changed.add(d);
+		}
+	}
+
+	/**
+	 * Returns the drawables whose bounds or labels may intersect the given
+	 * rectangle, in drawing order. For small lists or rectangles outside of
+	 * the view this is the whole list.
+	 * 
+	 * @param left
+	 *            min x of the rectangle
+	 * @param top
+	 *            min y of the rectangle
+	 * @param right
+	 *            max x of the rectangle
+	 * @param bottom
+	 *            max y of the rectangle
+	 * @param view
+	 *            view of the drawables
+	 * @return drawables to check; only valid until the next call
+	 */
+	public List<Drawable> getCandidates(int left, int top, int right,
+			int bottom, EuclidianView view) {
+		if (size() < INDEX_MIN_SIZE) {
+			return this;
+		}
+		if (index == null || indexWidth != view.getWidth()
+				|| indexHeight != view.getHeight()) {
+			indexWidth = view.getWidth();
+			indexHeight = view.getHeight();
+			index = new DrawableIndex(this, indexWidth, indexHeight);
+			changed.clear();
+		} else {
+			for (Drawable d : changed) {
+				index.update(d);
+			}
+			changed.clear();
+		}
+		if (!index.covers(left, top, right, bottom)) {
+			return this;
+		}
+		candidates.clear();
+		index.query(left, top, right, bottom, candidates);
+		return candidates;
+	}
+
+	/**
+	 * @param rect
+	 *            rectangle
+	 * @param view
+	 *            view of the drawables
+	 * @return drawables whose bounds or labels may intersect the rectangle, in
+	 *         drawing order; only valid until the next call
+	 */
+	public List<Drawable> getCandidates(GRectangle rect, EuclidianView view) {
+		return getCandidates((int) Math.floor(rect.getMinX()),
+				(int) Math.floor(rect.getMinY()),
+				(int) Math.ceil(rect.getMaxX()),
+				(int) Math.ceil(rect.getMaxY()), view);
 	}
 }
@@ -19,7 +19,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import org.geogebra.common.awt.GPoint;
@@ -5628,7 +5627,7 @@ public abstract class EuclidianController implements SpecialPointsListener {
 			for (GeoPointND pt : pts) {
 				pt.rotate(tempNum, rotationCenter);
 			}
-			GeoElement.updateCascade(pts, new TreeSet<AlgoElement>(), false);
+			GeoElement.updateCascade(pts, false);
 			view.repaint();
 		}
 		rotationLastAngle = newAngle;
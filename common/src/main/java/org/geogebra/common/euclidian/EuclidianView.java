@@ -1191,9 +1191,25 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	public double[] getOnScreenDiff(double[] p1, double[] p2) {
 		double[] ret = new double[2];
+		getOnScreenDiff(p1, p2, ret);
+		return ret;
+	}
+
+	/**
+	 * @param p1
+	 *            first point
+	 * @param p2
+	 *            second point
+	 * @param ret
+	 *            output: (p2-p1) vector in screen coordinates, unused
+	 *            coordinates are set to 0
+	 */
+	public void getOnScreenDiff(double[] p1, double[] p2, double[] ret) {
 		ret[0] = (p2[0] - p1[0]) * getXscale();
 		ret[1] = (p2[1] - p1[1]) * getYscale();
-		return ret;
+		for (int i = 2; i < ret.length; i++) {
+			ret[i] = 0;
+		}
 	}
 
 	/**
@@ -1725,6 +1741,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 
 		isCrashlyticsLoggingEnabled = true;
+		allDrawableList.invalidateIndex();
 		for (Drawable d : allDrawableList) {
 			d.updateForView();
 		}
@@ -1891,6 +1908,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void rename(GeoElement geo) {
 		Object d = drawableMap.get(geo);
 		if (d != null) {
+			allDrawableList.updateIndex((Drawable) d);
 			((Drawable) d).update();
 			repaint();
 		}
@@ -1900,6 +1918,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void update(GeoElement geo) {
 		DrawableND d = drawableMap.get(geo);
 		if (d != null) {
+			if (d instanceof Drawable) {
+				allDrawableList.updateIndex((Drawable) d);
+			}
 			if (!d.isCompatibleWithGeo()) {
 				remove(geo);
 				add(geo);
@@ -4066,6 +4087,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			if (d instanceof DrawDropDownList) {
 				DrawDropDownList dl = (DrawDropDownList) d;
 				if (dl.needsUpdate()) {
+					allDrawableList.updateIndex(dl);
 					dl.setNeedsUpdate(false);
 					dl.update();
 				}
@@ -4082,6 +4104,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			} else if (d instanceof DrawInputBox) {
 
 				if (d.needsUpdate()) {
+					allDrawableList.updateIndex(d);
 					d.setNeedsUpdate(false);
 					d.update();
 				}
@@ -4106,6 +4129,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void drawMasks(GGraphics2D g2) {
 		for (Drawable d : allDrawableList) {
 			if (d.geo.isMask()) {
+				if (d.needsUpdate()) {
+					allDrawableList.updateIndex(d);
+				}
 				d.updateIfNeeded();
 				d.draw(g2);
 			}
@@ -52,6 +52,9 @@ public class GeneralPathClipped implements GShape {
 	private GRectangle2D oldBounds;
 
 	private GPoint2D[] tmpClipPoints = {new GPoint2D(), new GPoint2D()};
+	/** points reused after reset, null if points are not reused */
+	private ArrayList<MyPoint> pointCache;
+	private int usedPoints;
 
 	private static final boolean useSutherlandHodgesClipping = false;
 
@@ -85,6 +88,7 @@ public class GeneralPathClipped implements GShape {
 	 */
 	final public void reset() {
 		pathPoints.clear();
+		usedPoints = 0;
 		gp.reset();
 		// save object
 		oldBounds = bounds;
@@ -93,6 +97,35 @@ public class GeneralPathClipped implements GShape {
 		needClosePath = false;
 	}
 
+	/**
+	 * Keep path points after reset and reuse them for the next path, so that
+	 * frequently replotted paths don't allocate.
+	 * 
+	 * @param reuse
+	 *            whether to reuse points
+	 */
+	public void setReusePoints(boolean reuse) {
+		pointCache = reuse ? new ArrayList<MyPoint>() : null;
+		usedPoints = 0;
+	}
+
+	private MyPoint newPoint(double x, double y, SegmentType segmentType) {
+		if (pointCache == null) {
+			return new MyPoint(x, y, segmentType);
+		}
+		MyPoint p;
+		if (usedPoints < pointCache.size()) {
+			p = pointCache.get(usedPoints);
+			p.setLocation(x, y);
+			p.setSegmentType(segmentType);
+		} else {
+			p = new MyPoint(x, y, segmentType);
+			pointCache.add(p);
+		}
+		usedPoints++;
+		return p;
+	}
+
 	/**
 	 * Closes path
 	 */
@@ -408,7 +441,7 @@ public class GeneralPathClipped implements GShape {
 			return;
 		}
 
-		MyPoint p = new MyPoint(x, y, SegmentType.LINE_TO);
+		MyPoint p = newPoint(x, y, SegmentType.LINE_TO);
 		updateBounds(p);
 		pathPoints.ensureCapacity(pos + 1);
 		while (pathPoints.size() <= pos) {
@@ -436,7 +469,7 @@ public class GeneralPathClipped implements GShape {
 			polygon = false;
 		}
 
-		MyPoint p = new MyPoint(x, y, segmentType);
+		MyPoint p = newPoint(x, y, segmentType);
 		updateBounds(p);
 		pathPoints.add(p);
 	}
@@ -42,7 +42,9 @@ public class HitDetector {
 		}
 		boolean hitMask = false;
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getAllDrawableList().getCandidates(
+				p.x - hitThreshold, p.y - hitThreshold, p.x + hitThreshold,
+				p.y + hitThreshold, view)) {
 			if (d.isEuclidianVisible()) {
 				if (d.hit(p.x, p.y, hitThreshold)) {
 					GeoElement geo = d.getGeoElement();
@@ -170,7 +172,8 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getAllDrawableList().getCandidates(rect,
+				view)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && geo.isSelectionAllowed(view)
 					&& filter.check(geo) && !hits.contains(geo)
@@ -201,7 +204,8 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getAllDrawableList().getCandidates(rect,
+				view)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.isInside(rect)) {
 				hits.add(geo);
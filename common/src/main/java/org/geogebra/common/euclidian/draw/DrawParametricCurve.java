@@ -24,6 +24,8 @@ import org.geogebra.common.awt.GShape;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotterBuffers;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.StringTemplate;
@@ -57,6 +59,8 @@ public class DrawParametricCurve extends Drawable {
 
 	private CurveEvaluable curve;
 	private GeneralPathClippedForCurvePlotter gp;
+	private CurvePlotterBuffers plotBuffers;
+	private CurveSampleCache sampleCache;
 	private boolean isVisible;
 	private boolean labelVisible;
 	private boolean fillCurve;
@@ -101,6 +105,22 @@ public class DrawParametricCurve extends Drawable {
 
 	@Override
 	final public void update() {
+		if (sampleCache != null) {
+			sampleCache.invalidate();
+		}
+		updateCurve();
+	}
+
+	/**
+	 * The geo didn't change, so function graphs may reuse samples taken for
+	 * the previous view.
+	 */
+	@Override
+	public void updateForView() {
+		updateCurve();
+	}
+
+	private void updateCurve() {
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -119,6 +139,9 @@ public class DrawParametricCurve extends Drawable {
 		}
 		if (gp == null) {
 			gp = new GeneralPathClippedForCurvePlotter(view);
+			gp.setReusePoints(true);
+			plotBuffers = new CurvePlotterBuffers();
+			sampleCache = new CurveSampleCache();
 		}
 		gp.reset();
 
@@ -162,10 +185,15 @@ public class DrawParametricCurve extends Drawable {
 			curve.evaluateCurve(min, eval);
 			view.toScreenCoords(eval);
 			labelPoint = new GPoint((int) eval[0], (int) eval[1]);
+		} else if (canReuseSamples(toPlot)) {
+			labelPoint = sampleCache.plot(toPlot, min, max, view, gp,
+					labelVisible, plotBuffers);
 		} else {
+			sampleCache.invalidate();
 			labelPoint = CurvePlotter.plotCurve(toPlot, min, max, view, gp,
 					labelVisible, fillCurve ? CurvePlotter.Gap.CORNER
-							: CurvePlotter.Gap.MOVE_TO);
+							: CurvePlotter.Gap.MOVE_TO,
+					plotBuffers);
 		}
 
 		// gp on screen?
@@ -547,6 +575,16 @@ public class DrawParametricCurve extends Drawable {
 		return AwtFactory.getPrototype().newRectangle(gp.getBounds());
 	}
 
+	/**
+	 * Samples of function graphs in x only depend on the scale, not on the
+	 * position of the view.
+	 */
+	private boolean canReuseSamples(CurveEvaluable toPlot) {
+		return toPlot == curve && geo.isGeoFunction() && !fillCurve
+				&& !((GeoFunction) geo).isEvalSwapped()
+				&& !view.getXaxisLog() && !view.getYaxisLog();
+	}
+
 	final private static boolean filling(CurveEvaluable curve) {
 		return !curve.isFunctionInX() && curve.toGeoElement().isFilled();
 	}
@@ -557,4 +595,20 @@ public class DrawParametricCurve extends Drawable {
 		return !curve.isFunctionInX() || geo.isGeoFunction();
 	}
 
+	/**
+	 * @return buffers of the curve plotter with statistics of the last plot,
+	 *         null if the curve was not plotted yet
+	 */
+	public CurvePlotterBuffers getPlotBuffers() {
+		return plotBuffers;
+	}
+
+	/**
+	 * @return cache of function samples, null if the curve was not plotted
+	 *         yet
+	 */
+	public CurveSampleCache getSampleCache() {
+		return sampleCache;
+	}
+
 }
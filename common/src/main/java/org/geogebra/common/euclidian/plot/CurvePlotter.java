@@ -31,7 +31,7 @@ public class CurvePlotter {
 			.tan(MAX_ANGLE_OFF_SCREEN * Kernel.PI_180);
 
 	// maximum number of bisections (max number of plot points = 2^MAX_DEPTH)
-	private static final int MAX_DEFINED_BISECTIONS = 16;
+	static final int MAX_DEFINED_BISECTIONS = 16;
 	private static final int MAX_PROBLEM_BISECTIONS = 8;
 	// NB: don't try to increase this to improve discontinuity check in something like
 	// ln(x)+sin(x), it could lead to piecewise functions joining up.
@@ -87,13 +87,40 @@ public class CurvePlotter {
 	public static GPoint plotCurve(CurveEvaluable curve, double t1,
 			double t2, EuclidianView view, PathPlotter gp, boolean calcLabelPos,
 			Gap moveToAllowed) {
+		return plotCurve(curve, t1, t2, view, gp, calcLabelPos, moveToAllowed,
+				new CurvePlotterBuffers());
+	}
 
-		// ensure MIN_PLOT_POINTS
-		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
-		double max_param_step = Math.abs(t2 - t1) / minSamplePoints;
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2] using reusable
+	 * buffers.
+	 * 
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param curve
+	 *            curve to be drawn
+	 * @param view
+	 *            Euclidian view to be used
+	 * @param gp
+	 *            generalpath that can be drawn afterwards
+	 * @param calcLabelPos
+	 *            whether label position should be calculated and returned
+	 * @param moveToAllowed
+	 *            whether moveTo() may be used for gp
+	 * @param buffers
+	 *            buffers kept by the caller between plots
+	 * @return label position as Point, owned by the buffers
+	 */
+	public static GPoint plotCurve(CurveEvaluable curve, double t1,
+			double t2, EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			Gap moveToAllowed, CurvePlotterBuffers buffers) {
+		buffers.startPlot(curve);
 		// plot Interval [t1, t2]
-		GPoint labelPoint = plotInterval(curve, t1, t2, 0, max_param_step, view,
-				gp, calcLabelPos, moveToAllowed);
+		GPoint labelPoint = plotInterval(curve, t1, t2, 0,
+				getMaxParamStep(t1, t2, view), view, gp, calcLabelPos,
+				moveToAllowed, buffers);
 		if (moveToAllowed == Gap.CORNER) {
 			gp.corner();
 		}
@@ -101,6 +128,76 @@ public class CurvePlotter {
 		return labelPoint;
 	}
 
+	/**
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param view
+	 *            view
+	 * @return largest parameter step allowed when plotting [t1, t2]
+	 */
+	static double getMaxParamStep(double t1, double t2, EuclidianView view) {
+		// ensure MIN_PLOT_POINTS
+		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
+		return Math.abs(t2 - t1) / minSamplePoints;
+	}
+
+	/**
+	 * Plots a part of a curve using the step of a larger plot, moveTo is used
+	 * for gaps. Unlike plotCurve this does not reset the statistics of the
+	 * buffers.
+	 *
+	 * @param curve
+	 *            curve to be drawn
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param max_param_step
+	 *            largest parameter step width allowed
+	 * @param view
+	 *            Euclidian view to be used
+	 * @param gp
+	 *            path plotter
+	 * @param buffers
+	 *            reusable arrays
+	 */
+	static void plotPart(CurveEvaluable curve, double t1, double t2,
+			double max_param_step, EuclidianView view, PathPlotter gp,
+			CurvePlotterBuffers buffers) {
+		plotInterval(curve, t1, t2, 0, max_param_step, view, gp, false,
+				Gap.MOVE_TO, buffers);
+	}
+
+	/**
+	 * @param view
+	 *            view
+	 * @param point
+	 *            first point of the curve on screen
+	 * @param buffers
+	 *            buffers owning the label point
+	 * @return label position next to the point
+	 */
+	static GPoint getLabelPoint(EuclidianView view, double[] point,
+			CurvePlotterBuffers buffers) {
+		double xLabel = view.toScreenCoordXd(point[0]) + 10;
+		if (xLabel < 20) {
+			xLabel = 5;
+		}
+		if (xLabel > view.getWidth() - 30) {
+			xLabel = view.getWidth() - 15;
+		}
+		double yLabel = view.toScreenCoordYd(point[1]) + 15;
+		if (yLabel < 40) {
+			yLabel = 15;
+		} else if (yLabel > view.getHeight() - 30) {
+			yLabel = view.getHeight() - 5;
+		}
+
+		return buffers.getLabelPoint((int) xLabel, (int) yLabel);
+	}
+
 	/**
 	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2].
 	 * 
@@ -112,13 +209,15 @@ public class CurvePlotter {
 	 *            whether label position should be calculated and returned
 	 * @param moveToAllowed
 	 *            whether moveTo() may be used for gp
+	 * @param buffers
+	 *            reusable arrays
 	 * @return label position as Point
 	 * @author Markus Hohenwarter, based on an algori5thm by John Gillam
 	 */
 	private static GPoint plotInterval(CurveEvaluable curve, double t1,
 			double t2, int intervalDepth, double max_param_step,
 			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
-			Gap moveToAllowed) {
+			Gap moveToAllowed, CurvePlotterBuffers buffers) {
 		// plot interval for t in [t1, t2]
 		// If we run into a problem, i.e. an undefined point f(t), we bisect
 		// the interval and plot both intervals [left, (left + right)/2] and
@@ -132,41 +231,45 @@ public class CurvePlotter {
 		// evaluations of the curve for the same parameter value t
 		// see an explanation of this algorithm below.
 
-		double[] move = curve.newDoubleArray();
+		// problem intervals are only plotted when this call returns, so the
+		// nested calls may reuse the same buffers
+		double[] move = buffers.move;
 		boolean nextLineToNeedsMoveToFirst = false;
-		double[] eval = curve.newDoubleArray();
-		double[] eval0, eval1;
+		double[] eval = buffers.eval;
+		double[] eval0 = buffers.eval0;
+		double[] eval1 = buffers.eval1;
 
 		// evaluate for t1
-		curve.evaluateCurve(t1, eval);
+		buffers.evaluate(curve, t1, eval);
 		if (isUndefined(eval)) {
 			return plotProblemInterval(curve, t1, t2, intervalDepth,
 					max_param_step, view, gp, calcLabelPos, moveToAllowed,
-					labelPoint);
+					labelPoint, buffers);
 		}
-		eval0 = Cloner.clone(eval);
+		Cloner.cloneTo(eval, eval0);
 
 		// evaluate for t2
-		curve.evaluateCurve(t2, eval);
+		buffers.evaluate(curve, t2, eval);
 		if (isUndefined(eval)) {
 			return plotProblemInterval(curve, t1, t2, intervalDepth,
 					max_param_step, view, gp, calcLabelPos, moveToAllowed,
-					labelPoint);
+					labelPoint, buffers);
 		}
 		boolean onScreen = view.isOnView(eval);
-		eval1 = Cloner.clone(eval);
+		Cloner.cloneTo(eval, eval1);
 
 		// first point
 		gp.firstPoint(eval0, moveToAllowed);
+		buffers.countPoint();
 
 		// TODO
 		// INIT plotting algorithm
 		int length = MAX_DEFINED_BISECTIONS + 1;
-		int[] dyadicStack = new int[length];
-		int[] depthStack = new int[length];
-		double[][] posStack = new double[length][];
-		boolean[] onScreenStack = new boolean[length];
-		double[] divisors = new double[length];
+		int[] dyadicStack = buffers.dyadicStack;
+		int[] depthStack = buffers.depthStack;
+		double[][] posStack = buffers.posStack;
+		boolean[] onScreenStack = buffers.onScreenStack;
+		double[] divisors = buffers.divisors;
 		divisors[0] = t2 - t1;
 		for (int i = 1; i < length; i++) {
 			divisors[i] = divisors[i - 1] / 2;
@@ -176,15 +279,17 @@ public class CurvePlotter {
 		depthStack[0] = 0;
 
 		onScreenStack[0] = onScreen;
-		posStack[0] = Cloner.clone(eval1);
+		Cloner.cloneTo(eval1, posStack[0]);
 
 		// slope between (t1, t2)
-		double[] diff = view.getOnScreenDiff(eval0, eval1);
+		double[] diff = buffers.diff;
+		view.getOnScreenDiff(eval0, eval1, diff);
 		int countDiffZeros = 0;
 
 		// init previous slope using (t1, t1 + min_step)
-		curve.evaluateCurve(t1 + divisors[length - 1], eval);
-		double[] prevDiff = view.getOnScreenDiff(eval0, eval);
+		buffers.evaluate(curve, t1 + divisors[length - 1], eval);
+		double[] prevDiff = buffers.prevDiff;
+		view.getOnScreenDiff(eval0, eval, prevDiff);
 
 		int top = 1;
 		int depth = 0;
@@ -219,33 +324,34 @@ public class CurvePlotter {
 				dyadicStack[top] = i;
 				depthStack[top] = depth;
 				onScreenStack[top] = onScreen;
-				posStack[top] = Cloner.clone(eval1);
+				Cloner.cloneTo(eval1, posStack[top]);
 				i = 2 * i - 1;
 				top++;
 				depth++;
 				t = t1 + i * divisors[depth]; // t=t1+(t2-t1)*(i/2^depth)
 
 				// evaluate curve for parameter t
-				curve.evaluateCurve(t, eval);
+				buffers.evaluate(curve, t, eval);
 				onScreen = view.isOnView(eval);
 				// check for singularity:
 				// c(t) undefined; c(t-eps) and c(t+eps) both defined
 				if (isUndefined(eval)) {
 					// check if c(t-eps) and c(t+eps) are both defined
 					boolean singularity = isContinuousAround(curve, t,
-							divisors[length - 1], view, eval);
+							divisors[length - 1], view, eval, buffers);
 
 					// split interval: f(t+eps) or f(t-eps) not defined
 					if (!singularity) {
 						return plotProblemInterval(curve, left, t2,
 								intervalDepth, max_param_step, view, gp,
-								calcLabelPos, moveToAllowed, labelPoint);
+								calcLabelPos, moveToAllowed, labelPoint,
+								buffers);
 					}
 					Log.debug("SINGULARITY AT" + t);
 				}
 
-				eval1 = Cloner.clone(eval);
-				diff = view.getOnScreenDiff(eval0, eval1);
+				Cloner.cloneTo(eval, eval1);
+				view.getOnScreenDiff(eval0, eval1, diff);
 
 				if (DoubleUtil.isZero(diff[0]) && DoubleUtil.isZero(diff[1])) {
 					countDiffZeros++;
@@ -272,7 +378,8 @@ public class CurvePlotter {
 					lineTo = false;
 				} else if (!angleOK || !distanceOK) {
 					// check for DISCONTINUITY
-					lineTo = isContinuous(curve, left, t, MAX_CONTINUITY_BISECTIONS);
+					lineTo = isContinuous(curve, left, t,
+							MAX_CONTINUITY_BISECTIONS, buffers);
 				}
 			} else if (moveToAllowed == Gap.CORNER) {
 				gp.corner(eval1);
@@ -283,39 +390,27 @@ public class CurvePlotter {
 				// handle previous moveTo first
 				if (nextLineToNeedsMoveToFirst) {
 					gp.moveTo(move);
+					buffers.countPoint();
 					nextLineToNeedsMoveToFirst = false;
 				}
 
 				// draw line
 				gp.lineTo(eval1);
+				buffers.countPoint();
 			} else {
 				// moveTo: remember moveTo position to avoid multiple moveTo
 				// operations
-				move = Cloner.clone(eval1);
+				Cloner.cloneTo(eval1, move);
 				nextLineToNeedsMoveToFirst = true;
 			}
 
 			// remember last point in general path
-			eval0 = Cloner.clone(eval1);
+			Cloner.cloneTo(eval1, eval0);
 			left = t;
 
 			// remember first point on screen for label position
 			if (needLabelPos && onScreen) {
-				double xLabel = view.toScreenCoordXd(eval1[0]) + 10;
-				if (xLabel < 20) {
-					xLabel = 5;
-				}
-				if (xLabel > view.getWidth() - 30) {
-					xLabel = view.getWidth() - 15;
-				}
-				double yLabel = view.toScreenCoordYd(eval1[1]) + 15;
-				if (yLabel < 40) {
-					yLabel = 15;
-				} else if (yLabel > view.getHeight() - 30) {
-					yLabel = view.getHeight() - 5;
-				}
-
-				labelPoint = new GPoint((int) xLabel, (int) yLabel);
+				labelPoint = getLabelPoint(view, eval1, buffers);
 				needLabelPos = false;
 			}
 
@@ -326,12 +421,12 @@ public class CurvePlotter {
 			 * corresponding x and y values when we pushed.
 			 */
 			--top;
-			eval1 = posStack[top];
+			Cloner.cloneTo(posStack[top], eval1);
 			onScreen = onScreenStack[top];
 			depth = depthStack[top] + 1; // pop stack and go to right
 			i = dyadicStack[top] * 2;
-			prevDiff = Cloner.clone(diff);
-			diff = view.getOnScreenDiff(eval0, eval1);
+			Cloner.cloneTo(diff, prevDiff);
+			view.getOnScreenDiff(eval0, eval1, diff);
 			t = t1 + i * divisors[depth];
 		} while (top != 0); // end of do-while loop for bisection stack
 
@@ -365,7 +460,7 @@ public class CurvePlotter {
 	private static GPoint plotProblemInterval(CurveEvaluable curve, double t1,
 			double t2, int intervalDepth, double max_param_step,
 			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
-			Gap moveToAllowed, GPoint labelPoint) {
+			Gap moveToAllowed, GPoint labelPoint, CurvePlotterBuffers buffers) {
 		boolean calcLabel = calcLabelPos;
 		// stop recursion for too many intervals
 		if (intervalDepth > MAX_PROBLEM_BISECTIONS || t1 == t2) {
@@ -387,12 +482,12 @@ public class CurvePlotter {
 			// bisect interval
 			calcLabel = calcLabel && labelPoint == null;
 			labelPoint1 = plotInterval(curve, t1, splitParam, intervalDepth + 1,
-					max_param_step, view, gp, calcLabel, moveToAllowed);
+					max_param_step, view, gp, calcLabel, moveToAllowed, buffers);
 
 			// plot interval [(t1+t2)/2, t2]
 			calcLabel = calcLabel && labelPoint1 == null;
 			labelPoint2 = plotInterval(curve, splitParam, t2, intervalDepth + 1,
-					max_param_step, view, gp, calcLabel, moveToAllowed);
+					max_param_step, view, gp, calcLabel, moveToAllowed, buffers);
 		} else {
 			// look at the end points of the intervals [t1, (t1+t2)/2] and
 			// [(t1+t2)/2, t2]
@@ -403,19 +498,19 @@ public class CurvePlotter {
 			// defined
 
 			// plot interval [t1, (t1+t2)/2]
-			double[] borders = new double[2];
-			getDefinedInterval(curve, t1, splitParam, borders);
+			double[] borders = buffers.borders;
+			getDefinedInterval(curve, t1, splitParam, borders, buffers);
 			calcLabel = calcLabel && labelPoint == null;
 			labelPoint1 = plotInterval(curve, borders[0], borders[1],
 					intervalDepth + 1, max_param_step, view, gp, calcLabel,
-					moveToAllowed);
+					moveToAllowed, buffers);
 
 			// plot interval [(t1+t2)/2, t2]
-			getDefinedInterval(curve, splitParam, t2, borders);
+			getDefinedInterval(curve, splitParam, t2, borders, buffers);
 			calcLabel = calcLabel && labelPoint1 == null;
 			labelPoint2 = plotInterval(curve, borders[0], borders[1],
 					intervalDepth + 1, max_param_step, view, gp, calcLabel,
-					moveToAllowed);
+					moveToAllowed, buffers);
 		}
 
 		if (labelPoint != null) {
@@ -431,16 +526,17 @@ public class CurvePlotter {
 	 * Returns whether curve is defined for c(t-eps) and c(t + eps).
 	 */
 	private static boolean isContinuousAround(CurveEvaluable curve, double t,
-			double eps, EuclidianView view, double[] evalT) {
+			double eps, EuclidianView view, double[] evalT,
+			CurvePlotterBuffers buffers) {
 		// check if c(t) is undefined
-		double[] eval = curve.newDoubleArray();
+		double[] eval = buffers.middle;
 
 		// c(t + eps)
-		curve.evaluateCurve(t + eps, eval);
+		buffers.evaluate(curve, t + eps, eval);
 		double oldy = eval[1];
 		if (!isUndefined(eval)) {
 			// c(t - eps)
-			curve.evaluateCurve(t - eps, eval);
+			buffers.evaluate(curve, t - eps, eval);
 			if (!isUndefined(eval)) {
 				// SINGULARITY for functions: c(t) undef, c(t-eps) and c(t+eps)
 				// defined and close
@@ -463,7 +559,7 @@ public class CurvePlotter {
 	 * Returns whether the pixel distance from the last point is smaller than
 	 * MAX_PIXEL_DISTANCE in all directions.
 	 */
-	private static boolean isDistanceOK(double[] diff) {
+	static boolean isDistanceOK(double[] diff) {
 		for (double d : diff) {
 			if (Math.abs(d) > MAX_PIXEL_DISTANCE) {
 				return false;
@@ -476,7 +572,7 @@ public class CurvePlotter {
 	 * Returns whether the angle between the vectors (vx, vy) and (wx, wy) is
 	 * smaller than MAX_BEND, where MAX_BEND = tan(MAX_ANGLE).
 	 */
-	private static boolean isAngleOK(double[] v, double[] w, double bend) {
+	static boolean isAngleOK(double[] v, double[] w, double bend) {
 		// |v| * |w| * sin(alpha) = |det(v, w)|
 		// cos(alpha) = v . w / (|v| * |w|)
 		// tan(alpha) = sin(alpha) / cos(alpha)
@@ -528,6 +624,13 @@ public class CurvePlotter {
 	 */
 	public static boolean isContinuous(CurveEvaluable c, double from, double to,
 			int maxIterations) {
+		CurvePlotterBuffers buffers = new CurvePlotterBuffers();
+		buffers.startPlot(c);
+		return isContinuous(c, from, to, maxIterations, buffers);
+	}
+
+	private static boolean isContinuous(CurveEvaluable c, double from,
+			double to, int maxIterations, CurvePlotterBuffers buffers) {
 		double t1 = from;
 		double t2 = to;
 		if (DoubleUtil.isEqual(t1, t2, Kernel.MAX_DOUBLE_PRECISION)) {
@@ -535,16 +638,16 @@ public class CurvePlotter {
 		}
 
 		// left = c(t1)
-		double[] left = c.newDoubleArray();
-		c.evaluateCurve(t1, left);
+		double[] left = buffers.left;
+		buffers.evaluate(c, t1, left);
 		if (isUndefined(left)) {
 			// NaN or infinite: not continuous
 			return false;
 		}
 
 		// right = c(t2)
-		double[] right = c.newDoubleArray();
-		c.evaluateCurve(t2, right);
+		double[] right = buffers.right;
+		buffers.evaluate(c, t2, right);
 		if (isUndefined(right)) {
 			// NaN or infinite: not continuous
 			return false;
@@ -558,11 +661,11 @@ public class CurvePlotter {
 		double eps = initialDistance * 0.9;
 		double dist = Double.POSITIVE_INFINITY;
 		int iterations = 0;
-		double[] middle = c.newDoubleArray();
+		double[] middle = buffers.middle;
 
 		while (iterations++ < maxIterations && dist > eps) {
 			double m = (t1 + t2) / 2;
-			c.evaluateCurve(m, middle);
+			buffers.evaluate(c, m, middle);
 			double distLeft = c.distanceMax(left, middle);
 			double distRight = c.distanceMax(right, middle);
 
@@ -589,13 +692,13 @@ public class CurvePlotter {
 	 * Sets borders to a defined interval in [a, b] if possible.
 	 */
 	private static void getDefinedInterval(CurveEvaluable curve, double a,
-			double b, double[] borders) {
-		double[] eval = curve.newDoubleArray();
+			double b, double[] borders, CurvePlotterBuffers buffers) {
+		double[] eval = buffers.middle;
 
 		// check first and last point in interval
-		curve.evaluateCurve(a, eval);
+		buffers.evaluate(curve, a, eval);
 		boolean aDef = !isUndefined(eval);
-		curve.evaluateCurve(b, eval);
+		buffers.evaluate(curve, b, eval);
 		boolean bDef = !isUndefined(eval);
 
 		// both end points defined
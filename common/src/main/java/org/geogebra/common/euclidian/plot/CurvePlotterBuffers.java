@@ -0,0 +1,187 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+
+/**
+ * Reusable arrays for {@link CurvePlotter}. A drawable keeps one instance so
+ * that replotting its curve (e.g. while a slider is dragged) does not
+ * allocate; the label point returned by the plotter is also reused and is
+ * only valid until the next plot.
+ *
+ * Also counts points, curve evaluations and bytes allocated by the plotter
+ * in the last plot.
+ */
+public class CurvePlotterBuffers {
+
+	private static final int STACK_SIZE = CurvePlotter.MAX_DEFINED_BISECTIONS
+			+ 1;
+	/** estimated size of array header in bytes */
+	private static final int ARRAY_HEADER = 16;
+
+	private int dimension = -1;
+
+	/** current evaluation */
+	double[] eval;
+	/** last point in path */
+	double[] eval0;
+	/** current end of segment */
+	double[] eval1;
+	/** pending moveTo position */
+	double[] move;
+	/** screen difference of current segment */
+	double[] diff;
+	/** screen difference of previous segment */
+	double[] prevDiff;
+	/** points on the right of bisected intervals */
+	double[][] posStack;
+	/** scratch arrays for continuity checks */
+	double[] left;
+	/** scratch arrays for continuity checks */
+	double[] right;
+	/** scratch arrays for continuity checks */
+	double[] middle;
+	/** interval borders for problem intervals */
+	final double[] borders;
+	/** bisection stacks */
+	final int[] dyadicStack;
+	/** bisection stacks */
+	final int[] depthStack;
+	/** bisection stacks */
+	final boolean[] onScreenStack;
+	/** parameter step for each bisection depth */
+	final double[] divisors;
+	private GPoint labelPoint;
+
+	private int pointCount;
+	private int evaluationCount;
+	private long allocatedBytes;
+
+	/**
+	 * Creates buffers, arrays depending on curve dimension are created on
+	 * first plot.
+	 */
+	public CurvePlotterBuffers() {
+		borders = new double[2];
+		dyadicStack = new int[STACK_SIZE];
+		depthStack = new int[STACK_SIZE];
+		onScreenStack = new boolean[STACK_SIZE];
+		divisors = new double[STACK_SIZE];
+		allocatedBytes = doubleBytes(2) + doubleBytes(STACK_SIZE)
+				+ 2 * (ARRAY_HEADER + 4 * STACK_SIZE) + ARRAY_HEADER
+				+ STACK_SIZE;
+	}
+
+	/**
+	 * Resets counters and makes sure the arrays fit the curve.
+	 *
+	 * @param curve
+	 *            curve to be plotted
+	 */
+	void startPlot(CurveEvaluable curve) {
+		// counts the constructor for the first plot
+		if (dimension >= 0) {
+			allocatedBytes = 0;
+		}
+		pointCount = 0;
+		evaluationCount = 0;
+		double[] template = curve.newDoubleArray();
+		allocatedBytes += doubleBytes(template.length);
+		if (template.length == dimension) {
+			return;
+		}
+		dimension = template.length;
+		eval = template;
+		eval0 = newArray();
+		eval1 = newArray();
+		move = newArray();
+		diff = newArray();
+		prevDiff = newArray();
+		left = newArray();
+		right = newArray();
+		middle = newArray();
+		posStack = new double[STACK_SIZE][];
+		allocatedBytes += ARRAY_HEADER + 4 * STACK_SIZE;
+		for (int i = 0; i < STACK_SIZE; i++) {
+			posStack[i] = newArray();
+		}
+	}
+
+	private double[] newArray() {
+		allocatedBytes += doubleBytes(dimension);
+		return new double[dimension];
+	}
+
+	private static long doubleBytes(int length) {
+		return ARRAY_HEADER + 8L * length;
+	}
+
+	/**
+	 * Evaluates the curve and counts the evaluation.
+	 *
+	 * @param curve
+	 *            curve
+	 * @param t
+	 *            parameter
+	 * @param out
+	 *            output array
+	 */
+	void evaluate(CurveEvaluable curve, double t, double[] out) {
+		evaluationCount++;
+		curve.evaluateCurve(t, out);
+	}
+
+	/**
+	 * Counts a point sent to the path plotter.
+	 */
+	void countPoint() {
+		pointCount++;
+	}
+
+	/**
+	 * Forgets points counted so far, used when recorded points are sent to the
+	 * path again.
+	 */
+	void resetPointCount() {
+		pointCount = 0;
+	}
+
+	/**
+	 * @param x
+	 *            x-coord
+	 * @param y
+	 *            y-coord
+	 * @return reused label point
+	 */
+	GPoint getLabelPoint(int x, int y) {
+		if (labelPoint == null) {
+			labelPoint = new GPoint(x, y);
+			allocatedBytes += ARRAY_HEADER;
+		} else {
+			labelPoint.setLocation(x, y);
+		}
+		return labelPoint;
+	}
+
+	/**
+	 * @return number of points (moveTo, lineTo) produced by last plot
+	 */
+	public int getPointCount() {
+		return pointCount;
+	}
+
+	/**
+	 * @return number of curve evaluations in last plot
+	 */
+	public int getEvaluationCount() {
+		return evaluationCount;
+	}
+
+	/**
+	 * @return estimated number of bytes the plotter allocated in last plot,
+	 *         not including allocations of the curve and the path
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+}
@@ -0,0 +1,381 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.geogebra.common.kernel.matrix.CoordSys;
+
+/**
+ * Points of a function graph sampled by {@link CurvePlotter}, kept in world
+ * coordinates so that the graph can be drawn again after the view was moved
+ * or zoomed. When the view is panned horizontally only the newly exposed
+ * parts of the x-range are sampled. After zoom or vertical pan, segments
+ * that no longer satisfy the plotter's pixel distance, bend and step limits
+ * (or that got on screen) are sampled again, the rest is reused.
+ *
+ * Only for functions in x (parameter equals x-coordinate) plotted with
+ * {@link Gap#MOVE_TO} on views without logarithmic axes. The owner has to
+ * call {@link #invalidate()} whenever the function changes.
+ */
+public class CurveSampleCache {
+
+	private PointList points = new PointList();
+	private PointList next = new PointList();
+	private final PointList strip = new PointList();
+	private final Recorder recorder = new Recorder();
+	private final double[] pos = new double[2];
+	private final double[] prev = new double[2];
+	private final double[] diff = new double[2];
+	private final double[] prevDiff = new double[2];
+
+	private boolean valid;
+	/** parameter range covered by the points */
+	private double sampledMin;
+	private double sampledMax;
+	/** view properties the points were checked for */
+	private double xscale;
+	private double yscale;
+	private double ymin;
+	private double ymax;
+	private double maxParamStep;
+
+	/**
+	 * Forgets all samples; needed when the function changed.
+	 */
+	public void invalidate() {
+		valid = false;
+		points.clear();
+	}
+
+	/**
+	 * @return whether there are samples that may be reused
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * @return number of cached points
+	 */
+	public int size() {
+		return points.size;
+	}
+
+	/**
+	 * Draws the function for x in [min, max], reusing samples from previous
+	 * calls where possible.
+	 *
+	 * @param curve
+	 *            function
+	 * @param min
+	 *            min value of parameter
+	 * @param max
+	 *            max value of parameter
+	 * @param view
+	 *            view
+	 * @param gp
+	 *            path
+	 * @param calcLabelPos
+	 *            whether label position should be calculated and returned
+	 * @param buffers
+	 *            plotter buffers, also collect statistics of this plot
+	 * @return label position, owned by the buffers
+	 */
+	public GPoint plot(CurveEvaluable curve, double min, double max,
+			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			CurvePlotterBuffers buffers) {
+		buffers.startPlot(curve);
+		double step = CurvePlotter.getMaxParamStep(min, max, view);
+		if (!valid || max <= sampledMin || min >= sampledMax) {
+			next.clear();
+			sample(curve, min, max, step, view, buffers);
+			appendJoined(next, strip, min);
+			swap(next);
+			sampledMin = min;
+			sampledMax = max;
+		} else {
+			extend(curve, min, max, step, view, buffers);
+			if (!isSameView(view, step)) {
+				resampleSegments(curve, step, view, buffers);
+			}
+		}
+		trim(min, max);
+		valid = true;
+		xscale = view.getXscale();
+		yscale = view.getYscale();
+		ymin = view.getYmin();
+		ymax = view.getYmax();
+		maxParamStep = step;
+		return replay(view, gp, calcLabelPos, buffers);
+	}
+
+	private boolean isSameView(EuclidianView view, double step) {
+		return xscale == view.getXscale() && yscale == view.getYscale()
+				&& ymin == view.getYmin() && ymax == view.getYmax()
+				&& maxParamStep == step;
+	}
+
+	/**
+	 * Samples the parts of [min, max] that are not covered yet.
+	 */
+	private void extend(CurveEvaluable curve, double min, double max,
+			double step, EuclidianView view, CurvePlotterBuffers buffers) {
+		next.clear();
+		if (min < sampledMin) {
+			sample(curve, min, sampledMin, step, view, buffers);
+			appendJoined(next, strip, sampledMin);
+		}
+		appendJoined(next, points, sampledMin);
+		if (max > sampledMax) {
+			sample(curve, sampledMax, max, step, view, buffers);
+			appendJoined(next, strip, sampledMax);
+		}
+		swap(next);
+		sampledMin = Math.min(min, sampledMin);
+		sampledMax = Math.max(max, sampledMax);
+	}
+
+	/**
+	 * Samples again all visible segments the plotter would bisect further
+	 * with the current view.
+	 */
+	private void resampleSegments(CurveEvaluable curve, double step,
+			EuclidianView view, CurvePlotterBuffers buffers) {
+		if (points.size < 2) {
+			return;
+		}
+		next.clear();
+		next.add(points.x[0], points.y[0], false);
+		for (int i = 1; i < points.size; i++) {
+			if (!needsResample(i, step, view)) {
+				next.add(points.x[i], points.y[i], points.lineTo[i]);
+				continue;
+			}
+			double x0 = points.x[i - 1];
+			double x1 = points.x[i];
+			sample(curve, x0, x1, step, view, buffers);
+			appendJoined(next, strip, x0);
+			if (next.size > 0 && next.x[next.size - 1] == x1) {
+				// segment end was sampled again
+				continue;
+			}
+			next.add(x1, points.y[i], false);
+		}
+		swap(next);
+	}
+
+	private boolean needsResample(int i, double step, EuclidianView view) {
+		points.get(i - 1, prev);
+		points.get(i, pos);
+		if (view.isSegmentOffView(prev, pos)) {
+			return false;
+		}
+		if (!points.lineTo[i]) {
+			// gap on screen: either a discontinuity or a segment that was off
+			// screen and sampled coarsely
+			return true;
+		}
+		if (pos[0] - prev[0] > step) {
+			return true;
+		}
+		view.getOnScreenDiff(prev, pos, diff);
+		if (!CurvePlotter.isDistanceOK(diff)) {
+			return true;
+		}
+		if (i < 2 || !points.lineTo[i - 1]) {
+			return false;
+		}
+		prevDiff[0] = (prev[0] - points.x[i - 2]) * view.getXscale();
+		prevDiff[1] = (prev[1] - points.y[i - 2]) * view.getYscale();
+		return !CurvePlotter.isAngleOK(prevDiff, diff, CurvePlotter.MAX_BEND);
+	}
+
+	/**
+	 * Keeps the points in [min, max] and one point on each side so that the
+	 * graph reaches the view borders.
+	 */
+	private void trim(double min, double max) {
+		int from = 0;
+		while (from + 1 < points.size && points.x[from + 1] <= min) {
+			from++;
+		}
+		int to = points.size - 1;
+		while (to - 1 > from && points.x[to - 1] >= max) {
+			to--;
+		}
+		if (points.size == 0) {
+			sampledMin = min;
+			sampledMax = max;
+			return;
+		}
+		sampledMin = Math.max(sampledMin, Math.min(min, points.x[from]));
+		sampledMax = Math.min(sampledMax, Math.max(max, points.x[to]));
+		if (from == 0 && to == points.size - 1) {
+			return;
+		}
+		next.clear();
+		next.add(points.x[from], points.y[from], false);
+		for (int i = from + 1; i <= to; i++) {
+			next.add(points.x[i], points.y[i], points.lineTo[i]);
+		}
+		swap(next);
+	}
+
+	/**
+	 * Appends src to dst, where dst covers the parameter range up to s and
+	 * src the range from s. The common point is only added once; if dst ends
+	 * before s, src starts a new subpath.
+	 */
+	private static void appendJoined(PointList dst, PointList src, double s) {
+		if (src.size == 0) {
+			return;
+		}
+		boolean joined = dst.size > 0 && dst.x[dst.size - 1] == s;
+		if (!joined || src.x[0] != s) {
+			dst.add(src.x[0], src.y[0], false);
+		}
+		for (int i = 1; i < src.size; i++) {
+			dst.add(src.x[i], src.y[i], src.lineTo[i]);
+		}
+	}
+
+	private void sample(CurveEvaluable curve, double t1, double t2,
+			double step, EuclidianView view, CurvePlotterBuffers buffers) {
+		strip.clear();
+		CurvePlotter.plotPart(curve, t1, t2, step, view, recorder, buffers);
+	}
+
+	private void swap(PointList list) {
+		next = points;
+		points = list;
+	}
+
+	/**
+	 * Sends cached points to the path; consecutive moves are merged.
+	 */
+	private GPoint replay(EuclidianView view, PathPlotter gp,
+			boolean calcLabelPos, CurvePlotterBuffers buffers) {
+		buffers.resetPointCount();
+		GPoint labelPoint = null;
+		boolean needLabelPos = calcLabelPos;
+		for (int i = 0; i < points.size; i++) {
+			points.get(i, pos);
+			if (i == 0 || !points.lineTo[i]) {
+				if (i + 1 < points.size && !points.lineTo[i + 1]) {
+					continue;
+				}
+				gp.moveTo(pos);
+			} else {
+				gp.lineTo(pos);
+			}
+			buffers.countPoint();
+			if (needLabelPos && view.isOnView(pos)) {
+				labelPoint = CurvePlotter.getLabelPoint(view, pos, buffers);
+				needLabelPos = false;
+			}
+		}
+		gp.endPlot();
+		return labelPoint;
+	}
+
+	/**
+	 * Growable list of points with their segment type.
+	 */
+	private static class PointList {
+		double[] x = new double[64];
+		double[] y = new double[64];
+		boolean[] lineTo = new boolean[64];
+		int size;
+
+		void add(double px, double py, boolean line) {
+			if (size == x.length) {
+				x = copyOf(x, 2 * size);
+				y = copyOf(y, 2 * size);
+				boolean[] newLineTo = new boolean[2 * size];
+				System.arraycopy(lineTo, 0, newLineTo, 0, size);
+				lineTo = newLineTo;
+			}
+			x[size] = px;
+			y[size] = py;
+			lineTo[size] = line;
+			size++;
+		}
+
+		void get(int i, double[] ret) {
+			ret[0] = x[i];
+			ret[1] = y[i];
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		private static double[] copyOf(double[] src, int length) {
+			double[] ret = new double[length];
+			System.arraycopy(src, 0, ret, 0, src.length);
+			return ret;
+		}
+	}
+
+	/**
+	 * Records the points produced by the plotter.
+	 */
+	private class Recorder implements PathPlotter {
+
+		@Override
+		public void drawTo(double[] p, SegmentType lineTo) {
+			strip.add(p[0], p[1], lineTo == SegmentType.LINE_TO);
+		}
+
+		@Override
+		public void lineTo(double[] p) {
+			strip.add(p[0], p[1], true);
+		}
+
+		@Override
+		public void moveTo(double[] p) {
+			strip.add(p[0], p[1], false);
+		}
+
+		@Override
+		public void corner() {
+			// gaps are always moves
+		}
+
+		@Override
+		public void corner(double[] p) {
+			// gaps are always moves
+		}
+
+		@Override
+		public void firstPoint(double[] p, Gap moveToAllowed) {
+			strip.add(p[0], p[1], false);
+		}
+
+		@Override
+		public double[] newDoubleArray() {
+			return new double[2];
+		}
+
+		@Override
+		public boolean copyCoords(MyPoint point, double[] ret,
+				CoordSys transformSys) {
+			ret[0] = point.x;
+			ret[1] = point.y;
+			return true;
+		}
+
+		@Override
+		public void endPlot() {
+			// nothing to do
+		}
+
+		@Override
+		public boolean supports(CoordSys transformSys) {
+			return true;
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package org.geogebra.common.euclidian.plot;
 
-import org.apache.commons.math3.util.Cloner;
 import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceSlim;
@@ -27,6 +26,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	private boolean lineDrawn;
 	private Coords tmpCoords = new Coords(4);
+	private double[] tmpScreen = new double[2];
 
 	/**
 	 * constructor
@@ -50,11 +50,22 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void drawTo(double[] pos, SegmentType segmentType) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		drawTo(p[0], p[1], segmentType);
 	}
 
+	/**
+	 * @param pos
+	 *            real world coordinates
+	 * @return screen coordinates, valid until next call
+	 */
+	private double[] toScreenCoords(double[] pos) {
+		tmpScreen[0] = pos[0];
+		tmpScreen[1] = pos[1];
+		((EuclidianView) view).toScreenCoords(tmpScreen);
+		return tmpScreen;
+	}
+
 	private void drawTo(double x, double y, SegmentType lineTo) {
 		GPoint2D point = getCurrentPoint();
 
@@ -114,8 +125,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void corner(double[] pos) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		corner(p[0], p[1]);
 	}
 
@@ -154,8 +164,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void firstPoint(double[] pos, Gap moveToAllowed) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		final double x0 = p[0];
 		final double y0 = p[1];
 
@@ -1,8 +1,10 @@
 package org.geogebra.common.factories;
 
+import org.geogebra.common.kernel.algos.ParallelAlgoComputer;
 import org.geogebra.common.util.GTimer;
 import org.geogebra.common.util.GTimerListener;
 import org.geogebra.common.util.HttpRequest;
+import org.geogebra.common.util.ParallelTaskRunner;
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.Reflection;
 import org.geogebra.common.util.URLEncoder;
@@ -76,4 +78,20 @@ public abstract class UtilFactory {
 	 * @return new GTimer object
 	 */
 	public abstract GTimer newTimer(GTimerListener listener, int delay);
+
+	/**
+	 * @return computer for concurrent algo updates, null if the platform has
+	 *         no threads
+	 */
+	public ParallelAlgoComputer newParallelAlgoComputer() {
+		return null;
+	}
+
+	/**
+	 * @return runner for concurrent tasks, null if the platform has no
+	 *         threads
+	 */
+	public ParallelTaskRunner newParallelTaskRunner() {
+		return null;
+	}
 }
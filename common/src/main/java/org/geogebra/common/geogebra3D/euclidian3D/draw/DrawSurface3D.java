@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian3D.EuclidianView3DInterface;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.PlotterBrush;
@@ -25,6 +26,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoFunctionNVar;
 import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
 import org.geogebra.common.kernel.kernelND.SurfaceEvaluable.LevelOfDetail;
+import org.geogebra.common.kernel.matrix.CoordMatrix4x4;
 import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.kernel.matrix.Coords3;
 import org.geogebra.common.kernel.matrix.CoordsDouble3;
@@ -64,8 +66,21 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	final private static int HIT_SAMPLES = 10;
 	final private static double DELTA_SAMPLES = 1.0 / HIT_SAMPLES;
 
+	// number of screen-space error levels: split tolerances are multiplied
+	// by 2^level
+	private static final int SCREEN_ERROR_LEVELS = 3;
+	// number of clipped surfaces that are all drawn at finest level
+	private static final int SCREEN_ERROR_SURFACES_BUDGET = 8;
+	// factor under which we go back to a finer level
+	private static final double SCREEN_ERROR_HYSTERESIS = 0.75;
+
 	private SurfaceEvaluable.LevelOfDetail levelOfDetail = SurfaceEvaluable.LevelOfDetail.QUALITY;
 
+	/**
+	 * current screen-space error level
+	 */
+	private int screenErrorLevel = 0;
+
 	private int maxSplit;
 
 	// draw array size ( size +=1 for one last draw)
@@ -224,22 +239,87 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	private void setTolerances() {
 		maxRWPixelDistance = CurvePlotter.MAX_PIXEL_DISTANCE;
 
+		screenErrorLevel = computeScreenErrorLevel();
+		double distance = maxRWPixelDistance * (1 << screenErrorLevel);
+
 		// set sizes
 		switch (levelOfDetail) {
 		case SPEED:
-			maxRWDistanceNoAngleCheck = 1 * maxRWPixelDistance;
-			maxRWDistance = 5 * maxRWPixelDistance;
+			maxRWDistanceNoAngleCheck = 1 * distance;
+			maxRWDistance = 5 * distance;
 			maxBend = getView3D().getMaxBendSpeedSurface();
 			break;
 		case QUALITY:
-			maxRWDistanceNoAngleCheck = 1 * maxRWPixelDistance;
-			maxRWDistance = 2 * maxRWPixelDistance;
+			maxRWDistanceNoAngleCheck = 1 * distance;
+			maxRWDistance = 2 * distance;
 			maxBend = CurvePlotter.MAX_BEND;
 			break;
 		}
 
 	}
 
+	/**
+	 * Points are scaled to screen pixels, so split tolerances are already
+	 * screen-space errors for a surface lying on the screen plane. This
+	 * returns a coarser level when the surface is far away from the eye
+	 * (perspective projection), or when many surfaces share the view.
+	 * 
+	 * @return screen-space error level, between 0 (finest) and
+	 *         SCREEN_ERROR_LEVELS - 1
+	 */
+	private int computeScreenErrorLevel() {
+		double factor = 1;
+		// number of triangles grows with 1/tolerance^2
+		int surfaces = getView3D().getDrawList3D().getClippedSurfacesCount();
+		if (surfaces > SCREEN_ERROR_SURFACES_BUDGET) {
+			factor = Math.sqrt(
+					(double) surfaces / SCREEN_ERROR_SURFACES_BUDGET);
+		}
+		factor /= getPerspectiveMagnification();
+
+		int level = 0;
+		while (level < SCREEN_ERROR_LEVELS - 1 && factor >= 2 << level) {
+			level++;
+		}
+		// avoid switching back and forth around a level threshold
+		if (level < screenErrorLevel && factor >= SCREEN_ERROR_HYSTERESIS
+				* (1 << screenErrorLevel)) {
+			level = screenErrorLevel;
+		}
+		return level;
+	}
+
+	/**
+	 * 
+	 * @return max magnification of the surface bounds due to perspective
+	 *         (1 for other projections or when bounds are not known yet)
+	 */
+	private double getPerspectiveMagnification() {
+		EuclidianView3D view = getView3D();
+		int projection = view.getProjection();
+		if ((projection != EuclidianView3DInterface.PROJECTION_PERSPECTIVE
+				&& projection != EuclidianView3DInterface.PROJECTION_GLASSES)
+				|| Double.isInfinite(boundsMin.getX())
+				|| Double.isInfinite(boundsMax.getX())) {
+			return 1;
+		}
+
+		// screen z of the bounds corner nearest to the eye (bounds are
+		// already scaled)
+		CoordMatrix4x4 m = view.getToScreenMatrixForGL();
+		double z = m.get(3, 4);
+		for (int i = 1; i <= 3; i++) {
+			z += Math.max(m.get(3, i) * boundsMin.get(i),
+					m.get(3, i) * boundsMax.get(i));
+		}
+
+		double eyeDistance = view.getProjectionPerspectiveEyeDistance();
+		if (z >= eyeDistance) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return eyeDistance / (eyeDistance - z);
+	}
+
 	/**
 	 * console debug
 	 * 
@@ -669,6 +749,10 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		if (getView3D().viewChangedByZoom()
 				|| getView3D().viewChangedByTranslate()) {
 			setWaitForUpdate();
+		} else if (!drawFromScratch
+				&& computeScreenErrorLevel() != screenErrorLevel) {
+			// e.g. rotation moved the surface away from/closer to the eye
+			setWaitForUpdate();
 		}
 	}
 
@@ -131,6 +131,14 @@ public class Drawable3DLists {
 				|| !lists[Drawable3D.DRAW_TYPE_LISTS].isEmpty();
 	}
 
+	/**
+	 * 
+	 * @return number of clipped surfaces (not in lists)
+	 */
+	public int getClippedSurfacesCount() {
+		return lists[Drawable3D.DRAW_TYPE_CLIPPED_SURFACES].size();
+	}
+
 	/**
 	 * 
 	 * @return true if contains clipped curves
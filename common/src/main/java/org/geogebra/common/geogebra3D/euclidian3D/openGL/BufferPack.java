@@ -1,5 +1,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager.Type;
 
@@ -8,6 +10,15 @@ import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager.Type;
  */
 class BufferPack extends BufferPackAbstract {
 
+	/** elements compared at once when a geometry is set again */
+	static final int TILE_LENGTH = 64;
+	/** bytes for vertex, normal, texture and color of one element */
+	private static final int BYTES_PER_ELEMENT = 4 * (3 + 3 + 2 + 4);
+	/** pack buffers not asked to the renderer yet */
+	private static final int PACK_BUFFERS_NOT_CREATED = -2;
+	/** no pack buffers: buffers are loaded each time they are drawn */
+	private static final int NO_PACK_BUFFERS = -1;
+
 	private GLBufferManager manager;
 	/** buffer for vertices */
 	private GLBuffer vertexBuffer;
@@ -22,6 +33,20 @@ class BufferPack extends BufferPackAbstract {
 	private int elementsSize;
 	private int indicesSize;
 
+	/** GPU buffers, see RendererImpl#createPackBuffers() */
+	private int packBuffers = PACK_BUFFERS_NOT_CREATED;
+	private RendererImpl packBuffersRenderer;
+	private int uploadedElementsLength;
+	private int uploadedIndicesLength;
+	/** elements with vertex, normal or texture changed since last upload */
+	private DirtyRange geometryRange = new DirtyRange();
+	/** elements with color changed since last upload */
+	private DirtyRange colorRange = new DirtyRange();
+	/** indices changed since last upload */
+	private DirtyRange indicesRange = new DirtyRange();
+	/** elements set since last draw */
+	private int rebuiltElements;
+
 	/**
 	 * creates a new buffer pack, using approx. 2MB (4 bytes per float * 32768 * 15)
 	 * at max
@@ -126,21 +151,111 @@ class BufferPack extends BufferPackAbstract {
 	public void setElements() {
 		int offset = manager.currentBufferSegment.elementsOffset;
 		int length = manager.currentBufferSegment.getElementsLength();
-		vertexBuffer.set(manager.vertexArray, offset * 3, length * 3);
+		if (packBuffers != NO_PACK_BUFFERS && manager.usesPackBuffers()) {
+			// only tiles that changed will be uploaded
+			for (int tile = 0; tile < length; tile += TILE_LENGTH) {
+				int tileLength = Math.min(TILE_LENGTH, length - tile);
+				if (!hasElements(offset + tile, tile, tileLength)) {
+					setElements(offset + tile, tile, tileLength);
+				}
+			}
+			vertexBuffer.rewind();
+			normalBuffer.rewind();
+			textureBuffer.rewind();
+		} else {
+			setElements(offset, 0, length);
+		}
+		setColorAndLayer(manager.color, manager.layer, offset, length);
+	}
+
+	/**
+	 * copy elements from manager arrays
+	 * 
+	 * @param offset
+	 *            elements offset in buffers
+	 * @param arrayOffset
+	 *            elements offset in manager arrays
+	 * @param length
+	 *            elements length
+	 */
+	private void setElements(int offset, int arrayOffset, int length) {
+		vertexBuffer.set(manager.vertexArray, arrayOffset * 3, offset * 3,
+				length * 3);
 		if (manager.oneNormal) {
 			for (int i = 0; i < 3; i++) {
 				normalBuffer.set(manager.normalArray.get(i).floatValue(), offset * 3 + i, length,
 						3);
 			}
 		} else {
-			normalBuffer.set(manager.normalArray, offset * 3, length * 3);
+			normalBuffer.set(manager.normalArray, arrayOffset * 3, offset * 3,
+					length * 3);
 		}
 		if (manager.textureArray == null) {
 			textureBuffer.set(0, offset * 2, length * 2, 1);
 		} else {
-			textureBuffer.set(manager.textureArray, offset * 2, length * 2);
+			textureBuffer.set(manager.textureArray, arrayOffset * 2,
+					offset * 2, length * 2);
 		}
-		setColorAndLayer(manager.color, manager.layer, offset, length);
+		geometryRange.add(offset, length);
+		rebuiltElements += length;
+	}
+
+	/**
+	 * 
+	 * @param offset
+	 *            elements offset in buffers
+	 * @param arrayOffset
+	 *            elements offset in manager arrays
+	 * @param length
+	 *            elements length
+	 * @return true if buffers already contain the elements from manager
+	 *         arrays
+	 */
+	private boolean hasElements(int offset, int arrayOffset, int length) {
+		if (!hasValues(vertexBuffer, manager.vertexArray, arrayOffset * 3,
+				offset * 3, length * 3)) {
+			return false;
+		}
+		if (manager.oneNormal) {
+			for (int i = 0; i < 3; i++) {
+				if (!hasValue(normalBuffer,
+						manager.normalArray.get(i).floatValue(),
+						offset * 3 + i, length, 3)) {
+					return false;
+				}
+			}
+		} else if (!hasValues(normalBuffer, manager.normalArray,
+				arrayOffset * 3, offset * 3, length * 3)) {
+			return false;
+		}
+		if (manager.textureArray == null) {
+			return hasValue(textureBuffer, 0, offset * 2, length * 2, 1);
+		}
+		return hasValues(textureBuffer, manager.textureArray, arrayOffset * 2,
+				offset * 2, length * 2);
+	}
+
+	private static boolean hasValues(GLBuffer buffer, ArrayList<Double> array,
+			int arrayOffset, int offset, int length) {
+		buffer.position(offset);
+		for (int i = 0; i < length; i++) {
+			if ((float) buffer.get() != array.get(arrayOffset + i)
+					.floatValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasValue(GLBuffer buffer, float value, int offset,
+			int length, int step) {
+		for (int i = 0; i < length; i++) {
+			buffer.position(offset + i * step);
+			if ((float) buffer.get() != value) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -157,6 +272,8 @@ class BufferPack extends BufferPackAbstract {
 		vertexBuffer.set(manager.vertexArray, arrayOffset * 3, 0, length * 3);
 		normalBuffer.set(manager.normalArray, arrayOffset * 3, 0, length * 3);
 		textureBuffer.set(manager.textureArray, arrayOffset * 2, 0, length * 2);
+		geometryRange.add(0, length);
+		rebuiltElements += length;
 		setColorAndLayer(manager.color, manager.layer, 0, length);
 	}
 
@@ -174,6 +291,8 @@ class BufferPack extends BufferPackAbstract {
 			normalBuffer.set(manager.normalArray, offset * 3, length * 3);
 			textureBuffer.set(0, offset * 2, length * 2, 1);
 		}
+		geometryRange.add(offset, length);
+		rebuiltElements += length;
 		setColorAndLayer(manager.color, manager.layer, offset, length);
 	}
 
@@ -182,6 +301,7 @@ class BufferPack extends BufferPackAbstract {
 	 */
 	@Override
 	public void setColorAndLayer(GColor color, int layer, int offset, int length) {
+		colorRange.add(offset, length);
 		int colorOffset = offset * 4;
 		colorBuffer.set((float) color.getRed() / 255, colorOffset, length, 4);
 		colorOffset++;
@@ -212,6 +332,7 @@ class BufferPack extends BufferPackAbstract {
 	}
 
 	private void setAlpha(int alpha, int layer, int offset, int length) {
+		colorRange.add(offset / 4, length);
 		colorBuffer.set(alpha <= 0 ? GLBufferManager.ALPHA_INVISIBLE
 				: (alpha >= 255 ? 1f : ((float) alpha / 255))
 						+ Renderer.LAYER_FACTOR_FOR_CODING
@@ -224,20 +345,111 @@ class BufferPack extends BufferPackAbstract {
 	 */
 	@Override
 	public void draw(Renderer r) {
+		RendererImpl rendererImpl = r.getRendererImpl();
+		if (packBuffers == PACK_BUFFERS_NOT_CREATED) {
+			packBuffers = manager.usesPackBuffers()
+					? rendererImpl.createPackBuffers() : NO_PACK_BUFFERS;
+			packBuffersRenderer = rendererImpl;
+		}
+		int bytes;
 		vertexBuffer.rewind();
 		normalBuffer.rewind();
+		colorBuffer.rewind();
+		textureBuffer.rewind();
 		indicesBuffer.rewind();
-		r.getRendererImpl().loadVertexBuffer(vertexBuffer, elementsLength);
-		r.getRendererImpl().loadNormalBuffer(normalBuffer, elementsLength);
-		r.getRendererImpl().loadColorBuffer(colorBuffer, elementsLength);
-		if (r.getRendererImpl().areTexturesEnabled()) {
-			r.getRendererImpl().loadTextureBuffer(textureBuffer,
-					elementsLength);
+		if (packBuffers == NO_PACK_BUFFERS) {
+			rendererImpl.loadVertexBuffer(vertexBuffer, elementsLength);
+			rendererImpl.loadNormalBuffer(normalBuffer, elementsLength);
+			rendererImpl.loadColorBuffer(colorBuffer, elementsLength);
+			bytes = 4 * (3 + 3 + 4) * elementsLength + 2 * indicesLength;
+			if (rendererImpl.areTexturesEnabled()) {
+				rendererImpl.loadTextureBuffer(textureBuffer, elementsLength);
+				bytes += 4 * 2 * elementsLength;
+			} else {
+				rendererImpl.disableTextureBuffer();
+			}
+			rendererImpl.loadIndicesBuffer(indicesBuffer, indicesLength);
+			rendererImpl.draw(Type.TRIANGLES, indicesLength);
+		} else {
+			bytes = uploadPackBuffers(rendererImpl);
+			rendererImpl.bindPackBuffers(packBuffers);
+			rendererImpl.draw(Type.TRIANGLES, indicesLength);
+			rendererImpl.unbindPackBuffers();
+		}
+		r.addToBufferUpdates(rebuiltElements, bytes);
+		rebuiltElements = 0;
+	}
+
+	/**
+	 * upload what changed since last upload to pack buffers; load everything
+	 * when this pack got bigger
+	 * 
+	 * @param rendererImpl
+	 *            renderer implementation
+	 * @return bytes uploaded
+	 */
+	private int uploadPackBuffers(RendererImpl rendererImpl) {
+		int bytes = 0;
+		if (uploadedElementsLength < elementsLength) {
+			loadPackBuffer(rendererImpl,
+					RendererImplShaders.GLSL_ATTRIB_POSITION, vertexBuffer, 3);
+			loadPackBuffer(rendererImpl,
+					RendererImplShaders.GLSL_ATTRIB_NORMAL, normalBuffer, 3);
+			loadPackBuffer(rendererImpl,
+					RendererImplShaders.GLSL_ATTRIB_TEXTURE, textureBuffer, 2);
+			loadPackBuffer(rendererImpl,
+					RendererImplShaders.GLSL_ATTRIB_COLOR, colorBuffer, 4);
+			uploadedElementsLength = elementsLength;
+			geometryRange.clear();
+			colorRange.clear();
+			bytes += BYTES_PER_ELEMENT * elementsLength;
 		} else {
-			r.getRendererImpl().disableTextureBuffer();
+			if (!geometryRange.isEmpty()) {
+				updatePackBuffer(rendererImpl,
+						RendererImplShaders.GLSL_ATTRIB_POSITION, vertexBuffer,
+						geometryRange, 3);
+				updatePackBuffer(rendererImpl,
+						RendererImplShaders.GLSL_ATTRIB_NORMAL, normalBuffer,
+						geometryRange, 3);
+				updatePackBuffer(rendererImpl,
+						RendererImplShaders.GLSL_ATTRIB_TEXTURE, textureBuffer,
+						geometryRange, 2);
+				bytes += 4 * (3 + 3 + 2) * geometryRange.getLength();
+				geometryRange.clear();
+			}
+			if (!colorRange.isEmpty()) {
+				updatePackBuffer(rendererImpl,
+						RendererImplShaders.GLSL_ATTRIB_COLOR, colorBuffer,
+						colorRange, 4);
+				bytes += 4 * 4 * colorRange.getLength();
+				colorRange.clear();
+			}
+		}
+		if (uploadedIndicesLength < indicesLength) {
+			rendererImpl.loadPackIndices(packBuffers, indicesBuffer,
+					indicesLength);
+			uploadedIndicesLength = indicesLength;
+			indicesRange.clear();
+			bytes += 2 * indicesLength;
+		} else if (!indicesRange.isEmpty()) {
+			rendererImpl.updatePackIndices(packBuffers, indicesBuffer,
+					indicesRange.getStart(), indicesRange.getLength());
+			bytes += 2 * indicesRange.getLength();
+			indicesRange.clear();
 		}
-		r.getRendererImpl().loadIndicesBuffer(indicesBuffer, indicesLength);
-		r.getRendererImpl().draw(Type.TRIANGLES, indicesLength);
+		return bytes;
+	}
+
+	private void loadPackBuffer(RendererImpl rendererImpl, int attrib,
+			GLBuffer buffer, int size) {
+		rendererImpl.loadPackBuffer(packBuffers, attrib, buffer,
+				elementsLength * size);
+	}
+
+	private void updatePackBuffer(RendererImpl rendererImpl, int attrib,
+			GLBuffer buffer, DirtyRange range, int size) {
+		rendererImpl.updatePackBuffer(packBuffers, attrib, buffer,
+				range.getStart() * size, range.getLength() * size);
 	}
 
 	/* (non-Javadoc)
@@ -253,6 +465,19 @@ class BufferPack extends BufferPackAbstract {
 		colorBuffer.setLimit(0);
 		textureBuffer.setLimit(0);
 		indicesBuffer.setLimit(0);
+		geometryRange.clear();
+		colorRange.clear();
+		indicesRange.clear();
+	}
+
+	@Override
+	public void release() {
+		if (packBuffers >= 0) {
+			packBuffersRenderer.releasePackBuffers(packBuffers);
+		}
+		packBuffers = PACK_BUFFERS_NOT_CREATED;
+		uploadedElementsLength = 0;
+		uploadedIndicesLength = 0;
 	}
 
 	/* (non-Javadoc)
@@ -260,6 +485,7 @@ class BufferPack extends BufferPackAbstract {
 	 */
 	@Override
 	public void setAlphaToTransparent(int offset, int length) {
+		colorRange.add(offset, length);
 		colorBuffer.set(
 				ManagerShaders.ALPHA_INVISIBLE_VALUE,
 				offset * 4 + 3, length, 4);
@@ -270,6 +496,7 @@ class BufferPack extends BufferPackAbstract {
 	 */
 	@Override
 	public void putToIndices(int indicesIndex, short value) {
+		indicesRange.add(indicesIndex, 1);
 		indicesBuffer.put(indicesIndex, value);
 	}
 
@@ -100,6 +100,13 @@ abstract class BufferPackAbstract {
 		}
 	}
 
+	/**
+	 * release GPU buffers when this pack is not used anymore
+	 */
+	public void release() {
+		// nothing to release
+	}
+
 	/**
 	 * set alpha values to transparent
 	 * 
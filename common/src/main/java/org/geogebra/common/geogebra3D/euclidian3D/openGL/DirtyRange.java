@@ -0,0 +1,66 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Range of buffer entries that changed since the last upload to the GPU
+ */
+class DirtyRange {
+
+	private int start;
+	private int end;
+
+	/**
+	 * creates an empty range
+	 */
+	public DirtyRange() {
+		clear();
+	}
+
+	/**
+	 * extend the range so that it contains the given entries
+	 *
+	 * @param offset
+	 *            first changed entry
+	 * @param length
+	 *            number of changed entries
+	 */
+	public void add(int offset, int length) {
+		if (length <= 0) {
+			return;
+		}
+		start = Math.min(start, offset);
+		end = Math.max(end, offset + length);
+	}
+
+	/**
+	 * set the range to empty
+	 */
+	public void clear() {
+		start = Integer.MAX_VALUE;
+		end = 0;
+	}
+
+	/**
+	 *
+	 * @return true if no entry changed
+	 */
+	public boolean isEmpty() {
+		return end <= start;
+	}
+
+	/**
+	 *
+	 * @return first changed entry
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 *
+	 * @return number of entries from first to last changed entry
+	 */
+	public int getLength() {
+		return isEmpty() ? 0 : end - start;
+	}
+
+}
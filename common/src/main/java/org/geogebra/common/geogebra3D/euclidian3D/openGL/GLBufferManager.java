@@ -243,6 +243,7 @@ abstract class GLBufferManager {
 			addCurrentToAvailableSegmentsMayMerge();
 		} else {
 			bufferPackList.remove(currentBufferPack);
+			currentBufferPack.release();
 		}
 	}
 
@@ -432,6 +433,7 @@ abstract class GLBufferManager {
 				bufferPack.reset();
 			} else {
 				buffersToRemove.add(bufferPack);
+				bufferPack.release();
 			}
 		}
 		bufferPackList.removeAll(buffersToRemove);
@@ -508,6 +510,15 @@ abstract class GLBufferManager {
 		currentBufferSegment = bufferSegments.get(currentIndex);
 	}
 
+	/**
+	 * 
+	 * @return true if buffer packs keep their buffers on the GPU between
+	 *         frames and only upload what changed
+	 */
+	protected boolean usesPackBuffers() {
+		return false;
+	}
+
 	/**
 	 * 
 	 * @return true if buffer manager for creating points templates
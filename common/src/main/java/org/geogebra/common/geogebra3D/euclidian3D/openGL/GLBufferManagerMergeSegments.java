@@ -216,6 +216,7 @@ abstract public class GLBufferManagerMergeSegments extends GLBufferManager {
 						if (segment.elementsOffset == 0 && segment
 								.getElementsAvailableLength() == bufferPack.elementsLength) {
 							bufferPackList.remove(i);
+							bufferPack.release();
 							removeFromAvailableSegments(segment);
 							removeFromAvailableBufferPacks(bufferPack);
 						}
@@ -123,6 +123,12 @@ public class GLBufferManagerSurfaces extends GLBufferManager {
 						type);
 	}
 
+	@Override
+	protected boolean usesPackBuffers() {
+		// surfaces may be big and are often updated by sliders
+		return true;
+	}
+
 	@Override
 	protected int getElementSizeStart() {
 		return ELEMENTS_SIZE_START;
@@ -72,6 +72,12 @@ public class GLBufferManagerSurfacesClipped
 		return true;
 	}
 
+	@Override
+	protected boolean usesPackBuffers() {
+		// surfaces may be big and are often updated by sliders
+		return true;
+	}
+
 	@Override
 	protected int getElementSizeStart() {
 		return ELEMENTS_SIZE_START;
@@ -79,6 +79,11 @@ public abstract class Renderer {
 	/** geometries manager */
 	protected Manager geometryManager;
 
+	/** vertices set in packed buffers during current frame */
+	private int verticesRebuilt;
+	/** bytes uploaded from packed buffers during current frame */
+	private int bytesUploaded;
+
 	private Textures textures;
 
 	/** ambient factor for light #0 */
@@ -335,6 +340,9 @@ public abstract class Renderer {
 	 */
 	public void drawScene() {
 
+		verticesRebuilt = 0;
+		bytesUploaded = 0;
+
 		// update 3D controller
 		((EuclidianController3D) view3D.getEuclidianController())
 				.updateInput3D();
@@ -2012,6 +2020,33 @@ public abstract class Renderer {
 		}
 	}
 	
+	/**
+	 * add to counters of packed buffers updates for current frame
+	 * 
+	 * @param vertices
+	 *            vertices set in buffers
+	 * @param bytes
+	 *            bytes uploaded to the GPU
+	 */
+	public void addToBufferUpdates(int vertices, int bytes) {
+		verticesRebuilt += vertices;
+		bytesUploaded += bytes;
+	}
+
+	/**
+	 * @return vertices set in packed buffers during last frame
+	 */
+	public int getVerticesRebuilt() {
+		return verticesRebuilt;
+	}
+
+	/**
+	 * @return bytes uploaded from packed buffers during last frame
+	 */
+	public int getBytesUploaded() {
+		return bytesUploaded;
+	}
+
 	/**
 	 * @return implementation
 	 */
@@ -275,6 +275,114 @@ public abstract class RendererImpl {
 
 	abstract public void loadIndicesBuffer(GLBufferIndices arrayI, int length);
 
+	/**
+	 * create GPU buffers that keep vertices, normals, colors, textures and
+	 * indices of a buffer pack between frames
+	 *
+	 * @return buffers id, or -1 if not supported (then the buffer pack has to
+	 *         be loaded each time it is drawn)
+	 */
+	public int createPackBuffers() {
+		return -1;
+	}
+
+	/**
+	 * release buffers created with {@link #createPackBuffers()}, they may be
+	 * returned again for another buffer pack
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 */
+	public void releasePackBuffers(int packBuffers) {
+		// not supported
+	}
+
+	/**
+	 * load all values of an attribute in pack buffers
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 * @param attrib
+	 *            attribute (see RendererImplShaders.GLSL_ATTRIB_*)
+	 * @param fb
+	 *            values
+	 * @param length
+	 *            number of values
+	 */
+	public void loadPackBuffer(int packBuffers, int attrib, GLBuffer fb,
+			int length) {
+		// not supported
+	}
+
+	/**
+	 * update a range of values of an attribute in pack buffers that have
+	 * already been loaded
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 * @param attrib
+	 *            attribute (see RendererImplShaders.GLSL_ATTRIB_*)
+	 * @param fb
+	 *            values
+	 * @param offset
+	 *            first value to update
+	 * @param length
+	 *            number of values to update
+	 */
+	public void updatePackBuffer(int packBuffers, int attrib, GLBuffer fb,
+			int offset, int length) {
+		// not supported
+	}
+
+	/**
+	 * load all indices in pack buffers
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 * @param arrayI
+	 *            indices
+	 * @param length
+	 *            number of indices
+	 */
+	public void loadPackIndices(int packBuffers, GLBufferIndices arrayI,
+			int length) {
+		// not supported
+	}
+
+	/**
+	 * update a range of indices in pack buffers that have already been loaded
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 * @param arrayI
+	 *            indices
+	 * @param offset
+	 *            first index to update
+	 * @param length
+	 *            number of indices to update
+	 */
+	public void updatePackIndices(int packBuffers, GLBufferIndices arrayI,
+			int offset, int length) {
+		// not supported
+	}
+
+	/**
+	 * use pack buffers for next draw
+	 *
+	 * @param packBuffers
+	 *            buffers id
+	 */
+	public void bindPackBuffers(int packBuffers) {
+		// not supported
+	}
+
+	/**
+	 * use again the buffers loaded with load...Buffer() methods
+	 */
+	public void unbindPackBuffers() {
+		// not supported
+	}
+
 	/**
 	 * enable flag
 	 * 
@@ -1,5 +1,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.ar.ARManagerInterface;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager.Type;
@@ -73,6 +75,11 @@ public abstract class RendererImplShaders extends RendererImpl {
 	private int currentDash = Textures.DASH_INIT;
 
 	private int currentTextureType = TEXTURE_TYPE_NONE;
+
+	/** number of pack buffers created (id 0 is used by load...Buffer()) */
+	private int packBuffersCount;
+	/** pack buffers released, that can be used for another buffer pack */
+	private ArrayList<Integer> releasedPackBuffers = new ArrayList<>();
 	private int oldTextureType = TEXTURE_TYPE_NONE;
 
 	private double perspXZ;
@@ -405,6 +412,110 @@ public abstract class RendererImplShaders extends RendererImpl {
 	abstract protected void glBufferDataIndices(int numBytes,
 			GLBufferIndices arrayI);
 
+	/**
+	 * push buffer data in a range of current buffer
+	 * 
+	 * @param offset
+	 *            first value to push
+	 * @param length
+	 *            number of values to push
+	 * @param fb
+	 *            buffer array
+	 */
+	abstract protected void glBufferSubData(int offset, int length,
+			GLBuffer fb);
+
+	/**
+	 * push indices in a range of current indices buffer
+	 * 
+	 * @param offset
+	 *            first index to push
+	 * @param length
+	 *            number of indices to push
+	 * @param arrayI
+	 *            indices array
+	 */
+	abstract protected void glBufferSubDataIndices(int offset, int length,
+			GLBufferIndices arrayI);
+
+	@Override
+	public int createPackBuffers() {
+		if (!releasedPackBuffers.isEmpty()) {
+			return releasedPackBuffers
+					.remove(releasedPackBuffers.size() - 1);
+		}
+		packBuffersCount++;
+		createVBOs(packBuffersCount * GLSL_ATTRIB_SIZE);
+		return packBuffersCount;
+	}
+
+	@Override
+	public void releasePackBuffers(int packBuffers) {
+		releasedPackBuffers.add(packBuffers);
+	}
+
+	private static int getPackBuffer(int packBuffers, int attrib) {
+		return packBuffers * GLSL_ATTRIB_SIZE + attrib;
+	}
+
+	@Override
+	public void loadPackBuffer(int packBuffers, int attrib, GLBuffer fb,
+			int length) {
+		bindBuffer(getPackBuffer(packBuffers, attrib));
+		glBufferData(length * 4, fb); // 4 bytes per float
+	}
+
+	@Override
+	public void updatePackBuffer(int packBuffers, int attrib, GLBuffer fb,
+			int offset, int length) {
+		bindBuffer(getPackBuffer(packBuffers, attrib));
+		glBufferSubData(offset, length, fb);
+	}
+
+	@Override
+	public void loadPackIndices(int packBuffers, GLBufferIndices arrayI,
+			int length) {
+		bindBufferForIndices(getPackBuffer(packBuffers, GLSL_ATTRIB_INDEX));
+		glBufferDataIndices(length * 2, arrayI); // 2 bytes per short
+	}
+
+	@Override
+	public void updatePackIndices(int packBuffers, GLBufferIndices arrayI,
+			int offset, int length) {
+		bindBufferForIndices(getPackBuffer(packBuffers, GLSL_ATTRIB_INDEX));
+		glBufferSubDataIndices(offset, length, arrayI);
+	}
+
+	@Override
+	public void bindPackBuffers(int packBuffers) {
+		// prevent use of global color and normal
+		setColor(-1, -1, -1, -1);
+		if (oneNormalForAllVertices) {
+			resetOneNormalForAllVertices();
+		}
+		bindPackAttribute(packBuffers, GLSL_ATTRIB_POSITION, 3);
+		bindPackAttribute(packBuffers, GLSL_ATTRIB_NORMAL, 3);
+		bindPackAttribute(packBuffers, GLSL_ATTRIB_COLOR, 4);
+		if (areTexturesEnabled()) {
+			setCurrentGeometryHasTexture();
+			bindPackAttribute(packBuffers, GLSL_ATTRIB_TEXTURE, 2);
+		} else {
+			disableTextureBuffer();
+		}
+		bindBufferForIndices(getPackBuffer(packBuffers, GLSL_ATTRIB_INDEX));
+	}
+
+	private void bindPackAttribute(int packBuffers, int attrib, int size) {
+		bindBuffer(getPackBuffer(packBuffers, attrib));
+		vertexAttribPointer(attrib, size);
+		glEnableVertexAttribArray(attrib);
+	}
+
+	@Override
+	public void unbindPackBuffers() {
+		attribPointers();
+	}
+
 	/**
 	 * attribute vertex pointers
 	 */
@@ -986,6 +1097,8 @@ public abstract class RendererImplShaders extends RendererImpl {
 		glLinkProgram();
 
 		setShaderLocations();
+		packBuffersCount = 0;
+		releasedPackBuffers.clear();
 		createVBOs();
 		attribPointers();
 	}
@@ -1002,6 +1115,14 @@ public abstract class RendererImplShaders extends RendererImpl {
 
 	abstract protected void createVBOs();
 
+	/**
+	 * create GLSL_ATTRIB_SIZE more VBOs
+	 * 
+	 * @param start
+	 *            index of the first new VBO (used then by bindBuffer())
+	 */
+	abstract protected void createVBOs(int start);
+
 	@Override
 	public void enableAlphaTest() {
 		// done by shader
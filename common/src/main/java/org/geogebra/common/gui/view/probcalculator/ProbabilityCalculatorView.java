@@ -2,7 +2,6 @@ package org.geogebra.common.gui.view.probcalculator;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.TreeSet;
 
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.euclidian.EuclidianView;
@@ -198,7 +197,6 @@ public abstract class ProbabilityCalculatorView
 
 	protected ProbabilityManager probManager;
 	protected GeoFunction pdfCurve;
-	private TreeSet<AlgoElement> tempSet;
 
 	/**
 	 * @param app
@@ -1002,8 +1000,7 @@ public abstract class ProbabilityCalculatorView
 		lowPoint.setCoords(getLow(), 0.0, 1.0);
 		highPoint.setCoords(getHigh(), 0.0, 1.0);
 		getPlotPanel().repaint();
-		GeoElement.updateCascade(pointList, getTempSet(), false);
-		tempSet.clear();
+		GeoElement.updateCascade(pointList, false);
 
 		if (probManager.isDiscrete(selectedDist)) {
 			getTable().setSelectionByRowValue((int) getLow(), (int) getHigh());
@@ -1202,13 +1199,6 @@ public abstract class ProbabilityCalculatorView
 		plotGeoList.clear();
 	}
 
-	private TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	/**
 	 * Exports all GeoElements that are currently displayed in this panel to a
 	 * target EuclidianView.
@@ -21,13 +21,17 @@ package org.geogebra.common.io;
 
 import java.io.Reader;
 import java.util.LinkedHashMap;
-import java.util.Stack;
 
 import org.geogebra.common.util.StringUtil;
 
 /**
  * Quick and Dirty xml parser. This parser is, like the SAX parser, an event
  * based parser, but with much less functionality.
+ *
+ * The input is read in blocks, tag and attribute names and short attribute
+ * values are interned (every name is one String instance, so handlers
+ * switching on names use its cached hash) and the attribute map is reused
+ * for all tags: handlers must copy it if they need it after startElement.
  */
 public class QDParser {
 	private final static int TEXT = 1;
@@ -47,17 +51,24 @@ public class QDParser {
 	private final static int PRE = 15;
 	private final static int CDATA = 16;
 
+	private final static int BUFFER_SIZE = 8192;
+	/** longer attribute values are not interned */
+	private final static int MAX_INTERNED_VALUE_LENGTH = 8;
+
 	private LinkedHashMap<String, String> attrs;
-	private Stack<Integer> stack;
+	private int[] stack = new int[16];
+	private int stackSize;
 	private StringBuilder sb;
 	private StringBuilder etag;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final StringTable names = new StringTable(1024);
+	private final StringTable values = new StringTable(4096);
 
 	/**
 	 * Creates new parser
 	 */
 	public QDParser() {
 		attrs = new LinkedHashMap<>();
-		stack = new Stack<>();
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
@@ -67,18 +78,38 @@ public class QDParser {
 	 */
 	public void reset() {
 		attrs.clear();
-		stack.clear();
+		stackSize = 0;
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
 
-	private static int popMode(Stack<Integer> st) {
-		if (!st.empty()) {
-			return st.pop().intValue();
+	private void pushMode(int mode) {
+		if (stackSize == stack.length) {
+			int[] newStack = new int[2 * stackSize];
+			System.arraycopy(stack, 0, newStack, 0, stackSize);
+			stack = newStack;
+		}
+		stack[stackSize++] = mode;
+	}
+
+	private int popMode() {
+		if (stackSize > 0) {
+			return stack[--stackSize];
 		}
 		return PRE;
 	}
 
+	private String getName() {
+		return names.get(sb);
+	}
+
+	private String getValue() {
+		if (sb.length() > MAX_INTERNED_VALUE_LENGTH) {
+			return sb.toString();
+		}
+		return values.get(sb);
+	}
+
 	/**
 	 * @param doc
 	 *            handler that receives document events
@@ -88,8 +119,7 @@ public class QDParser {
 	 *             if XML is not valid
 	 */
 	final public void parse(DocHandler doc, Reader r) throws Exception {
-		// Stack stack = new Stack();
-		stack.clear();
+		stackSize = 0;
 
 		int depth = 0;
 		int mode = PRE;
@@ -110,7 +140,18 @@ public class QDParser {
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
+		int length = 0;
+		int pos = 0;
+		while (true) {
+			if (pos == length) {
+				length = r.read(buffer, 0, buffer.length);
+				pos = 0;
+				if (length < 0) {
+					break;
+				}
+				continue;
+			}
+			c = buffer[pos++];
 
 			// We need to map \r, \r\n, and \n to \n
 			// See XML spec section 2.11
@@ -140,7 +181,7 @@ public class QDParser {
 			case TEXT:
 				switch (c) {
 				case '<':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = START_TAG;
 					if (sb.length() > 0) {
 						doc.text(sb.toString());
@@ -148,7 +189,7 @@ public class QDParser {
 					}
 					break;
 				case '&':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = ENTITY;
 					etag.setLength(0);
 					break;
@@ -161,8 +202,8 @@ public class QDParser {
 			case CLOSE_TAG:
 				switch (c) {
 				case '>':
-					mode = popMode(stack);
-					tagName = sb.toString();
+					mode = popMode();
+					tagName = getName();
 					sb.setLength(0);
 					depth--;
 					if (depth == 0) {
@@ -177,11 +218,11 @@ public class QDParser {
 
 			// we are processing CDATA
 			case CDATA:
-				if (c == '>' && sb.toString().endsWith("]]")) {
+				if (c == '>' && endsWith(sb, ']')) {
 					sb.setLength(sb.length() - 2);
 					doc.text(sb.toString());
 					sb.setLength(0);
-					mode = popMode(stack);
+					mode = popMode();
 				} else {
 					sb.append((char) c);
 				}
@@ -190,9 +231,9 @@ public class QDParser {
 			// we are processing a comment. We are inside
 			// the <!-- .... --> looking for the -->.
 			case COMMENT:
-				if (c == '>' && sb.toString().endsWith("--")) {
+				if (c == '>' && endsWith(sb, '-')) {
 					sb.setLength(0);
-					mode = popMode(stack);
+					mode = popMode();
 				} else {
 					sb.append((char) c);
 				}
@@ -202,7 +243,7 @@ public class QDParser {
 			case PRE:
 				if (c == '<') {
 					mode = TEXT;
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = START_TAG;
 				}
 				break;
@@ -211,7 +252,7 @@ public class QDParser {
 			// or one of these <!DOCTYPE ... >
 			case DOCTYPE:
 				if (c == '>') {
-					mode = popMode(stack);
+					mode = popMode();
 					if (mode == TEXT) {
 						mode = PRE;
 					}
@@ -222,17 +263,17 @@ public class QDParser {
 			// are wondering what we are looking at
 			// <foo>, </foo>, <!-- ... --->, etc.
 			case START_TAG:
-				mode = popMode(stack);
+				mode = popMode();
 				switch (c) {
 				case '/':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = CLOSE_TAG;
 					break;
 				case '?':
 					mode = DOCTYPE;
 					break;
 				default:
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = OPEN_TAG;
 					tagName = null;
 					// attrs = new LinkedHashMap();
@@ -243,7 +284,7 @@ public class QDParser {
 			// we are processing an entity, e.g. &lt;, &#187;, etc.
 			case ENTITY:
 				if (c == ';') {
-					mode = popMode(stack);
+					mode = popMode();
 					String cent = etag.toString();
 					etag.setLength(0);
 					if ("lt".equals(cent)) {
@@ -276,7 +317,7 @@ public class QDParser {
 			// and are looking for the final >.
 			case SINGLE_TAG:
 				if (tagName == null) {
-					tagName = sb.toString();
+					tagName = getName();
 				}
 				if (c != '>') {
 					exc("Expected > for tag: <" + tagName + "/>", line, col);
@@ -291,7 +332,7 @@ public class QDParser {
 				// attrs = new LinkedHashMap();
 				attrs.clear();
 				tagName = null;
-				mode = popMode(stack);
+				mode = popMode();
 				break;
 
 			// we are processing something
@@ -301,7 +342,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = getName();
 					}
 					sb.setLength(0);
 					depth++;
@@ -309,7 +350,7 @@ public class QDParser {
 					tagName = null;
 					// attrs = new LinkedHashMap();
 					attrs.clear();
-					mode = popMode(stack);
+					mode = popMode();
 					break;
 
 				case '/':
@@ -317,7 +358,7 @@ public class QDParser {
 					break;
 
 				case '-':
-					if (sb.toString().equals("!-")) {
+					if (contentEquals(sb, "!-")) {
 						mode = COMMENT;
 					} else {
 						sb.append((char) c);
@@ -325,14 +366,14 @@ public class QDParser {
 					break;
 
 				case '[':
-					if (sb.toString().equals("![CDATA")) {
+					if (contentEquals(sb, "![CDATA")) {
 						mode = CDATA;
 						sb.setLength(0);
 					}
 					break;
 
 				case 'E':
-					if (sb.toString().equals("!DOCTYP")) {
+					if (contentEquals(sb, "!DOCTYP")) {
 						sb.setLength(0);
 						mode = DOCTYPE;
 					}
@@ -340,7 +381,7 @@ public class QDParser {
 
 				default:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						tagName = getName();
 						sb.setLength(0);
 						mode = IN_TAG;
 					} else {
@@ -353,7 +394,7 @@ public class QDParser {
 			// of an element's attribute.
 			case QUOTE:
 				if (c == quotec) {
-					rvalue = sb.toString();
+					rvalue = getValue();
 					sb.setLength(0);
 					attrs.put(lvalue, rvalue);
 					mode = IN_TAG;
@@ -370,7 +411,7 @@ public class QDParser {
 				// Markus Hohenwarter, end
 
 				else if (c == '&') {
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = ENTITY;
 					etag.setLength(0);
 				} else {
@@ -389,11 +430,11 @@ public class QDParser {
 
 			case ATTRIBUTE_LVALUE:
 				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
+					lvalue = getName();
 					sb.setLength(0);
 					mode = ATTRIBUTE_EQUAL;
 				} else if (c == '=') {
-					lvalue = sb.toString();
+					lvalue = getName();
 					sb.setLength(0);
 					mode = ATTRIBUTE_RVALUE;
 				} else {
@@ -412,7 +453,7 @@ public class QDParser {
 			case IN_TAG:
 				switch (c) {
 				case '>':
-					mode = popMode(stack);
+					mode = popMode();
 					doc.startElement(tagName, attrs);
 					depth++;
 					tagName = null;
@@ -445,4 +486,88 @@ public class QDParser {
 	private static void exc(String s, int line, int col) throws Exception {
 		throw new Exception(s + " near line " + line + ", column " + col);
 	}
+
+	/**
+	 * @return whether the last two chars of sb are c
+	 */
+	private static boolean endsWith(StringBuilder sb, char c) {
+		int length = sb.length();
+		return length >= 2 && sb.charAt(length - 1) == c
+				&& sb.charAt(length - 2) == c;
+	}
+
+	private static boolean contentEquals(StringBuilder sb,
+			String str) {
+		if (sb.length() != str.length()) {
+			return false;
+		}
+		for (int i = 0; i < str.length(); i++) {
+			if (sb.charAt(i) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Hash set of strings that can be queried with the content of a
+	 * StringBuilder, so that no String is created for known content. Stops
+	 * growing at a fixed size.
+	 */
+	private static class StringTable {
+		private String[] table;
+		private int size;
+		private final int maxSize;
+
+		StringTable(int maxSize) {
+			this.maxSize = maxSize;
+			table = new String[64];
+		}
+
+		/**
+		 * @return string with the content of sb
+		 */
+		String get(StringBuilder sb) {
+			int hash = 0;
+			for (int i = 0; i < sb.length(); i++) {
+				hash = 31 * hash + sb.charAt(i);
+			}
+			int mask = table.length - 1;
+			int index = mix(hash) & mask;
+			while (table[index] != null) {
+				if (contentEquals(sb, table[index])) {
+					return table[index];
+				}
+				index = (index + 1) & mask;
+			}
+			String str = sb.toString();
+			if (size < maxSize) {
+				table[index] = str;
+				size++;
+				if (2 * size > table.length) {
+					rehash();
+				}
+			}
+			return str;
+		}
+
+		private void rehash() {
+			String[] old = table;
+			table = new String[2 * old.length];
+			int mask = table.length - 1;
+			for (String str : old) {
+				if (str != null) {
+					int index = mix(str.hashCode()) & mask;
+					while (table[index] != null) {
+						index = (index + 1) & mask;
+					}
+					table[index] = str;
+				}
+			}
+		}
+
+		private static int mix(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+	}
 }
@@ -1,9 +1,7 @@
 package org.geogebra.common.kernel;
 
 import java.util.ArrayList;
-import java.util.TreeSet;
 
-import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.geos.Animatable;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
@@ -40,8 +38,6 @@ public class AnimationManager implements GTimerListener {
 	protected ArrayList<TimerListener> listener = new ArrayList<>();
 	private GTimer timer;
 
-	private TreeSet<AlgoElement> tempSet;
-
 	/**
 	 * @param kernel2
 	 *            kernel
@@ -200,13 +196,6 @@ public class AnimationManager implements GTimerListener {
 
 	}
 
-	private TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	/**
 	 * Perform one step
 	 */
@@ -237,7 +226,7 @@ public class AnimationManager implements GTimerListener {
 		// do we need to update anything?
 		if (changedGeos.size() > 0) {
 			// efficiently update all changed GeoElements
-			GeoElement.updateCascade(changedGeos, getTempSet(), false);
+			GeoElement.updateCascade(changedGeos, false);
 			// repaint views
 			kernel.notifyRepaint();
 			// check frame rate
@@ -17,6 +17,7 @@ import org.geogebra.common.euclidian.LayerManager;
 import org.geogebra.common.euclidian.event.PointerEventType;
 import org.geogebra.common.io.MyXMLio;
 import org.geogebra.common.kernel.algos.AlgoDistancePoints;
+import org.geogebra.common.kernel.algos.AlgoDependencyGraph;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
 import org.geogebra.common.kernel.algos.AlgorithmSet;
@@ -125,6 +126,8 @@ public class Construction {
 
 	// AlgoElement List (for objects of type AlgoElement)
 	private ArrayList<AlgoElement> algoList; // used in updateConstruction()
+	// dependency levels and cascade buffers (used in updateCascade())
+	private final AlgoDependencyGraph dependencyGraph = new AlgoDependencyGraph();
 
 	/** Table for (label, GeoElement) pairs, contains global variables */
 	protected HashMap<String, GeoElement> geoTable;
@@ -975,6 +978,7 @@ public class Construction {
 	 */
 	public void addToAlgorithmList(AlgoElement algo) {
 		algoList.add(algo);
+		dependencyGraph.register(algo);
 	}
 
 	/**
@@ -996,6 +1000,13 @@ public class Construction {
 		algoList.remove(algo);
 	}
 
+	/**
+	 * @return dependency graph of the algorithms in this construction
+	 */
+	public AlgoDependencyGraph getDependencyGraph() {
+		return dependencyGraph;
+	}
+
 	/**
 	 * Moves geo to given position toIndex in this construction. Note: if ce (or
 	 * its parent algorithm) is not in the construction list nothing is done.
@@ -3459,8 +3470,7 @@ public class Construction {
 		this.kernel.getApplication().setBlockUpdateScripts(true);
 		// TODO we do not need the whole construction update here
 		if (latexGeos != null) {
-			GeoElement.updateCascade(latexGeos, new TreeSet<AlgoElement>(),
-					true);
+			GeoElement.updateCascade(latexGeos, true);
 		}
 		this.latexGeos = null;
 		this.kernel.getApplication().setBlockUpdateScripts(oldFlag);
@@ -44,9 +44,15 @@ public class DefaultUndoManager extends UndoManager {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+        AppState appStateToAdd = createDeltaState(undoXML);
+        if (appStateToAdd == null) {
+            appStateToAdd = new StringAppState(undoXML.toString());
+        }
         UndoCommand command = createUndoCommand(appStateToAdd);
-        maybeStoreUndoCommand(command);
+        if (!maybeStoreUndoCommand(command)) {
+            // same as current state
+            appStateToAdd.delete();
+        }
         pruneStateList();
         app.getEventDispatcher().dispatchEvent(new Event(EventType.STOREUNDO));
         updateUndoActions();
@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel;
+
+/**
+ * App state that keeps the construction XML split into segments (one per
+ * element, command or expression). Segments that didn't change since the
+ * previous state are the same String objects as in that state, so each state
+ * only holds its own changes.
+ */
+public class DeltaAppState implements AppState {
+
+	private final DeltaAppStateStore store;
+	/** XML segments, null after deletion */
+	String[] segments;
+	/** neighbors in creation order, only these may share segments */
+	DeltaAppState previous;
+	DeltaAppState next;
+	/** estimated memory of segments not shared with the previous state */
+	long ownBytes;
+
+	/**
+	 * @param store
+	 *            store that created this state
+	 * @param segments
+	 *            XML segments
+	 */
+	DeltaAppState(DeltaAppStateStore store, String[] segments) {
+		this.store = store;
+		this.segments = segments;
+	}
+
+	@Override
+	public String getXml() {
+		if (segments == null) {
+			return null;
+		}
+		int length = 0;
+		for (String segment : segments) {
+			length += segment.length();
+		}
+		StringBuilder sb = new StringBuilder(length);
+		for (String segment : segments) {
+			sb.append(segment);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public void delete() {
+		if (segments != null) {
+			store.remove(this);
+			segments = null;
+		}
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (segments == null || state == null) {
+			return false;
+		}
+		if (!(state instanceof DeltaAppState)) {
+			return getXml().equals(state.getXml());
+		}
+		String[] other = ((DeltaAppState) state).segments;
+		if (other == null || other.length != segments.length) {
+			return false;
+		}
+		for (int i = 0; i < segments.length; i++) {
+			if (segments[i] != other[i] && !segments[i].equals(other[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
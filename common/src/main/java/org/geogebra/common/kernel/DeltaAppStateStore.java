@@ -0,0 +1,221 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Creates {@link DeltaAppState}s and keeps track of the memory they hold.
+ * Each new state is compared with the previously created one segment by
+ * segment, segments are matched by tag and label (e.g. element A, command
+ * with output A), so only added or changed elements need new strings.
+ */
+public class DeltaAppStateStore {
+
+	private static final String[] SEGMENT_TAGS = { "<element", "<command",
+			"<expression", "</construction" };
+	private static final String LABEL = "label=\"";
+	private static final String COMMAND_OUTPUT = "<output a0=\"";
+	/** estimated memory of a String object without chars */
+	private static final int STRING_OVERHEAD = 40;
+	/** estimated memory of an array object without elements */
+	private static final int ARRAY_OVERHEAD = 16;
+
+	private final long maxBytes;
+	private long heldBytes;
+	private DeltaAppState last;
+	/** segments of last state by key, null if not computed */
+	private HashMap<String, String> lastSegments;
+
+	/**
+	 * @param maxBytes
+	 *            memory budget in bytes
+	 */
+	public DeltaAppStateStore(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @param xml
+	 *            construction XML
+	 * @return state sharing unchanged segments with the previous state
+	 */
+	public DeltaAppState createState(String xml) {
+		HashMap<String, String> previousSegments = getLastSegments();
+		HashMap<String, String> newSegments = new HashMap<>();
+		ArrayList<String> segments = new ArrayList<>();
+		long ownBytes = 0;
+		int start = 0;
+		while (start < xml.length()) {
+			int end = getSegmentEnd(xml, start);
+			String key = getKey(xml, start, end);
+			String segment = previousSegments.get(key);
+			if (segment == null || segment.length() != end - start
+					|| !xml.startsWith(segment, start)) {
+				segment = xml.substring(start, end);
+				ownBytes += getSize(segment);
+			}
+			segments.add(segment);
+			newSegments.put(key, segment);
+			start = end;
+		}
+		DeltaAppState state = new DeltaAppState(this,
+				segments.toArray(new String[0]));
+		state.ownBytes = ownBytes + getArraySize(segments.size());
+		state.previous = last;
+		if (last != null) {
+			last.next = state;
+		}
+		last = state;
+		lastSegments = newSegments;
+		heldBytes += state.ownBytes;
+		return state;
+	}
+
+	/**
+	 * Called when a state is deleted; its successor takes over the segments
+	 * it shared with the deleted state.
+	 *
+	 * @param state
+	 *            deleted state
+	 */
+	void remove(DeltaAppState state) {
+		heldBytes -= state.ownBytes;
+		DeltaAppState previous = state.previous;
+		DeltaAppState next = state.next;
+		if (previous != null) {
+			previous.next = next;
+		}
+		if (next != null) {
+			next.previous = previous;
+			heldBytes -= next.ownBytes;
+			next.ownBytes = getOwnBytes(next.segments,
+					getSegments(previous));
+			heldBytes += next.ownBytes;
+		}
+		if (last == state) {
+			last = previous;
+			lastSegments = null;
+		}
+		state.previous = null;
+		state.next = null;
+	}
+
+	/**
+	 * Forgets all states; needed when the undo list is cleared without
+	 * deleting its states.
+	 */
+	public void clear() {
+		last = null;
+		lastSegments = null;
+		heldBytes = 0;
+	}
+
+	/**
+	 * @return estimated memory held by all states in bytes
+	 */
+	public long getHeldBytes() {
+		return heldBytes;
+	}
+
+	/**
+	 * @return whether the states hold more memory than the budget
+	 */
+	public boolean isOverBudget() {
+		return heldBytes > maxBytes;
+	}
+
+	private HashMap<String, String> getLastSegments() {
+		if (lastSegments == null) {
+			lastSegments = getSegments(last);
+		}
+		return lastSegments;
+	}
+
+	private static HashMap<String, String> getSegments(DeltaAppState state) {
+		HashMap<String, String> segments = new HashMap<>();
+		if (state != null && state.segments != null) {
+			for (String segment : state.segments) {
+				segments.put(getKey(segment, 0, segment.length()), segment);
+			}
+		}
+		return segments;
+	}
+
+	private static long getOwnBytes(String[] segments,
+			HashMap<String, String> previousSegments) {
+		long bytes = getArraySize(segments.length);
+		for (String segment : segments) {
+			if (previousSegments.get(
+					getKey(segment, 0, segment.length())) != segment) {
+				bytes += getSize(segment);
+			}
+		}
+		return bytes;
+	}
+
+	private static long getSize(String segment) {
+		return STRING_OVERHEAD + 2L * segment.length();
+	}
+
+	private static long getArraySize(int length) {
+		return ARRAY_OVERHEAD + 8L * length;
+	}
+
+	/**
+	 * @return start of the first line after start that begins a segment,
+	 *         length of xml if there is none
+	 */
+	private static int getSegmentEnd(String xml, int start) {
+		int lineStart = xml.indexOf('\n', start);
+		while (lineStart >= 0) {
+			lineStart++;
+			if (getTag(xml, skipIndent(xml, lineStart)) != null) {
+				return lineStart;
+			}
+			lineStart = xml.indexOf('\n', lineStart);
+		}
+		return xml.length();
+	}
+
+	private static int skipIndent(String xml, int start) {
+		int pos = start;
+		while (pos < xml.length()
+				&& (xml.charAt(pos) == ' ' || xml.charAt(pos) == '\t')) {
+			pos++;
+		}
+		return pos;
+	}
+
+	private static String getTag(String xml, int pos) {
+		for (String tag : SEGMENT_TAGS) {
+			if (xml.startsWith(tag, pos)) {
+				return tag;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return tag and label of the segment, e.g. "&lt;element:A", empty
+	 *         string for the header
+	 */
+	private static String getKey(String xml, int start, int end) {
+		int pos = skipIndent(xml, start);
+		String tag = getTag(xml, pos);
+		if (tag == null) {
+			return "";
+		}
+		String attribute = SEGMENT_TAGS[1].equals(tag) ? COMMAND_OUTPUT
+				: LABEL;
+		int labelStart = xml.indexOf(attribute, pos);
+		if (labelStart < 0 || labelStart >= end) {
+			return tag;
+		}
+		labelStart += attribute.length();
+		int labelEnd = xml.indexOf('"', labelStart);
+		if (labelEnd < 0 || labelEnd >= end) {
+			return tag;
+		}
+		return tag + ":" + xml.substring(labelStart, labelEnd);
+	}
+}
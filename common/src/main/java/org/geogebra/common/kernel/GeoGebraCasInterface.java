@@ -161,6 +161,11 @@ public interface GeoGebraCasInterface {
 	 */
 	public void clearCache();
 
+	/**
+	 * Clear all results cached by the kernel, including the cache of this CAS
+	 */
+	public void clearResultCache();
+
 	/**
 	 * @param string
 	 *            signature, eg Midpoint.2
@@ -9,12 +9,14 @@ import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.euclidian.EmbedManager;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceSlim;
 import org.geogebra.common.factories.FormatFactory;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.gui.SetLabels;
 import org.geogebra.common.gui.SetOrientation;
 import org.geogebra.common.gui.dialog.options.OptionsCAS;
@@ -31,6 +33,7 @@ import org.geogebra.common.kernel.algos.AlgoPointVector;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
+import org.geogebra.common.kernel.algos.ParallelAlgoComputer;
 import org.geogebra.common.kernel.arithmetic.ArithmeticFactory;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
@@ -87,7 +90,6 @@ import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.LRUMap;
-import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.ScientificFormatAdapter;
@@ -240,8 +242,6 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	/** reciprocal of maximum precision of double numbers */
 	public final static double INV_MAX_DOUBLE_PRECISION = 1E15;
 
-	/** maximum CAS results cached */
-	final public static int GEOGEBRA_CAS_CACHE_SIZE = 500;
 	private MySpecialDouble eulerConstant;
 
 	/** print precision */
@@ -377,7 +377,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private String libraryJavaScript = defaultLibraryJavaScript;
 
 	private boolean isSaving;
-	private MaxSizeHashMap<String, String> ggbCasCache;
+	private CasResultCache ggbCasCache;
 	/** min real world x for all views */
 	protected double[] xmin = new double[1];
 	/** max real world x for all views */
@@ -2688,6 +2688,28 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		getConstruction().setSuppressLabelCreation(silentMode);
 	}
 
+	/**
+	 * Turns on concurrent computation of independent algorithms in large
+	 * update cascades. Has no effect on platforms without threads (web).
+	 * 
+	 * @param parallelUpdate
+	 *            whether to compute independent algos in parallel
+	 */
+	public final void setParallelUpdate(boolean parallelUpdate) {
+		ParallelAlgoComputer computer = null;
+		if (parallelUpdate && UtilFactory.getPrototype() != null) {
+			computer = UtilFactory.getPrototype().newParallelAlgoComputer();
+		}
+		getConstruction().getDependencyGraph().setParallelComputer(computer);
+	}
+
+	/**
+	 * @return whether independent algos are computed in parallel
+	 */
+	public final boolean isParallelUpdate() {
+		return getConstruction().getDependencyGraph().isParallelUpdate();
+	}
+
 	/**
 	 * Sets whether unknown variables should be resolved as GeoDummyVariable
 	 * objects.
@@ -2787,10 +2809,12 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		}
 
 		// evaluate in GeoGebraCAS
+		double start = UtilFactory.getPrototype().getMillisecondTime();
 		result = getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this);
 
 		if (useCaching) {
-			getCasCache().put(exp, result);
+			getCasCache().put(exp, result,
+					UtilFactory.getPrototype().getMillisecondTime() - start);
 		}
 		return result;
 	}
@@ -2814,9 +2838,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		}
 
 		// evaluate in GeoGebraCAS
+		double start = UtilFactory.getPrototype().getMillisecondTime();
 		result = getGeoGebraCAS().evaluateRaw(exp);
 
-		getCasCache().put(exp, result);
+		getCasCache().put(exp, result,
+				UtilFactory.getPrototype().getMillisecondTime() - start);
 
 		return result;
 	}
@@ -2876,12 +2902,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	}
 
 	/**
-	 * @return Hash map for caching CAS results.
+	 * @return cache for CAS results.
 	 */
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public CasResultCache getCasCache() {
 		if (ggbCasCache == null) {
-			ggbCasCache = new MaxSizeHashMap<>(
-					GEOGEBRA_CAS_CACHE_SIZE);
+			ggbCasCache = new CasResultCache();
 		}
 		return ggbCasCache;
 	}
@@ -4983,7 +5008,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			}
 		}
 		cons.setUpdateConstructionRunning(true);
-		GeoElement.updateCascade(geosToUpdate, new TreeSet<AlgoElement>(), true);
+		GeoElement.updateCascade(geosToUpdate, true);
 		cons.setUpdateConstructionRunning(false);
 	}
 
@@ -14,6 +14,7 @@ package org.geogebra.common.kernel;
 
 import java.util.LinkedHashMap;
 
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.io.MyXMLHandler;
 import org.geogebra.common.kernel.algos.AlgoDispatcher;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeEvaluator;
@@ -22,7 +23,6 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoDirectionND;
 import org.geogebra.common.kernel.kernelND.GeoPlaneND;
 import org.geogebra.common.main.MyError;
-import org.geogebra.common.util.MaxSizeHashMap;
 
 /**
  * Kernel with its own construction for macros.
@@ -214,10 +214,10 @@ public class MacroKernel extends Kernel {
 	}
 
 	/**
-	 * @return Hash map for caching CAS results from parent kernel.
+	 * @return cache for CAS results from parent kernel.
 	 */
 	@Override
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public CasResultCache getCasCache() {
 		return parentKernel.getCasCache();
 	}
 
@@ -36,6 +36,8 @@ public abstract class UndoManager {
 	private ListIterator<UndoCommand> iterator;
 	private boolean storeUndoInfoNeededForProperties = false;
 	private List<UndoInfoStoredListener> undoInfoStoredListeners;
+	/** store for delta based undo points, null to store full copies */
+	private DeltaAppStateStore deltaStore;
 
 	/**
 	 * @param cons
@@ -301,6 +303,46 @@ public abstract class UndoManager {
 	public synchronized void clearUndoInfo() {
 		undoInfoList.clear();
 		iterator = undoInfoList.listIterator();
+		if (deltaStore != null) {
+			deltaStore.clear();
+		}
+	}
+
+	/**
+	 * Stores new undo points as changes of the previous undo point rather
+	 * than full copies of the construction.
+	 *
+	 * @param maxBytes
+	 *            memory budget, oldest undo points are dropped when it's
+	 *            exceeded
+	 */
+	public synchronized void setDeltaStorage(long maxBytes) {
+		deltaStore = new DeltaAppStateStore(maxBytes);
+	}
+
+	/**
+	 * @param undoXML
+	 *            construction XML
+	 * @return state storing the changes of the XML, null if delta storage is
+	 *         off
+	 */
+	protected AppState createDeltaState(StringBuilder undoXML) {
+		return deltaStore == null ? null
+				: deltaStore.createState(undoXML.toString());
+	}
+
+	/**
+	 * @return estimated memory held by undo points in bytes; undo points
+	 *         stored in files don't count
+	 */
+	public synchronized long getUndoMemoryUsage() {
+		long bytes = deltaStore == null ? 0 : deltaStore.getHeldBytes();
+		for (UndoCommand command : undoInfoList) {
+			if (command.getAppState() instanceof StringAppState) {
+				bytes += 2L * command.getAppState().getXml().length();
+			}
+		}
+		return bytes;
 	}
 
 	/**
@@ -316,8 +358,8 @@ public abstract class UndoManager {
 			appState.delete();
 		}
 
-		// delete first if too many in list
-		if (undoInfoList.size() > MAX_CAPACITY) {
+		// delete first if too many in list, always keep current state
+		while (isOverCapacity() && iterator.previousIndex() > 0) {
 			// use iterator to delete to avoid
 			// ConcurrentModificationException
 			// go to beginning of list
@@ -339,11 +381,20 @@ public abstract class UndoManager {
 		// debugStates();
 	}
 
+	/**
+	 * @return whether the oldest undo points should be removed
+	 */
+	protected boolean isOverCapacity() {
+		return undoInfoList.size() > MAX_CAPACITY
+				|| (deltaStore != null && deltaStore.isOverBudget());
+	}
+
 	/**
 	 * This stores the undo command, if the state changed.
 	 *
 	 * @param command the undo command to store
-	 * @return true if the command was stored
+	 * @return true if the command was stored, false if it equals the current
+	 *         state
 	 */
 	final protected boolean maybeStoreUndoCommand(UndoCommand command) {
 		boolean equalsWithPrevious = false;
@@ -355,7 +406,7 @@ public abstract class UndoManager {
 		if (!equalsWithPrevious) {
 			iterator.add(command);
 		}
-		return equalsWithPrevious;
+		return !equalsWithPrevious;
 	}
 
 	/**
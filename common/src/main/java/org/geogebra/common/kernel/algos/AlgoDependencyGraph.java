@@ -0,0 +1,382 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Dependency graph of the algorithms in a construction.
+ *
+ * Every registered algorithm has a dependency level: independent geos are on
+ * level 0 and each algorithm is one level above the highest parent algorithm
+ * of its inputs. Ordering by (level, construction order) is a topological
+ * order, so cascades started from several geos can be merged without a
+ * sorted set. Levels are kept up to date incrementally when algorithms are
+ * (re)registered; removing an algorithm never invalidates them. Helper
+ * algorithms that were taken off the algorithm list keep their level since
+ * they are still reached through update sets; algorithms that were never
+ * registered get their level when they are first collected.
+ *
+ * Cascades are collected into reusable buffers with visit marks stored in the
+ * algorithms, so repeated updates (dragging) do not allocate.
+ *
+ * If a {@link ParallelAlgoComputer} is set, large cascades are updated level
+ * by level: thread safe algorithms of one level are computed concurrently,
+ * then all outputs of the level are updated (and views notified) sequentially
+ * in the same order as without parallel computation.
+ */
+public class AlgoDependencyGraph {
+
+	/**
+	 * mark shared by all graphs so that algos of macro constructions never
+	 * clash; atomic as graphs of several kernels may update concurrently
+	 */
+	private static final AtomicInteger currentMark = new AtomicInteger();
+
+	/** one buffer per nesting depth of updateCascade */
+	private final ArrayList<AlgoElement[]> buffers = new ArrayList<>();
+	private int depth = 0;
+	/** number of algos in the buffer after last call of collect */
+	private int collectedSize;
+	private ArrayList<AlgoElement> propagationQueue;
+
+	/** minimal cascade size to use parallel computation */
+	private static final int PARALLEL_MIN_CASCADE = 64;
+	/** minimal number of thread safe algos in a level to compute in parallel */
+	private static final int PARALLEL_MIN_LEVEL = 8;
+	private ParallelAlgoComputer parallelComputer;
+	private AlgoElement[] parallelBuffer;
+
+	/**
+	 * Computes the level of a newly added algorithm; if an already registered
+	 * algorithm changed its input, levels of all dependent algorithms are
+	 * raised as needed.
+	 *
+	 * @param algo
+	 *            algorithm whose dependencies were set
+	 */
+	public void register(AlgoElement algo) {
+		int level = computeLevel(algo);
+		if (level == algo.dependencyLevel) {
+			return;
+		}
+		boolean wasRegistered = algo.dependencyLevel > 0;
+		algo.dependencyLevel = level;
+		if (wasRegistered) {
+			propagateLevel(algo);
+		}
+	}
+
+	private static int computeLevel(AlgoElement algo) {
+		int level = maxParentLevel(algo.input, 0);
+		level = maxParentLevel(algo.getEfficientInput(), level);
+		return level + 1;
+	}
+
+	private static int maxParentLevel(GeoElementND[] geos, int start) {
+		int level = start;
+		if (geos == null) {
+			return level;
+		}
+		for (int i = 0; i < geos.length; i++) {
+			AlgoElement parent = geos[i] == null ? null
+					: geos[i].getParentAlgorithm();
+			if (parent != null && getLevel(parent) > level) {
+				level = parent.dependencyLevel;
+			}
+		}
+		return level;
+	}
+
+	/**
+	 * @return level of the algorithm, computed first if it was never
+	 *         registered
+	 */
+	private static int getLevel(AlgoElement algo) {
+		if (algo.dependencyLevel == 0) {
+			algo.dependencyLevel = computeLevel(algo);
+		}
+		return algo.dependencyLevel;
+	}
+
+	private void propagateLevel(AlgoElement changed) {
+		if (propagationQueue == null) {
+			propagationQueue = new ArrayList<>();
+		}
+		propagationQueue.add(changed);
+		// iterative to survive long chains of dependent objects
+		while (!propagationQueue.isEmpty()) {
+			AlgoElement algo = propagationQueue
+					.remove(propagationQueue.size() - 1);
+			for (int i = 0; i < algo.getOutputLength(); i++) {
+				ArrayList<AlgoElement> children = algo.getOutput(i)
+						.getAlgorithmList();
+				for (int j = 0; j < children.size(); j++) {
+					AlgoElement child = children.get(j);
+					if (child.dependencyLevel > 0
+							&& child.dependencyLevel <= algo.dependencyLevel) {
+						child.dependencyLevel = computeLevel(child);
+						propagationQueue.add(child);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates all algorithms depending on given geos, each of them exactly
+	 * once and in topological order.
+	 *
+	 * @param geos
+	 *            updated geos
+	 * @param updateCascadeAll
+	 *            whether dependent geos in the list propagate the update too
+	 *            (otherwise only free geos and points on path do)
+	 */
+	public void updateCascade(List<? extends GeoElementND> geos,
+			boolean updateCascadeAll) {
+		int mark = nextMark();
+		AlgoElement[] buffer = getBuffer();
+		int size = 0;
+		for (int i = 0; i < geos.size(); i++) {
+			GeoElementND geo = geos.get(i);
+			if ((updateCascadeAll || geo.isIndependent()
+					|| geo.isPointOnPath()) && geo.hasAlgoUpdateSet()) {
+				buffer = collect(geo.getAlgoUpdateSet(), buffer, size, mark);
+				size = collectedSize;
+			}
+		}
+		updateCollected(buffer, size);
+	}
+
+	/**
+	 * Updates union of the given update sets in topological order.
+	 *
+	 * @param first
+	 *            first update set
+	 * @param second
+	 *            second update set
+	 */
+	public void updateAll(AlgorithmSet first, AlgorithmSet second) {
+		int mark = nextMark();
+		AlgoElement[] buffer = collect(first, getBuffer(), 0, mark);
+		buffer = collect(second, buffer, collectedSize, mark);
+		updateCollected(buffer, collectedSize);
+	}
+
+	/**
+	 * Recomputes given algorithms and updates everything that depends on
+	 * their output.
+	 *
+	 * @param algos
+	 *            algorithms
+	 */
+	public void updateCascadeAlgos(List<AlgoElement> algos) {
+		for (int i = 0; i < algos.size(); i++) {
+			AlgoElement algo = algos.get(i);
+			algo.compute();
+			for (int j = 0; j < algo.getOutputLength(); j++) {
+				algo.getOutput(j).update();
+			}
+		}
+		// collect only after all updates: update() may start nested cascades
+		int mark = nextMark();
+		AlgoElement[] buffer = getBuffer();
+		int size = 0;
+		for (int i = 0; i < algos.size(); i++) {
+			AlgoElement algo = algos.get(i);
+			for (int j = 0; j < algo.getOutputLength(); j++) {
+				GeoElementND geo = algo.getOutput(j);
+				if (geo.hasAlgoUpdateSet()) {
+					buffer = collect(geo.getAlgoUpdateSet(), buffer, size, mark);
+					size = collectedSize;
+				}
+			}
+		}
+		updateCollected(buffer, size);
+	}
+
+	private AlgoElement[] collect(AlgorithmSet set, AlgoElement[] buffer,
+			int start, int mark) {
+		AlgoElement[] ret = buffer;
+		int size = start;
+		for (AlgorithmSet.Link cur = set.getHead(); cur != null; cur = cur.next) {
+			AlgoElement algo = cur.algo;
+			if (algo.cascadeMark != mark) {
+				algo.cascadeMark = mark;
+				getLevel(algo);
+				if (size == ret.length) {
+					ret = grow(ret);
+				}
+				ret[size++] = algo;
+			}
+		}
+		collectedSize = size;
+		return ret;
+	}
+
+	private void updateCollected(AlgoElement[] buffer, int size) {
+		if (size == 0) {
+			return;
+		}
+		sort(buffer, size);
+		// algo.update() may start nested cascades, they get their own buffer
+		depth++;
+		try {
+			if (parallelComputer != null && depth == 1
+					&& size >= PARALLEL_MIN_CASCADE) {
+				updateByLevels(buffer, size);
+			} else {
+				for (int i = 0; i < size; i++) {
+					buffer[i].update();
+				}
+			}
+		} finally {
+			depth--;
+			for (int i = 0; i < size; i++) {
+				buffer[i] = null;
+			}
+		}
+	}
+
+	private void updateByLevels(AlgoElement[] buffer, int size) {
+		int start = 0;
+		while (start < size) {
+			int level = buffer[start].dependencyLevel;
+			int end = start + 1;
+			while (end < size && buffer[end].dependencyLevel == level) {
+				end++;
+			}
+			updateLevel(buffer, start, end);
+			start = end;
+		}
+	}
+
+	/**
+	 * Algos on the same level are independent of each other: compute the
+	 * thread safe ones concurrently, then update outputs in sorted order.
+	 */
+	private void updateLevel(AlgoElement[] buffer, int start, int end) {
+		if (parallelBuffer == null || parallelBuffer.length < end - start) {
+			parallelBuffer = new AlgoElement[Math.max(end - start, 16)];
+		}
+		int parallelSize = 0;
+		for (int i = start; i < end; i++) {
+			AlgoElement algo = buffer[i];
+			if (!algo.stopUpdateCascade && algo.isComputeThreadSafe()) {
+				parallelBuffer[parallelSize++] = algo;
+			}
+		}
+		if (parallelSize >= PARALLEL_MIN_LEVEL) {
+			for (int i = 0; i < parallelSize; i++) {
+				parallelBuffer[i].updateUnlabeledRandomGeos();
+			}
+			parallelComputer.computeAll(parallelBuffer, parallelSize);
+			for (int i = 0; i < parallelSize; i++) {
+				parallelBuffer[i].computedInParallel = true;
+				parallelBuffer[i] = null;
+			}
+		} else {
+			for (int i = 0; i < parallelSize; i++) {
+				parallelBuffer[i] = null;
+			}
+		}
+		for (int i = start; i < end; i++) {
+			AlgoElement algo = buffer[i];
+			if (algo.computedInParallel) {
+				algo.computedInParallel = false;
+				algo.updateDependentGeos();
+			} else {
+				algo.update();
+			}
+		}
+	}
+
+	/**
+	 * @param computer
+	 *            computer for concurrent updates of independent algorithms,
+	 *            null to update sequentially
+	 */
+	public void setParallelComputer(ParallelAlgoComputer computer) {
+		this.parallelComputer = computer;
+	}
+
+	/**
+	 * @return whether parallel updates are enabled
+	 */
+	public boolean isParallelUpdate() {
+		return parallelComputer != null;
+	}
+
+	private static int nextMark() {
+		int mark = currentMark.incrementAndGet();
+		while (mark == 0) {
+			// 0 is the initial mark of all algos
+			mark = currentMark.incrementAndGet();
+		}
+		return mark;
+	}
+
+	private AlgoElement[] getBuffer() {
+		while (buffers.size() <= depth) {
+			buffers.add(new AlgoElement[16]);
+		}
+		return buffers.get(depth);
+	}
+
+	private AlgoElement[] grow(AlgoElement[] buffer) {
+		AlgoElement[] bigger = new AlgoElement[buffer.length * 2];
+		System.arraycopy(buffer, 0, bigger, 0, buffer.length);
+		buffers.set(depth, bigger);
+		return bigger;
+	}
+
+	/**
+	 * In-place heap sort by update order (no temporary arrays).
+	 */
+	private static void sort(AlgoElement[] algos, int size) {
+		for (int i = size / 2 - 1; i >= 0; i--) {
+			siftDown(algos, i, size);
+		}
+		for (int end = size - 1; end > 0; end--) {
+			AlgoElement tmp = algos[0];
+			algos[0] = algos[end];
+			algos[end] = tmp;
+			siftDown(algos, 0, end);
+		}
+	}
+
+	private static void siftDown(AlgoElement[] algos, int start, int size) {
+		int root = start;
+		while (2 * root + 1 < size) {
+			int child = 2 * root + 1;
+			if (child + 1 < size
+					&& compare(algos[child], algos[child + 1]) < 0) {
+				child++;
+			}
+			if (compare(algos[root], algos[child]) >= 0) {
+				return;
+			}
+			AlgoElement tmp = algos[root];
+			algos[root] = algos[child];
+			algos[child] = tmp;
+			root = child;
+		}
+	}
+
+	/**
+	 * @param algo1
+	 *            first algo
+	 * @param algo2
+	 *            second algo
+	 * @return negative if algo1 needs to be updated before algo2
+	 */
+	public static int compare(AlgoElement algo1, AlgoElement algo2) {
+		if (algo1.dependencyLevel != algo2.dependencyLevel) {
+			return algo1.dependencyLevel < algo2.dependencyLevel ? -1 : 1;
+		}
+		return algo1.compareTo(algo2);
+	}
+}
@@ -23,6 +23,7 @@ import org.geogebra.common.kernel.SetRandomValue;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.geos.GeoAngle;
 import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
@@ -49,6 +50,8 @@ public class AlgoDependentNumber extends AlgoElement
 
 	private DependentNumberAdapter proverAdapter;
 
+	private boolean computeThreadSafe;
+
 	/**
 	 * Creates new AlgoDependentNumber
 	 * 
@@ -165,9 +168,19 @@ public class AlgoDependentNumber extends AlgoElement
 		setInputFrom(number.getDefinition());
 		setOutputLength(1);
 		setOutput(0, number.toGeoElement());
+		computeThreadSafe = number instanceof GeoNumeric && !number
+				.getDefinition()
+				.inspect(Inspecting.ConcurrentEvaluationChecker.INSTANCE);
 		setDependencies(); // done by AlgoElement
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		// setValue() must not reach the UI from a worker thread
+		return computeThreadSafe
+				&& !((GeoNumeric) number).hasSetValueSideEffects();
+	}
+
 	/**
 	 * @return resulting number
 	 */
@@ -22,6 +22,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.VectorValue;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoPoint;
@@ -47,6 +48,8 @@ public class AlgoDependentPoint extends AlgoElement
 
 	private GeoVec2D temp;
 
+	private boolean computeThreadSafe;
+
 	/**
 	 * Creates new dependent point algo
 	 * 
@@ -100,9 +103,16 @@ public class AlgoDependentPoint extends AlgoElement
 	protected void setInputOutput() {
 		setInputFrom(P.getDefinition());
 		setOnlyOutput(P);
+		computeThreadSafe = !P.getDefinition()
+				.inspect(Inspecting.ConcurrentEvaluationChecker.INSTANCE);
 		setDependencies(); // done by AlgoElement
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		return computeThreadSafe;
+	}
+
 	/**
 	 * @return result
 	 */
@@ -51,8 +51,6 @@ import org.geogebra.common.util.StringUtil;
  */
 public abstract class AlgoElement extends ConstructionElement
 		implements EuclidianViewCE {
-	private static boolean tempSetLock = false;
-	private static TreeSet<AlgoElement> tempSet;
 	/** input elements */
 	public GeoElement[] input;
 	private ArrayList<GeoPointND> freeInputPoints;
@@ -81,6 +79,12 @@ public abstract class AlgoElement extends ConstructionElement
 	protected StringBuilder sbAE = new StringBuilder();
 	/** flag stating whether remove() on this algo was already called */
 	protected boolean removed = false;
+	/** level in the construction's dependency graph, 0 if not computed yet */
+	int dependencyLevel = 0;
+	/** visit mark used by the dependency graph while collecting cascades */
+	int cascadeMark = 0;
+	/** set by the dependency graph between parallel compute and output update */
+	boolean computedInParallel = false;
 
 	/**
 	 * Creates new algorithm
@@ -605,6 +609,18 @@ public abstract class AlgoElement extends ConstructionElement
 		// updateTime += (endTime - startTime );
 	}
 
+	/**
+	 * Whether compute() only reads the input and writes the output of this
+	 * algorithm, so that it can run concurrently with other algorithms that do
+	 * not depend on each other. Algorithms returning true must not override
+	 * {@link #update()}.
+	 * 
+	 * @return whether compute() may run in a worker thread
+	 */
+	public boolean isComputeThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * update input random numbers without label
 	 * 
@@ -661,35 +677,11 @@ public abstract class AlgoElement extends ConstructionElement
 	 *            list of algos that need updating
 	 */
 	public static void updateCascadeAlgos(ArrayList<AlgoElement> algos) {
-		if (algos == null) {
+		if (algos == null || algos.isEmpty()) {
 			return;
 		}
-		int size = algos.size();
-		if (size == 0) {
-			return;
-		}
-
-		ArrayList<GeoElement> geos = new ArrayList<>();
-		for (int i = 0; i < size; i++) {
-			AlgoElement algo = algos.get(i);
-			algo.compute();
-			for (int j = 0; j < algo.getOutputLength(); j++) {
-				algo.getOutput(j).update();
-				geos.add(algo.getOutput(j));
-			}
-		}
-
-		// update all geos
-		tempSetLock = true;
-		GeoElement.updateCascade(geos, getTempSet(), true);
-		tempSetLock = false;
-	}
-
-	private static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null || tempSetLock) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
+		algos.get(0).getConstruction().getDependencyGraph()
+				.updateCascadeAlgos(algos);
 	}
 
 	// public part
@@ -718,6 +710,23 @@ public abstract class AlgoElement extends ConstructionElement
 		return input[i];
 	}
 
+	/**
+	 * @return input used for updating instead of standard input (e.g. locus
+	 *         without moving point), may be null
+	 */
+	public GeoElementND[] getEfficientInput() {
+		return efficientInput;
+	}
+
+	/**
+	 * @return dependency level: 1 + max level of parent algos of the input
+	 *         (free input has level 0)
+	 * @see AlgoDependencyGraph
+	 */
+	public int getDependencyLevel() {
+		return dependencyLevel;
+	}
+
 	/**
 	 * @return input without local variables
 	 */
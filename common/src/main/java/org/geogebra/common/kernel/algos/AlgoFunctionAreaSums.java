@@ -22,6 +22,7 @@ import org.geogebra.common.kernel.geos.GeoFunctionable;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.ListColumns;
 import org.geogebra.common.kernel.optimization.ExtremumFinderI;
 import org.geogebra.common.kernel.optimization.NegativeRealRootFunction;
 import org.geogebra.common.util.DoubleUtil;
@@ -1107,14 +1108,20 @@ public abstract class AlgoFunctionAreaSums extends AlgoElement
 				// TODO: finish right histogram option for 2nd case below
 				double valueFrequency = 1;
 				double datum;
+				ListColumns data = list2.getColumns();
+				if (data != null && data.isPoints()) {
+					data = null;
+				}
 				for (int i = 0; i < list2.size(); i++) {
-					geo = list2.get(i);
-
-					if (geo.isGeoNumeric()) {
-						datum = ((GeoNumeric) geo).getDouble();
+					if (data != null) {
+						datum = data.getValue(i);
 					} else {
-						sum.setUndefined();
-						return;
+						geo = list2.get(i);
+						if (!geo.isGeoNumeric()) {
+							sum.setUndefined();
+							return;
+						}
+						datum = ((GeoNumeric) geo).getDouble();
 					}
 					if (useFrequency) {
 						geo2 = list3.get(i);
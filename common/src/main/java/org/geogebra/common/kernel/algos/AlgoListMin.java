@@ -18,6 +18,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.StatisticsAccumulator;
 
 /**
  * Minimum value of a list.
@@ -97,17 +98,13 @@ public class AlgoListMin extends AlgoElement {
 		double minVal = Double.POSITIVE_INFINITY;
 
 		if (freqList == null) {
-
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
-					minVal = Math.min(minVal, geo.evaluateDouble());
-				} else {
-					min.setUndefined();
-					return;
-				}
+			StatisticsAccumulator stats = StatisticsAccumulator
+					.getNumbers(geoList);
+			if (!stats.isDefined()) {
+				min.setUndefined();
+				return;
 			}
-
+			minVal = stats.getMinX();
 		} else {
 
 			if (!freqList.isDefined() || freqList.size() != geoList.size()) {
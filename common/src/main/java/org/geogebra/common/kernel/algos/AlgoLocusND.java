@@ -26,6 +26,7 @@ import org.geogebra.common.kernel.MacroKernel;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.Path;
 import org.geogebra.common.kernel.PathMover;
+import org.geogebra.common.kernel.PathParameter;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
@@ -34,6 +35,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoLocusND;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -93,11 +95,19 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private boolean foundDefined;
 	private boolean maxTimeExceeded;
 	private Construction macroCons;
+	// copies of elements in macroCons, to reset them on update
+	private LocusMacroCopies macroCopies;
 	private MacroKernel macroKernel;
 	// private AlgorithmSet macroConsAlgoSet;
 	// list with all original elements used for the macro construction
 	private TreeSet<ConstructionElement> locusConsOrigElements;
 	private TreeSet<GeoElement> Qin;
+	private String locusConsXML;
+
+	// locus points computed in parallel for parallel updates
+	private LocusGrid locusGrid;
+	private PathMover gridMover;
+	private boolean useGrid;
 
 	private int views = 1;
 	protected boolean[] visibleEV = { false, false, false };
@@ -290,7 +300,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// In theory, this is not harmful as locusConsOrigElements is just used
 		// in AlgoLocus,
 		// and macroCons.updateConstruction is only called one time, after
-		// resetMacroConstruction
+		// resetting the macro copies
 		Macro.addDependentElement((GeoElement) movingPoint,
 				locusConsOrigElements, usedAlgoIds);
 
@@ -382,7 +392,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 		try {
 			// get XML for macro construction of P -> Q
-			String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
+			locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
 					.toString();
 			macroKernel.loadXML(locusConsXML);
 
@@ -401,6 +411,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			copyQ = (GeoPointND) macroKernel
 					.lookupLabel(((GeoElement) locusPoint).getLabelSimple());
 			macroCons = macroKernel.getConstruction();
+			macroCopies = new LocusMacroCopies(locusConsElements, macroCons);
 
 			/*
 			 * // make sure that the references to e.g. start/end point of a
@@ -427,38 +438,6 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// //Application.debug("Q == Qcopy: " + (Q == Qcopy));
 	}
 
-	/**
-	 * Set all elements in locusConsElements to the current values of the main
-	 * construction
-	 */
-	private void resetMacroConstruction() {
-		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
-		while (it.hasNext()) {
-			ConstructionElement ce = it.next();
-			if (ce.isGeoElement()) {
-				GeoElement geoOrig = (GeoElement) ce;
-				// do not copy functions, their expressions already
-				// include references to the correct other geos
-				if (!geoOrig.isGeoFunction()) {
-					GeoElement geoCopy = macroCons
-							.lookupLabel(geoOrig.getLabelSimple());
-					if (geoCopy != null) {
-						try {
-							ExpressionNode en = geoCopy.getDefinition();
-							geoCopy.set(geoOrig);
-							geoCopy.setDefinition(en);
-							geoCopy.update();
-						} catch (Exception e) {
-							Log.debug(
-									"AlgoLocus: error in resetMacroConstruction(): "
-											+ e.getMessage());
-						}
-					}
-				}
-			}
-		}
-	}
-
 	// compute locus line
 	@Override
 	public final void compute() {
@@ -484,7 +463,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		macroKernel.setContinuous(continuous);
 
 		// update macro construction with current values of global vars
-		resetMacroConstruction();
+		macroCopies.reset();
 		macroCons.updateConstruction(false);
 
 		// lines: start from startpoint to avoid inf. problems.
@@ -495,6 +474,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		} else {
 			copyP.getPathParameter().setT(path.getMinParameter());
 		}
+		useGrid = !continuous && kernel.isParallelUpdate() && computeGrid();
 		pathMover.init(copyP, minStepsInstance);
 
 		if (continuous) {
@@ -589,7 +569,9 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 				}
 
 				// if we didn't decrease the step width increase it
-				if (!stepChanged) {
+				if (!stepChanged && (!useGrid || locusGrid.allowsBiggerStep(
+						pathMover.getCurrentParameter(),
+						pathMover.getStep()))) {
 					pathMover.biggerStep();
 				}
 
@@ -703,8 +685,13 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			// check if the path parameter's resulting Qcopy is already in cache
 			double param = copyP.getPathParameter().t;
 			GPoint2D cachedPoint = getCachedPoint(param);
+			int gridIndex = useGrid && cachedPoint == null
+					? locusGrid.find(param) : -1;
 
-			if (cachedPoint == null) {
+			if (gridIndex >= 0) {
+				// use result computed in parallel
+				locusGrid.setLocusPoint(gridIndex, copyQ);
+			} else if (cachedPoint == null) {
 				// measure time needed for update of construction
 				long startTime = System.currentTimeMillis();
 
@@ -755,6 +742,47 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		}
 	}
 
+	/**
+	 * Computes the locus point in parallel for a grid of positions of the
+	 * moving point, starting from the current path parameter of Pcopy.
+	 * 
+	 * @return whether the grid can be used
+	 */
+	private boolean computeGrid() {
+		if (!LocusGrid.isThreadSafe(locusConsOrigElements,
+				(GeoElement) movingPoint)) {
+			return false;
+		}
+		if (locusGrid == null) {
+			if (LocusGrid.getTaskRunner() == null || locusConsXML == null) {
+				return false;
+			}
+			locusGrid = new LocusGrid(kernel, locusConsOrigElements,
+					locusConsXML, (GeoElement) movingPoint, locusPoint, path);
+			gridMover = path.createPathMover();
+		}
+
+		// move Pcopy along the grid, then put it back
+		PathParameter startParameter = new PathParameter(
+				copyP.getPathParameter());
+		Coords startCoords = copyP.getCoordsInD3();
+		gridMover.init(copyP, minStepsInstance);
+		double step = gridMover.getStep() / LocusGrid.REFINEMENT;
+		gridMover.setStep(step);
+		locusGrid.clear(step);
+		gridMover.getCurrentPosition(copyP);
+		locusGrid.add(gridMover.getCurrentParameter(), (GeoElement) copyP);
+		while (gridMover.hasNext() && !locusGrid.isFull()) {
+			gridMover.getNext(copyP);
+			locusGrid.add(gridMover.getCurrentParameter(),
+					(GeoElement) copyP);
+		}
+		copyP.getPathParameter().set(startParameter);
+		copyP.setCoords(startCoords, false);
+
+		return locusGrid.compute();
+	}
+
 	private void clearCache() {
 		for (int i = 0; i < paramCache.length; i++) {
 			paramCache[i] = Double.NaN;
@@ -89,11 +89,19 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 	private boolean foundDefined;
 	private boolean maxTimeExceeded;
 	private Construction macroCons;
+	// copies of elements in macroCons, to reset them on update
+	private LocusMacroCopies macroCopies;
 	private MacroKernel macroKernel;
 	// private AlgorithmSet macroConsAlgoSet;
 	// list with all original elements used for the macro construction
 	private TreeSet<ConstructionElement> locusConsOrigElements;
 	private TreeSet<GeoElement> Qin;
+	private String locusConsXML;
+
+	// locus points computed in parallel for parallel updates
+	private LocusGrid locusGrid;
+	private SliderMover gridMover;
+	private boolean useGrid;
 
 	private int views = 1;
 	protected boolean[] visibleEV = new boolean[] { false, false, false };
@@ -298,7 +306,7 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 
 		try {
 			// get XML for macro construction of P -> Q
-			String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
+			locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
 					.toString();
 
 			macroKernel.loadXML(locusConsXML);
@@ -312,6 +320,7 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 			copyQ = (GeoPointND) macroKernel
 					.lookupLabel(locusPoint.toGeoElement().getLabelSimple());
 			macroCons = macroKernel.getConstruction();
+			macroCopies = new LocusMacroCopies(locusConsElements, macroCons);
 
 			/*
 			 * // make sure that the references to e.g. start/end point of a
@@ -338,38 +347,6 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 		// //Application.debug("Q == Qcopy: " + (Q == Qcopy));
 	}
 
-	/**
-	 * Set all elements in locusConsElements to the current values of the main
-	 * construction
-	 */
-	private void resetMacroConstruction() {
-		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
-		while (it.hasNext()) {
-			ConstructionElement ce = it.next();
-			if (ce.isGeoElement()) {
-				GeoElement geoOrig = (GeoElement) ce;
-				// do not copy functions, their expressions already
-				// include references to the correct other geos
-				if (!geoOrig.isGeoFunction()) {
-					GeoElement geoCopy = macroCons
-							.lookupLabel(geoOrig.getLabelSimple());
-					if (geoCopy != null) {
-						try {
-							ExpressionNode def = geoCopy.getDefinition();
-							geoCopy.set(geoOrig);
-							geoCopy.setDefinition(def);
-							geoCopy.update();
-						} catch (Exception e) {
-							Log.debug(
-									"AlgoLocusSlider: error in resetMacroConstruction(): "
-											+ e.getMessage());
-						}
-					}
-				}
-			}
-		}
-	}
-
 	// compute locus line
 	@Override
 	final public void compute() {
@@ -395,9 +372,10 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 		macroKernel.setContinuous(continuous);
 
 		// update macro construction with current values of global vars
-		resetMacroConstruction();
+		macroCopies.reset();
 		macroCons.updateConstruction(false);
 		copyP.setValue(movingSlider.getIntervalMin());
+		useGrid = !continuous && kernel.isParallelUpdate() && computeGrid();
 		// use current position of movingPoint to start Pcopy
 		sliderMover.init(copyP);
 
@@ -493,7 +471,9 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 				}
 
 				// if we didn't decrease the step width increase it
-				if (!stepChanged) {
+				if (!stepChanged && (!useGrid || locusGrid.allowsBiggerStep(
+						sliderMover.getCurrentParameter(),
+						sliderMover.getStep()))) {
 					sliderMover.biggerStep();
 				}
 
@@ -613,8 +593,13 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 			// check if the path parameter's resulting Qcopy is already in cache
 			double param = copyP.getValue();
 			GPoint2D cachedPoint = getCachedPoint(param);
+			int gridIndex = useGrid && cachedPoint == null
+					? locusGrid.find(param) : -1;
 
-			if (cachedPoint == null) {
+			if (gridIndex >= 0) {
+				// use result computed in parallel
+				locusGrid.setLocusPoint(gridIndex, copyQ);
+			} else if (cachedPoint == null) {
 				// measure time needed for update of construction
 				long startTime = System.currentTimeMillis();
 
@@ -666,6 +651,42 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 		}
 	}
 
+	/**
+	 * Computes the locus point in parallel for a grid of values of the
+	 * slider, starting from the current value of Pcopy.
+	 * 
+	 * @return whether the grid can be used
+	 */
+	private boolean computeGrid() {
+		if (!LocusGrid.isThreadSafe(locusConsOrigElements, movingSlider)) {
+			return false;
+		}
+		if (locusGrid == null) {
+			if (LocusGrid.getTaskRunner() == null || locusConsXML == null) {
+				return false;
+			}
+			locusGrid = new LocusGrid(kernel, locusConsOrigElements,
+					locusConsXML, movingSlider, locusPoint, null);
+			gridMover = new SliderMover(movingSlider);
+		}
+
+		// move Pcopy along the grid, then put it back
+		double startValue = copyP.getValue();
+		gridMover.init(copyP);
+		double step = gridMover.getStep() / LocusGrid.REFINEMENT;
+		gridMover.setStep(step);
+		locusGrid.clear(step);
+		gridMover.getCurrentPosition(copyP);
+		locusGrid.add(gridMover.getCurrentParameter(), copyP);
+		while (gridMover.hasNext() && !locusGrid.isFull()) {
+			gridMover.getNext(copyP);
+			locusGrid.add(gridMover.getCurrentParameter(), copyP);
+		}
+		copyP.setValue(startValue);
+
+		return locusGrid.compute();
+	}
+
 	private void clearCache() {
 		for (int i = 0; i < paramCache.length; i++) {
 			paramCache[i] = Double.NaN;
@@ -15,7 +15,6 @@ package org.geogebra.common.kernel.algos;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map.Entry;
-import java.util.TreeSet;
 
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.kernel.Construction;
@@ -651,7 +650,7 @@ public class AlgoMacro extends AlgoElement
 		for (int i = 0; i < getOutputLength(); i++) {
 			outputList.add(getOutput(i));
 		}
-		GeoElement.updateCascade(outputList, new TreeSet<AlgoElement>(), true);
+		GeoElement.updateCascade(outputList, true);
 		kernel.notifyRepaint();
 
 	}
@@ -17,6 +17,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.ListColumns;
 
 /**
  * Sort a list. Adapted from AlgoMax and AlgoIterationList
@@ -78,12 +79,8 @@ public class AlgoPointList extends AlgoElement {
 			return;
 		}
 
-		// copy the sorted treeset back into a list
-		outputList.setDefined(true);
-		outputList.clear();
-
-		boolean suppressLabelCreation = cons.isSuppressLabelsActive();
-		cons.setSuppressLabelCreation(true);
+		// points are created only when they are needed
+		ListColumns points = new ListColumns(true, size);
 		for (int i = 0; i < size; i++) {
 			GeoElement geo = inputList.get(i);
 			if (geo.isGeoList()) {
@@ -92,15 +89,16 @@ public class AlgoPointList extends AlgoElement {
 					GeoElement geoX = list.get(0);
 					GeoElement geoY = list.get(1);
 					if (geoX.isGeoNumeric() && geoY.isGeoNumeric()) {
-						outputList.addPoint(((GeoNumeric) geoX).getDouble(),
-								((GeoNumeric) geoY).getDouble(), 1.0, this);
+						points.add(((GeoNumeric) geoX).getDouble(),
+								((GeoNumeric) geoY).getDouble());
 					}
 				}
 
 			}
 
 		}
-		cons.setSuppressLabelCreation(suppressLabelCreation);
+		outputList.setDefined(true);
+		outputList.setColumns(points);
 	}
 
 }
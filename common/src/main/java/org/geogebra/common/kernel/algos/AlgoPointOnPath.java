@@ -213,6 +213,12 @@ public class AlgoPointOnPath extends AlgoElement
 		}
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		// pathChanged() of lines only writes the point
+		return path instanceof GeoLine;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// Michael Borcherds 2008-03-30
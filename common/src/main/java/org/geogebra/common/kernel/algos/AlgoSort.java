@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -23,6 +24,7 @@ import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoText;
+import org.geogebra.common.kernel.geos.ListColumns;
 
 /**
  * Sort a list. Adapted from AlgoMax and AlgoIterationList
@@ -150,6 +152,16 @@ public class AlgoSort extends AlgoElement {
 			return;
 		}
 
+		ListColumns numbers = inputList.getColumns();
+		if (valueList == null && numbers != null && !numbers.isPoints()) {
+			// sort the values only, elements are created when needed
+			double[] sorted = numbers.toArray();
+			Arrays.sort(sorted);
+			outputList.setDefined(true);
+			outputList.setColumns(new ListColumns(sorted));
+			return;
+		}
+
 		GeoElement geo0 = inputList.get(0);
 
 		Class<? extends GeoElement> geoClass = geo0.getClass();
@@ -21,6 +21,8 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.ListColumns;
+import org.geogebra.common.kernel.statistics.StatisticsAccumulator;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -190,24 +192,50 @@ public abstract class AlgoStats1D extends AlgoElement {
 		GeoElement geo, geoFreq, geo2;
 		boolean useMidpoint = false;
 		double n = 0;
+		// sum of squared deviations from the mean
+		double sxx;
+		// values kept in an array, no need to create GeoNumerics
+		ListColumns numbers = geoList.getColumns();
+		if (numbers != null && numbers.isPoints()) {
+			numbers = null;
+		}
+
+		// whole list of numbers, sums shared with other statistics of the list
+		if (geoList2 == null && Truncate == null) {
+			StatisticsAccumulator stats = StatisticsAccumulator
+					.getNumbers(geoList);
+			if (!stats.isDefined()) {
+				result.setUndefined();
+				return;
+			}
+			sumVal = stats.getSigmaX();
+			sumSquares = stats.getSigmaXX();
+			product = stats.getProduct();
+			n = size;
+			sxx = stats.getSXX();
+		}
 
 		// list of numbers only, no frequencies
-		if (geoList2 == null) {
+		else if (geoList2 == null) {
 			double val;
 			for (int i = 0; i < size; i++) {
-				geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
-					val = geo.evaluateDouble();
-					sumVal += val;
-					sumSquares += val * val;
-					product *= val;
+				if (numbers != null) {
+					val = numbers.getValue(i);
 				} else {
-					result.setUndefined();
-					return;
+					geo = geoList.get(i);
+					if (!(geo instanceof NumberValue)) {
+						result.setUndefined();
+						return;
+					}
+					val = geo.evaluateDouble();
 				}
+				sumVal += val;
+				sumSquares += val * val;
+				product *= val;
 			}
 
 			n = size;
+			sxx = sumSquares - sumVal * sumVal / n;
 		}
 
 		// list of numbers with list of frequencies
@@ -257,6 +285,7 @@ public abstract class AlgoStats1D extends AlgoElement {
 			}
 
 			n = sumFreq;
+			sxx = sumSquares - sumVal * sumVal / n;
 		}
 
 		mu = sumVal / n;
@@ -271,8 +300,8 @@ public abstract class AlgoStats1D extends AlgoElement {
 			if (geoList2 == null) {
 				double val;
 				for (int i = 0; i < size; i++) {
-					geo = geoList.get(i);
-					val = geo.evaluateDouble();
+					val = numbers != null ? numbers.getValue(i)
+							: geoList.get(i).evaluateDouble();
 					sumAbsoluteDeviation += Math.abs(mu - val);
 				}
 			}
@@ -311,24 +340,23 @@ public abstract class AlgoStats1D extends AlgoElement {
 			result.setValue(mu);
 			break;
 		case STATS_SD:
-			var = sumSquares / n - mu * mu;
+			var = sxx / n;
 			result.setValue(Math.sqrt(var));
 			break;
 		case STATS_SAMPLE_SD:
-			var = (sumSquares - sumVal * sumVal / n) / (n - 1);
+			var = sxx / (n - 1);
 			result.setValue(Math.sqrt(var));
 			break;
 		case STATS_VARIANCE:
-			var = sumSquares / n - mu * mu;
+			var = sxx / n;
 			result.setValue(var);
 			break;
 		case STATS_SAMPLE_VARIANCE:
-			var = (sumSquares - sumVal * sumVal / n) / (n - 1);
+			var = sxx / (n - 1);
 			result.setValue(var);
 			break;
 		case STATS_SXX:
-			var = sumSquares - (sumVal * sumVal) / n;
-			result.setValue(var);
+			result.setValue(sxx);
 			break;
 		case STATS_SIGMAX:
 			result.setValue(sumVal);
@@ -334,7 +334,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 		return sb.toString();
 	}
 
-	private static class Link {
+	static class Link {
 		AlgoElement algo;
 		Link next;
 
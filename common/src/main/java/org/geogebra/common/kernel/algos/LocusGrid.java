@@ -0,0 +1,417 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.Set;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.MacroKernel;
+import org.geogebra.common.kernel.Path;
+import org.geogebra.common.kernel.PathMover;
+import org.geogebra.common.kernel.PathParameter;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.util.ParallelTaskRunner;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Locus points for a grid of positions of the moving element, computed before
+ * the locus is sampled. The grid is split into chunks, each one computed in a
+ * worker thread on its own copy of the locus macro construction; the sampling
+ * then reads the locus point from the grid whenever it visits a grid position.
+ *
+ * Only used for non-continuous constructions, where the locus point only
+ * depends on the position of the moving element, and only if all algorithms
+ * of the construction may be computed concurrently, see
+ * {@link #isThreadSafe(Set, GeoElement)}.
+ */
+final class LocusGrid {
+
+	/** grid step relative to the biggest step of the path mover */
+	static final int REFINEMENT = 4;
+	private static final int CHUNKS = 4;
+	// relative precision for positions found in the grid
+	private static final double PARAM_PRECISION = 1E-9;
+	// precision for path mover positions on the grid, in grid steps
+	private static final double LATTICE_PRECISION = 1E-6;
+
+	private static ParallelTaskRunner taskRunner;
+	private static boolean taskRunnerInitialized;
+
+	private final Kernel kernel;
+	private final Set<ConstructionElement> consElements;
+	private final String consXML;
+	private final String moverLabel;
+	private final String locusPointLabel;
+	private final Path path;
+	private Copy[] copies;
+	private boolean copiesFailed;
+	private final Runnable[] tasks = new Runnable[CHUNKS];
+
+	private int size;
+	// parameters of path mover (normalized) and moving element
+	private double[] moverParams = new double[512];
+	private double[] params = new double[512];
+	// moving point only: path types and homogeneous coords
+	private int[] pathTypes = new int[512];
+	private double[] moverCoords = new double[4 * 512];
+	// homogeneous coords of the locus point
+	private double[] locusCoords = new double[4 * 512];
+	private boolean[] computed = new boolean[512];
+	// first position after the path mover jumped from max to min parameter
+	private int wrapIndex;
+	private double gridStep;
+
+	/**
+	 * Copy of the locus macro construction, used by one chunk
+	 */
+	private static class Copy {
+		final MacroKernel macroKernel;
+		final LocusMacroCopies macroCopies;
+		final GeoElement mover;
+		final GeoPointND locusPoint;
+		final Coords coords = new Coords(4);
+
+		Copy(MacroKernel macroKernel, LocusMacroCopies macroCopies,
+				GeoElement mover, GeoPointND locusPoint) {
+			this.macroKernel = macroKernel;
+			this.macroCopies = macroCopies;
+			this.mover = mover;
+			this.locusPoint = locusPoint;
+		}
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel of the locus
+	 * @param consElements
+	 *            elements of the main construction used for the locus
+	 * @param consXML
+	 *            XML of the locus macro construction
+	 * @param mover
+	 *            moving point or slider
+	 * @param locusPoint
+	 *            locus point
+	 * @param path
+	 *            path of the moving point, null for a slider
+	 */
+	LocusGrid(Kernel kernel, Set<ConstructionElement> consElements,
+			String consXML, GeoElement mover, GeoPointND locusPoint,
+			Path path) {
+		this.kernel = kernel;
+		this.consElements = consElements;
+		this.consXML = consXML;
+		this.moverLabel = mover.getLabelSimple();
+		this.locusPointLabel = locusPoint.toGeoElement().getLabelSimple();
+		this.path = path;
+	}
+
+	/**
+	 * @return runner for the chunks, null if the platform has no threads
+	 */
+	static ParallelTaskRunner getTaskRunner() {
+		if (!taskRunnerInitialized && UtilFactory.getPrototype() != null) {
+			taskRunner = UtilFactory.getPrototype().newParallelTaskRunner();
+			taskRunnerInitialized = true;
+		}
+		return taskRunner;
+	}
+
+	/**
+	 * Just used for tests, where no util factory is set.
+	 *
+	 * @param runner
+	 *            runner for the chunks, null to use the util factory
+	 */
+	static void setTaskRunner(ParallelTaskRunner runner) {
+		taskRunner = runner;
+		taskRunnerInitialized = runner != null;
+	}
+
+	/**
+	 * Algorithms that are not thread safe may share static helper objects
+	 * between instances, so they must not be computed in several copies of
+	 * the construction at the same time.
+	 *
+	 * @param consElements
+	 *            elements of the main construction used for the locus
+	 * @param mover
+	 *            moving point or slider
+	 * @return whether all algorithms may be computed in worker threads; the
+	 *         parent algorithm of the moving element is ignored as the
+	 *         workers set its coordinates directly
+	 */
+	static boolean isThreadSafe(Set<ConstructionElement> consElements,
+			GeoElement mover) {
+		AlgoElement moverAlgo = mover.getParentAlgorithm();
+		for (ConstructionElement ce : consElements) {
+			if (ce instanceof AlgoElement && ce != moverAlgo
+					&& !((AlgoElement) ce).isComputeThreadSafe()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Copy createCopy() throws Exception {
+		MacroKernel macroKernel = kernel.newMacroKernel();
+		macroKernel.setGlobalVariableLookup(true);
+		for (ConstructionElement ce : consElements) {
+			if (ce.isGeoElement()) {
+				macroKernel.addReservedLabel(((GeoElement) ce)
+						.getLabel(StringTemplate.defaultTemplate));
+			}
+		}
+		macroKernel.loadXML(consXML);
+		macroKernel.setContinuous(false);
+
+		GeoElement mover = macroKernel.lookupLabel(moverLabel);
+		mover.setFixed(false);
+		if (path != null) {
+			((GeoPointND) mover).setPath(path);
+		}
+		GeoPointND locusPoint = (GeoPointND) macroKernel
+				.lookupLabel(locusPointLabel);
+		return new Copy(macroKernel,
+				new LocusMacroCopies(consElements,
+						macroKernel.getConstruction()),
+				mover, locusPoint);
+	}
+
+	/**
+	 * Removes all positions
+	 *
+	 * @param step
+	 *            grid step (normalized parameter of the path mover)
+	 */
+	void clear(double step) {
+		size = 0;
+		wrapIndex = 0;
+		gridStep = step;
+	}
+
+	/**
+	 * @return whether no more positions can be added
+	 */
+	boolean isFull() {
+		return size >= PathMover.MAX_POINTS;
+	}
+
+	/**
+	 * Adds current position of the moving element to the grid
+	 *
+	 * @param moverParam
+	 *            normalized parameter of the path mover
+	 * @param mover
+	 *            moving point or slider (main thread copy)
+	 */
+	void add(double moverParam, GeoElement mover) {
+		if (size == params.length) {
+			grow();
+		}
+		if (size > 0 && moverParam < moverParams[size - 1]) {
+			wrapIndex = size;
+		}
+		moverParams[size] = moverParam;
+		if (mover instanceof GeoNumeric) {
+			params[size] = ((GeoNumeric) mover).getValue();
+		} else {
+			GeoPointND point = (GeoPointND) mover;
+			params[size] = point.getPathParameter().t;
+			pathTypes[size] = point.getPathParameter().getPathType();
+			Coords coords = point.getCoordsInD3();
+			for (int i = 0; i < 4; i++) {
+				moverCoords[4 * size + i] = coords.get(i + 1);
+			}
+		}
+		computed[size] = false;
+		size++;
+	}
+
+	private void grow() {
+		int length = 2 * params.length;
+		moverParams = grow(moverParams, length);
+		params = grow(params, length);
+		moverCoords = grow(moverCoords, 4 * length);
+		locusCoords = grow(locusCoords, 4 * length);
+		int[] newPathTypes = new int[length];
+		System.arraycopy(pathTypes, 0, newPathTypes, 0, size);
+		pathTypes = newPathTypes;
+		boolean[] newComputed = new boolean[length];
+		System.arraycopy(computed, 0, newComputed, 0, size);
+		computed = newComputed;
+	}
+
+	private static double[] grow(double[] array, int length) {
+		double[] ret = new double[length];
+		System.arraycopy(array, 0, ret, 0, array.length);
+		return ret;
+	}
+
+	/**
+	 * Computes the locus point for all positions, one chunk per copy of the
+	 * macro construction
+	 *
+	 * @return false if the copies of the macro construction can't be built
+	 */
+	boolean compute() {
+		if (copies == null) {
+			if (copiesFailed) {
+				return false;
+			}
+			Copy[] newCopies = new Copy[CHUNKS];
+			try {
+				for (int i = 0; i < CHUNKS; i++) {
+					newCopies[i] = createCopy();
+				}
+			} catch (Exception e) {
+				Log.debug("AlgoLocus: can't copy locus construction: "
+						+ e.getMessage());
+				copiesFailed = true;
+				return false;
+			}
+			copies = newCopies;
+		}
+		// update copies with current values of global vars
+		for (Copy copy : copies) {
+			copy.macroCopies.reset();
+			copy.macroKernel.getConstruction().updateConstruction(false);
+		}
+		int chunkSize = (size + CHUNKS - 1) / CHUNKS;
+		for (int i = 0; i < CHUNKS; i++) {
+			final Copy copy = copies[i];
+			final int from = Math.min(size, i * chunkSize);
+			final int to = Math.min(size, from + chunkSize);
+			tasks[i] = new Runnable() {
+				@Override
+				public void run() {
+					computeChunk(copy, from, to);
+				}
+			};
+		}
+		getTaskRunner().runAll(tasks, CHUNKS);
+		return true;
+	}
+
+	private void computeChunk(Copy copy, int from, int to) {
+		for (int i = from; i < to; i++) {
+			long startTime = System.currentTimeMillis();
+			moveTo(copy, i);
+			copy.mover.updateCascade();
+			Coords coords = copy.locusPoint.getCoordsInD3();
+			for (int j = 0; j < 4; j++) {
+				locusCoords[4 * i + j] = coords.get(j + 1);
+			}
+			// slow construction: leave remaining positions to the sampling
+			if (System.currentTimeMillis()
+					- startTime > AlgoLocusND.MAX_TIME_FOR_ONE_STEP) {
+				return;
+			}
+			computed[i] = true;
+		}
+	}
+
+	private void moveTo(Copy copy, int index) {
+		if (copy.mover instanceof GeoNumeric) {
+			((GeoNumeric) copy.mover).setValue(params[index]);
+			return;
+		}
+		GeoPointND point = (GeoPointND) copy.mover;
+		PathParameter pp = point.getPathParameter();
+		pp.t = params[index];
+		pp.setPathType(pathTypes[index]);
+		int offset = 4 * index;
+		copy.coords.set(moverCoords[offset], moverCoords[offset + 1],
+				moverCoords[offset + 2], moverCoords[offset + 3]);
+		// coords were computed by the path on the main thread
+		point.setCoords(copy.coords, false);
+	}
+
+	/**
+	 * @param param
+	 *            path parameter of the moving point or value of the slider
+	 * @return index of the position in the grid, -1 if not found or not
+	 *         computed
+	 */
+	int find(double param) {
+		int index = find(param, 0, wrapIndex);
+		if (index < 0) {
+			index = find(param, wrapIndex, size);
+		}
+		return index >= 0 && computed[index] ? index : -1;
+	}
+
+	private int find(double param, int from, int to) {
+		double precision = PARAM_PRECISION * Math.max(1, Math.abs(param));
+		int low = from;
+		int high = to - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double diff = params[mid] - param;
+			if (Math.abs(diff) <= precision) {
+				return mid;
+			}
+			if (diff < 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets the locus point to its value at given grid position
+	 *
+	 * @param index
+	 *            index of the position, see {@link #find(double)}
+	 * @param locusPoint
+	 *            locus point
+	 */
+	void setLocusPoint(int index, GeoPointND locusPoint) {
+		int offset = 4 * index;
+		Coords coords = new Coords(locusCoords[offset],
+				locusCoords[offset + 1], locusCoords[offset + 2],
+				locusCoords[offset + 3]);
+		ExpressionNode def = locusPoint.getDefinition();
+		locusPoint.setCoords(coords, false);
+		locusPoint.setDefinition(def);
+	}
+
+	/**
+	 * A path mover that has made smaller steps leaves the grid if it doubles
+	 * its step at the wrong position: it should then make one more step first.
+	 *
+	 * @param moverParam
+	 *            normalized parameter of the path mover
+	 * @param step
+	 *            current step of the path mover
+	 * @return false if doubling the step now would move the path mover off
+	 *         the grid
+	 */
+	boolean allowsBiggerStep(double moverParam, double step) {
+		double steps = Math.abs(step) / gridStep;
+		if (size == 0 || steps >= REFINEMENT) {
+			return true;
+		}
+		double origin = moverParams[0];
+		if (moverParam < origin) {
+			if (wrapIndex == 0) {
+				return true;
+			}
+			origin = moverParams[wrapIndex];
+		}
+		double gridSteps = (moverParam - origin) / gridStep;
+		// not on a lattice of the grid anyway: don't slow down
+		return !isMultiple(gridSteps, steps)
+				|| isMultiple(gridSteps, 2 * steps);
+	}
+
+	private static boolean isMultiple(double value, double step) {
+		double ratio = value / step;
+		return Math.abs(ratio - Math.round(ratio)) < LATTICE_PRECISION;
+	}
+}
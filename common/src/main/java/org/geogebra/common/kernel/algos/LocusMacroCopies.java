@@ -0,0 +1,67 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Pairs of elements of the main construction and their copies in the macro
+ * construction used to compute a locus. Copies are looked up once, so that
+ * resetting the macro construction on each update doesn't need label lookups.
+ */
+final class LocusMacroCopies {
+
+	private final GeoElement[] originals;
+	private final GeoElement[] copies;
+
+	/**
+	 * @param consElements
+	 *            elements of the main construction used for the locus
+	 * @param macroCons
+	 *            macro construction built from these elements
+	 */
+	LocusMacroCopies(Set<ConstructionElement> consElements,
+			Construction macroCons) {
+		ArrayList<GeoElement> originalList = new ArrayList<>();
+		ArrayList<GeoElement> copyList = new ArrayList<>();
+		for (ConstructionElement ce : consElements) {
+			if (ce.isGeoElement()) {
+				GeoElement geoOrig = (GeoElement) ce;
+				// do not copy functions, their expressions already
+				// include references to the correct other geos
+				if (!geoOrig.isGeoFunction()) {
+					GeoElement geoCopy = macroCons
+							.lookupLabel(geoOrig.getLabelSimple());
+					if (geoCopy != null) {
+						originalList.add(geoOrig);
+						copyList.add(geoCopy);
+					}
+				}
+			}
+		}
+		originals = originalList.toArray(new GeoElement[0]);
+		copies = copyList.toArray(new GeoElement[0]);
+	}
+
+	/**
+	 * Set all copies to the current values of the main construction
+	 */
+	void reset() {
+		for (int i = 0; i < copies.length; i++) {
+			GeoElement geoCopy = copies[i];
+			try {
+				ExpressionNode def = geoCopy.getDefinition();
+				geoCopy.set(originals[i]);
+				geoCopy.setDefinition(def);
+				geoCopy.update();
+			} catch (Exception e) {
+				Log.debug("AlgoLocus: error in LocusMacroCopies.reset(): "
+						+ e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package org.geogebra.common.kernel.algos;
+
+/**
+ * Computes several mutually independent algorithms concurrently. Only
+ * available on platforms with threads, see
+ * {@link org.geogebra.common.factories.UtilFactory#newParallelAlgoComputer()}.
+ */
+public interface ParallelAlgoComputer {
+
+	/**
+	 * Calls compute() of all given algorithms and returns once all of them
+	 * are done. Output geos are not updated.
+	 * 
+	 * @param algos
+	 *            algorithms, none of them depends on another
+	 * @param size
+	 *            number of algorithms to compute
+	 */
+	void computeAll(AlgoElement[] algos, int size);
+}
@@ -0,0 +1,420 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Real valued expression compiled into a postfix program for a small stack
+ * machine. Evaluation neither allocates nor goes through
+ * {@link ExpressionNodeEvaluator}, the result is the same as
+ * {@link ExpressionNode#evaluateDouble()}.
+ *
+ * Numbers and sliders are read from the original leaves on every evaluation,
+ * so only structural changes of the expression need a new compilation; those
+ * are detected by {@link #isUpToDate()}.
+ *
+ * Not thread safe (same as evaluating the expression tree).
+ */
+public final class CompiledFunction {
+
+	private static final int VAR = 0;
+	private static final int LOAD = 1;
+	private static final int PLUS = 2;
+	private static final int MINUS = 3;
+	private static final int MULTIPLY = 4;
+	private static final int DIVIDE = 5;
+	/** Math.pow as in ExpressionNode.evaluateDouble */
+	private static final int POWER = 6;
+	/** MyDouble.pow as in ExpressionNodeEvaluator */
+	private static final int POWER_CHECKED = 7;
+	private static final int SIN = 8;
+	private static final int SIN_CHECKED = 9;
+	private static final int COS = 10;
+	private static final int COS_CHECKED = 11;
+	private static final int TAN = 12;
+	private static final int EXP = 13;
+	private static final int LOG = 14;
+	private static final int SQRT = 15;
+	private static final int CBRT = 16;
+	private static final int ABS = 17;
+	private static final int SGN = 18;
+	private static final int ARCSIN = 19;
+	private static final int ARCCOS = 20;
+	private static final int ARCTAN = 21;
+	private static final int SINH = 22;
+	private static final int COSH = 23;
+	private static final int TANH = 24;
+
+	private final int[] code;
+	/** leaf index for LOAD, variable index for VAR, exponent index for POWER */
+	private final int[] args;
+	private final NumberValue[] leaves;
+	/** exponents of the form a/b, needed for negative bases */
+	private final ExpressionNode[] fractions;
+	/** compiled nodes and their modification counts at compile time */
+	private final ExpressionNode[] nodes;
+	private final int[] modCounts;
+	private final double[] stack;
+	private final double[] vals;
+
+	private CompiledFunction(Compiler compiler, int varCount) {
+		int size = compiler.code.size();
+		code = new int[size];
+		args = new int[size];
+		for (int i = 0; i < size; i++) {
+			code[i] = compiler.code.get(i);
+			args[i] = compiler.args.get(i);
+		}
+		leaves = compiler.leaves.toArray(new NumberValue[0]);
+		fractions = compiler.fractions.toArray(new ExpressionNode[0]);
+		nodes = compiler.nodes.toArray(new ExpressionNode[0]);
+		modCounts = new int[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			modCounts[i] = nodes[i].getModCount();
+		}
+		stack = new double[compiler.maxDepth];
+		vals = new double[varCount];
+	}
+
+	/**
+	 * @param expression
+	 *            function expression
+	 * @param fVars
+	 *            function variables
+	 * @return compiled expression or null if the expression contains
+	 *         operations or values that can't be compiled
+	 */
+	public static CompiledFunction compile(ExpressionNode expression,
+			FunctionVariable[] fVars) {
+		if (expression == null || fVars == null) {
+			return null;
+		}
+		Compiler compiler = new Compiler(fVars);
+		if (!compiler.compile(expression, true)) {
+			return null;
+		}
+		return new CompiledFunction(compiler, fVars.length);
+	}
+
+	/**
+	 * @return false if any node of the compiled expression was changed in
+	 *         place since compilation
+	 */
+	public boolean isUpToDate() {
+		for (int i = 0; i < nodes.length; i++) {
+			if (nodes[i].getModCount() != modCounts[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param x
+	 *            value of the only variable
+	 * @return function value
+	 */
+	public double evaluate(double x) {
+		vals[0] = x;
+		return evaluate(vals);
+	}
+
+	/**
+	 * @param x
+	 *            value of first variable
+	 * @param y
+	 *            value of second variable
+	 * @return function value
+	 */
+	public double evaluate(double x, double y) {
+		vals[0] = x;
+		vals[1] = y;
+		return evaluate(vals);
+	}
+
+	/**
+	 * @param values
+	 *            values of the variables
+	 * @return function value
+	 */
+	public double evaluate(double[] values) {
+		final double[] st = stack;
+		int sp = -1;
+		for (int pc = 0; pc < code.length; pc++) {
+			switch (code[pc]) {
+			case VAR:
+				st[++sp] = values[args[pc]];
+				break;
+			case LOAD:
+				st[++sp] = leaves[args[pc]].getDouble();
+				break;
+			case PLUS:
+				sp--;
+				st[sp] += st[sp + 1];
+				break;
+			case MINUS:
+				sp--;
+				st[sp] -= st[sp + 1];
+				break;
+			case MULTIPLY:
+				sp--;
+				st[sp] *= st[sp + 1];
+				break;
+			case DIVIDE:
+				sp--;
+				st[sp] /= st[sp + 1];
+				break;
+			case POWER:
+				sp--;
+				st[sp] = power(st[sp], st[sp + 1], args[pc]);
+				break;
+			case POWER_CHECKED:
+				sp--;
+				st[sp] = powerChecked(st[sp], st[sp + 1], args[pc]);
+				break;
+			case SIN:
+				st[sp] = Math.sin(st[sp]);
+				break;
+			case SIN_CHECKED:
+				st[sp] = sinChecked(st[sp]);
+				break;
+			case COS:
+				st[sp] = Math.cos(st[sp]);
+				break;
+			case COS_CHECKED:
+				st[sp] = checkZero(Math.cos(st[sp]));
+				break;
+			case TAN:
+				st[sp] = tan(st[sp]);
+				break;
+			case EXP:
+				st[sp] = Math.exp(st[sp]);
+				break;
+			case LOG:
+				st[sp] = Math.log(st[sp]);
+				break;
+			case SQRT:
+				st[sp] = Math.sqrt(st[sp]);
+				break;
+			case CBRT:
+				st[sp] = MyMath.cbrt(st[sp]);
+				break;
+			case ABS:
+				st[sp] = Math.abs(st[sp]);
+				break;
+			case SGN:
+				st[sp] = MyMath.sgn(st[sp]);
+				break;
+			case ARCSIN:
+				st[sp] = MyMath.asin(st[sp]);
+				break;
+			case ARCCOS:
+				st[sp] = MyMath.acos(st[sp]);
+				break;
+			case ARCTAN:
+				st[sp] = Math.atan(st[sp]);
+				break;
+			case SINH:
+				st[sp] = MyMath.sinh(st[sp]);
+				break;
+			case COSH:
+				st[sp] = MyMath.cosh(st[sp]);
+				break;
+			case TANH:
+				st[sp] = MyMath.tanh(st[sp]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return st[0];
+	}
+
+	private double power(double base, double exponent, int fraction) {
+		if (fraction >= 0 && base < 0) {
+			return ExpressionNodeEvaluator.negPower(base, fractions[fraction]);
+		}
+		return Math.pow(base, exponent);
+	}
+
+	private double powerChecked(double base, double exponent, int fraction) {
+		if (MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(exponent);
+		}
+		if (fraction >= 0 && base < 0) {
+			return ExpressionNodeEvaluator.negPower(base, fractions[fraction]);
+		}
+		return MyDouble.pow(base, exponent);
+	}
+
+	private static double sinChecked(double x) {
+		double ret = Math.sin(x);
+		return Math.abs(x) > 0.1 ? checkZero(ret) : ret;
+	}
+
+	private static double tan(double x) {
+		if (DoubleUtil.isEqual(Math.abs(x) % Math.PI, Kernel.PI_HALF)) {
+			return Double.NaN;
+		}
+		double ret = Math.tan(x);
+		return Math.abs(x) > 0.1 ? checkZero(ret) : ret;
+	}
+
+	private static double checkZero(double x) {
+		return DoubleUtil.isZero(x) ? 0 : x;
+	}
+
+	/**
+	 * Translates expression tree to postfix code. Operations that
+	 * ExpressionNode.evaluateDouble() handles itself are compiled with its
+	 * semantics; once we reach any other operation, the subtree would be
+	 * evaluated by ExpressionNodeEvaluator and is compiled with MyDouble
+	 * semantics.
+	 */
+	private static class Compiler {
+		private final FunctionVariable[] fVars;
+		final ArrayList<Integer> code = new ArrayList<>();
+		final ArrayList<Integer> args = new ArrayList<>();
+		final ArrayList<NumberValue> leaves = new ArrayList<>();
+		final ArrayList<ExpressionNode> fractions = new ArrayList<>();
+		final ArrayList<ExpressionNode> nodes = new ArrayList<>();
+		private int depth = 0;
+		int maxDepth = 0;
+
+		Compiler(FunctionVariable[] fVars) {
+			this.fVars = fVars;
+		}
+
+		boolean compile(ExpressionValue ev, boolean fast) {
+			if (ev instanceof ExpressionNode) {
+				return compileNode((ExpressionNode) ev, fast);
+			}
+			for (int i = 0; i < fVars.length; i++) {
+				if (ev == fVars[i]) {
+					push(VAR, i);
+					return true;
+				}
+			}
+			if (ev instanceof MyDouble || ev instanceof GeoNumeric) {
+				leaves.add((NumberValue) ev);
+				push(LOAD, leaves.size() - 1);
+				return true;
+			}
+			return false;
+		}
+
+		private boolean compileNode(ExpressionNode node, boolean fast) {
+			nodes.add(node);
+			if (node.isLeaf()) {
+				return compile(node.getLeft(), fast);
+			}
+			Operation op = node.getOperation();
+			boolean fastChildren = fast && isFastOperation(op);
+			switch (op) {
+			case PLUS:
+				return binary(node, PLUS, fastChildren, -1);
+			case MINUS:
+				return binary(node, MINUS, fastChildren, -1);
+			case MULTIPLY:
+				return binary(node, MULTIPLY, fastChildren, -1);
+			case DIVIDE:
+				return binary(node, DIVIDE, fastChildren, -1);
+			case POWER:
+				int fraction = -1;
+				if (node.getRight().isExpressionNode() && ((ExpressionNode) node
+						.getRight()).getOperation() == Operation.DIVIDE) {
+					fractions.add((ExpressionNode) node.getRight());
+					fraction = fractions.size() - 1;
+				}
+				return binary(node, fast ? POWER : POWER_CHECKED, fastChildren,
+						fraction);
+			case SIN:
+				return unary(node, fast ? SIN : SIN_CHECKED, fastChildren);
+			case COS:
+				return unary(node, fast ? COS : COS_CHECKED, fastChildren);
+			case SQRT:
+			case SQRT_SHORT:
+				return unary(node, SQRT, fastChildren);
+			case TAN:
+				return unary(node, TAN, false);
+			case EXP:
+				return unary(node, EXP, false);
+			case LOG:
+				return unary(node, LOG, false);
+			case CBRT:
+				return unary(node, CBRT, false);
+			case ABS:
+				return unary(node, ABS, false);
+			case SGN:
+				return unary(node, SGN, false);
+			case ARCSIN:
+				return unary(node, ARCSIN, false);
+			case ARCCOS:
+				return unary(node, ARCCOS, false);
+			case ARCTAN:
+				return unary(node, ARCTAN, false);
+			case SINH:
+				return unary(node, SINH, false);
+			case COSH:
+				return unary(node, COSH, false);
+			case TANH:
+				return unary(node, TANH, false);
+			default:
+				return false;
+			}
+		}
+
+		/**
+		 * @return whether ExpressionNode.evaluateDouble() evaluates this
+		 *         operation without ExpressionNodeEvaluator
+		 */
+		private static boolean isFastOperation(Operation op) {
+			switch (op) {
+			case PLUS:
+			case MINUS:
+			case MULTIPLY:
+			case DIVIDE:
+			case POWER:
+			case SIN:
+			case COS:
+			case SQRT:
+				return true;
+			default:
+				return false;
+			}
+		}
+
+		private boolean binary(ExpressionNode node, int opcode, boolean fast,
+				int arg) {
+			if (!compile(node.getLeft(), fast)
+					|| !compile(node.getRight(), fast)) {
+				return false;
+			}
+			depth--;
+			code.add(opcode);
+			args.add(arg);
+			return true;
+		}
+
+		private boolean unary(ExpressionNode node, int opcode, boolean fast) {
+			if (!compile(node.getLeft(), fast)) {
+				return false;
+			}
+			code.add(opcode);
+			args.add(-1);
+			return true;
+		}
+
+		private void push(int opcode, int arg) {
+			code.add(opcode);
+			args.add(arg);
+			depth++;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+	}
+}
@@ -78,6 +78,8 @@ public class ExpressionNode extends ValidExpression
 
 	/** for leaf mode */
 	public boolean leaf = false;
+	/** incremented whenever children or operation change in place */
+	private int modCount = 0;
 	private boolean brackets;
 	private ExpressionValue resolve;
 
@@ -184,6 +186,7 @@ public class ExpressionNode extends ValidExpression
 	 */
 	public void setOperation(Operation op) {
 		operation = op;
+		modCount++;
 	}
 
 	/**
@@ -208,6 +211,7 @@ public class ExpressionNode extends ValidExpression
 	final public void setLeft(ExpressionValue l) {
 		left = l;
 		left.setInTree(true); // needed fot list operations eg k=2 then k {1,2}
+		modCount++;
 	}
 
 	/**
@@ -243,6 +247,15 @@ public class ExpressionNode extends ValidExpression
 		leaf = operation == Operation.NO_OPERATION; // right is a dummy MyDouble
 		// by
 		// default
+		modCount++;
+	}
+
+	/**
+	 * @return number of in-place changes of this node's children or operation
+	 *         (not of its subtrees)
+	 */
+	int getModCount() {
+		return modCount;
 	}
 
 	/**
@@ -354,6 +367,7 @@ public class ExpressionNode extends ValidExpression
 			ExpressionNode node = (ExpressionNode) left;
 			if (node.leaf) {
 				left = node.left;
+				modCount++;
 				simplifyLeafs();
 			}
 		}
@@ -363,6 +377,7 @@ public class ExpressionNode extends ValidExpression
 				ExpressionNode node = (ExpressionNode) right;
 				if (node.leaf) {
 					right = node.left;
+					modCount++;
 					simplifyLeafs();
 				}
 			}
@@ -383,6 +398,7 @@ public class ExpressionNode extends ValidExpression
 			((ExpressionNode) left).simplifyAndEvalCommands(info);
 		} else if (left instanceof Command) {
 			left = ((Command) left).simplify(info);
+			modCount++;
 		}
 
 		if (right != null) {
@@ -390,6 +406,7 @@ public class ExpressionNode extends ValidExpression
 				((ExpressionNode) right).simplifyAndEvalCommands(info);
 			} else if (right instanceof Command) {
 				right = ((Command) right).simplify(info);
+				modCount++;
 			}
 		}
 	}
@@ -435,6 +452,7 @@ public class ExpressionNode extends ValidExpression
 				fixMultiplyDeg();
 			}
 			left = groupPowers(left);
+			modCount++;
 		} else {
 			left.resolveVariables(info);
 		}
@@ -445,6 +463,7 @@ public class ExpressionNode extends ValidExpression
 				right = ((Variable) right).resolveAsExpressionValue(
 						info.getSymbolicMode(), info.isMultipleUnassignedAllowed());
 				right = groupPowers(right);
+				modCount++;
 			} else {
 				right.resolveVariables(info);
 			}
@@ -653,6 +672,7 @@ public class ExpressionNode extends ValidExpression
 					.getName(StringTemplate.defaultTemplate))) {
 				left = fVar;
 				replacements++;
+				modCount++;
 			}
 		} else if (left instanceof Command) {
 			replacements += ((Command) left).replaceVariables(varName, fVar);
@@ -662,12 +682,14 @@ public class ExpressionNode extends ValidExpression
 					.toString(StringTemplate.defaultTemplate))) {
 				left = fVar;
 				replacements++;
+				modCount++;
 			}
 		} else if (left instanceof FunctionVariable) {
 			if (varName.equals(((FunctionVariable) left)
 					.toString(StringTemplate.defaultTemplate))) {
 				left = fVar;
 				replacements++;
+				modCount++;
 			}
 		}
 
@@ -684,18 +706,21 @@ public class ExpressionNode extends ValidExpression
 						.getName(StringTemplate.defaultTemplate))) {
 					right = fVar;
 					replacements++;
+					modCount++;
 				}
 			} else if (right instanceof GeoDummyVariable) {
 				if (varName.equals(((GeoDummyVariable) right)
 						.toString(StringTemplate.defaultTemplate))) {
 					right = fVar;
 					replacements++;
+					modCount++;
 				}
 			} else if (right instanceof FunctionVariable) {
 				if (varName.equals(((FunctionVariable) right)
 						.toString(StringTemplate.defaultTemplate))) {
 					right = fVar;
 					replacements++;
+					modCount++;
 				}
 			}
 		}
@@ -744,6 +769,7 @@ public class ExpressionNode extends ValidExpression
 				operation = Operation.MULTIPLY_OR_FUNCTION;
 				right = left;
 				left = xVar;
+				modCount++;
 			}
 			break;
 
@@ -753,6 +779,7 @@ public class ExpressionNode extends ValidExpression
 				operation = Operation.MULTIPLY_OR_FUNCTION;
 				right = left;
 				left = yVar;
+				modCount++;
 			}
 			break;
 
@@ -762,6 +789,7 @@ public class ExpressionNode extends ValidExpression
 				operation = Operation.MULTIPLY_OR_FUNCTION;
 				right = left;
 				left = zVar;
+				modCount++;
 			}
 			break;
 		case POWER:
@@ -792,6 +820,7 @@ public class ExpressionNode extends ValidExpression
 			left = new ExpressionNode(kernel, ((ExpressionNode) left).getLeft(),
 					Operation.SQRT, null);
 			operation = Operation.MULTIPLY;
+			modCount++;
 		}
 	}
 
@@ -803,6 +832,7 @@ public class ExpressionNode extends ValidExpression
 					((ExpressionNode) left).getRight(), operation, right);
 			left = ((ExpressionNode) left).getLeft();
 			operation = Operation.MULTIPLY;
+			modCount++;
 		}
 	}
 
@@ -820,6 +850,7 @@ public class ExpressionNode extends ValidExpression
 			}
 			unsetRight();
 			operation = leftOperation;
+			modCount++;
 		}
 	}
 
@@ -845,11 +876,19 @@ public class ExpressionNode extends ValidExpression
 			return ev;
 		}
 		if (left != null) {
-			left = left.traverse(t);
+			ExpressionValue newLeft = left.traverse(t);
+			if (newLeft != left) {
+				left = newLeft;
+				modCount++;
+			}
 		}
 
 		if (right != null) {
-			right = right.traverse(t);
+			ExpressionValue newRight = right.traverse(t);
+			if (newRight != right) {
+				right = newRight;
+				modCount++;
+			}
 		}
 
 		if (isLeaf() && left != null && left.isExpressionNode()) {
@@ -858,6 +897,7 @@ public class ExpressionNode extends ValidExpression
 			left = leftNode.left;
 			leaf = leftNode.leaf;
 			operation = leftNode.operation;
+			modCount++;
 		}
 		return this;
 	}
@@ -875,6 +915,7 @@ public class ExpressionNode extends ValidExpression
 			GeoElement treeGeo = (GeoElement) left;
 			if ((left == geo) || treeGeo.isChildOf(geo)) {
 				left = treeGeo.copyInternal(treeGeo.getConstruction());
+				modCount++;
 			}
 		} else if (left instanceof ReplaceChildrenByValues) {
 			((ReplaceChildrenByValues) left).replaceChildrenByValues(geo);
@@ -886,6 +927,7 @@ public class ExpressionNode extends ValidExpression
 				GeoElement treeGeo = (GeoElement) right;
 				if ((right == geo) || treeGeo.isChildOf(geo)) {
 					right = treeGeo.copyInternal(treeGeo.getConstruction());
+					modCount++;
 				}
 			} else if (right instanceof ReplaceChildrenByValues) {
 				((ReplaceChildrenByValues) right).replaceChildrenByValues(geo);
@@ -215,6 +215,10 @@ public class Function extends FunctionNVar
 		}
 		// NumberValue
 		fVars[0].set(x);
+		CompiledFunction fast = getCompiledFunction();
+		if (fast != null) {
+			return fast.evaluate(x);
+		}
 		return expression.evaluateDouble();
 
 	}
@@ -280,7 +284,7 @@ public class Function extends FunctionNVar
 	 */
 	final public void translateY(double vy) {
 		expression = translateY(expression, fVars, vy);
-
+		resetCompiledFunction();
 	}
 
 	/**
@@ -1170,6 +1174,7 @@ public class Function extends FunctionNVar
 	 */
 	public void dilateX(double scale) {
 		dilateX(expression, scale, 0);
+		resetCompiledFunction();
 	}
 
 	/**
@@ -57,6 +57,11 @@ public class FunctionNVar extends ValidExpression
 	/** function variables */
 	protected FunctionVariable[] fVars;
 	private IneqTree ineqs;
+	/** compiled form of expression, see getCompiledFunction() */
+	private CompiledFunction compiled;
+	/** expression and variables compiled was created from */
+	private ExpressionNode compiledExpression;
+	private FunctionVariable[] compiledVars;
 
 	/** standard case: number function, see initFunction() */
 	protected boolean isBooleanFunction = false;
@@ -215,6 +220,7 @@ public class FunctionNVar extends ValidExpression
 	public void replaceChildrenByValues(GeoElement geo) {
 		if (expression != null) {
 			expression.replaceChildrenByValues(geo);
+			resetCompiledFunction();
 		}
 	}
 
@@ -503,6 +509,10 @@ public class FunctionNVar extends ValidExpression
 				fVars[i].set(vals[i]);
 			}
 		}
+		CompiledFunction fast = getCompiledFunction();
+		if (fast != null) {
+			return fast.evaluate(vals);
+		}
 		return expression.evaluateDouble();
 	}
 
@@ -516,10 +526,39 @@ public class FunctionNVar extends ValidExpression
 
 		fVars[0].set(x);
 		fVars[1].set(y);
-
+		CompiledFunction fast = getCompiledFunction();
+		if (fast != null) {
+			return fast.evaluate(x, y);
+		}
 		return expression.evaluateDouble();
 	}
 
+	/**
+	 * Returns flat evaluator of this function's expression; it is recompiled
+	 * when expression or variables were replaced or the expression was changed
+	 * in place.
+	 * 
+	 * @return compiled expression, null if it can't be compiled
+	 */
+	protected CompiledFunction getCompiledFunction() {
+		if (compiledExpression != expression || compiledVars != fVars
+				|| (compiled != null && !compiled.isUpToDate())) {
+			compiledExpression = expression;
+			compiledVars = fVars;
+			compiled = isBooleanFunction ? null
+					: CompiledFunction.compile(expression, fVars);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Forces recompilation, e.g. after the expression was replaced.
+	 */
+	protected void resetCompiledFunction() {
+		compiledExpression = null;
+		compiled = null;
+	}
+
 	/**
 	 * Returns this function's value at position vals. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -934,6 +973,7 @@ public class FunctionNVar extends ValidExpression
 
 	private void invalidateIneqs() {
 		this.ineqs = null;
+		resetCompiledFunction();
 	}
 
 	/**
@@ -1207,6 +1247,7 @@ public class FunctionNVar extends ValidExpression
 			expression = expression.replace(fVars[0], newX).wrap();
 			expression = expression.replace(fVars[1], newY).wrap();
 			expression = expression.replace(fVars[zIndex], newZ).wrap();
+			resetCompiledFunction();
 			this.initIneqs(expression, this);
 			this.translate(s.getX(), s.getY(), s.getZ());
 		} else {
@@ -1306,6 +1347,7 @@ public class FunctionNVar extends ValidExpression
 		expression = expression.traverse(
 				CopyReplacer.getReplacer(dummy, newX.divide(newZ), kernel))
 				.wrap();
+		resetCompiledFunction();
 		this.initIneqs(expression, this);
 	}
 
@@ -1316,6 +1358,7 @@ public class FunctionNVar extends ValidExpression
 			return ev;
 		}
 		expression = expression.traverse(t).wrap();
+		resetCompiledFunction();
 		return this;
 	}
 
@@ -378,4 +378,53 @@ public interface Inspecting {
 
 	}
 
+	/**
+	 * Checks for parts that must not be evaluated concurrently with other
+	 * expressions: commands, lists, references to functions (evaluation sets
+	 * their function variables), random numbers and non-numeric geos.
+	 */
+	public enum ConcurrentEvaluationChecker implements Inspecting {
+		/** singleton instance */
+		INSTANCE;
+		@Override
+		public boolean check(ExpressionValue v) {
+			if (v instanceof Command || v instanceof MyList) {
+				return true;
+			}
+			if (v instanceof GeoElement) {
+				GeoElement geo = (GeoElement) v;
+				return !(geo.isGeoNumeric() || geo.isGeoPoint()
+						|| geo.isGeoVector() || geo.isGeoBoolean());
+			}
+			if (v instanceof ExpressionNode) {
+				switch (((ExpressionNode) v).getOperation()) {
+				case RANDOM:
+				case FUNCTION:
+				case FUNCTION_NVAR:
+				case VEC_FUNCTION:
+				case MULTIPLY_OR_FUNCTION:
+				case DERIVATIVE:
+				case INTEGRAL:
+				case SUBSTITUTION:
+				case ELEMENT_OF:
+				case SUM:
+				case SEQUENCE:
+				case DATA:
+				case FREEHAND:
+				case IF_LIST:
+				case DOLLAR_VAR_ROW:
+				case DOLLAR_VAR_COL:
+				case DOLLAR_VAR_ROW_COL:
+				case ARBCONST:
+				case ARBINT:
+				case ARBCOMPLEX:
+					return true;
+				default:
+					return false;
+				}
+			}
+			return false;
+		}
+	}
+
 }
@@ -1,29 +1,19 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.TreeSet;
 
-import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
-import org.geogebra.common.kernel.discrete.delaunay.PointDt;
-import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
-import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.discrete.delaunay.HalfEdgeTriangulation;
 import org.geogebra.common.kernel.geos.GeoList;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.util.DoubleUtil;
-import org.geogebra.common.util.debug.Log;
 
 /**
  * DelauneyTriangulation command
  */
 public class AlgoDelauneyTriangulation extends AlgoDiscrete {
-	private static Comparator<MyLine> lineComparator;
+	private HalfEdgeTriangulation triangulation;
 
 	/**
 	 * @param cons
@@ -45,131 +35,47 @@ public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 
 	@Override
 	public final void compute() {
-		try {
-			size = inputList.size();
-			if (!inputList.isDefined() || size == 0) {
-				locus.setUndefined();
-				return;
-			}
-
-			double[] inhom = new double[2];
-
-			PointDt[] points = new PointDt[size];
-
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo.isDefined() && geo.isGeoPoint()) {
-					GeoPointND p = (GeoPointND) geo;
-					p.getInhomCoords(inhom);
-
-					points[i] = new PointDt(inhom[0], inhom[1]);
-
-				}
-			}
-
-			DelaunayTriangulation dt = new DelaunayTriangulation(points);
-
-			if (dt.allCollinear) {
-				locus.setUndefined();
-				return;
-			}
-
-			Iterator<TriangleDt> it = dt.trianglesIterator();
-
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
-			}
-
-			// add to TreeSet to remove duplicates (from touching triangles)
-			TreeSet<MyLine> tree = new TreeSet<>(getComparator());
-
-			while (it.hasNext()) {
-				TriangleDt triangle = it.next();
-
-				tree.add(new MyLine(
-						new GPoint2D(triangle.p1().x(),
-								triangle.p1().y()),
-						new GPoint2D(triangle.p2().x(),
-								triangle.p2().y())));
-				if (triangle.p3() != null) {
-					tree.add(new MyLine(
-							new GPoint2D(triangle.p2().x(),
-									triangle.p2().y()),
-							new GPoint2D(triangle.p3().x(),
-									triangle.p3().y())));
-					tree.add(new MyLine(
-							new GPoint2D(triangle.p3().x(),
-									triangle.p3().y()),
-							new GPoint2D(triangle.p1().x(),
-									triangle.p1().y())));
-				}
-
-			}
-
-			Iterator<MyLine> it2 = tree.iterator();
-
-			while (it2.hasNext()) {
-				MyLine line = it2.next();
-				al.add(new MyPoint(line.p1.getX(), line.p1.getY(),
-						SegmentType.MOVE_TO));
-				al.add(new MyPoint(line.p2.getX(), line.p2.getY(),
-						SegmentType.LINE_TO));
-			}
-
-			locus.setPoints(al);
-			locus.setDefined(true);
-		} catch (Exception e) {
-			Log.error(e.getMessage());
+		size = inputList.size();
+		if (!inputList.isDefined() || size == 0) {
 			locus.setUndefined();
+			return;
 		}
-	}
-
-	/**
-	 * @return comparator used to eliminate duplicate objects (TreeSet deletes
-	 *         duplicates ie those that return 0)
-	 */
-	public static Comparator<MyLine> getComparator() {
-		if (lineComparator == null) {
-			lineComparator = new Comparator<MyLine>() {
-				@Override
-				public int compare(MyLine itemA, MyLine itemB) {
 
-					GPoint2D p1A = itemA.p1;
-					GPoint2D p2A = itemA.p2;
-					GPoint2D p1B = itemB.p1;
-					GPoint2D p2B = itemB.p2;
-
-					// return 0 if endpoints the same
-					// so no duplicates in the TreeMap
-					if (DoubleUtil.isEqual(p1A.getX(), p2B.getX())
-							&& DoubleUtil.isEqual(p1A.getY(), p2B.getY())
-							&& DoubleUtil.isEqual(p2A.getX(), p1B.getX())
-							&& DoubleUtil.isEqual(p2A.getY(), p1B.getY())) {
-						// Application.debug("equal2");
-						return 0;
-					}
-					// check this one second (doesn't occur in practice)
-					if (DoubleUtil.isEqual(p1A.getX(), p1B.getX())
-							&& DoubleUtil.isEqual(p1A.getY(), p1B.getY())
-							&& DoubleUtil.isEqual(p2A.getX(), p2B.getX())
-							&& DoubleUtil.isEqual(p2A.getY(), p2B.getY())) {
-						// Application.debug("equal1");
-						return 0;
-					}
+		if (triangulation == null) {
+			triangulation = new HalfEdgeTriangulation();
+		}
+		updateTriangulation(triangulation);
 
-					// need to return something sensible, otherwise tree doesn't
-					// work
-					return itemA.lengthSquared() > itemB.lengthSquared() ? -1
-							: 1;
+		if (triangulation.isAllCollinear()) {
+			locus.setUndefined();
+			return;
+		}
 
-				}
-			};
+		if (al == null) {
+			al = new ArrayList<>();
+		} else {
+			al.clear();
+		}
 
+		// each edge once: from the triangle with the smaller half-edge index
+		// or from the inner triangle of hull edges
+		int halfEdges = 3 * triangulation.getTriangleCount();
+		for (int e = 0; e < halfEdges; e++) {
+			int twin = triangulation.getTwin(e);
+			if (!triangulation.isGhost(e / 3)
+					&& (e < twin || triangulation.isGhost(twin / 3))) {
+				int start = triangulation.getVertex(e);
+				int end = triangulation
+						.getVertex(HalfEdgeTriangulation.next(e));
+				al.add(new MyPoint(triangulation.getX(start),
+						triangulation.getY(start), SegmentType.MOVE_TO));
+				al.add(new MyPoint(triangulation.getX(end),
+						triangulation.getY(end), SegmentType.LINE_TO));
+			}
 		}
 
-		return lineComparator;
+		locus.setPoints(al);
+		locus.setDefined(true);
 	}
 
 }
@@ -18,9 +18,12 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.discrete.delaunay.HalfEdgeTriangulation;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.ListColumns;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
 
 /**
  * 
@@ -36,6 +39,8 @@ public abstract class AlgoDiscrete extends AlgoElement implements GraphAlgo {
 	protected ArrayList<MyPoint> al;
 	/** number of points */
 	protected int size;
+	private double[] xs;
+	private double[] ys;
 
 	/**
 	 * @param cons
@@ -72,4 +77,40 @@ public abstract class AlgoDiscrete extends AlgoElement implements GraphAlgo {
 		return locus;
 	}
 
+	/**
+	 * Updates triangulation with the coordinates of the input points, other
+	 * objects and undefined points are skipped.
+	 *
+	 * @param triangulation
+	 *            triangulation of the previous input
+	 */
+	protected void updateTriangulation(HalfEdgeTriangulation triangulation) {
+		if (xs == null || xs.length < size) {
+			xs = new double[size];
+			ys = new double[size];
+		}
+		ListColumns columns = inputList.getColumns();
+		if (columns != null && !columns.isPoints()) {
+			columns = null;
+		}
+		double[] inhom = new double[2];
+		for (int i = 0; i < size; i++) {
+			if (columns != null) {
+				xs[i] = columns.getX(i);
+				ys[i] = columns.getY(i);
+				continue;
+			}
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoPoint()) {
+				((GeoPointND) geo).getInhomCoords(inhom);
+				xs[i] = inhom[0];
+				ys[i] = inhom[1];
+			} else {
+				xs[i] = Double.NaN;
+				ys[i] = Double.NaN;
+			}
+		}
+		triangulation.update(xs, ys, size);
+	}
+
 }
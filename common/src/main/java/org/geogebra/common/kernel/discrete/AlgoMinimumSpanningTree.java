@@ -1,24 +1,16 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Arrays;
 
-import org.apache.commons.collections15.Transformer;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.discrete.delaunay.HalfEdgeTriangulation;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.kernel.matrix.Coords;
-
-import edu.uci.ics.jung.algorithms.shortestpath.MinimumSpanningForest2;
-import edu.uci.ics.jung.graph.DelegateForest;
-import edu.uci.ics.jung.graph.DelegateTree;
-import edu.uci.ics.jung.graph.Forest;
-import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
-import edu.uci.ics.jung.graph.util.EdgeType;
 
 /**
  * Minimum spanning tree algo
@@ -28,12 +20,12 @@ public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 	/** number of edges */
 	protected int edgeCount;
 
-	private static Transformer<MyLink, Double> wtTransformer = new Transformer<MyLink, Double>() {
-		@Override
-		public Double transform(MyLink link) {
-			return link.weight;
-		}
-	};
+	private HalfEdgeTriangulation triangulation;
+	// graph of the previous update, reused when only lengths change
+	private CsrGraph graph;
+	private int[] from = new int[0];
+	private int[] to = new int[0];
+	private int[] tree;
 
 	/**
 	 * @param cons
@@ -62,99 +54,92 @@ public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 			return;
 		}
 
-		edgeCount = 0;
-
-		HashMap<GeoPointND, MyNode> nodes = new HashMap<>();
-		MyNode node1, node2;
-		UndirectedSparseMultigraph<MyNode, MyLink> g = new UndirectedSparseMultigraph<>();
-
-		for (int i = 0; i < size - 1; i++) {
-			GeoPointND p1 = (GeoPointND) inputList.get(i);
-			for (int j = i + 1; j < size; j++) {
-				GeoPointND p2 = (GeoPointND) inputList.get(j);
-
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new MyNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new MyNode(p2);
-					nodes.put(p2, node2);
-				}
-
-				g.addEdge(
-						new MyLink(p1.distance(p2), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
+		boolean planar = true;
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			if (!geo.isGeoPoint()) {
+				locus.setUndefined();
+				return;
 			}
+			planar = planar && ((GeoPointND) geo).getInhomZ() == 0;
+		}
 
-			MinimumSpanningForest2<MyNode, MyLink> prim = new MinimumSpanningForest2<>(
-					g, new DelegateForest<MyNode, MyLink>(),
-					DelegateTree.<MyNode, MyLink> getFactory(), wtTransformer);
+		// in the plane the tree is part of the Delaunay triangulation,
+		// otherwise all pairs of points are candidates
+		edgeCount = 0;
+		if (planar) {
+			if (triangulation == null) {
+				triangulation = new HalfEdgeTriangulation();
+			}
+			updateTriangulation(triangulation);
+			addDelaunayEdges();
+		}
+		if (!planar || triangulation.isAllCollinear()) {
+			addAllEdges();
+		}
 
-			Forest<MyNode, MyLink> tree = prim.getForest();
+		if (graph == null || !graph.hasEdges(size, from, to, edgeCount)) {
+			graph = new CsrGraph(size, from, to, edgeCount);
+			tree = new int[size];
+		}
+		for (int e = 0; e < edgeCount; e++) {
+			graph.setWeight(e,
+					getPoint(from[e]).distance(getPoint(to[e])));
+		}
+		int treeSize = graph.minimumSpanningForest(tree);
 
-			Iterator<MyLink> it = tree.getEdges().iterator();
+		if (al == null) {
+			al = new ArrayList<>();
+		} else {
+			al.clear();
+		}
 
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
-			}
+		double[] inhom = new double[2];
+		for (int i = 0; i < treeSize; i++) {
+			getPoint(graph.getFrom(tree[i])).getInhomCoords(inhom);
+			al.add(new MyPoint(inhom[0], inhom[1], SegmentType.MOVE_TO));
+			getPoint(graph.getTo(tree[i])).getInhomCoords(inhom);
+			al.add(new MyPoint(inhom[0], inhom[1], SegmentType.LINE_TO));
+		}
 
-			while (it.hasNext()) {
-				MyLink edge = it.next();
+		locus.setPoints(al);
+		locus.setDefined(true);
+	}
 
-				Coords coords = edge.n1.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.MOVE_TO));
-				coords = edge.n2.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.LINE_TO));
+	private GeoPointND getPoint(int i) {
+		return (GeoPointND) inputList.get(i);
+	}
 
+	private void addDelaunayEdges() {
+		int halfEdges = 3 * triangulation.getTriangleCount();
+		for (int e = 0; e < halfEdges; e++) {
+			int start = triangulation.getVertex(e);
+			int end = triangulation.getVertex(HalfEdgeTriangulation.next(e));
+			if (start != HalfEdgeTriangulation.GHOST
+					&& end != HalfEdgeTriangulation.GHOST && start < end) {
+				addEdge(start, end);
 			}
-
-			locus.setPoints(al);
-			locus.setDefined(true);
-
 		}
-
 	}
 
-	/** Graph edge */
-	static class MyLink {
-		/** start point */
-		protected MyNode n1;
-		/** end point */
-		protected MyNode n2;
-		/** length */
-		double weight;
-		/** identifier */
-		int id;
-
-		/**
-		 * @param weight
-		 *            length
-		 * @param n1
-		 *            start point
-		 * @param n2
-		 *            end point
-		 * @param id
-		 *            identifier
-		 */
-		public MyLink(double weight, MyNode n1, MyNode n2, int id) {
-			this.id = id; // This is defined in the outer class.
-			this.weight = weight;
-			this.n1 = n1;
-			this.n2 = n2;
+	private void addAllEdges() {
+		for (int i = 0; i < size - 1; i++) {
+			if (getPoint(i).isDefined()) {
+				for (int j = i + 1; j < size; j++) {
+					if (getPoint(j).isDefined()) {
+						addEdge(i, j);
+					}
+				}
+			}
 		}
+	}
 
-		@Override
-		public String toString() { // Always good for debugging
-			return "Edge" + id;
+	private void addEdge(int start, int end) {
+		if (edgeCount == from.length) {
+			from = Arrays.copyOf(from, Math.max(2 * edgeCount, 16));
+			to = Arrays.copyOf(to, from.length);
 		}
+		from[edgeCount] = start;
+		to[edgeCount++] = end;
 	}
 }
@@ -1,12 +1,12 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.tsp.TSP;
 import org.geogebra.common.kernel.discrete.tsp.TSPSolver;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -17,6 +17,15 @@ import org.geogebra.common.kernel.kernelND.GeoPointND;
  *
  */
 public class AlgoTravelingSalesman extends AlgoDiscrete {
+
+	/**
+	 * Time limit for one update in milliseconds; if the tour is not optimal
+	 * yet, the next update continues from it.
+	 */
+	private static final long TIME_BUDGET = 100;
+
+	private final TSPSolver solver = new TSPSolver(TIME_BUDGET);
+
 	/**
 	 * @param cons
 	 *            construction
@@ -45,25 +54,27 @@ public class AlgoTravelingSalesman extends AlgoDiscrete {
 		}
 
 		double[] inhom = new double[2];
-
-		// Opt3 opt3 = new Opt3();
-		// final BranchBound construction = new BranchBound(500, opt3);
-
 		MyPoint[] nodes = new MyPoint[size];
+		int count = 0;
 
 		for (int i = 0; i < size; i++) {
 			GeoElement geo = inputList.get(i);
 			if (geo.isDefined() && geo.isGeoPoint()) {
 				GeoPointND p = (GeoPointND) geo;
 				p.getInhomCoords(inhom);
-				nodes[i] = new MyPoint(inhom[0], inhom[1]);
-				// Log.error(i + " " + nodes[i].toString());
+				nodes[count++] = new MyPoint(inhom[0], inhom[1]);
 			}
 		}
 
-		final TSP tsp = new TSPSolver();
+		if (count < 3) {
+			locus.setUndefined();
+			return;
+		}
+		if (count < size) {
+			nodes = Arrays.copyOf(nodes, count);
+		}
 
-		tsp.solve(nodes);
+		solver.solve(nodes);
 
 		if (al == null) {
 			al = new ArrayList<>();
@@ -71,13 +82,12 @@ public class AlgoTravelingSalesman extends AlgoDiscrete {
 			al.clear();
 		}
 
-		for (int i = 0; i < size; i++) {
-			// Log.error(i + " " + nodes[i].toString());
+		for (int i = 0; i < count; i++) {
 			nodes[i].setLineTo(i != 0);
 			al.add(nodes[i]);
 		}
 
-		// // join up
+		// join up
 		MyPoint n = nodes[0];
 		al.add(new MyPoint(n.getX(), n.getY(), SegmentType.LINE_TO));
 
@@ -1,28 +1,24 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.TreeSet;
 
-import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
-import org.geogebra.common.kernel.discrete.delaunay.PointDt;
-import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
-import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.discrete.delaunay.HalfEdgeTriangulation;
 import org.geogebra.common.kernel.geos.GeoList;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.util.DoubleUtil;
 
 /**
  * Voronoi diagram
  */
 public class AlgoVoronoi extends AlgoDiscrete {
-	private static Comparator<GPoint2D> pointComparator;
+	/** length of the unbounded edges of the outer cells */
+	private static final double RAY_LENGTH = 500;
+
+	private HalfEdgeTriangulation triangulation;
+	/** circumcenters of the triangles */
+	private double[] centers;
 
 	/**
 	 * @param cons
@@ -50,62 +46,28 @@ public class AlgoVoronoi extends AlgoDiscrete {
 			return;
 		}
 
-		double[] inhom = new double[2];
-
-		ArrayList<Double> xcoords = new ArrayList<>();
-		ArrayList<Double> ycoords = new ArrayList<>();
-
-		final double delta = 0.0000001;
-
-		// add to TreeSet to remove duplicates (from touching triangles)
-		TreeSet<GPoint2D> pointTree = new TreeSet<>(
-				getPointComparator());
-
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo.isDefined() && geo.isGeoPoint()) {
-				GeoPointND p = (GeoPointND) geo;
-				p.getInhomCoords(inhom);
-
-				pointTree.add(new GPoint2D(inhom[0], inhom[1]));
-
-			}
-		}
-
-		PointDt[] points = new PointDt[pointTree.size()];
-		int indx = 0;
-
-		Iterator<GPoint2D> it3 = pointTree.iterator();
-
-		while (it3.hasNext()) {
-			GPoint2D p = it3.next();
-			double x = p.getX();
-			double y = p.getY();
-
-			while (xcoords.contains(x)) {
-				x += delta;
-			}
-			while (ycoords.contains(y)) {
-				y += delta;
-			}
-
-			// work around a bug in the algorithm for Points with an equal x or
-			// y coordinate
-			xcoords.add(x);
-			ycoords.add(y);
-
-			points[indx++] = new PointDt(x, y);
-
+		if (triangulation == null) {
+			triangulation = new HalfEdgeTriangulation();
 		}
+		updateTriangulation(triangulation);
 
-		DelaunayTriangulation dt = new DelaunayTriangulation(points);
-
-		if (dt.allCollinear) {
+		if (triangulation.isAllCollinear()) {
 			locus.setUndefined();
 			return;
 		}
 
-		Iterator<TriangleDt> it = dt.trianglesIterator();
+		int triangles = triangulation.getTriangleCount();
+		if (centers == null || centers.length < 2 * triangles) {
+			centers = new double[2 * triangles];
+		}
+		double[] center = new double[2];
+		for (int t = 0; t < triangles; t++) {
+			if (!triangulation.isGhost(t)) {
+				triangulation.getCircumcenter(t, center);
+				centers[2 * t] = center[0];
+				centers[2 * t + 1] = center[1];
+			}
+		}
 
 		if (al == null) {
 			al = new ArrayList<>();
@@ -113,49 +75,33 @@ public class AlgoVoronoi extends AlgoDiscrete {
 			al.clear();
 		}
 
-		// add to TreeSet to remove duplicates (from touching triangles)
-		TreeSet<MyLine> tree = new TreeSet<>(
-				AlgoDelauneyTriangulation.getComparator());
-
-		while (it.hasNext()) {
-			TriangleDt triangle = it.next();
-
-			for (int index = 0; index < 3; index++) {
-
-				PointDt corner = triangle.getCorner(index);
-
-				if (corner != null) {
-
-					PointDt[] voronoiCell = dt.calcVoronoiCell(triangle,
-							corner);
-
-					if (voronoiCell != null) {
-						for (int i = 0; i < voronoiCell.length - 1; i++) {
-							tree.add(new MyLine(
-									new GPoint2D(voronoiCell[i].x(),
-											voronoiCell[i].y()),
-									new GPoint2D(
-											voronoiCell[(i + 1)
-													% voronoiCell.length].x(),
-											voronoiCell[(i + 1)
-													% voronoiCell.length]
-															.y())));
-
-						}
-					}
-				}
+		// Voronoi edges are dual to Delaunay edges: they connect the
+		// circumcenters of neighbouring triangles, hull edges give rays
+		for (int e = 0; e < 3 * triangles; e++) {
+			int t = e / 3;
+			int twin = triangulation.getTwin(e);
+			int neighbour = twin / 3;
+			if (triangulation.isGhost(t)) {
+				continue;
+			}
+			if (triangulation.isGhost(neighbour)) {
+				int start = triangulation.getVertex(e);
+				int end = triangulation
+						.getVertex(HalfEdgeTriangulation.next(e));
+				double dx = triangulation.getX(end)
+						- triangulation.getX(start);
+				double dy = triangulation.getY(end)
+						- triangulation.getY(start);
+				// outer normal of the hull edge
+				double scale = RAY_LENGTH / Math.hypot(dx, dy);
+				addSegment(centers[2 * t], centers[2 * t + 1],
+						centers[2 * t] + dy * scale,
+						centers[2 * t + 1] - dx * scale);
+			} else if (e < twin && (centers[2 * t] != centers[2 * neighbour]
+					|| centers[2 * t + 1] != centers[2 * neighbour + 1])) {
+				addSegment(centers[2 * t], centers[2 * t + 1],
+						centers[2 * neighbour], centers[2 * neighbour + 1]);
 			}
-
-		}
-
-		Iterator<MyLine> it2 = tree.iterator();
-
-		while (it2.hasNext()) {
-			MyLine line = it2.next();
-			al.add(new MyPoint(line.p1.getX(), line.p1.getY(),
-					SegmentType.MOVE_TO));
-			al.add(new MyPoint(line.p2.getX(), line.p2.getY(),
-					SegmentType.LINE_TO));
 		}
 
 		locus.setPoints(al);
@@ -163,38 +109,8 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 	}
 
-	/**
-	 * @return comparator used to eliminate duplicate objects (TreeSet deletes
-	 *         duplicates ie those that return 0)
-	 */
-	public static Comparator<GPoint2D> getPointComparator() {
-		if (pointComparator == null) {
-			pointComparator = new Comparator<GPoint2D>() {
-				@Override
-				public int compare(GPoint2D p1, GPoint2D p2) {
-
-					// double p1A = itemA.getX();
-					// double p1B = itemA.getY();
-					// double p2A = itemB.getX();
-					// double p2B = itemB.getY();
-
-					// return 0 if endpoints the same
-					// so no duplicates in the TreeMap
-					if (DoubleUtil.isEqual(p1.getX(), p2.getX())
-							&& DoubleUtil.isEqual(p1.getY(), p2.getY())) {
-						// Application.debug("equal2");
-						return 0;
-					}
-
-					// need to return something sensible, otherwise tree doesn't
-					// work
-					return p1.getX() > p2.getX() ? -1 : 1;
-
-				}
-			};
-
-		}
-
-		return pointComparator;
+	private void addSegment(double x1, double y1, double x2, double y2) {
+		al.add(new MyPoint(x1, y1, SegmentType.MOVE_TO));
+		al.add(new MyPoint(x2, y2, SegmentType.LINE_TO));
 	}
 }
@@ -0,0 +1,299 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Arrays;
+
+/**
+ * Undirected weighted graph with adjacency lists in compressed sparse row
+ * form: the edges at vertex v are adjacentEdges[offsets[v]] up to
+ * adjacentEdges[offsets[v + 1] - 1]. Vertices and edges are numbered from 0;
+ * weights can be changed without rebuilding the adjacency.
+ */
+public class CsrGraph {
+
+	private static final int UNSEEN = -1;
+	private static final int DONE = -2;
+
+	private final int vertexCount;
+	private final int edgeCount;
+	private final int[] from;
+	private final int[] to;
+	private final double[] weights;
+	private final int[] offsets;
+	private final int[] adjacentEdges;
+
+	// binary heap of vertices ordered by key, shared by Dijkstra and Prim
+	private int[] heap;
+	private int[] heapPosition;
+	private double[] keys;
+	private int[] parentEdge;
+	private int heapSize;
+
+	/**
+	 * @param vertexCount
+	 *            number of vertices
+	 * @param from
+	 *            first vertex of each edge
+	 * @param to
+	 *            second vertex of each edge
+	 * @param edgeCount
+	 *            number of edges
+	 */
+	public CsrGraph(int vertexCount, int[] from, int[] to, int edgeCount) {
+		this.vertexCount = vertexCount;
+		this.edgeCount = edgeCount;
+		this.from = Arrays.copyOf(from, edgeCount);
+		this.to = Arrays.copyOf(to, edgeCount);
+		weights = new double[edgeCount];
+		Arrays.fill(weights, 1);
+		offsets = new int[vertexCount + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			offsets[from[e] + 1]++;
+			offsets[to[e] + 1]++;
+		}
+		for (int v = 0; v < vertexCount; v++) {
+			offsets[v + 1] += offsets[v];
+		}
+		int[] fill = Arrays.copyOf(offsets, vertexCount);
+		adjacentEdges = new int[2 * edgeCount];
+		for (int e = 0; e < edgeCount; e++) {
+			adjacentEdges[fill[from[e]]++] = e;
+			adjacentEdges[fill[to[e]]++] = e;
+		}
+	}
+
+	/**
+	 * @param otherVertexCount
+	 *            number of vertices
+	 * @param otherFrom
+	 *            first vertex of each edge
+	 * @param otherTo
+	 *            second vertex of each edge
+	 * @param otherEdgeCount
+	 *            number of edges
+	 * @return whether this graph has the same edges (in the same order), so
+	 *         that only the weights need to be updated
+	 */
+	public boolean hasEdges(int otherVertexCount, int[] otherFrom,
+			int[] otherTo, int otherEdgeCount) {
+		if (otherVertexCount != vertexCount || otherEdgeCount != edgeCount) {
+			return false;
+		}
+		for (int e = 0; e < edgeCount; e++) {
+			if (from[e] != otherFrom[e] || to[e] != otherTo[e]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @param weight
+	 *            new weight (non-negative)
+	 */
+	public void setWeight(int edge, double weight) {
+		weights[edge] = weight;
+	}
+
+	/**
+	 * @return number of vertices
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @return number of edges
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @return first vertex of the edge
+	 */
+	public int getFrom(int edge) {
+		return from[edge];
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @return second vertex of the edge
+	 */
+	public int getTo(int edge) {
+		return to[edge];
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @param vertex
+	 *            one vertex of the edge
+	 * @return the other vertex of the edge
+	 */
+	public int getOther(int edge, int vertex) {
+		return from[edge] == vertex ? to[edge] : from[edge];
+	}
+
+	/**
+	 * Dijkstra's algorithm.
+	 *
+	 * @param source
+	 *            start vertex
+	 * @param target
+	 *            end vertex
+	 * @param weighted
+	 *            whether to use the weights, otherwise each edge counts 1
+	 * @param path
+	 *            output array for the edges of the path from source to
+	 *            target, needs space for vertexCount - 1 edges
+	 * @return number of edges on the path, -1 if target is not reachable
+	 */
+	public int shortestPath(int source, int target, boolean weighted,
+			int[] path) {
+		initHeap();
+		offer(source, 0);
+		while (heapSize > 0) {
+			int v = poll();
+			if (v == target) {
+				break;
+			}
+			for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+				int e = adjacentEdges[i];
+				int w = getOther(e, v);
+				if (offer(w, keys[v] + (weighted ? weights[e] : 1))) {
+					parentEdge[w] = e;
+				}
+			}
+		}
+		if (heapPosition[target] != DONE) {
+			return -1;
+		}
+		int length = 0;
+		for (int v = target; v != source; v = getOther(parentEdge[v], v)) {
+			path[length++] = parentEdge[v];
+		}
+		for (int i = 0; i < length / 2; i++) {
+			int tmp = path[i];
+			path[i] = path[length - 1 - i];
+			path[length - 1 - i] = tmp;
+		}
+		return length;
+	}
+
+	/**
+	 * Prim's algorithm, run from each vertex not reached yet.
+	 *
+	 * @param tree
+	 *            output array for the edges of the minimum spanning forest,
+	 *            needs space for vertexCount - 1 edges
+	 * @return number of edges in the forest
+	 */
+	public int minimumSpanningForest(int[] tree) {
+		initHeap();
+		int length = 0;
+		for (int root = 0; root < vertexCount; root++) {
+			if (heapPosition[root] == DONE) {
+				continue;
+			}
+			offer(root, 0);
+			while (heapSize > 0) {
+				int v = poll();
+				if (parentEdge[v] >= 0) {
+					tree[length++] = parentEdge[v];
+				}
+				for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+					int e = adjacentEdges[i];
+					int w = getOther(e, v);
+					if (offer(w, weights[e])) {
+						parentEdge[w] = e;
+					}
+				}
+			}
+		}
+		return length;
+	}
+
+	private void initHeap() {
+		if (heap == null) {
+			heap = new int[vertexCount];
+			heapPosition = new int[vertexCount];
+			keys = new double[vertexCount];
+			parentEdge = new int[vertexCount];
+		}
+		Arrays.fill(heapPosition, UNSEEN);
+		Arrays.fill(keys, Double.POSITIVE_INFINITY);
+		Arrays.fill(parentEdge, -1);
+		heapSize = 0;
+	}
+
+	/**
+	 * Adds vertex to the heap or lowers its key.
+	 *
+	 * @return whether the key was lowered
+	 */
+	private boolean offer(int v, double key) {
+		if (heapPosition[v] == DONE || key >= keys[v]) {
+			return false;
+		}
+		keys[v] = key;
+		if (heapPosition[v] == UNSEEN) {
+			heap[heapSize] = v;
+			heapPosition[v] = heapSize++;
+		}
+		siftUp(heapPosition[v]);
+		return true;
+	}
+
+	private int poll() {
+		int v = heap[0];
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapPosition[heap[0]] = 0;
+			siftDown(0);
+		}
+		heapPosition[v] = DONE;
+		return v;
+	}
+
+	private void siftUp(int position) {
+		int i = position;
+		int v = heap[i];
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (keys[heap[parent]] <= keys[v]) {
+				break;
+			}
+			heap[i] = heap[parent];
+			heapPosition[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = v;
+		heapPosition[v] = i;
+	}
+
+	private void siftDown(int position) {
+		int i = position;
+		int v = heap[i];
+		while (2 * i + 1 < heapSize) {
+			int child = 2 * i + 1;
+			if (child + 1 < heapSize
+					&& keys[heap[child + 1]] < keys[heap[child]]) {
+				child++;
+			}
+			if (keys[v] <= keys[heap[child]]) {
+				break;
+			}
+			heap[i] = heap[child];
+			heapPosition[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = v;
+		heapPosition[v] = i;
+	}
+}
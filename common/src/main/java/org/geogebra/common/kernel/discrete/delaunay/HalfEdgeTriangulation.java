@@ -0,0 +1,705 @@
+package org.geogebra.common.kernel.discrete.delaunay;
+
+import java.util.Arrays;
+
+/**
+ * Delaunay triangulation of points in the plane, stored as half-edges in
+ * primitive arrays.
+ *
+ * Triangle t consists of the half-edges 3t, 3t + 1 and 3t + 2 in counter
+ * clockwise order; half-edge e starts at vertex {@link #getVertex(int)} and
+ * {@link #getTwin(int)} is the half-edge in opposite direction. The convex
+ * hull is closed by "ghost" triangles that share the vertex {@link #GHOST} at
+ * infinity, so every half-edge has a twin.
+ *
+ * Points are inserted in random order, located by walking from a nearby
+ * vertex (found in a coarse grid) and the Delaunay property is restored by
+ * edge flips. When only one point moves and stays inside the polygon of its
+ * neighbours, the triangulation is repaired by flips instead of being
+ * rebuilt.
+ *
+ * Vertices are indices of the input points; duplicate and undefined points
+ * are not part of the triangulation.
+ */
+public class HalfEdgeTriangulation {
+
+	/** vertex at infinity */
+	public static final int GHOST = -1;
+
+	private static final int INSIDE = 0;
+	private static final int ON_EDGE = 1;
+	private static final int ON_VERTEX = 2;
+	private static final int OUTSIDE = 3;
+
+	private double[] x = new double[0];
+	private double[] y = new double[0];
+	private int pointCount;
+	/** outgoing half-edge of each vertex, -1 for points that were skipped */
+	private int[] vertexEdge = new int[0];
+	private int skipped;
+
+	private int[] vertices = new int[0];
+	private int[] twins = new int[0];
+	private int triangleCount;
+	private boolean allCollinear = true;
+
+	private int[] stack = new int[64];
+	private int stackSize;
+	private int locationType;
+	private int random;
+
+	private int[] grid = new int[0];
+	private int gridSize;
+	private double gridX;
+	private double gridY;
+	private double cellWidth;
+	private double cellHeight;
+
+	/**
+	 * Updates the triangulation for new coordinates of the points. If only one
+	 * point moved, the triangulation is repaired locally when possible,
+	 * otherwise it is rebuilt.
+	 *
+	 * @param xs
+	 *            x-coordinates (NaN for undefined points)
+	 * @param ys
+	 *            y-coordinates
+	 * @param n
+	 *            number of points
+	 */
+	public void update(double[] xs, double[] ys, int n) {
+		if (n == pointCount && !allCollinear) {
+			int moved = -1;
+			for (int i = 0; i < n; i++) {
+				if (!same(xs[i], x[i]) || !same(ys[i], y[i])) {
+					if (moved >= 0) {
+						moved = -2;
+						break;
+					}
+					moved = i;
+				}
+			}
+			if (moved == -1
+					|| moved >= 0 && movePoint(moved, xs[moved], ys[moved])) {
+				return;
+			}
+		}
+		setPoints(xs, ys, n);
+	}
+
+	private static boolean same(double a, double b) {
+		return a == b || (Double.isNaN(a) && Double.isNaN(b));
+	}
+
+	/**
+	 * Builds the triangulation from scratch.
+	 *
+	 * @param xs
+	 *            x-coordinates (NaN for undefined points)
+	 * @param ys
+	 *            y-coordinates
+	 * @param n
+	 *            number of points
+	 */
+	public void setPoints(double[] xs, double[] ys, int n) {
+		if (x.length < n) {
+			x = new double[n];
+			y = new double[n];
+			vertexEdge = new int[n];
+		}
+		System.arraycopy(xs, 0, x, 0, n);
+		System.arraycopy(ys, 0, y, 0, n);
+		pointCount = n;
+		build();
+	}
+
+	private void build() {
+		int n = pointCount;
+		triangleCount = 0;
+		skipped = 0;
+		random = 1;
+		Arrays.fill(vertexEdge, 0, n, -1);
+		int capacity = 3 * Math.max(2 * n, 4);
+		if (vertices.length < capacity) {
+			vertices = new int[capacity];
+			twins = new int[capacity];
+		}
+
+		int[] order = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			if (isFinite(x[i]) && isFinite(y[i])) {
+				order[m++] = i;
+			}
+		}
+		skipped = n - m;
+		for (int i = m - 1; i > 0; i--) {
+			int j = nextRandom() % (i + 1);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+
+		allCollinear = !findFirstTriangle(order, m);
+		if (allCollinear) {
+			return;
+		}
+		int a = order[0];
+		int b = order[1];
+		int c = order[2];
+		if (orient(a, b, c) < 0) {
+			b = order[2];
+			c = order[1];
+		}
+		createFirstTriangle(a, b, c);
+
+		initGrid(order, m);
+		addToGrid(a);
+		addToGrid(b);
+		addToGrid(c);
+		int last = c;
+		for (int i = 3; i < m; i++) {
+			int p = order[i];
+			int hint = grid[cell(p)];
+			if (insert(p, hint < 0 ? last : hint)) {
+				addToGrid(p);
+				last = p;
+			} else {
+				skipped++;
+			}
+		}
+	}
+
+	private static boolean isFinite(double value) {
+		return !Double.isNaN(value) && !Double.isInfinite(value);
+	}
+
+	/**
+	 * Moves three points spanning a triangle to the start of the order.
+	 */
+	private boolean findFirstTriangle(int[] order, int m) {
+		if (m < 3) {
+			return false;
+		}
+		int second = 1;
+		while (second < m && x[order[second]] == x[order[0]]
+				&& y[order[second]] == y[order[0]]) {
+			second++;
+		}
+		int third = second + 1;
+		while (third < m
+				&& orient(order[0], order[second], order[third]) == 0) {
+			third++;
+		}
+		if (third >= m) {
+			return false;
+		}
+		swap(order, 1, second);
+		swap(order, 2, third);
+		return true;
+	}
+
+	private static void swap(int[] array, int i, int j) {
+		int tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+	private void createFirstTriangle(int a, int b, int c) {
+		int t = addTriangle(a, b, c);
+		int g1 = addTriangle(b, a, GHOST);
+		int g2 = addTriangle(c, b, GHOST);
+		int g3 = addTriangle(a, c, GHOST);
+		link(3 * t, 3 * g1);
+		link(3 * t + 1, 3 * g2);
+		link(3 * t + 2, 3 * g3);
+		link(3 * g1 + 1, 3 * g3 + 2);
+		link(3 * g1 + 2, 3 * g2 + 1);
+		link(3 * g3 + 1, 3 * g2 + 2);
+		touch(t);
+	}
+
+	private void initGrid(int[] order, int m) {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < m; i++) {
+			minX = Math.min(minX, x[order[i]]);
+			maxX = Math.max(maxX, x[order[i]]);
+			minY = Math.min(minY, y[order[i]]);
+			maxY = Math.max(maxY, y[order[i]]);
+		}
+		// about 8 points per cell
+		gridSize = Math.max(1, (int) Math.sqrt(m / 8.0));
+		if (grid.length < gridSize * gridSize) {
+			grid = new int[gridSize * gridSize];
+		}
+		Arrays.fill(grid, 0, gridSize * gridSize, -1);
+		gridX = minX;
+		gridY = minY;
+		cellWidth = Math.max(maxX - minX, Double.MIN_VALUE) / gridSize;
+		cellHeight = Math.max(maxY - minY, Double.MIN_VALUE) / gridSize;
+	}
+
+	private int cell(int p) {
+		int col = (int) ((x[p] - gridX) / cellWidth);
+		int row = (int) ((y[p] - gridY) / cellHeight);
+		col = Math.max(0, Math.min(gridSize - 1, col));
+		row = Math.max(0, Math.min(gridSize - 1, row));
+		return row * gridSize + col;
+	}
+
+	private void addToGrid(int p) {
+		grid[cell(p)] = p;
+	}
+
+	/**
+	 * @return false for duplicate points
+	 */
+	private boolean insert(int p, int hint) {
+		int location = locate(p, startTriangle(hint));
+		switch (locationType) {
+		case ON_VERTEX:
+			return false;
+		case ON_EDGE:
+			splitEdge(location, p);
+			break;
+		default:
+			// inside a triangle or outside of the hull (ghost triangle)
+			splitTriangle(location, p);
+		}
+		legalize();
+		return true;
+	}
+
+	private int startTriangle(int vertex) {
+		int t = vertexEdge[vertex] / 3;
+		if (isGhost(t)) {
+			for (int e = 3 * t; e < 3 * t + 3; e++) {
+				if (vertices[e] != GHOST && vertices[next(e)] != GHOST) {
+					return twins[e] / 3;
+				}
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Walks from the start triangle towards the point.
+	 *
+	 * @return triangle containing the point (ghost triangle if outside of
+	 *         the hull) or the half-edge containing it, see locationType
+	 */
+	private int locate(int p, int start) {
+		int t = start;
+		for (int steps = 0; steps <= triangleCount; steps++) {
+			if (isGhost(t)) {
+				locationType = OUTSIDE;
+				return t;
+			}
+			int first = nextRandom() % 3;
+			int onEdge = -1;
+			int crossed = -1;
+			for (int k = 0; k < 3 && crossed < 0; k++) {
+				int e = 3 * t + (first + k) % 3;
+				double side = orient(vertices[e], vertices[next(e)], p);
+				if (side < 0) {
+					crossed = e;
+				} else if (side == 0) {
+					onEdge = e;
+				}
+			}
+			if (crossed >= 0) {
+				t = twins[crossed] / 3;
+				continue;
+			}
+			return classify(p, t, onEdge);
+		}
+		// walk got stuck because of rounding errors
+		return locateByScan(p);
+	}
+
+	private int classify(int p, int t, int onEdge) {
+		for (int e = 3 * t; e < 3 * t + 3; e++) {
+			int v = vertices[e];
+			if (x[v] == x[p] && y[v] == y[p]) {
+				locationType = ON_VERTEX;
+				return e;
+			}
+		}
+		locationType = onEdge >= 0 ? ON_EDGE : INSIDE;
+		return onEdge >= 0 ? onEdge : t;
+	}
+
+	private int locateByScan(int p) {
+		for (int t = 0; t < triangleCount; t++) {
+			if (!isGhost(t)
+					&& orient(vertices[3 * t], vertices[3 * t + 1], p) >= 0
+					&& orient(vertices[3 * t + 1], vertices[3 * t + 2], p) >= 0
+					&& orient(vertices[3 * t + 2], vertices[3 * t], p) >= 0) {
+				int onEdge = -1;
+				for (int e = 3 * t; e < 3 * t + 3; e++) {
+					if (orient(vertices[e], vertices[next(e)], p) == 0) {
+						onEdge = e;
+					}
+				}
+				return classify(p, t, onEdge);
+			}
+		}
+		for (int e = 0; e < 3 * triangleCount; e++) {
+			if (vertices[e] != GHOST && vertices[next(e)] != GHOST
+					&& vertices[prev(e)] == GHOST
+					&& orient(vertices[e], vertices[next(e)], p) > 0) {
+				locationType = OUTSIDE;
+				return e / 3;
+			}
+		}
+		locationType = ON_VERTEX;
+		return -1;
+	}
+
+	/**
+	 * Replaces triangle (a, b, c) by (a, b, p), (b, c, p) and (c, a, p).
+	 */
+	private void splitTriangle(int t, int p) {
+		int e = 3 * t;
+		int a = vertices[e];
+		int b = vertices[e + 1];
+		int c = vertices[e + 2];
+		int twinBC = twins[e + 1];
+		int twinCA = twins[e + 2];
+		setTriangle(t, a, b, p);
+		int t1 = addTriangle(b, c, p);
+		int t2 = addTriangle(c, a, p);
+		link(3 * t1, twinBC);
+		link(3 * t2, twinCA);
+		link(e + 1, 3 * t1 + 2);
+		link(e + 2, 3 * t2 + 1);
+		link(3 * t1 + 1, 3 * t2 + 2);
+		touch(t);
+		touch(t1);
+		touch(t2);
+		push(e);
+		push(3 * t1);
+		push(3 * t2);
+	}
+
+	/**
+	 * Splits half-edge e = (a, b) of triangles (a, b, c) and (b, a, d) in p.
+	 */
+	private void splitEdge(int e, int p) {
+		int f = twins[e];
+		int t1 = e / 3;
+		int t2 = f / 3;
+		int a = vertices[e];
+		int b = vertices[next(e)];
+		int c = vertices[prev(e)];
+		int d = vertices[prev(f)];
+		int twinBC = twins[next(e)];
+		int twinCA = twins[prev(e)];
+		int twinAD = twins[next(f)];
+		int twinDB = twins[prev(f)];
+		setTriangle(t1, a, p, c);
+		setTriangle(t2, b, p, d);
+		int t3 = addTriangle(p, b, c);
+		int t4 = addTriangle(p, a, d);
+		int e1 = 3 * t1;
+		int e2 = 3 * t2;
+		int e3 = 3 * t3;
+		int e4 = 3 * t4;
+		link(e1, e4);
+		link(e1 + 1, e3 + 2);
+		link(e1 + 2, twinCA);
+		link(e2, e3);
+		link(e2 + 1, e4 + 2);
+		link(e2 + 2, twinDB);
+		link(e3 + 1, twinBC);
+		link(e4 + 1, twinAD);
+		touch(t1);
+		touch(t2);
+		touch(t3);
+		touch(t4);
+		push(e1 + 2);
+		push(e2 + 2);
+		push(e3 + 1);
+		push(e4 + 1);
+	}
+
+	/**
+	 * Replaces triangles (a, b, c) and (b, a, d) sharing half-edge e = (a, b)
+	 * by (c, a, d) and (d, b, c).
+	 */
+	private void flip(int e) {
+		int f = twins[e];
+		int t1 = e / 3;
+		int t2 = f / 3;
+		int a = vertices[e];
+		int b = vertices[next(e)];
+		int c = vertices[prev(e)];
+		int d = vertices[prev(f)];
+		int twinBC = twins[next(e)];
+		int twinCA = twins[prev(e)];
+		int twinAD = twins[next(f)];
+		int twinDB = twins[prev(f)];
+		setTriangle(t1, c, a, d);
+		setTriangle(t2, d, b, c);
+		int e1 = 3 * t1;
+		int e2 = 3 * t2;
+		link(e1, twinCA);
+		link(e1 + 1, twinAD);
+		link(e1 + 2, e2 + 2);
+		link(e2, twinDB);
+		link(e2 + 1, twinBC);
+		touch(t1);
+		touch(t2);
+		push(e1);
+		push(e1 + 1);
+		push(e2);
+		push(e2 + 1);
+	}
+
+	/**
+	 * Flips edges from the stack until all of them are locally Delaunay.
+	 */
+	private void legalize() {
+		// bound protects against cycles caused by rounding errors
+		int flips = 10 * triangleCount + 100;
+		while (stackSize > 0) {
+			int e = stack[--stackSize];
+			if (flips > 0 && isIllegal(e)) {
+				flip(e);
+				flips--;
+			}
+		}
+	}
+
+	/**
+	 * @return whether the edge between triangles (a, b, c) and (b, a, d)
+	 *         should be flipped
+	 */
+	private boolean isIllegal(int e) {
+		int f = twins[e];
+		int a = vertices[e];
+		int b = vertices[next(e)];
+		int c = vertices[prev(e)];
+		int d = vertices[prev(f)];
+		// edges to infinity: flip if the hull is not convex in a (b)
+		if (a == GHOST) {
+			return orient(d, b, c) > 0;
+		}
+		if (b == GHOST) {
+			return orient(c, a, d) > 0;
+		}
+		// hull edges are always Delaunay
+		if (c == GHOST || d == GHOST) {
+			return false;
+		}
+		return inCircle(a, b, c, d) > 0;
+	}
+
+	/**
+	 * Moves one point and restores the Delaunay property by flips. This is
+	 * possible when the point is not on the hull and all its triangles keep
+	 * their orientation.
+	 *
+	 * @return false if the triangulation needs to be rebuilt
+	 */
+	private boolean movePoint(int v, double newX, double newY) {
+		if (skipped > 0 || vertexEdge[v] < 0 || !isFinite(newX)
+				|| !isFinite(newY)) {
+			return false;
+		}
+		double oldX = x[v];
+		double oldY = y[v];
+		x[v] = newX;
+		y[v] = newY;
+		int start = vertexEdge[v];
+		int e = start;
+		do {
+			int t = e / 3;
+			if (isGhost(t) || orient(vertices[3 * t], vertices[3 * t + 1],
+					vertices[3 * t + 2]) <= 0) {
+				x[v] = oldX;
+				y[v] = oldY;
+				stackSize = 0;
+				return false;
+			}
+			push(3 * t);
+			push(3 * t + 1);
+			push(3 * t + 2);
+			e = twins[prev(e)];
+		} while (e != start);
+		legalize();
+		return true;
+	}
+
+	private int addTriangle(int a, int b, int c) {
+		int t = triangleCount++;
+		if (3 * triangleCount > vertices.length) {
+			vertices = Arrays.copyOf(vertices, 2 * vertices.length);
+			twins = Arrays.copyOf(twins, 2 * twins.length);
+		}
+		setTriangle(t, a, b, c);
+		return t;
+	}
+
+	private void setTriangle(int t, int a, int b, int c) {
+		vertices[3 * t] = a;
+		vertices[3 * t + 1] = b;
+		vertices[3 * t + 2] = c;
+	}
+
+	private void link(int e, int f) {
+		twins[e] = f;
+		twins[f] = e;
+	}
+
+	/**
+	 * Updates the outgoing half-edges of the vertices of a changed triangle.
+	 */
+	private void touch(int t) {
+		for (int e = 3 * t; e < 3 * t + 3; e++) {
+			if (vertices[e] != GHOST) {
+				vertexEdge[vertices[e]] = e;
+			}
+		}
+	}
+
+	private void push(int e) {
+		if (stackSize == stack.length) {
+			stack = Arrays.copyOf(stack, 2 * stack.length);
+		}
+		stack[stackSize++] = e;
+	}
+
+	private int nextRandom() {
+		// xorshift, deterministic for reproducible triangulations
+		random ^= random << 13;
+		random ^= random >>> 17;
+		random ^= random << 5;
+		return random & Integer.MAX_VALUE;
+	}
+
+	private double orient(int a, int b, int c) {
+		return (x[b] - x[a]) * (y[c] - y[a]) - (y[b] - y[a]) * (x[c] - x[a]);
+	}
+
+	/**
+	 * @return positive if d is inside the circumcircle of counter clockwise
+	 *         triangle (a, b, c)
+	 */
+	private double inCircle(int a, int b, int c, int d) {
+		double adx = x[a] - x[d];
+		double ady = y[a] - y[d];
+		double bdx = x[b] - x[d];
+		double bdy = y[b] - y[d];
+		double cdx = x[c] - x[d];
+		double cdy = y[c] - y[d];
+		double ad = adx * adx + ady * ady;
+		double bd = bdx * bdx + bdy * bdy;
+		double cd = cdx * cdx + cdy * cdy;
+		return adx * (bdy * cd - bd * cdy) - ady * (bdx * cd - bd * cdx)
+				+ ad * (bdx * cdy - bdy * cdx);
+	}
+
+	/**
+	 * @param e
+	 *            half-edge
+	 * @return next half-edge in the same triangle
+	 */
+	public static int next(int e) {
+		return e % 3 == 2 ? e - 2 : e + 1;
+	}
+
+	/**
+	 * @param e
+	 *            half-edge
+	 * @return previous half-edge in the same triangle
+	 */
+	public static int prev(int e) {
+		return e % 3 == 0 ? e + 2 : e - 1;
+	}
+
+	/**
+	 * @return true if the points don't span a triangle (also for less than
+	 *         three points)
+	 */
+	public boolean isAllCollinear() {
+		return allCollinear;
+	}
+
+	/**
+	 * @return number of triangles including ghost triangles
+	 */
+	public int getTriangleCount() {
+		return allCollinear ? 0 : triangleCount;
+	}
+
+	/**
+	 * @param t
+	 *            triangle
+	 * @return whether the triangle is outside of the hull
+	 */
+	public boolean isGhost(int t) {
+		return vertices[3 * t] == GHOST || vertices[3 * t + 1] == GHOST
+				|| vertices[3 * t + 2] == GHOST;
+	}
+
+	/**
+	 * @param e
+	 *            half-edge
+	 * @return index of the start point or {@link #GHOST}
+	 */
+	public int getVertex(int e) {
+		return vertices[e];
+	}
+
+	/**
+	 * @param e
+	 *            half-edge
+	 * @return half-edge in opposite direction
+	 */
+	public int getTwin(int e) {
+		return twins[e];
+	}
+
+	/**
+	 * @param v
+	 *            point index
+	 * @return x-coordinate
+	 */
+	public double getX(int v) {
+		return x[v];
+	}
+
+	/**
+	 * @param v
+	 *            point index
+	 * @return y-coordinate
+	 */
+	public double getY(int v) {
+		return y[v];
+	}
+
+	/**
+	 * @param t
+	 *            triangle (not a ghost)
+	 * @param center
+	 *            output array for the coordinates of the circumcenter
+	 */
+	public void getCircumcenter(int t, double[] center) {
+		int a = vertices[3 * t];
+		int b = vertices[3 * t + 1];
+		int c = vertices[3 * t + 2];
+		double bx = x[b] - x[a];
+		double by = y[b] - y[a];
+		double cx = x[c] - x[a];
+		double cy = y[c] - y[a];
+		double b2 = bx * bx + by * by;
+		double c2 = cx * cx + cy * cy;
+		double d = 2 * (bx * cy - by * cx);
+		center[0] = x[a] + (cy * b2 - by * c2) / d;
+		center[1] = y[a] + (bx * c2 - cx * b2) / d;
+	}
+}
@@ -1,12 +1,66 @@
 package org.geogebra.common.kernel.discrete.tsp;
 
 import org.geogebra.common.kernel.MyPoint;
-import org.geogebra.common.kernel.discrete.tsp.impl.FLS;
+import org.geogebra.common.kernel.discrete.tsp.impl.TourOptimizer;
 
+/**
+ * Euclidean TSP solver; reuses the previous tour when called again with the
+ * same number of points.
+ */
 public final class TSPSolver implements TSP {
 
+	private final TourOptimizer optimizer;
+	private double[] xs = new double[0];
+	private double[] ys = new double[0];
+	private MyPoint[] copy = new MyPoint[0];
+
+	/**
+	 * @param timeBudget
+	 *            maximal time per call in milliseconds
+	 */
+	public TSPSolver(long timeBudget) {
+		optimizer = new TourOptimizer(timeBudget);
+	}
+
+	/**
+	 * Solver without time limit.
+	 */
+	public TSPSolver() {
+		this(Long.MAX_VALUE / 2);
+	}
+
+	/**
+	 * @param timeBudget
+	 *            maximal time per call in milliseconds
+	 */
+	public void setTimeBudget(long timeBudget) {
+		optimizer.setTimeBudget(timeBudget);
+	}
+
+	/**
+	 * @return false if the last call ran out of time
+	 */
+	public boolean isFinished() {
+		return optimizer.isFinished();
+	}
+
 	@Override
 	public double solve(final MyPoint[] points) {
-		return FLS.optimise(points);
+		int n = points.length;
+		if (xs.length < n) {
+			xs = new double[n];
+			ys = new double[n];
+			copy = new MyPoint[n];
+		}
+		for (int i = 0; i < n; i++) {
+			xs[i] = points[i].getX();
+			ys[i] = points[i].getY();
+			copy[i] = points[i];
+		}
+		double length = optimizer.optimise(xs, ys, n);
+		for (int i = 0; i < n; i++) {
+			points[i] = copy[optimizer.getCity(i)];
+		}
+		return length;
 	}
 }
@@ -0,0 +1,520 @@
+package org.geogebra.common.kernel.discrete.tsp.impl;
+
+import java.util.Arrays;
+
+/**
+ * Local search for short Euclidean tours: 2-opt and Or-opt moves restricted
+ * to the k nearest neighbours of each city, with a queue of active cities
+ * ("don't look bits").
+ *
+ * The optimizer remembers the last tour. When it is called again with the
+ * same number of cities, it starts from that tour and only reconsiders the
+ * cities that moved and their neighbours, so a tour can be followed while
+ * points are dragged. Each call stops after the time budget, later calls
+ * continue improving the tour.
+ */
+public final class TourOptimizer {
+
+	/** candidate neighbours per city */
+	private static final int NEIGHBOURS = 8;
+	/** Or-opt moves segments of up to this many cities */
+	private static final int MAX_SEGMENT = 3;
+	private static final double EPSILON = 1E-10;
+
+	private long timeBudget;
+
+	private int n;
+	private double[] x = new double[0];
+	private double[] y = new double[0];
+	/** city at each position */
+	private int[] tour = new int[0];
+	/** position of each city */
+	private int[] position = new int[0];
+	private int[] candidates = new int[0];
+	private int[] candidateCount = new int[0];
+
+	/** cities to look at, circular buffer */
+	private int[] queue = new int[0];
+	private boolean[] queued = new boolean[0];
+	private int queueStart;
+	private int queueSize;
+
+	private long deadline;
+	private boolean finished;
+
+	/**
+	 * @param timeBudget
+	 *            maximal time per call of {@link #optimise} in milliseconds
+	 */
+	public TourOptimizer(long timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+	/**
+	 * @param timeBudget
+	 *            maximal time per call of {@link #optimise} in milliseconds
+	 */
+	public void setTimeBudget(long timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+	/**
+	 * Improves the tour through the given cities, starting from the previous
+	 * tour if the number of cities did not change.
+	 *
+	 * @param xs
+	 *            x-coordinates of the cities
+	 * @param ys
+	 *            y-coordinates of the cities
+	 * @param count
+	 *            number of cities
+	 * @return tour length
+	 */
+	public double optimise(double[] xs, double[] ys, int count) {
+		deadline = System.currentTimeMillis() + timeBudget;
+		boolean warm = count == n && count > 0;
+		if (!warm) {
+			allocate(count);
+		}
+		for (int i = 0; i < count; i++) {
+			if (!warm || xs[i] != x[i] || ys[i] != y[i]) {
+				x[i] = xs[i];
+				y[i] = ys[i];
+				if (warm) {
+					activate(i);
+				}
+			}
+		}
+		if (n < 4) {
+			finished = true;
+			return length();
+		}
+		findNeighbours();
+		if (warm) {
+			// moved cities changed the edges of their tour neighbours and
+			// may now be close to other cities
+			for (int i = 0, size = queueSize; i < size; i++) {
+				int city = queue[(queueStart + i) % n];
+				activate(next(city));
+				activate(prev(city));
+				for (int j = 0; j < candidateCount[city]; j++) {
+					activate(candidates[city * NEIGHBOURS + j]);
+				}
+			}
+		} else {
+			createInitialTour();
+			for (int i = 0; i < n; i++) {
+				activate(tour[i]);
+			}
+		}
+		localSearch();
+		return length();
+	}
+
+	/**
+	 * @return false if the last call ran out of time before reaching a local
+	 *         optimum
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @param i
+	 *            position in the tour
+	 * @return index of the city at given position
+	 */
+	public int getCity(int i) {
+		return tour[i];
+	}
+
+	private void allocate(int count) {
+		n = count;
+		if (x.length < n) {
+			x = new double[n];
+			y = new double[n];
+			tour = new int[n];
+			position = new int[n];
+			candidates = new int[n * NEIGHBOURS];
+			candidateCount = new int[n];
+			queue = new int[n];
+			queued = new boolean[n];
+		}
+		Arrays.fill(queued, false);
+		queueStart = 0;
+		queueSize = 0;
+		for (int i = 0; i < n; i++) {
+			tour[i] = i;
+			position[i] = i;
+		}
+	}
+
+	/**
+	 * Orders the cities along a Hilbert curve.
+	 */
+	private void createInitialTour() {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			maxX = Math.max(maxX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		int side = 1 << 15;
+		double scale = (side - 1) / Math.max(Math.max(maxX - minX, maxY - minY),
+				Double.MIN_VALUE);
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) {
+			long key = hilbertIndex(side, (int) ((x[i] - minX) * scale),
+					(int) ((y[i] - minY) * scale));
+			keys[i] = key << 32 | i;
+		}
+		Arrays.sort(keys);
+		for (int i = 0; i < n; i++) {
+			tour[i] = (int) keys[i];
+			position[tour[i]] = i;
+		}
+	}
+
+	private static long hilbertIndex(int side, int px, int py) {
+		int hx = px;
+		int hy = py;
+		long index = 0;
+		for (int s = side / 2; s > 0; s /= 2) {
+			int rx = (hx & s) > 0 ? 1 : 0;
+			int ry = (hy & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+			if (ry == 0) {
+				if (rx == 1) {
+					hx = s - 1 - hx;
+					hy = s - 1 - hy;
+				}
+				int tmp = hx;
+				hx = hy;
+				hy = tmp;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the nearest cities of each city using a grid with about two
+	 * cities per cell.
+	 */
+	private void findNeighbours() {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			maxX = Math.max(maxX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		int cells = Math.max(1, (int) Math.sqrt(n / 2.0));
+		double cellSize = Math.max(Math.max(maxX - minX, maxY - minY),
+				Double.MIN_VALUE) / cells;
+		// cities sorted by cell
+		int[] cellStart = new int[cells * cells + 1];
+		int[] cellOf = new int[n];
+		for (int i = 0; i < n; i++) {
+			int col = Math.min(cells - 1, (int) ((x[i] - minX) / cellSize));
+			int row = Math.min(cells - 1, (int) ((y[i] - minY) / cellSize));
+			cellOf[i] = row * cells + col;
+			cellStart[cellOf[i] + 1]++;
+		}
+		for (int c = 0; c < cells * cells; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		int[] fill = Arrays.copyOf(cellStart, cells * cells);
+		int[] cityInCell = new int[n];
+		for (int i = 0; i < n; i++) {
+			cityInCell[fill[cellOf[i]]++] = i;
+		}
+
+		double[] best = new double[NEIGHBOURS];
+		int k = Math.min(NEIGHBOURS, n - 1);
+		for (int i = 0; i < n; i++) {
+			int found = 0;
+			int col = cellOf[i] % cells;
+			int row = cellOf[i] / cells;
+			int offset = i * NEIGHBOURS;
+			for (int ring = 0; ring < cells; ring++) {
+				// cities in farther rings are at least this far away
+				double ringDistance = (ring - 1) * cellSize;
+				if (found == k && ringDistance > 0
+						&& ringDistance * ringDistance > best[k - 1]) {
+					break;
+				}
+				for (int r = row - ring; r <= row + ring; r++) {
+					for (int c = col - ring; c <= col + ring; c++) {
+						if (r < 0 || c < 0 || r >= cells || c >= cells
+								|| (Math.abs(r - row) != ring
+										&& Math.abs(c - col) != ring)) {
+							continue;
+						}
+						int cell = r * cells + c;
+						for (int j = cellStart[cell]; j < cellStart[cell
+								+ 1]; j++) {
+							int other = cityInCell[j];
+							if (other != i) {
+								found = insertCandidate(offset, best, found, k,
+										other, distanceSq(i, other));
+							}
+						}
+					}
+				}
+			}
+			candidateCount[i] = found;
+		}
+	}
+
+	/**
+	 * Inserts a city into the sorted candidate list if it is among the k
+	 * nearest so far.
+	 */
+	private int insertCandidate(int offset, double[] best, int found, int k,
+			int city, double dist) {
+		if (found == k && dist >= best[k - 1]) {
+			return found;
+		}
+		int j = found == k ? k - 1 : found;
+		while (j > 0 && best[j - 1] > dist) {
+			best[j] = best[j - 1];
+			candidates[offset + j] = candidates[offset + j - 1];
+			j--;
+		}
+		best[j] = dist;
+		candidates[offset + j] = city;
+		return found == k ? k : found + 1;
+	}
+
+	private void localSearch() {
+		finished = false;
+		int steps = 0;
+		while (queueSize > 0) {
+			if ((++steps & 63) == 0
+					&& System.currentTimeMillis() > deadline) {
+				return;
+			}
+			int city = queue[queueStart];
+			if (improve(city)) {
+				// look at the city again
+				continue;
+			}
+			queueStart = (queueStart + 1) % n;
+			queueSize--;
+			queued[city] = false;
+		}
+		finished = true;
+	}
+
+	private boolean improve(int a) {
+		return improve2Opt(a, true) || improve2Opt(a, false)
+				|| improveOrOpt(a);
+	}
+
+	/**
+	 * Tries to replace the edge from a to its successor (predecessor) and
+	 * another edge by two shorter ones.
+	 */
+	private boolean improve2Opt(int a, boolean forward) {
+		int b = forward ? next(a) : prev(a);
+		double ab = distance(a, b);
+		for (int i = 0; i < candidateCount[a]; i++) {
+			int c = candidates[a * NEIGHBOURS + i];
+			double ac = distance(a, c);
+			if (ac >= ab) {
+				break;
+			}
+			int d = forward ? next(c) : prev(c);
+			if (c == b || d == a) {
+				continue;
+			}
+			double delta = ac + distance(b, d) - ab - distance(c, d);
+			if (delta < -EPSILON) {
+				if (forward) {
+					twoOptMove(a, b, c, d);
+				} else {
+					twoOptMove(b, a, d, c);
+				}
+				activate(a, b, c, d);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to move the segment of up to three cities starting at a between
+	 * two other cities close to a or to the end of the segment.
+	 */
+	private boolean improveOrOpt(int a) {
+		int e = a;
+		for (int length = 1; length <= MAX_SEGMENT
+				&& length <= n - 3; length++) {
+			if (length > 1) {
+				e = next(e);
+			}
+			int p = prev(a);
+			int following = next(e);
+			double removeGain = distance(p, a) + distance(e, following)
+					- distance(p, following);
+			if (removeGain <= EPSILON) {
+				continue;
+			}
+			if (tryInsert(a, e, length, a, removeGain)
+					|| tryInsert(a, e, length, e, removeGain)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean tryInsert(int a, int e, int length, int end,
+			double removeGain) {
+		int p = prev(a);
+		for (int i = 0; i < candidateCount[end]; i++) {
+			int c = candidates[end * NEIGHBOURS + i];
+			if (distance(end, c) >= removeGain) {
+				break;
+			}
+			if (c == p || isInSegment(c, a, length)) {
+				continue;
+			}
+			// insert between c and either of its neighbours
+			for (int side = 0; side < 2; side++) {
+				int c2 = side == 0 ? next(c) : prev(c);
+				if (isInSegment(c2, a, length)) {
+					continue;
+				}
+				int left = side == 0 ? c : c2;
+				int right = side == 0 ? c2 : c;
+				double forwardCost = distance(left, a) + distance(e, right);
+				double reversedCost = distance(left, e) + distance(a, right);
+				double added = Math.min(forwardCost, reversedCost)
+						- distance(left, right);
+				if (added < removeGain - EPSILON) {
+					moveSegment(a, e, left, right,
+							reversedCost < forwardCost);
+					activate(a, e, left, right);
+					activate(p);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isInSegment(int city, int a, int length) {
+		return (position[city] - position[a] + n) % n < length;
+	}
+
+	/**
+	 * Moves segment a..e (in tour direction) between left and right =
+	 * next(left), done as a sequence of 2-opt moves.
+	 */
+	private void moveSegment(int a, int e, int left, int right,
+			boolean reversed) {
+		int p = prev(a);
+		int following = next(e);
+		// p [a..e] following ... left right -> p left ... following [e..a]
+		// right -> p following ... left [e..a] right
+		twoOptMove(p, a, left, right);
+		// if following == left we already have p left [e..a] right
+		if (following != left) {
+			twoOptMove(p, left, following, e);
+		}
+		if (!reversed) {
+			twoOptMove(left, e, a, right);
+		}
+	}
+
+	/**
+	 * Replaces edges (a, b) and (c, d) by (a, c) and (b, d), where b and d
+	 * follow a and c in the same direction along the tour.
+	 */
+	private void twoOptMove(int a, int b, int c, int d) {
+		if (a == c || b == d) {
+			return;
+		}
+		if (next(a) == b) {
+			reversePath(b, c);
+		} else {
+			reversePath(c, b);
+		}
+	}
+
+	/**
+	 * Reverses the path from city "from" forward to city "to", or the rest
+	 * of the tour if that is shorter (which gives the same cycle).
+	 */
+	private void reversePath(int from, int to) {
+		int i = position[from];
+		int j = position[to];
+		int length = (j - i + n) % n + 1;
+		if (2 * length > n) {
+			int tmp = i;
+			i = (j + 1) % n;
+			j = (tmp - 1 + n) % n;
+			length = n - length;
+		}
+		for (int k = 0; k < length / 2; k++) {
+			int ci = tour[i];
+			int cj = tour[j];
+			tour[i] = cj;
+			position[cj] = i;
+			tour[j] = ci;
+			position[ci] = j;
+			i = i + 1 == n ? 0 : i + 1;
+			j = j == 0 ? n - 1 : j - 1;
+		}
+	}
+
+	private void activate(int a, int b, int c, int d) {
+		activate(a);
+		activate(b);
+		activate(c);
+		activate(d);
+	}
+
+	private void activate(int city) {
+		if (!queued[city]) {
+			queued[city] = true;
+			queue[(queueStart + queueSize) % n] = city;
+			queueSize++;
+		}
+	}
+
+	private int next(int city) {
+		int i = position[city] + 1;
+		return tour[i == n ? 0 : i];
+	}
+
+	private int prev(int city) {
+		int i = position[city];
+		return tour[i == 0 ? n - 1 : i - 1];
+	}
+
+	private double distanceSq(int a, int b) {
+		double dx = x[a] - x[b];
+		double dy = y[a] - y[b];
+		return dx * dx + dy * dy;
+	}
+
+	private double distance(int a, int b) {
+		return Math.sqrt(distanceSq(a, b));
+	}
+
+	private double length() {
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			sum += distance(tour[i], tour[(i + 1) % n]);
+		}
+		return sum;
+	}
+}
@@ -20,7 +20,6 @@ package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -316,7 +315,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	private List<Integer> viewFlags = null;
 
 	private NumberFormatAdapter numberFormatter6;
-	private static volatile TreeSet<AlgoElement> tempSet;
 
 	private boolean descriptionNeedsUpdateInAV;
 
@@ -326,15 +324,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	private int ordering = -1;
 
-	private static Comparator<AlgoElement> algoComparator = new Comparator<AlgoElement>() {
-
-		@Override
-		public int compare(AlgoElement o1, AlgoElement o2) {
-			return o1.compareTo(o2);
-		}
-
-	};
-
 	/**
 	 * Creates new GeoElement for given construction
 	 *
@@ -3238,13 +3227,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 				algoUpdateSet.updateAll();
 			} else {
 				// join both algoUpdateSets and update all algorithms
-				final TreeSet<AlgoElement> tempAlgoSet = getTempSet();
-				tempAlgoSet.clear();
-				algoUpdateSet.addAllToCollection(tempAlgoSet);
-				secondGeo.algoUpdateSet.addAllToCollection(tempAlgoSet);
-				for (final AlgoElement algo : tempAlgoSet) {
-					algo.update();
-				}
+				cons.getDependencyGraph().updateAll(algoUpdateSet,
+						secondGeo.algoUpdateSet);
 			}
 		}
 	}
@@ -3268,16 +3252,11 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @param geos
 	 *            geos to be updated
 	 * 
-	 * @param tempSet1
-	 *            a temporary set that is used to collect all algorithms that
-	 *            need to be updated
-	 * 
 	 * @param updateCascadeAll
 	 *            true to update cascade over dependent geos as well
 	 */
 	static public synchronized void updateCascade(
-			final ArrayList<? extends GeoElementND> geos,
-			final TreeSet<AlgoElement> tempSet1,
+			final List<? extends GeoElementND> geos,
 			final boolean updateCascadeAll) {
 
 		// only one geo: call updateCascade()
@@ -3287,31 +3266,18 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			return;
 		}
 
-		// build update set of all algorithms in construction element order
-		// clear temp set
-		tempSet1.clear();
+		if (geos.isEmpty()) {
+			return;
+		}
 
 		final int size = geos.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElementND geo = geos.get(i);
-
-			geo.update();
-
-			if ((geo.isIndependent() || geo.isPointOnPath() || updateCascadeAll)
-					&& (geo.hasAlgoUpdateSet())) {
-				// add all dependent algos of geo to the overall algorithm
-				// set
-				geo.getAlgoUpdateSet().addAllToCollection(tempSet1);
-			}
-		}
-
-		// now we have one nice algorithm set that we can update
-		if (tempSet1.size() > 0) {
-			for (AlgoElement algo : tempSet1) {
-				algo.update();
-			}
+			geos.get(i).update();
 		}
 
+		// merge dependent algorithms of all geos in topological order
+		geos.get(0).getConstruction().getDependencyGraph().updateCascade(geos,
+				updateCascadeAll);
 	}
 
 	/**
@@ -5437,16 +5403,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		colFunction = null;
 	}
 
-	/**
-	 * @return temporary set of algoritms
-	 */
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>(algoComparator);
-		}
-		return tempSet;
-	}
-
 	/**
 	 * @param rwTransVec
 	 *            translation vector
@@ -5551,7 +5507,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 				tempMoveObjectList2 = new ArrayList<>();
 			}
 			tempMoveObjectList2.add(number);
-			updateCascade(tempMoveObjectList2, getTempSet(), false);
+			updateCascade(tempMoveObjectList2, false);
 		}
 	}
 
@@ -1400,6 +1400,13 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		evalSwapped = !evalSwapped;
 	}
 
+	/**
+	 * @return whether the function is considered to be x=f(y)
+	 */
+	public boolean isEvalSwapped() {
+		return evalSwapped;
+	}
+
 	@Override
 	public void evaluateCurve(double t, double[] out) {
 		if (evalSwapped) {
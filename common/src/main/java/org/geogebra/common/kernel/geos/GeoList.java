@@ -53,6 +53,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadricND;
 import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.kernel.statistics.StatisticsAccumulator;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.GeoClass;
@@ -80,6 +81,18 @@ public class GeoList extends GeoElement
 	// so we keep a cacheList of all old list elements
 	private final ArrayList<GeoElementND> cacheList;
 
+	// values of numbers or points kept in arrays, elements that were not
+	// accessed yet are represented by placeholder (shares style and type
+	// with the real elements)
+	private ListColumns columns;
+	private GeoElement placeholder;
+
+	// incremented on every change; rewriteVersion is the version of the last
+	// change that was not just appending elements
+	private int version;
+	private int rewriteVersion;
+	private StatisticsAccumulator statistics;
+
 	private boolean isDefined = true;
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
@@ -201,6 +214,10 @@ public class GeoList extends GeoElement
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
 
+		if (columns != null) {
+			ret.setColumns(columns);
+			return ret;
+		}
 		for (int i = 0; i < elements.size(); i++) {
 			ret.add(elements.get(i).deepCopyGeo());
 		}
@@ -252,9 +269,13 @@ public class GeoList extends GeoElement
 	}
 
 	private void copyListElements(final GeoList otherList) {
+		if (otherList.columns != null) {
+			setColumns(otherList.columns);
+			return;
+		}
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -469,7 +490,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setObjColor(color);
 			}
@@ -486,7 +507,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setBackgroundColor(color);
 			}
@@ -507,7 +528,7 @@ public class GeoList extends GeoElement
 		}
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			setElementEuclidianVisible(geo, visible);
 		}
 	}
@@ -562,7 +583,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setVisibility(viewId, setVisible);
 			}
@@ -584,8 +605,8 @@ public class GeoList extends GeoElement
 	 * @param myList list to copy into
 	 */
 	public void copyListElements(MyList myList) {
-		for (GeoElement element : elements) {
-			myList.addListElement(new ExpressionNode(kernel, element));
+		for (int i = 0; i < elements.size(); i++) {
+			myList.addListElement(new ExpressionNode(kernel, get(i)));
 		}
 	}
 
@@ -642,6 +663,9 @@ public class GeoList extends GeoElement
 	 */
 	public final void clear() {
 		elements.clear();
+		columns = null;
+		placeholder = null;
+		changed(false);
 	}
 
 	/**
@@ -668,8 +692,10 @@ public class GeoList extends GeoElement
 	 *            geo to be added
 	 */
 	public final void add(final GeoElementND geo) {
+		releaseColumns();
 		// add geo to end of list
 		elements.add(geo.toGeoElement());
+		changed(true);
 
 		if (elements.size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
@@ -731,7 +757,9 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
+		releaseColumns();
 		elements.remove(geo);
+		changed(false);
 
 	}
 
@@ -757,7 +785,9 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
+		releaseColumns();
 		elements.remove(index);
+		changed(false);
 
 	}
 
@@ -769,7 +799,152 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
-		return elements.get(index);
+		GeoElement geo = elements.get(index);
+		if (columns != null && geo == placeholder) {
+			geo = createColumnElement();
+			setColumnValue(geo, index);
+			elements.set(index, geo);
+		}
+		return geo;
+	}
+
+	/**
+	 * Replaces the elements of this list by numbers or points whose values
+	 * are kept in arrays. The GeoNumeric or GeoPoint objects are only created
+	 * when they are accessed through {@link #get(int)}, so algos that work
+	 * with {@link #getColumns()} can handle large data sets without them.
+	 * Elements that were already created are reused.
+	 *
+	 * @param newColumns
+	 *            values of the elements
+	 */
+	public void setColumns(ListColumns newColumns) {
+		final boolean sameType = columns != null
+				&& columns.isPoints() == newColumns.isPoints();
+		if (!sameType) {
+			clear();
+		}
+		changed(newColumns == columns);
+		columns = newColumns;
+		if (!sameType) {
+			placeholder = createColumnElement();
+		}
+		final int size = newColumns.size();
+		if (elements.size() > size) {
+			elements.subList(size, elements.size()).clear();
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			final GeoElement geo = elements.get(i);
+			if (geo != placeholder) {
+				setColumnValue(geo, i);
+			}
+		}
+		ensureCapacity(size);
+		while (elements.size() < size) {
+			elements.add(placeholder);
+		}
+		if (size > 0) {
+			setTypeStringForXML(placeholder.getXMLtypeString());
+		}
+		elementType = placeholder.getGeoClassType();
+		isDrawable = true;
+		updateDrawableFlag(placeholder);
+	}
+
+	/**
+	 * @return values of the elements if they are kept in arrays, null
+	 *         otherwise; must not be changed
+	 */
+	public ListColumns getColumns() {
+		return columns;
+	}
+
+	private void changed(boolean append) {
+		version++;
+		if (!append) {
+			rewriteVersion = version;
+		}
+	}
+
+	/**
+	 * @return number that changes whenever the elements or their values
+	 *         change
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param oldVersion
+	 *            earlier version of this list
+	 * @return whether the list only got new elements since given version
+	 */
+	public boolean isAppendedSince(int oldVersion) {
+		return rewriteVersion <= oldVersion;
+	}
+
+	/**
+	 * @return statistics of the elements shared by statistics algos, may be
+	 *         outdated (see {@link #getVersion()})
+	 */
+	public StatisticsAccumulator getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * @param statistics
+	 *            statistics of the elements
+	 */
+	public void setStatistics(StatisticsAccumulator statistics) {
+		this.statistics = statistics;
+	}
+
+	private GeoElement createColumnElement() {
+		final GeoElement geo = columns.isPoints() ? new GeoPoint(cons)
+				: new GeoNumeric(cons);
+		geo.setParentAlgorithm(getParentAlgorithm());
+		geo.setConstructionDefaults();
+		geo.setUseVisualDefaults(false);
+		applyVisualStyle(geo);
+		geo.setViewFlags(getViewSet());
+		geo.setVisibleInView3D(this);
+		geo.setVisibleInViewForPlane(this);
+		return geo;
+	}
+
+	private void setColumnValue(GeoElement geo, int index) {
+		if (columns.isPoints()) {
+			((GeoPoint) geo).setCoords(columns.getX(index),
+					columns.getY(index), 1);
+		} else {
+			((GeoNumeric) geo).setValue(columns.getValue(index));
+		}
+	}
+
+	/**
+	 * @return element for building the value string: placeholder set to the
+	 *         element's value if the element was not created yet
+	 */
+	private GeoElement getForOutput(final int index) {
+		final GeoElement geo = elements.get(index);
+		if (columns != null && geo == placeholder) {
+			setColumnValue(placeholder, index);
+		}
+		return geo;
+	}
+
+	/**
+	 * Creates all elements and stops using the arrays, needed before the
+	 * elements are changed.
+	 */
+	private void releaseColumns() {
+		if (columns != null) {
+			for (int i = 0; i < elements.size(); i++) {
+				get(i);
+			}
+			columns = null;
+			placeholder = null;
+		}
 	}
 
 	/**
@@ -793,6 +968,13 @@ public class GeoList extends GeoElement
 	@Override
 	public double[] toDouble(int offset) {
 		int length = elements.size();
+		if (columns != null && !columns.isPoints()) {
+			final double[] values = new double[length - offset];
+			for (int i = offset; i < length; i++) {
+				values[i - offset] = columns.getValue(i);
+			}
+			return values;
+		}
 		try {
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
@@ -861,7 +1043,7 @@ public class GeoList extends GeoElement
 		final int lastIndex = elements.size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getForOutput(i);
 
 				sbBuildValueString
 						.append(geo.getAlgebraDescriptionRegrOut(tpl));
@@ -869,7 +1051,7 @@ public class GeoList extends GeoElement
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getForOutput(lastIndex);
 			sbBuildValueString.append(geo.getAlgebraDescriptionRegrOut(tpl));
 		}
 
@@ -894,14 +1076,14 @@ public class GeoList extends GeoElement
 		final int lastIndex = elements.size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getForOutput(i);
 				sbBuildValueString.append(geo.toOutputValueString(tpl));
 				sbBuildValueString.append(getLoc().getComma());
 				tpl.appendOptionalSpace(sbBuildValueString);
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getForOutput(lastIndex);
 			sbBuildValueString.append(geo.toOutputValueString(tpl));
 		}
 
@@ -1058,6 +1240,8 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public void update(boolean drag) {
+		// values of column elements only change through setColumns()
+		changed(columns != null);
 		super.update(drag);
 
 		// update information on whether this path is fit for AlgoLocus
@@ -1121,7 +1305,7 @@ public class GeoList extends GeoElement
 
 		// check each element
 		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+			final GeoElement geoA = get(i);
 			final GeoElement geoB = list.get(i);
 
 			if (!geoA.isEqual(geoB)) {
@@ -1135,7 +1319,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		elements.clear();
+		clear();
 	}
 
 	@Override
@@ -1778,7 +1962,7 @@ public class GeoList extends GeoElement
 
 		// double closestIndex = -1;
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1799,7 +1983,7 @@ public class GeoList extends GeoElement
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1813,7 +1997,7 @@ public class GeoList extends GeoElement
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1905,7 +2089,7 @@ public class GeoList extends GeoElement
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
 		// Application.debug("isOnPath",1);
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -2097,7 +2281,7 @@ public class GeoList extends GeoElement
 		resetSpreadsheetColumnHeadings();
 
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2229,7 +2413,7 @@ public class GeoList extends GeoElement
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
 		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2360,6 +2544,12 @@ public class GeoList extends GeoElement
 		}
 
 		double sum = 0;
+		if (columns != null && !columns.isPoints()) {
+			for (int i = 0; i < columns.size(); i++) {
+				sum += columns.getValue(i);
+			}
+			return sum / size();
+		}
 		for (int i = 0; i < size(); i++) {
 			GeoElement geo = get(i);
 			if (geo instanceof NumberValue) {
@@ -2383,11 +2573,6 @@ public class GeoList extends GeoElement
 	 * @return boolean true if AlgoLocusList should be used.
 	 */
 	public boolean shouldUseAlgoLocusList(boolean locusCalling) {
-		GeoPointND[] minParArray = new GeoPoint[this.size()];
-		GeoPointND[] maxParArray = new GeoPoint[this.size()];
-		GeoPointND[] minParStatic = new GeoPoint[this.size()];
-		GeoPointND[] maxParStatic = new GeoPoint[this.size()];
-
 		// if there is no locus using this, the answer is not important
 		if (!locusCalledAlgoLocusList && !locusCalling) {
 			directionInfoArray = null;
@@ -2397,6 +2582,10 @@ public class GeoList extends GeoElement
 		if (size() == 0) {
 			return false;
 		}
+		GeoPointND[] minParArray = new GeoPoint[this.size()];
+		GeoPointND[] maxParArray = new GeoPoint[this.size()];
+		GeoPointND[] minParStatic = new GeoPoint[this.size()];
+		GeoPointND[] maxParStatic = new GeoPoint[this.size()];
 		directionInfoArray = new boolean[this.size()];
 		directionInfoOrdering = new int[this.size()];
 		shouldUseAlgoLocusList = true;
@@ -3119,7 +3308,9 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
+		releaseColumns();
 		this.elements.set(i, element);
+		changed(false);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -3341,7 +3532,11 @@ public class GeoList extends GeoElement
 	 * @return new array with elements
 	 */
 	public GeoElement[] elementsAsArray() {
-		return elements.toArray(new GeoElement[size()]);
+		final GeoElement[] array = new GeoElement[size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = get(i);
+		}
+		return array;
 	}
 
 	@Override
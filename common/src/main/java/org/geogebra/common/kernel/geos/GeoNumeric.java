@@ -600,6 +600,16 @@ public class GeoNumeric extends GeoElement
 		}
 	}
 
+	/**
+	 * @return whether {@link #setValue(double)} may notify the screen reader
+	 *         or the twin CAS cell, which has to be done in the UI thread
+	 */
+	public boolean hasSetValueSideEffects() {
+		return (isLabelSet() && isSliderable() && isSelected())
+				|| ((isIntervalMinActive() || isIntervalMaxActive())
+						&& getCorrespondingCasCell() != null);
+	}
+
 	/**
 	 * Returns value of the number
 	 * 
@@ -0,0 +1,124 @@
+package org.geogebra.common.kernel.geos;
+
+import java.util.Arrays;
+
+/**
+ * Values of a list of numbers or of 2D points kept in primitive arrays, see
+ * {@link GeoList#setColumns(ListColumns)}. Columns passed to a list may only
+ * be appended to; call setColumns again after appending.
+ */
+public class ListColumns {
+
+	private final boolean points;
+	private double[] x;
+	private double[] y;
+	private int size;
+
+	/**
+	 * @param points
+	 *            true for x and y coordinates of points, false for numbers
+	 * @param capacity
+	 *            expected number of elements
+	 */
+	public ListColumns(boolean points, int capacity) {
+		this.points = points;
+		x = new double[Math.max(capacity, 1)];
+		y = points ? new double[x.length] : null;
+	}
+
+	/**
+	 * @param values
+	 *            numbers, used without copying
+	 */
+	public ListColumns(double[] values) {
+		this.points = false;
+		x = values;
+		size = values.length;
+	}
+
+	/**
+	 * @param value
+	 *            number to append
+	 */
+	public void add(double value) {
+		ensureCapacity(size + 1);
+		x[size++] = value;
+	}
+
+	/**
+	 * @param xCoord
+	 *            x-coordinate of point to append
+	 * @param yCoord
+	 *            y-coordinate of point to append
+	 */
+	public void add(double xCoord, double yCoord) {
+		ensureCapacity(size + 1);
+		x[size] = xCoord;
+		y[size++] = yCoord;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > x.length) {
+			int length = Math.max(capacity, 2 * x.length);
+			x = Arrays.copyOf(x, length);
+			if (points) {
+				y = Arrays.copyOf(y, length);
+			}
+		}
+	}
+
+	/**
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether the elements are points
+	 */
+	public boolean isPoints() {
+		return points;
+	}
+
+	/**
+	 * @param index
+	 *            element index
+	 * @return value of a number, x-coordinate of a point
+	 */
+	public double getValue(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @param index
+	 *            element index
+	 * @return x-coordinate of a point, value of a number
+	 */
+	public double getX(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @param index
+	 *            element index
+	 * @return y-coordinate of a point
+	 */
+	public double getY(int index) {
+		return y[index];
+	}
+
+	/**
+	 * @return copy of the numbers (x-coordinates for points)
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(x, size);
+	}
+
+	/**
+	 * @return copy of the y-coordinates of points
+	 */
+	public double[] toArrayY() {
+		return Arrays.copyOf(y, size);
+	}
+}
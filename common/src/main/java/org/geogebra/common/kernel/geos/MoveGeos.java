@@ -84,8 +84,7 @@ public class MoveGeos {
 		// then update all their algos.
 		// (don't do updateCascade() on them individually as this could cause
 		// multiple updates of the same algorithm)
-		GeoElement.updateCascade(moveObjectsUpdateList, GeoElement.getTempSet(),
-				false);
+		GeoElement.updateCascade(moveObjectsUpdateList, false);
 
 		return moved;
 	}
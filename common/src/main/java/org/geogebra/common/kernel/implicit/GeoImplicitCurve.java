@@ -10,9 +10,11 @@ import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.LUDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.EuclidianViewCE;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
@@ -52,6 +54,7 @@ import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.ParallelTaskRunner;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -74,6 +77,14 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	 * Border mask
 	 */
 	static final int[] MASK = { 0x9, 0xC, 0x6, 0x3 };
+	/**
+	 * Automatic plot quality, see
+	 * {@link #setPlotQuality(int, int, int)}
+	 */
+	public static final int PLOT_QUALITY_AUTO = -1;
+
+	private static ParallelTaskRunner taskRunner;
+	private static boolean taskRunnerInitialized;
 
 	/* The input expression. */
 	private FunctionNVar expression;
@@ -1674,12 +1685,10 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
-		private int plotDepth;
-		private int segmentCheckDepth;
-		private int sw;
-		private int sh;
-		private Rect[][] grid;
 		private Timer timer = Timer.newTimer();
+		private ArrayList<QuadTreeTileCache> tileCaches = new ArrayList<>();
+		private ArrayList<QuadTreeTile> tiles = new ArrayList<>();
+		private Runnable[] tasks = new Runnable[0];
 
 		public WebExperimentalQuadTree() {
 			super(GeoImplicitCurve.this);
@@ -1687,96 +1696,70 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			while (tileCaches.size() > factorLength()) {
+				tileCaches.remove(tileCaches.size() - 1);
+			}
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
 				} catch (Throwable e) {
 					continue;
 				}
-				this.sw = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
-				this.sh = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
+				// cell size only depends on the scale, so that the grid
+				// doesn't move with the view
+				long widthPx = Math.round(w * scaleX);
+				long heightPx = Math.round(h * scaleY);
+				int sw = (int) Math.min(MAX_SPLIT, widthPx / RES_COARSE);
+				int sh = (int) Math.min(MAX_SPLIT, heightPx / RES_COARSE);
 				if (sw == 0 || sh == 0) {
 					return;
 				}
+				double frx = widthPx / scaleX / sw;
+				double fry = heightPx / scaleY / sh;
 
-				this.grid = new Rect[sh][sw];
-
-				double frx = w / sw;
-				double fry = h / sh;
-
-				double[] vertices = new double[sw + 1];
-				double[] xcoords = new double[sw + 1];
-				double[] ycoords = new double[sh + 1];
-				double cur, prev;
-
-				for (int i = 0; i <= sw; i++) {
-					xcoords[i] = x + i * frx;
+				if (tileCaches.size() <= factor) {
+					tileCaches.add(new QuadTreeTileCache());
 				}
+				QuadTreeTileCache cache = tileCaches.get(factor);
+				// only polynomials are thread safe and fully described by
+				// their coefficients
+				boolean polynomial = coeffSquarefree != null && coeff != null;
+				cache.validate(polynomial ? coeffSquarefree[factor] : null,
+						coeff, frx, fry);
+				double tileWidth = frx * QuadTreeTile.SIZE;
+				double tileHeight = fry * QuadTreeTile.SIZE;
+				cache.getTiles(this, GeoImplicitCurve.this, factor,
+						(int) Math.floor(x / tileWidth),
+						(int) Math.floor((x + w) / tileWidth),
+						(int) Math.floor(y / tileHeight),
+						(int) Math.floor((y + h) / tileHeight), tiles);
+				ParallelTaskRunner runner = polynomial ? getTaskRunner()
+						: null;
 
-				for (int i = 0; i <= sh; i++) {
-					ycoords[i] = y + i * fry;
-				}
-
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
-				}
-
-				// initialize grid configuration at the search depth
-				int i, j;
-				double dx, dy, fx, fy;
-				// debug = true;
 				timer.reset();
-				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
-					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
-						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
-						rect.coords.val[0] = xcoords[j - 1];
-						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
-						rect.status = edgeConfig(rect);
-						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
-						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
+				if (cache.plotDepth < 0) {
+					// initialize grid configuration at the search depth
+					for (QuadTreeTile tile : tiles) {
+						tile.setTargetDepth(-1, -1);
 					}
-					vertices[sw] = prev;
+					runTiles(runner);
+					timer.record();
+					chooseQuality(cache, timer.elapse <= 10);
 				}
-
-				timer.record();
-
-				if (timer.elapse <= 10) {
-					// Fast device optimize for UX
-					plotDepth = 3;
-					segmentCheckDepth = 2;
-					LIST_THRESHOLD = 48;
-				} else {
-					// Slow device detected reduce parameters
-					plotDepth = 2;
-					segmentCheckDepth = 1;
-					LIST_THRESHOLD = 24;
+				for (QuadTreeTile tile : tiles) {
+					tile.clearRevived();
+					tile.setTargetDepth(cache.plotDepth,
+							cache.segmentCheckDepth);
+				}
+				runTiles(runner);
+				// follow the curve into cells of neighboring tiles
+				while (cache.propagate(tiles)) {
+					runTiles(runner);
 				}
 
-				for (i = 0; i < sh; i++) {
-					for (j = 0; j < sw; j++) {
-						if (grid[i][j].status != EMPTY) {
-							plot(grid[i][j], 0, factor);
-						}
-					}
+				for (QuadTreeTile tile : tiles) {
+					addSegments(tile.getSegments());
+					addSegments(tile.getRevivedSegments());
 				}
 
 				timer.record();
@@ -1785,57 +1768,71 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					// I can't do anything more. I've been working for 500 ms
 					// Therefore I am tired
 					return;
-				} else if (timer.elapse >= 300) {
-					// I am exhausted, reducing load!
-					plotDepth -= 1;
-					segmentCheckDepth -= 1;
+				} else if (timer.elapse >= 300
+						&& qualityPlotDepth == PLOT_QUALITY_AUTO
+						&& cache.segmentCheckDepth > 0) {
+					// I am exhausted, reducing load for next update!
+					cache.plotDepth -= 1;
+					cache.segmentCheckDepth -= 1;
 				}
 			}
 		}
 
-		public void createTree(Rect r, int depth, int factor) {
-			Rect[] n = r.split(GeoImplicitCurve.this, factor);
-			plot(n[0], depth, factor);
-			plot(n[1], depth, factor);
-			plot(n[2], depth, factor);
-			plot(n[3], depth, factor);
+		private void addSegments(ArrayList<MyPoint> segments) {
+			for (int i = 0; i + 1 < segments.size(); i += 2) {
+				addSegment(copy(segments.get(i)), copy(segments.get(i + 1)));
+			}
 		}
 
-		public void plot(Rect r, int depth, int factor) {
-			if (depth < segmentCheckDepth) {
-				createTree(r, depth + 1, factor);
-				return;
+		private void chooseQuality(QuadTreeTileCache cache, boolean fast) {
+			if (qualityPlotDepth != PLOT_QUALITY_AUTO) {
+				cache.plotDepth = qualityPlotDepth;
+				cache.segmentCheckDepth = qualitySegmentCheckDepth;
+				LIST_THRESHOLD = qualityListThreshold;
+			} else if (fast) {
+				// Fast device optimize for UX
+				cache.plotDepth = 3;
+				cache.segmentCheckDepth = 2;
+				LIST_THRESHOLD = 48;
+			} else {
+				// Slow device detected reduce parameters
+				cache.plotDepth = 2;
+				cache.segmentCheckDepth = 1;
+				LIST_THRESHOLD = 24;
 			}
-			int e = edgeConfig(r);
-			if (grid[r.y][r.x].singular || e != EMPTY) {
-				if (depth >= plotDepth) {
-					if (addSegment(r, factor) == T0101) {
-						createTree(r, depth + 1, factor);
-						return;
-					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
+		}
 
-					}
-					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
-						nonempty(r.y, r.x + 1);
-					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
-					}
-					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
-					}
-				} else {
-					createTree(r, depth + 1, factor);
-				}
+		@Override
+		public void setQuality(int plotDepth, int segmentCheckDepth,
+				int listThreshold) {
+			super.setQuality(plotDepth, segmentCheckDepth, listThreshold);
+			for (QuadTreeTileCache cache : tileCaches) {
+				cache.plotDepth = -1;
 			}
 		}
 
-		private void nonempty(int ry, int rx) {
-			if (grid[ry][rx].status == EMPTY) {
-				grid[ry][rx].status = 1;
+		private void runTiles(ParallelTaskRunner runner) {
+			int size = 0;
+			if (tasks.length < tiles.size()) {
+				tasks = new Runnable[tiles.size()];
+			}
+			for (QuadTreeTile tile : tiles) {
+				if (tile.needsUpdate()) {
+					tasks[size++] = tile;
+				}
 			}
+			if (runner != null && size > 1) {
+				runner.runAll(tasks, size);
+			} else {
+				for (int i = 0; i < size; i++) {
+					tasks[i].run();
+				}
+			}
+			Arrays.fill(tasks, 0, size, null);
+		}
+
+		private MyPoint copy(MyPoint point) {
+			return new MyPoint(point.x, point.y, SegmentType.MOVE_TO);
 		}
 
 		@Override
@@ -1952,6 +1949,40 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		toStringMode = GeoLine.EQUATION_USER;
 	}
 
+	/**
+	 * Sets the quality of the plot; the automatic choice depends on the speed
+	 * of the device.
+	 * 
+	 * @param plotDepth
+	 *            depth of cell splits before segments are created (automatic:
+	 *            3, 2 on slow devices) or PLOT_QUALITY_AUTO
+	 * @param segmentCheckDepth
+	 *            depth to which all cells are split (automatic: 2, 1 on slow
+	 *            devices)
+	 * @param listThreshold
+	 *            max number of open polylines before they are moved to the
+	 *            path (automatic: 48, 24 on slow devices)
+	 */
+	public void setPlotQuality(int plotDepth, int segmentCheckDepth,
+			int listThreshold) {
+		quadTree.setQuality(plotDepth, segmentCheckDepth, listThreshold);
+		if (isDefined()) {
+			updatePath();
+		}
+	}
+
+	/**
+	 * @return runner for tiles of polynomial curves, null if the platform
+	 *         has no threads
+	 */
+	static ParallelTaskRunner getTaskRunner() {
+		if (!taskRunnerInitialized && UtilFactory.getPrototype() != null) {
+			taskRunner = UtilFactory.getPrototype().newParallelTaskRunner();
+			taskRunnerInitialized = true;
+		}
+		return taskRunner;
+	}
+
 	@Override
 	public synchronized void preventPathCreation() {
 		calcPath = false;
@@ -72,6 +72,14 @@ abstract class QuadTree {
 	 * it would be better to adjust LIST_THRESHOLD based on platform
 	 */
 	public int LIST_THRESHOLD = 48;
+	/**
+	 * depth of cell splits before segments are created, or PLOT_QUALITY_AUTO
+	 */
+	protected int qualityPlotDepth = GeoImplicitCurve.PLOT_QUALITY_AUTO;
+	/** depth to which all cells are split */
+	protected int qualitySegmentCheckDepth = GeoImplicitCurve.PLOT_QUALITY_AUTO;
+	/** max number of open polylines */
+	protected int qualityListThreshold = GeoImplicitCurve.PLOT_QUALITY_AUTO;
 	protected double x;
 	protected double y;
 	protected double w;
@@ -133,51 +141,86 @@ abstract class QuadTree {
 				&& DoubleUtil.isEqual(q1.y, q2.y, 1e-10);
 	}
 
-	public int addSegment(Rect r, int factor) {
-		int status = createSegment(r, factor);
-		if (status == VALID) {
-			if (pts[0].x > pts[1].x) {
-				temp = pts[0];
-				pts[0] = pts[1];
-				pts[1] = temp;
-			}
-			itr1 = openList.listIterator();
-			itr2 = openList.listIterator();
-			boolean flag1 = false, flag2 = false;
-			while (itr1.hasNext()) {
-				p1 = itr1.next();
-				if (equal(pts[1], p1.start)) {
-					flag1 = true;
-					break;
-				}
-			}
+	/**
+	 * @param plotDepth
+	 *            depth of cell splits before segments are created or
+	 *            PLOT_QUALITY_AUTO
+	 * @param segmentCheckDepth
+	 *            depth to which all cells are split
+	 * @param listThreshold
+	 *            max number of open polylines
+	 */
+	public void setQuality(int plotDepth, int segmentCheckDepth,
+			int listThreshold) {
+		this.qualityPlotDepth = plotDepth;
+		this.qualitySegmentCheckDepth = segmentCheckDepth;
+		this.qualityListThreshold = listThreshold;
+	}
 
-			while (itr2.hasNext()) {
-				p2 = itr2.next();
-				if (equal(pts[0], p2.end)) {
-					flag2 = true;
-					break;
-				}
+	/**
+	 * Adds a segment to the open polylines, the polylines are moved to the
+	 * locus once there are more than LIST_THRESHOLD of them.
+	 * 
+	 * @param start
+	 *            start point
+	 * @param end
+	 *            end point
+	 */
+	public void addSegment(MyPoint start, MyPoint end) {
+		pts[0] = start;
+		pts[1] = end;
+		if (pts[0].x > pts[1].x) {
+			temp = pts[0];
+			pts[0] = pts[1];
+			pts[1] = temp;
+		}
+		itr1 = openList.listIterator();
+		itr2 = openList.listIterator();
+		boolean flag1 = false, flag2 = false;
+		while (itr1.hasNext()) {
+			p1 = itr1.next();
+			if (equal(pts[1], p1.start)) {
+				flag1 = true;
+				break;
 			}
+		}
 
-			if (flag1 && flag2) {
-				itr1.remove();
-				p2.mergeTo(p1);
-			} else if (flag1) {
-				p1.extendBack(pts[0]);
-			} else if (flag2) {
-				p2.extendFront(pts[1]);
-			} else {
-				openList.addFirst(new PointList(pts[0], pts[1]));
-			}
-			if (openList.size() > LIST_THRESHOLD) {
-				abortList();
+		while (itr2.hasNext()) {
+			p2 = itr2.next();
+			if (equal(pts[0], p2.end)) {
+				flag2 = true;
+				break;
 			}
 		}
-		return status;
+
+		if (flag1 && flag2) {
+			itr1.remove();
+			p2.mergeTo(p1);
+		} else if (flag1) {
+			p1.extendBack(pts[0]);
+		} else if (flag2) {
+			p2.extendFront(pts[1]);
+		} else {
+			openList.addFirst(new PointList(pts[0], pts[1]));
+		}
+		if (openList.size() > LIST_THRESHOLD) {
+			abortList();
+		}
 	}
 
-	public int createSegment(Rect r, int factor) {
+	/**
+	 * Computes the segment of the curve in a cell; only uses evaluations of
+	 * the curve, so this may be called concurrently for polynomial curves.
+	 * 
+	 * @param r
+	 *            cell
+	 * @param factor
+	 *            factor index
+	 * @param out
+	 *            output: start and end point
+	 * @return VALID if there is a segment, EMPTY, T0101 or T_INV otherwise
+	 */
+	public int createSegment(Rect r, int factor, MyPoint[] out) {
 		int gridType = config(r);
 		if (gridType == T0101 || gridType == T_INV) {
 			return gridType;
@@ -191,39 +234,39 @@ abstract class QuadTree {
 		switch (gridType) {
 		// one or three corners are inside / outside
 		case T0001:
-			pts[0] = new MyPoint(x1,
+			out[0] = new MyPoint(x1,
 					GeoImplicitCurve.interpolate(bl, tl, y2,
 					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(bl, br);
 			break;
 
 		case T0010:
-			pts[0] = new MyPoint(x2,
+			out[0] = new MyPoint(x2,
 					GeoImplicitCurve.interpolate(br, tr, y2,
 					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(br, tr);
 			q2 = minAbs(br, bl);
 			break;
 
 		case T0100:
-			pts[0] = new MyPoint(x2, GeoImplicitCurve.interpolate(tr, br, y1,
+			out[0] = new MyPoint(x2, GeoImplicitCurve.interpolate(tr, br, y1,
 					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
 					y1, SegmentType.LINE_TO);
 			q1 = minAbs(tr, br);
 			q2 = minAbs(tr, tl);
 			break;
 
 		case T0111:
-			pts[0] = new MyPoint(x1,
+			out[0] = new MyPoint(x1,
 					GeoImplicitCurve.interpolate(tl, bl, y1, y2),
 					SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
 					y1, SegmentType.LINE_TO);
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(tl, tr);
@@ -231,9 +274,9 @@ abstract class QuadTree {
 
 		// two consecutive corners are inside / outside
 		case T0011:
-			pts[0] = new MyPoint(x1, GeoImplicitCurve.interpolate(tl, bl, y1,
+			out[0] = new MyPoint(x1, GeoImplicitCurve.interpolate(tl, bl, y1,
 					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(x2,
+			out[1] = new MyPoint(x2,
 					GeoImplicitCurve.interpolate(tr, br, y1, y2),
 					SegmentType.LINE_TO);
 			q1 = minAbs(tl, bl);
@@ -241,9 +284,9 @@ abstract class QuadTree {
 			break;
 
 		case T0110:
-			pts[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
+			out[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
 					y1, SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(tl, tr);
 			q2 = minAbs(bl, br);
@@ -253,9 +296,9 @@ abstract class QuadTree {
 		}
 		// check continuity of the function between P1 and P2
 		double p = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[0].x, pts[0].y, factor));
+				.evaluateImplicitCurve(out[0].x, out[0].y, factor));
 		double q = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[1].x, pts[1].y, factor));
+				.evaluateImplicitCurve(out[1].x, out[1].y, factor));
 		if ((p <= q1 && q <= q2)) {
 			return VALID;
 		}
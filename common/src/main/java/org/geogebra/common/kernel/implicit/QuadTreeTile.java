@@ -0,0 +1,372 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.util.DoubleUtil;
+
+/**
+ * Square block of cells of the quadtree grid. The grid is aligned to the
+ * origin, so the sign grid and the segments of a tile only depend on the
+ * function and the cell size: they can be reused while the view is panned.
+ * Tiles don't share state, for polynomial curves they may be computed
+ * concurrently.
+ *
+ * Segments reaching the border of the tile mark the adjacent cells of the
+ * neighboring tiles, see {@link #getOutgoing(int)} and
+ * {@link #revive(int, int)}: cells whose corners miss the curve are plotted
+ * if the curve leads into them, as in a single grid. Cells revived this way
+ * depend on the neighbors, so they are plotted again on each update.
+ */
+class QuadTreeTile implements Runnable {
+	/** number of cells in each direction */
+	static final int SIZE = 4;
+	/** border of cells with x index 0 */
+	static final int LEFT = 0;
+	/** border of cells with x index SIZE - 1 */
+	static final int RIGHT = 1;
+	/** border of cells with y index 0 */
+	static final int TOP = 2;
+	/** border of cells with y index SIZE - 1 */
+	static final int BOTTOM = 3;
+
+	private final QuadTree tree;
+	private final GeoImplicitCurve curve;
+	private final int factor;
+	private final int col;
+	private final int row;
+	private final double cellWidth;
+	private final double cellHeight;
+	private final Rect[][] grid = new Rect[SIZE][SIZE];
+	private final int[][] initialStatus = new int[SIZE][SIZE];
+	private final ArrayList<MyPoint> segments = new ArrayList<>();
+	private final ArrayList<MyPoint> revivedSegments = new ArrayList<>();
+	private ArrayList<MyPoint> currentSegments = segments;
+	private final MyPoint[] pts = new MyPoint[2];
+	private boolean evaluated;
+	/** plotted cells, bit i * SIZE + j for grid[i][j] */
+	private int plotted;
+	/** cells plotted without neighbors */
+	private int ownPlotted;
+	/** cells of neighboring tiles to plot, by border; bit = index along it */
+	private final int[] outgoing = new int[4];
+	private final int[] ownOutgoing = new int[4];
+	/** whether neighbors marked cells that are not plotted yet */
+	private boolean revived;
+	/** depths used for current segments, -1 if there are none */
+	private int plotDepth = -1;
+	private int segmentCheckDepth = -1;
+	/** depths requested for next run, -1 to only evaluate the grid */
+	private int targetPlotDepth = -1;
+	private int targetCheckDepth = -1;
+
+	/**
+	 * @param tree
+	 *            quadtree
+	 * @param curve
+	 *            curve
+	 * @param factor
+	 *            index of squarefree factor
+	 * @param col
+	 *            column of the tile, cells of this tile start at
+	 *            SIZE * col * cellWidth
+	 * @param row
+	 *            row of the tile
+	 * @param cellWidth
+	 *            width of grid cell
+	 * @param cellHeight
+	 *            height of grid cell
+	 */
+	QuadTreeTile(QuadTree tree, GeoImplicitCurve curve, int factor, int col,
+			int row, double cellWidth, double cellHeight) {
+		this.tree = tree;
+		this.curve = curve;
+		this.factor = factor;
+		this.col = col;
+		this.row = row;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+	}
+
+	/**
+	 * @param plot
+	 *            depth of splits before segments are created, -1 to only
+	 *            evaluate the grid in next run
+	 * @param segmentCheck
+	 *            depth to which all cells are split
+	 */
+	void setTargetDepth(int plot, int segmentCheck) {
+		this.targetPlotDepth = plot;
+		this.targetCheckDepth = segmentCheck;
+	}
+
+	/**
+	 * @return whether the tile has to be computed for the target depth
+	 */
+	boolean needsUpdate() {
+		return !evaluated || revived || needsPlot();
+	}
+
+	private boolean needsPlot() {
+		return targetPlotDepth >= 0 && (targetPlotDepth != plotDepth
+				|| targetCheckDepth != segmentCheckDepth);
+	}
+
+	@Override
+	public void run() {
+		if (!evaluated) {
+			evaluate();
+		}
+		if (needsPlot()) {
+			plotSegments();
+		}
+		if (revived) {
+			revived = false;
+			currentSegments = revivedSegments;
+			plotCells();
+		}
+	}
+
+	/**
+	 * @return start and end points of the segments in this tile, without the
+	 *         revived cells
+	 */
+	ArrayList<MyPoint> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * @return start and end points of the segments in cells revived by
+	 *         neighbors
+	 */
+	ArrayList<MyPoint> getRevivedSegments() {
+		return revivedSegments;
+	}
+
+	/**
+	 * @return column of the tile
+	 */
+	int getCol() {
+		return col;
+	}
+
+	/**
+	 * @return row of the tile
+	 */
+	int getRow() {
+		return row;
+	}
+
+	/**
+	 * @param side
+	 *            border of this tile
+	 * @return cells of the neighbor across the border that the curve leads
+	 *         into: bit k for the k-th cell along the border
+	 */
+	int getOutgoing(int side) {
+		return outgoing[side];
+	}
+
+	/**
+	 * Marks cells along a border that the curve of the neighbor leads into;
+	 * they are plotted in next run.
+	 *
+	 * @param side
+	 *            border of this tile shared with the neighbor
+	 * @param mask
+	 *            outgoing cells of the neighbor for the opposite border
+	 * @return whether some cells need to be plotted
+	 */
+	boolean revive(int side, int mask) {
+		boolean ret = false;
+		for (int k = 0; k < SIZE; k++) {
+			if ((mask & (1 << k)) != 0) {
+				int i = side == TOP ? 0 : side == BOTTOM ? SIZE - 1 : k;
+				int j = side == LEFT ? 0 : side == RIGHT ? SIZE - 1 : k;
+				if ((plotted & bit(i, j)) == 0
+						&& grid[i][j].status == QuadTree.EMPTY) {
+					grid[i][j].status = 1;
+					ret = true;
+				}
+			}
+		}
+		revived |= ret;
+		return ret;
+	}
+
+	/**
+	 * Forgets the cells revived by neighbors, the neighbors may have changed.
+	 */
+	void clearRevived() {
+		if (!evaluated) {
+			return;
+		}
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				if ((ownPlotted & bit(i, j)) == 0) {
+					grid[i][j].status = initialStatus[i][j];
+				}
+			}
+		}
+		plotted = ownPlotted;
+		System.arraycopy(ownOutgoing, 0, outgoing, 0, 4);
+		revivedSegments.clear();
+		revived = false;
+	}
+
+	private static int bit(int i, int j) {
+		return 1 << (i * SIZE + j);
+	}
+
+	private void evaluate() {
+		double[][] vertices = new double[SIZE + 1][SIZE + 1];
+		for (int i = 0; i <= SIZE; i++) {
+			for (int j = 0; j <= SIZE; j++) {
+				vertices[i][j] = curve.evaluateImplicitCurve(x(j), y(i),
+						factor);
+			}
+		}
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				Rect rect = new Rect(j, i, cellWidth, cellHeight, false);
+				rect.coords.val[0] = x(j);
+				rect.coords.val[1] = y(i);
+				rect.evals[0] = vertices[i][j];
+				rect.evals[1] = vertices[i][j + 1];
+				rect.evals[2] = vertices[i + 1][j + 1];
+				rect.evals[3] = vertices[i + 1][j];
+				initialStatus[i][j] = tree.edgeConfig(rect);
+				rect.shares = 0xff;
+				double fx = x(j) + 0.5 * cellWidth;
+				double fy = y(i) + 0.5 * cellHeight;
+				double d = Math.abs(curve.derivativeX(fx, fy))
+						+ Math.abs(curve.derivativeY(fx, fy));
+				if (DoubleUtil.isZero(d, 0.001)) {
+					rect.singular = true;
+				}
+				grid[i][j] = rect;
+			}
+		}
+		evaluated = true;
+	}
+
+	/**
+	 * Same coordinates for shared borders of neighboring tiles.
+	 */
+	private double x(int j) {
+		return (col * SIZE + j) * cellWidth;
+	}
+
+	private double y(int i) {
+		return (row * SIZE + i) * cellHeight;
+	}
+
+	private void plotSegments() {
+		segments.clear();
+		revivedSegments.clear();
+		plotDepth = targetPlotDepth;
+		segmentCheckDepth = targetCheckDepth;
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				grid[i][j].status = initialStatus[i][j];
+			}
+		}
+		plotted = 0;
+		Arrays.fill(outgoing, 0);
+		currentSegments = segments;
+		plotCells();
+		ownPlotted = plotted;
+		System.arraycopy(outgoing, 0, ownOutgoing, 0, 4);
+	}
+
+	/**
+	 * Plots all marked cells that were not plotted yet, until plotting
+	 * doesn't mark any more cells.
+	 */
+	private void plotCells() {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < SIZE; i++) {
+				for (int j = 0; j < SIZE; j++) {
+					if ((plotted & bit(i, j)) == 0
+							&& grid[i][j].status != QuadTree.EMPTY) {
+						plotted |= bit(i, j);
+						plot(grid[i][j], 0);
+						changed = true;
+					}
+				}
+			}
+		}
+	}
+
+	private void createTree(Rect r, int depth) {
+		Rect[] n = r.split(curve, factor);
+		plot(n[0], depth);
+		plot(n[1], depth);
+		plot(n[2], depth);
+		plot(n[3], depth);
+	}
+
+	private void plot(Rect r, int depth) {
+		if (depth < segmentCheckDepth) {
+			createTree(r, depth + 1);
+			return;
+		}
+		int e = tree.edgeConfig(r);
+		if (grid[r.y][r.x].singular || e != QuadTree.EMPTY) {
+			if (depth >= plotDepth) {
+				if (addSegment(r) == QuadTree.T0101) {
+					createTree(r, depth + 1);
+					return;
+				}
+				if ((e & r.shares & 0x1) != 0) {
+					if (r.x != 0) {
+						nonempty(r.y, r.x - 1);
+					} else {
+						outgoing[LEFT] |= 1 << r.y;
+					}
+				}
+				if ((e & r.shares & 0x4) != 0) {
+					if (r.x + 1 != SIZE) {
+						nonempty(r.y, r.x + 1);
+					} else {
+						outgoing[RIGHT] |= 1 << r.y;
+					}
+				}
+				if ((e & r.shares & 0x8) != 0) {
+					if (r.y != 0) {
+						nonempty(r.y - 1, r.x);
+					} else {
+						outgoing[TOP] |= 1 << r.x;
+					}
+				}
+				if ((e & r.shares & 0x2) != 0) {
+					if (r.y + 1 != SIZE) {
+						nonempty(r.y + 1, r.x);
+					} else {
+						outgoing[BOTTOM] |= 1 << r.x;
+					}
+				}
+			} else {
+				createTree(r, depth + 1);
+			}
+		}
+	}
+
+	private int addSegment(Rect r) {
+		int status = tree.createSegment(r, factor, pts);
+		if (status == QuadTree.VALID) {
+			currentSegments.add(pts[0]);
+			currentSegments.add(pts[1]);
+		}
+		return status;
+	}
+
+	private void nonempty(int ry, int rx) {
+		if (grid[ry][rx].status == QuadTree.EMPTY) {
+			grid[ry][rx].status = 1;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Tiles of one squarefree factor of a polynomial curve, valid as long as the
+ * coefficients and the grid cell size don't change.
+ */
+class QuadTreeTileCache {
+	private double[][] factorCoeff;
+	private double[][] coeff;
+	private double cellWidth;
+	private double cellHeight;
+	private HashMap<Long, QuadTreeTile> tiles = new HashMap<>();
+	private HashMap<Long, QuadTreeTile> usedTiles = new HashMap<>();
+	/** depths chosen for the cached tiles, -1 if not decided yet */
+	int plotDepth = -1;
+	int segmentCheckDepth = -1;
+
+	/**
+	 * Drops all tiles unless they were computed for the same function and
+	 * cell size.
+	 *
+	 * @param newFactorCoeff
+	 *            coefficients of the factor, null for non-polynomial curves
+	 * @param newCoeff
+	 *            coefficients of the curve (for derivatives)
+	 * @param newCellWidth
+	 *            cell width
+	 * @param newCellHeight
+	 *            cell height
+	 */
+	void validate(double[][] newFactorCoeff, double[][] newCoeff,
+			double newCellWidth, double newCellHeight) {
+		if (newFactorCoeff != null && newCoeff != null
+				&& cellWidth == newCellWidth && cellHeight == newCellHeight
+				&& sameCoeffs(factorCoeff, newFactorCoeff)
+				&& sameCoeffs(coeff, newCoeff)) {
+			return;
+		}
+		clear();
+		factorCoeff = copy(newFactorCoeff);
+		coeff = copy(newCoeff);
+		cellWidth = newCellWidth;
+		cellHeight = newCellHeight;
+	}
+
+	/**
+	 * Drops all tiles.
+	 */
+	void clear() {
+		tiles.clear();
+		factorCoeff = null;
+		coeff = null;
+		plotDepth = -1;
+		segmentCheckDepth = -1;
+	}
+
+	/**
+	 * Collects tiles in row-major order, missing tiles are created. Tiles
+	 * not requested since the previous call are dropped.
+	 *
+	 * @param tree
+	 *            quadtree
+	 * @param curve
+	 *            curve
+	 * @param factor
+	 *            factor index
+	 * @param col0
+	 *            first column
+	 * @param col1
+	 *            last column
+	 * @param row0
+	 *            first row
+	 * @param row1
+	 *            last row
+	 * @param out
+	 *            output list
+	 */
+	void getTiles(QuadTree tree, GeoImplicitCurve curve, int factor,
+			int col0, int col1, int row0, int row1,
+			ArrayList<QuadTreeTile> out) {
+		out.clear();
+		usedTiles.clear();
+		for (int row = row0; row <= row1; row++) {
+			for (int col = col0; col <= col1; col++) {
+				Long key = key(col, row);
+				QuadTreeTile tile = tiles.get(key);
+				if (tile == null) {
+					tile = new QuadTreeTile(tree, curve, factor, col, row,
+							cellWidth, cellHeight);
+				}
+				usedTiles.put(key, tile);
+				out.add(tile);
+			}
+		}
+		HashMap<Long, QuadTreeTile> swap = tiles;
+		tiles = usedTiles;
+		usedTiles = swap;
+	}
+
+	private static Long key(int col, int row) {
+		return ((long) row << 32) | (col & 0xffffffffL);
+	}
+
+	/**
+	 * Passes the cells the curve leads into to the neighboring tiles.
+	 *
+	 * @param current
+	 *            tiles from last call of getTiles
+	 * @return whether some tiles have new cells to plot
+	 */
+	boolean propagate(ArrayList<QuadTreeTile> current) {
+		boolean ret = false;
+		for (QuadTreeTile tile : current) {
+			int col = tile.getCol();
+			int row = tile.getRow();
+			ret |= send(tile, QuadTreeTile.LEFT, col - 1, row);
+			ret |= send(tile, QuadTreeTile.RIGHT, col + 1, row);
+			ret |= send(tile, QuadTreeTile.TOP, col, row - 1);
+			ret |= send(tile, QuadTreeTile.BOTTOM, col, row + 1);
+		}
+		return ret;
+	}
+
+	private boolean send(QuadTreeTile tile, int side, int col, int row) {
+		int mask = tile.getOutgoing(side);
+		if (mask == 0) {
+			return false;
+		}
+		QuadTreeTile neighbor = tiles.get(key(col, row));
+		// LEFT <-> RIGHT, TOP <-> BOTTOM
+		return neighbor != null && neighbor.revive(side ^ 1, mask);
+	}
+
+	private static boolean sameCoeffs(double[][] a, double[][] b) {
+		if (a == null || a.length != b.length) {
+			return false;
+		}
+		for (int i = 0; i < a.length; i++) {
+			if (a[i].length != b[i].length) {
+				return false;
+			}
+			for (int j = 0; j < a[i].length; j++) {
+				if (Double.doubleToLongBits(a[i][j]) != Double
+						.doubleToLongBits(b[i][j])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static double[][] copy(double[][] src) {
+		if (src == null) {
+			return null;
+		}
+		double[][] ret = new double[src.length][];
+		for (int i = 0; i < src.length; i++) {
+			ret[i] = new double[src[i].length];
+			System.arraycopy(src[i], 0, ret[i], 0, src[i].length);
+		}
+		return ret;
+	}
+}
@@ -3,6 +3,7 @@ package org.geogebra.common.kernel.prover;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -23,6 +24,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
 import org.geogebra.common.kernel.prover.polynomial.PTerm;
 import org.geogebra.common.kernel.prover.polynomial.PVariable;
+import org.geogebra.common.util.ParallelTaskRunner;
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.Prover.NDGCondition;
 import org.geogebra.common.util.debug.Log;
@@ -35,7 +37,12 @@ import org.geogebra.common.util.debug.Log;
  */
 public class NDGDetector {
 
+	/** result of a detection that must not be stored in the lookup table */
+	private static final NDGCondition NO_BOTANA_VARS = new NDGCondition();
+
 	private HashMap<String, NDGCondition> lookupTable;
+	/** results of {@link #prepare}, not yet returned by {@link #detect} */
+	private HashMap<String, NDGCondition> prepared;
 	private Prover prover;
 	private HashMap<PVariable, BigInteger> substitutions;
 	private Set<PVariable> freeVariables;
@@ -56,6 +63,7 @@ public class NDGDetector {
 			HashMap<PVariable, BigInteger> substitutionsInput,
 			Set<PVariable> freeVariablesInput) {
 		lookupTable = new HashMap<>();
+		prepared = new HashMap<>();
 		this.prover = prover;
 		this.substitutions = substitutionsInput;
 		this.freeVariables = freeVariablesInput;
@@ -198,6 +206,90 @@ public class NDGDetector {
 			}
 		}
 
+		if (prepared.containsKey(keyString)) {
+			ndgc = prepared.remove(keyString);
+		} else {
+			ndgc = detectGeometric(p, statement);
+		}
+		if (ndgc == NO_BOTANA_VARS) {
+			return null;
+		}
+		lookupTable.put(keyString, ndgc);
+		return ndgc;
+	}
+
+	/**
+	 * Detects NDG conditions of several polynomials concurrently, so that
+	 * following calls of {@link #detect} return them without computation.
+	 * Conditions with quantities are not prepared.
+	 * 
+	 * @param polys
+	 *            polynomials
+	 * @param runner
+	 *            runner for the detections
+	 */
+	void prepare(Collection<PPolynomial> polys, ParallelTaskRunner runner) {
+		final GeoElement statement = prover.getStatement();
+		if (statement == null || statement
+				.getParentAlgorithm() instanceof AlgoDependentBoolean) {
+			return;
+		}
+		/*
+		 * Points create their Botana variables on first use, make sure this
+		 * does not happen in the worker threads.
+		 */
+		for (GeoElement geo : statement.getAllPredecessors()) {
+			if (geo.isGeoPoint()
+					&& geo instanceof SymbolicParametersBotanaAlgo) {
+				try {
+					((SymbolicParametersBotanaAlgo) geo).getBotanaVars(geo);
+				} catch (NoSymbolicParametersException e) {
+					return;
+				}
+			}
+		}
+		final ArrayList<String> keys = new ArrayList<>();
+		final ArrayList<PPolynomial> todo = new ArrayList<>();
+		for (PPolynomial p : polys) {
+			String keyString = p.substitute(substitutions).toString();
+			if (!lookupTable.containsKey(keyString)
+					&& !prepared.containsKey(keyString)
+					&& !keys.contains(keyString)) {
+				keys.add(keyString);
+				todo.add(p);
+			}
+		}
+		if (todo.size() < 2) {
+			return;
+		}
+		final NDGCondition[] results = new NDGCondition[todo.size()];
+		Runnable[] tasks = new Runnable[todo.size()];
+		for (int i = 0; i < tasks.length; i++) {
+			final int index = i;
+			tasks[i] = new Runnable() {
+				@Override
+				public void run() {
+					results[index] = detectGeometric(todo.get(index),
+							statement);
+				}
+			};
+		}
+		runner.runAll(tasks, tasks.length);
+		for (int i = 0; i < results.length; i++) {
+			prepared.put(keys.get(i), results[i]);
+		}
+	}
+
+	/**
+	 * Compares the polynomial with the polynomials of geometric conditions of
+	 * the free points. Does not change this detector, so it may run in worker
+	 * threads.
+	 * 
+	 * @return the NDG condition, null if none was found or NO_BOTANA_VARS
+	 */
+	private NDGCondition detectGeometric(PPolynomial p,
+			GeoElement statement) {
+		NDGCondition ndgc;
 		List<GeoElement> freePoints = ProverBotanasMethod
 				.getFreePoints(statement);
 		HashSet<GeoElement> freePointsSet = new HashSet<>(freePoints);
@@ -229,7 +321,7 @@ public class NDGDetector {
 
 			} catch (NoSymbolicParametersException e) {
 				Log.debug("Cannot get Botana vars during NDG detection");
-				return null;
+				return NO_BOTANA_VARS;
 			}
 			// Creating the polynomial for collinearity:
 			PPolynomial coll = PPolynomial
@@ -241,7 +333,6 @@ public class NDGDetector {
 				ndgc.setGeos(points);
 				Arrays.sort(ndgc.getGeos());
 				ndgc.setCondition("AreCollinear");
-				lookupTable.put(keyString, ndgc);
 				return ndgc;
 			}
 		}
@@ -269,7 +360,7 @@ public class NDGDetector {
 						.getBotanaVars(points[1]);
 			} catch (NoSymbolicParametersException e) {
 				Log.debug("Cannot get Botana vars during NDG detection");
-				return null;
+				return NO_BOTANA_VARS;
 			}
 
 			// Creating the polynomial for equality:
@@ -283,7 +374,6 @@ public class NDGDetector {
 				Arrays.sort(ndgc.getGeos());
 				ndgc.setCondition("AreEqual");
 				ndgc.setReadability(0.5);
-				lookupTable.put(keyString, ndgc);
 				return ndgc;
 			}
 		}
@@ -314,7 +404,7 @@ public class NDGDetector {
 					}
 				} catch (NoSymbolicParametersException e) {
 					Log.debug("Cannot get Botana vars during NDG detection");
-					return null;
+					return NO_BOTANA_VARS;
 				}
 			}
 		}
@@ -348,7 +438,6 @@ public class NDGDetector {
 				ndgc.setReadability(Double.POSITIVE_INFINITY); // we don't want
 																// this
 																// condition
-				lookupTable.put(keyString, ndgc);
 				return ndgc;
 			}
 		}
@@ -380,7 +469,6 @@ public class NDGDetector {
 				ndgc.setReadability(Double.POSITIVE_INFINITY); // we don't want
 																// this
 																// condition
-				lookupTable.put(keyString, ndgc);
 				return ndgc;
 			}
 		}
@@ -426,7 +514,7 @@ public class NDGDetector {
 							.getBotanaVars(points[1]);
 				} catch (NoSymbolicParametersException e) {
 					Log.debug("Cannot get Botana vars during NDG detection");
-					return null;
+					return NO_BOTANA_VARS;
 				}
 
 				// Creating the polynomial for perpendicularity:
@@ -441,7 +529,6 @@ public class NDGDetector {
 					ndgc.setGeos(points);
 					ndgc.setCondition("ArePerpendicular");
 					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
 					return ndgc;
 				}
 				// Creating the polynomial for parallelism:
@@ -456,7 +543,6 @@ public class NDGDetector {
 					ndgc.setGeos(points);
 					ndgc.setCondition("AreParallel");
 					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
 					return ndgc;
 				}
 				// Creating the polynomial for congruence:
@@ -471,7 +557,6 @@ public class NDGDetector {
 					ndgc.setGeos(points);
 					ndgc.setCondition("AreCongruent");
 					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
 					return ndgc;
 				}
 			}
@@ -479,8 +564,6 @@ public class NDGDetector {
 
 		// Unsuccessful run:
 		Log.debug("No human readable geometrical meaning found for " + p);
-		lookupTable.put(keyString, null);
-
 		return null;
 	}
 }
@@ -472,6 +472,25 @@ public class ProverBotanasMethod {
 			addGeoPolys(geoStatement, thesisFactors);
 		}
 
+		/**
+		 * @return the system after {@link #removeThesis()} and
+		 *         {@link #addNegatedThesis()}, without changing this statement
+		 */
+		PPolynomial[] getNegatedThesisSystem() {
+			if (thesisFactors == null) {
+				return null;
+			}
+			Set<PPolynomial> negated = new HashSet<>(polynomials);
+			PPolynomial[] thesis = geoPolys.get(geoStatement);
+			if (thesis != null) {
+				for (PPolynomial p : thesis) {
+					negated.remove(p);
+				}
+			}
+			Collections.addAll(negated, thesisFactors);
+			return negated.toArray(new PPolynomial[negated.size()]);
+		}
+
 		/**
 		 * Add a polynomial to the system manually.
 		 * 
@@ -971,7 +990,8 @@ public class ProverBotanasMethod {
 					statements = new PPolynomial[1][1];
 					if (geoStatement instanceof GeoBoolean) {
 						if (((GeoBoolean) geoStatement).getBoolean()) {
-							statements[0][0] = new PPolynomial(0);
+							// zero polynomial: the statement always holds
+							statements[0][0] = new PPolynomial();
 						} else {
 							statements[0][0] = new PPolynomial(BigInteger.ONE);
 						}
@@ -1162,7 +1182,7 @@ public class ProverBotanasMethod {
 						/* case giac result was empty */
 						else {
 							statements = new PPolynomial[1][1];
-							statements[0][0] = new PPolynomial(0);
+							statements[0][0] = new PPolynomial();
 						}
 					} catch (Throwable e) {
 						Log.debug(
@@ -1436,6 +1456,16 @@ public class ProverBotanasMethod {
 										 */
 				/* Pappus6 is at https://www.geogebra.org/m/TEQGgRKe */
 			}
+			boolean parallel = ProverPipeline.isEnabled(k);
+			if (parallel) {
+				ProverPipeline.eliminate(
+						new PPolynomial[][] {
+								as.getPolynomials().toArray(
+										new PPolynomial[as.getPolynomials()
+												.size()]),
+								as.getNegatedThesisSystem() },
+						substitutions, k, as.freeVariables);
+			}
 			while (!found && permutation < MAX_PERMUTATIONS) {
 
 				eliminationIdeal = PPolynomial.eliminate(
@@ -1447,6 +1477,9 @@ public class ProverBotanasMethod {
 				if (eliminationIdeal == null) {
 					return ProofResult.UNKNOWN;
 				}
+				if (parallel) {
+					ProverPipeline.detectNDGs(ndgd, eliminationIdeal);
+				}
 
 				Iterator<Set<PPolynomial>> ndgSet = eliminationIdeal.iterator();
 
@@ -1662,6 +1695,16 @@ public class ProverBotanasMethod {
 
 			/* START OF PROVE. */
 		} else {
+			if (ProverPipeline.isEnabled(k)) {
+				ProverPipeline.solvable(
+						new PPolynomial[][] {
+								as.getPolynomials().toArray(
+										new PPolynomial[as.getPolynomials()
+												.size()]),
+								as.getNegatedThesisSystem() },
+						substitutions, k, proverSettings.transcext,
+						as.freeVariables);
+			}
 			ExtendedBoolean solvable = PPolynomial.solvable(
 					as.getPolynomials()
 							.toArray(new PPolynomial[as.getPolynomials()
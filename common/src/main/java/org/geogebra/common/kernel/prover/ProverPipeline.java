@@ -0,0 +1,152 @@
+package org.geogebra.common.kernel.prover;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
+import org.geogebra.common.kernel.prover.polynomial.PVariable;
+import org.geogebra.common.main.ProverSettings;
+import org.geogebra.common.util.ParallelTaskRunner;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Parallel mode of Botana's prover. Before the prover decides on the result
+ * step by step, the independent subtasks it may need are computed
+ * concurrently: the eliminations or solvability checks of the statement and
+ * of the negated statement go to a pool of CAS instances, and the NDG
+ * candidates of an elimination ideal are detected in worker threads. The
+ * sequential logic then finds the results in the CAS cache and in the NDG
+ * detector.
+ *
+ * Only used with Giac, if enabled in the prover settings and if the platform
+ * has threads.
+ */
+final class ProverPipeline {
+
+	private static ParallelTaskRunner taskRunner;
+	private static boolean taskRunnerInitialized;
+
+	private ProverPipeline() {
+		// utility class
+	}
+
+	/**
+	 * @return runner for the subtasks, null if the platform has no threads
+	 */
+	static ParallelTaskRunner getTaskRunner() {
+		if (!taskRunnerInitialized && UtilFactory.getPrototype() != null) {
+			taskRunner = UtilFactory.getPrototype().newParallelTaskRunner();
+			taskRunnerInitialized = true;
+		}
+		return taskRunner;
+	}
+
+	/**
+	 * Just used for tests, where no util factory is set.
+	 *
+	 * @param runner
+	 *            runner for the subtasks, null to use the util factory
+	 */
+	static void setTaskRunner(ParallelTaskRunner runner) {
+		taskRunner = runner;
+		taskRunnerInitialized = runner != null;
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @return whether subtasks should be computed concurrently
+	 */
+	static boolean isEnabled(Kernel kernel) {
+		return ProverSettings.get().parallel
+				&& !kernel.getApplication().singularWSisAvailable()
+				&& getTaskRunner() != null;
+	}
+
+	/**
+	 * Computes the solvability of several equation systems concurrently.
+	 *
+	 * @param systems
+	 *            equation systems, null entries are skipped
+	 * @param substitutions
+	 *            fixed values for certain variables
+	 * @param kernel
+	 *            kernel
+	 * @param transcext
+	 *            use coefficients from transcendent extension if possible
+	 * @param freeVariables
+	 *            set of free variables
+	 */
+	static void solvable(PPolynomial[][] systems,
+			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+			boolean transcext, Set<PVariable> freeVariables) {
+		String[] programs = new String[systems.length];
+		for (int i = 0; i < systems.length; i++) {
+			if (systems[i] != null) {
+				programs[i] = PPolynomial.createSolvableProgram(systems[i],
+						substitutions, kernel, transcext, freeVariables);
+			}
+		}
+		evaluate(programs, kernel);
+	}
+
+	/**
+	 * Computes the factorized elimination ideals of several equation systems
+	 * concurrently.
+	 *
+	 * @param systems
+	 *            equation systems, null entries are skipped
+	 * @param substitutions
+	 *            fixed values for certain variables
+	 * @param kernel
+	 *            kernel
+	 * @param freeVariables
+	 *            set of free variables
+	 */
+	static void eliminate(PPolynomial[][] systems,
+			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+			Set<PVariable> freeVariables) {
+		String[] programs = new String[systems.length];
+		for (int i = 0; i < systems.length; i++) {
+			if (systems[i] != null) {
+				programs[i] = PPolynomial.createEliminateProgram(systems[i],
+						substitutions, kernel, true, false, freeVariables);
+			}
+		}
+		evaluate(programs, kernel);
+	}
+
+	private static void evaluate(String[] programs, Kernel kernel) {
+		long timeout = ProverSettings.get().proverTimeout * 1000L;
+		Log.debug("Computing " + programs.length
+				+ " prover subtasks concurrently");
+		PPolynomial.evaluateConcurrently(programs, kernel, getTaskRunner(),
+				timeout);
+	}
+
+	/**
+	 * Detects the NDG conditions of all candidates in the elimination ideal
+	 * concurrently.
+	 *
+	 * @param ndgd
+	 *            NDG detector
+	 * @param eliminationIdeal
+	 *            sets of NDG candidates
+	 */
+	static void detectNDGs(NDGDetector ndgd,
+			Set<Set<PPolynomial>> eliminationIdeal) {
+		ArrayList<PPolynomial> candidates = new ArrayList<>();
+		for (Set<PPolynomial> ndgSet : eliminationIdeal) {
+			for (PPolynomial poly : ndgSet) {
+				if (!poly.isZero() && !poly.isConstant()) {
+					candidates.add(poly);
+				}
+			}
+		}
+		ndgd.prepare(candidates, getTaskRunner());
+	}
+}
@@ -0,0 +1,136 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Prover program with its variables v1, v2, ... renumbered in order of their
+ * first occurrence. Variable ids are global in the application, so the same
+ * construction gets other ids e.g. after reloading it; the renumbered program
+ * stays the same and can be used as a cache key.
+ */
+final class CanonicalVariables {
+
+	private final String program;
+	/** original names, index i belongs to canonical name v(i+1) */
+	private final ArrayList<String> names = new ArrayList<>();
+	private final HashMap<String, String> canonicalNames = new HashMap<>();
+
+	/**
+	 * @param program
+	 *            prover program
+	 */
+	CanonicalVariables(String program) {
+		StringBuilder sb = new StringBuilder(program.length());
+		int i = 0;
+		while (i < program.length()) {
+			int end = variableEnd(program, i);
+			if (end < 0) {
+				sb.append(program.charAt(i));
+				i++;
+				continue;
+			}
+			String name = program.substring(i, end);
+			String canonical = canonicalNames.get(name);
+			if (canonical == null) {
+				names.add(name);
+				canonical = "v" + names.size();
+				canonicalNames.put(name, canonical);
+			}
+			sb.append(canonical);
+			i = end;
+		}
+		this.program = sb.toString();
+	}
+
+	/**
+	 * @return program with renumbered variables
+	 */
+	String getProgram() {
+		return program;
+	}
+
+	/**
+	 * @param result
+	 *            result of the original program
+	 * @return result in renumbered variables, null if it contains variables
+	 *         that don't occur in the program
+	 */
+	String toCanonical(String result) {
+		StringBuilder sb = new StringBuilder(result.length());
+		int i = 0;
+		while (i < result.length()) {
+			int end = variableEnd(result, i);
+			if (end < 0) {
+				sb.append(result.charAt(i));
+				i++;
+				continue;
+			}
+			String canonical = canonicalNames.get(result.substring(i, end));
+			if (canonical == null) {
+				return null;
+			}
+			sb.append(canonical);
+			i = end;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param result
+	 *            result of the renumbered program
+	 * @return result in the variables of the original program, null if it
+	 *         contains unknown variables
+	 */
+	String fromCanonical(String result) {
+		StringBuilder sb = new StringBuilder(result.length());
+		int i = 0;
+		while (i < result.length()) {
+			int end = variableEnd(result, i);
+			if (end < 0) {
+				sb.append(result.charAt(i));
+				i++;
+				continue;
+			}
+			if (end - i > 9) {
+				return null;
+			}
+			int index = Integer.parseInt(result.substring(i + 1, end)) - 1;
+			if (index < 0 || index >= names.size()) {
+				return null;
+			}
+			sb.append(names.get(index));
+			i = end;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return end of the variable name starting at given position, -1 if
+	 *         there is none
+	 */
+	private static int variableEnd(String str, int start) {
+		if (str.charAt(start) != 'v'
+				|| (start > 0 && isNameChar(str.charAt(start - 1)))) {
+			return -1;
+		}
+		int end = start + 1;
+		while (end < str.length() && isDigit(str.charAt(end))) {
+			end++;
+		}
+		if (end == start + 1
+				|| (end < str.length() && isNameChar(str.charAt(end)))) {
+			return -1;
+		}
+		return end;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isNameChar(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+				|| c == '_';
+	}
+}
@@ -1,21 +1,26 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.geogebra.common.cas.CasPool;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.cas.singularws.SingularWebService;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.main.SingularWSSettings;
 import org.geogebra.common.util.ExtendedBoolean;
+import org.geogebra.common.util.ParallelTaskRunner;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -26,13 +31,27 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
-	private TreeMap<PTerm, BigInteger> terms;
+	private static final PTerm[] NO_TERMS = new PTerm[0];
+	private static final long[] NO_COEFFICIENTS = new long[0];
+	private static final String GIAC = CasResultCache.PROVER + "giac:";
+	private static final String SINGULAR = CasResultCache.PROVER
+			+ "singular:";
+
+	/** terms in increasing order */
+	private final PTerm[] terms;
+	/** coefficients of the terms, unless given in bigCoefficients */
+	private final long[] coefficients;
+	/**
+	 * coefficients that do not fit into a long, null if there are none
+	 */
+	private final BigInteger[] bigCoefficients;
+	private int hash;
 
 	/**
 	 * Creates the 0 polynomial
 	 */
 	public PPolynomial() {
-		terms = new TreeMap<>();
+		this(NO_TERMS, NO_COEFFICIENTS, null);
 	}
 
 	/**
@@ -42,21 +61,60 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the polynomial to copy
 	 */
 	public PPolynomial(final PPolynomial poly) {
-		terms = new TreeMap<>(poly.getTerms());
+		this(poly.terms, poly.coefficients, poly.bigCoefficients);
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	private PPolynomial(final PTerm[] terms, final long[] coefficients,
+			final BigInteger[] bigCoefficients) {
 		this.terms = terms;
+		this.coefficients = coefficients;
+		this.bigCoefficients = bigCoefficients;
 	}
 
 	/**
 	 * Getter for the map which contains the terms and the according
 	 * coefficients.
 	 * 
-	 * @return the map
+	 * @return a new map of the terms and their coefficients
 	 */
 	public TreeMap<PTerm, BigInteger> getTerms() {
-		return terms;
+		TreeMap<PTerm, BigInteger> map = new TreeMap<>();
+		for (int i = 0; i < terms.length; i++) {
+			map.put(terms[i], getCoefficient(i));
+		}
+		return map;
+	}
+
+	/**
+	 * @return number of terms
+	 */
+	public int getTermCount() {
+		return terms.length;
+	}
+
+	/**
+	 * @param i
+	 *            index of the term, in increasing order
+	 * @return the term
+	 */
+	public PTerm getTerm(int i) {
+		return terms[i];
+	}
+
+	/**
+	 * @param i
+	 *            index of the term, in increasing order
+	 * @return coefficient of the term
+	 */
+	public BigInteger getCoefficient(int i) {
+		if (bigCoefficients != null && bigCoefficients[i] != null) {
+			return bigCoefficients[i];
+		}
+		return BigInteger.valueOf(coefficients[i]);
+	}
+
+	private boolean isSmall(int i) {
+		return bigCoefficients == null || bigCoefficients[i] == null;
 	}
 
 	/**
@@ -76,7 +134,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the constant
 	 */
 	public PPolynomial(final long coeff) {
-		this(new BigInteger(Long.toString(coeff)), new PTerm());
+		this(coeff == 0 ? NO_TERMS : new PTerm[] { new PTerm() },
+				coeff == 0 ? NO_COEFFICIENTS : new long[] { coeff }, null);
 	}
 	
 	/**
@@ -86,8 +145,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final PVariable fv) {
-		this();
-		terms.put(new PTerm(fv), BigInteger.ONE);
+		this(new PTerm(fv));
 	}
 
 	/**
@@ -99,9 +157,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable), coeff);
+		this(coeff, new PTerm(variable));
 	}
 
 	/**
@@ -116,9 +172,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable,
 			final int power) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable, power), coeff);
+		this(coeff, new PTerm(variable, power));
 	}
 
 	/**
@@ -128,8 +182,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final PTerm t) {
-		this();
-		terms.put(t, BigInteger.ONE);
+		this(new PTerm[] { t }, new long[] { 1 }, null);
 	}
 
 	/**
@@ -141,9 +194,12 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final BigInteger coeff, final PTerm t) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(t, coeff);
+		this(new Builder(1).append(t, coeff));
+	}
+
+	private PPolynomial(final Builder builder) {
+		this(builder.getTerms(), builder.getCoefficients(),
+				builder.getBigCoefficients());
 	}
 
 	/**
@@ -154,23 +210,32 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the sum
 	 */
 	public PPolynomial add(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>(terms);
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it = terms2.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			if (terms.containsKey(t)) {
-				BigInteger coefficient = terms.get(t).add(terms2.get(t));
-				if (coefficient == BigInteger.ZERO) {
-					result.remove(t);
-				} else {
-					result.put(t, terms.get(t).add(entry.getValue()));
-				}
+		if (poly.terms.length == 0) {
+			return this;
+		}
+		if (terms.length == 0) {
+			return poly;
+		}
+		PTerm[] terms2 = poly.terms;
+		Builder result = new Builder(terms.length + terms2.length);
+		int i = 0;
+		int j = 0;
+		while (i < terms.length && j < terms2.length) {
+			int compare = terms[i].compareTo(terms2[j]);
+			if (compare < 0) {
+				result.append(this, i++);
+			} else if (compare > 0) {
+				result.append(poly, j++);
 			} else {
-				result.put(t, entry.getValue());
+				result.appendSum(this, i++, poly, j++);
 			}
 		}
+		while (i < terms.length) {
+			result.append(this, i++);
+		}
+		while (j < terms2.length) {
+			result.append(poly, j++);
+		}
 		return new PPolynomial(result);
 	}
 
@@ -180,12 +245,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the negation of the polynomial
 	 */
 	public PPolynomial negate() {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			result.put(t, BigInteger.ZERO.subtract(entry.getValue()));
+		Builder result = new Builder(terms.length);
+		for (int i = 0; i < terms.length; i++) {
+			if (isSmall(i) && coefficients[i] != Long.MIN_VALUE) {
+				result.append(terms[i], -coefficients[i]);
+			} else {
+				result.append(terms[i], getCoefficient(i).negate());
+			}
 		}
 		return new PPolynomial(result);
 	}
@@ -209,126 +275,117 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the product
 	 */
 	public PPolynomial multiply(final PPolynomial poly) {
+		if (terms.length == 0 || poly.terms.length == 0) {
+			return new PPolynomial();
+		}
+		if (terms.length < poly.terms.length) {
+			return poly.multiply(this, 0, terms.length);
+		}
+		return multiply(poly, 0, poly.terms.length);
+	}
 
-		/*
-		if (AbstractApplication.singularWS != null && AbstractApplication.singularWS.isAvailable()) {
-			if (poly.toString().length()>100 && this.toString().length()>100) {
-				String singularMultiplicationProgram = getSingularMultiplication("rr", poly, this);
-				AbstractApplication.trace(singularMultiplicationProgram.length() + " bytes -> singular");
-				String singularMultiplication = AbstractApplication.singularWS.directCommand(singularMultiplicationProgram);
-				return new Polynomial(singularMultiplication);
-			}
+	/**
+	 * Multiplies this by the terms from..to-1 of poly, adding the partial
+	 * products pairwise so that each term is merged about log(to - from)
+	 * times.
+	 */
+	private PPolynomial multiply(final PPolynomial poly, int from, int to) {
+		if (to - from == 1) {
+			return multiply(poly, from);
 		}
-		*/
-		
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
-		while (it1.hasNext()) {
-			Entry<PTerm, BigInteger> entry1 = it1.next();
-			PTerm t1 = entry1.getKey();
-			Iterator<Entry<PTerm, BigInteger>> it2 = terms2.entrySet()
-					.iterator();
-			while (it2.hasNext()) {
-				Entry<PTerm, BigInteger> entry2 = it2.next();
-				PTerm t2 = entry2.getKey();
-				PTerm product = t1.times(t2);
-				BigInteger productCoefficient = entry1.getValue()
-						.multiply(entry2.getValue());
-				if (result.containsKey(product)) {
-					BigInteger sum = result.get(product).add(productCoefficient);
-					if (sum == BigInteger.ZERO) {
-						result.remove(product);
-					} else {
-						result.put(product, result.get(product).add(productCoefficient));
-					}
+		int middle = (from + to) >>> 1;
+		return multiply(poly, from, middle).add(multiply(poly, middle, to));
+	}
+
+	/**
+	 * Multiplies this by the i-th term of poly. The terms are ordered
+	 * lexicographically, which is compatible with multiplication, so the
+	 * products are still sorted.
+	 */
+	private PPolynomial multiply(final PPolynomial poly, int i) {
+		PTerm t = poly.terms[i];
+		Builder result = new Builder(terms.length);
+		if (poly.isSmall(i)) {
+			long c = poly.coefficients[i];
+			for (int j = 0; j < terms.length; j++) {
+				PTerm product = terms[j].times(t);
+				long c2 = coefficients[j];
+				if (isSmall(j) && c == (int) c && c2 == (int) c2) {
+					result.append(product, c * c2);
 				} else {
-					result.put(product, productCoefficient);
+					result.append(product,
+							getCoefficient(j).multiply(BigInteger.valueOf(c)));
 				}
 			}
-
+		} else {
+			BigInteger c = poly.bigCoefficients[i];
+			for (int j = 0; j < terms.length; j++) {
+				result.append(terms[j].times(t), getCoefficient(j).multiply(c));
+			}
 		}
 		return new PPolynomial(result);
 	}
 
 	@Override
 	public int compareTo(PPolynomial poly) {
-		if (this==poly){
+		if (this == poly) {
 			return 0;
 		}
-
-		TreeMap<PTerm, BigInteger> polyVars = poly.getTerms();
-		if (polyVars.isEmpty()) {
-			if (terms.isEmpty()) {
-				return 0;
+		PTerm[] terms2 = poly.terms;
+		int i = terms.length - 1;
+		int j = terms2.length - 1;
+		while (i >= 0 && j >= 0) {
+			int compare = terms[i].compareTo(terms2[j]);
+			if (compare == 0) {
+				compare = compareCoefficients(i, poly, j);
 			}
-			return 1;
-		}
-		if (terms.isEmpty()) {
-			return -1;
+			if (compare != 0) {
+				return compare;
+			}
+			i--;
+			j--;
 		}
-		
-		PTerm termsLastKey=terms.lastKey(),
-				polyVarsLastKey=polyVars.lastKey();
-
-		int compare = termsLastKey.compareTo(polyVarsLastKey);
-
-		if (compare == 0) {
-			compare = terms.get(termsLastKey).compareTo(polyVars.get(polyVarsLastKey));
+		if (i < 0) {
+			return j < 0 ? 0 : -1;
 		}
+		return 1;
+	}
 
-		if (compare != 0) {
-			return compare;
+	private int compareCoefficients(int i, PPolynomial poly, int j) {
+		if (isSmall(i) && poly.isSmall(j)) {
+			long c1 = coefficients[i];
+			long c2 = poly.coefficients[j];
+			return c1 < c2 ? -1 : (c1 == c2 ? 0 : 1);
 		}
-		
-		do {
-			SortedMap<PTerm, BigInteger> termsSub = terms.headMap(termsLastKey);
-			SortedMap<PTerm, BigInteger> oSub = polyVars.headMap(polyVarsLastKey);
-			if (termsSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			termsLastKey=termsSub.lastKey();
-			polyVarsLastKey=oSub.lastKey();
-			compare = termsLastKey.compareTo(polyVarsLastKey);
-			if (compare == 0) {
-				compare = termsSub.get(termsLastKey).compareTo(
-						oSub.get(polyVarsLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return getCoefficient(i).compareTo(poly.getCoefficient(j));
 	}
 
 	@Override
 	public String toString() {
-		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
+		if (terms.length == 0) {
 			return "0";
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
-				if (c != BigInteger.ONE)
-					sb.append(c + "*");
-				sb.append(t);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < terms.length; i++) {
+			PTerm t = terms[i];
+			String c = isSmall(i) ? Long.toString(coefficients[i])
+					: bigCoefficients[i].toString();
+			if (i > 0 && c.charAt(0) != '-') {
+				sb.append('+');
 			}
-			else
+			if (t.isOne()) {
 				sb.append(c);
-			sb.append('+');
+			} else {
+				if ("-1".equals(c)) {
+					sb.append('-');
+				} else if (!"1".equals(c)) {
+					sb.append(c);
+					sb.append('*');
+				}
+				t.appendTo(sb);
+			}
 		}
-		String ret = sb.substring(0, sb.length() - 1); // removing closing "+"
-		ret = ret.replaceAll("\\+-", "-").replaceAll("-1\\*", "-")
-				.replaceAll("\\+1\\*", "+").replaceAll("^1\\*", "");
-		return ret;
+		return sb.toString();
 	}
 
 	/**
@@ -337,15 +394,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public String toTeX() {
 		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
+		if (terms.length == 0) {
 			return "0";
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
+		for (int i = 0; i < terms.length; i++) {
+			PTerm t = terms[i];
+			BigInteger c = getCoefficient(i);
+			if (!t.isOne()) {
 				if (!c.equals(BigInteger.ONE)) {
 					// c != -1
 					if (!(c.add(BigInteger.ONE)).equals(BigInteger.ZERO)) {
@@ -380,10 +435,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public HashSet<PVariable> getVars() {
 		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PTerm> it = terms.keySet().iterator();
-		while (it.hasNext()) {
-			PTerm t = it.next();
-			v.addAll(t.getVars());
+		for (PTerm t : terms) {
+			t.addVarsTo(v);
 		}
 		return v;
 	}
@@ -696,51 +749,18 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		
 		if (substitutions == null)
 			return this;
-			
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(t1.getTerm());
-			BigInteger product = BigInteger.ONE;
-			Iterator<Entry<PVariable, BigInteger>> itSubst = substitutions
-					.entrySet()
-					.iterator();
-			while (itSubst.hasNext()) {
-				Entry<PVariable, BigInteger> entrySubst = itSubst.next();
-				PVariable variable = entrySubst.getKey();
-				Integer exponent = term.get(variable);
-				if (exponent != null) {
-					product = product
-							.multiply(entrySubst.getValue().pow(exponent));
-					term.remove(variable);
-				}
-			}
-			product = product.multiply(entry.getValue());
-			PTerm t = new PTerm(term);
-			if (result.containsKey(t)) {
-				BigInteger sum = result.get(t).add(product);
-//				if (sum.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				if (sum.longValue() == 0) {
-					result.remove(t);
-				} else {
-					result.put(t, sum);
-				}
-			} else if (product.intValue() != 0){
-//				if (product.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				result.put(t, product);
-			}
+		PTerm[] substituted = new PTerm[terms.length];
+		BigInteger[] products = new BigInteger[terms.length];
+		BigInteger[] product = new BigInteger[1];
+		for (int i = 0; i < terms.length; i++) {
+			product[0] = getCoefficient(i);
+			substituted[i] = terms[i].substitute(substitutions, product);
+			products[i] = product[0];
 		}
-		return new PPolynomial(result);
+		return sum(substituted, products);
 	}
+
 	/**
 	 * Substitutes a variable in the polynomial by another variable.
 	 * 
@@ -752,28 +772,40 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return a new polynomial with the variable substituted.
 	 */
 	public PPolynomial substitute(PVariable oldVar, PVariable newVar) {
+		PTerm[] substituted = new PTerm[terms.length];
+		BigInteger[] coeffs = new BigInteger[terms.length];
+		for (int i = 0; i < terms.length; i++) {
+			substituted[i] = terms[i].substitute(oldVar, newVar);
+			coeffs[i] = getCoefficient(i);
+		}
+		return sum(substituted, coeffs);
+	}
 
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(
-					t1.getTerm());
-			Integer oldExponent = term.get(oldVar);
-			if (oldExponent != null) {
-				Integer newExponent = term.get(newVar);
-				if (newExponent == null) {
-					newExponent = 0;
-				} else {
-					term.remove(newVar);
-				}
-				term.remove(oldVar);
-				term.put(newVar, oldExponent + newExponent);
+	/**
+	 * @return sum of coeffs[i]*terms[i], where the terms may be unsorted and
+	 *         contain duplicates
+	 */
+	private static PPolynomial sum(final PTerm[] terms,
+			BigInteger[] coeffs) {
+		Integer[] order = new Integer[terms.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return terms[i].compareTo(terms[j]);
+			}
+		});
+		Builder result = new Builder(terms.length);
+		int i = 0;
+		while (i < order.length) {
+			PTerm t = terms[order[i]];
+			BigInteger sum = coeffs[order[i++]];
+			while (i < order.length && terms[order[i]].equals(t)) {
+				sum = sum.add(coeffs[order[i++]]);
 			}
-			BigInteger coeff = entry.getValue();
-			PTerm t = new PTerm(term);
-			result.put(t, coeff);
+			result.append(t, sum);
 		}
 		return new PPolynomial(result);
 	}
@@ -789,7 +821,17 @@ public class PPolynomial implements Comparable<PPolynomial> {
 
 	@Override
 	public int hashCode() {
-		return terms.hashCode();
+		if (hash == 0) {
+			int h = 1;
+			for (int i = 0; i < terms.length; i++) {
+				h = 31 * h + terms[i].hashCode();
+				h = 31 * h + (isSmall(i)
+						? (int) (coefficients[i] ^ (coefficients[i] >>> 32))
+						: bigCoefficients[i].hashCode());
+			}
+			hash = h;
+		}
+		return hash;
 	}
 
 	/**
@@ -797,7 +839,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return true if the polynomial is zero false otherwise
 	 */
 	public boolean isZero() {
-		return terms.isEmpty();
+		return terms.length == 0;
 	}
 	
 	/**
@@ -805,23 +847,17 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return if input is a constant
 	 */
 	public boolean isConstant() {
-		if (terms.size() > 1) {
-			return false;
-		}
-		if (terms.firstKey().equals(new PTerm())) {
-			return true;
-		}
-		return false;
-		}
+		return terms.length == 0 || (terms.length == 1 && terms[0].isOne());
+	}
 	
 	/**
 	 * @return Integer value of Polynomial if it is constant
 	 */
 	public BigInteger getConstant() {
-		if (terms.size() > 1) {
+		if (terms.length > 1) {
 			return null;
 		}
-		return terms.firstEntry().getValue();
+		return terms.length == 0 ? BigInteger.ZERO : getCoefficient(0);
 	}
 
 	/**
@@ -1052,29 +1088,31 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
 			boolean transcext, Set<PVariable> freeVariables) {
 		
-		HashSet<PVariable> substVars = null;
-		String polysAsCommaSeparatedString = getPolysAsCommaSeparatedString(polys);
-		substVars = new HashSet<>(substitutions.keySet());
-
-		String freeVars = getVarsAsCommaSeparatedString(polys, substVars, true,
-				freeVariables);
-		String dependantVars = getVarsAsCommaSeparatedString(polys, substVars,
-				false, freeVariables);
 		String solvableResult, solvableProgram;
 		
 		SingularWebService singularWS = kernel.getApplication().getSingularWS();
 
 		if (singularWS != null && singularWS.isAvailable()) {
-			
-			solvableProgram = createGroebnerSolvableScript(substitutions, polysAsCommaSeparatedString, 
-					freeVars, dependantVars, transcext);
+			String[] strings = getSolvableStrings(polys, substitutions,
+					freeVariables);
+			solvableProgram = createGroebnerSolvableScript(substitutions,
+					strings[0], strings[1], strings[2], transcext);
  		
 			if (solvableProgram.length() > SingularWSSettings.debugMaxProgramSize)
 				Log.trace(solvableProgram.length() + " bytes -> singular");
 			else
 				Log.trace(solvableProgram + " -> singular");
 			try {
-				solvableResult = singularWS.directCommand(solvableProgram);
+				CanonicalVariables canonical = new CanonicalVariables(
+						solvableProgram);
+				solvableResult = getCachedResult(kernel, SINGULAR, canonical);
+				if (solvableResult == null) {
+					double start = UtilFactory.getPrototype()
+							.getMillisecondTime();
+					solvableResult = singularWS.directCommand(solvableProgram);
+					cacheResult(kernel, SINGULAR, canonical, solvableResult,
+							start);
+				}
 				if (solvableResult.length() > SingularWSSettings.debugMaxProgramSize)
 					Log.trace("singular -> " + solvableResult.length()
 							+ " bytes");
@@ -1096,13 +1134,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		// If SingularWS is not applicable, then we try to use the internal CAS:
 		GeoGebraCAS cas = (GeoGebraCAS) kernel.getGeoGebraCAS();
 		
-		solvableProgram = cas.getCurrentCAS().createGroebnerSolvableScript(substitutions, polysAsCommaSeparatedString,
-				freeVars, dependantVars, transcext);
+		solvableProgram = createSolvableProgram(polys, substitutions, kernel,
+				transcext, freeVariables);
 		if (solvableProgram == null) {
 			Log.info("Not implemented (yet)");
 			return ExtendedBoolean.UNKNOWN; // cannot decide
 		}
-		solvableResult = cas.evaluate(solvableProgram);
+		solvableResult = evaluateCached(cas, kernel, solvableProgram);
 		if ("0".equals(solvableResult) || "false".equals(solvableResult)) {
 			return ExtendedBoolean.FALSE; // no solution
 		}
@@ -1111,7 +1149,153 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		}
 		return ExtendedBoolean.UNKNOWN; // cannot decide
 	}
+
+	/**
+	 * Creates the program that {@link #solvable} evaluates in the internal
+	 * CAS.
+	 * 
+	 * @param polys
+	 *            the array of polynomials
+	 * @param substitutions
+	 *            some variables which are to be evaluated with exact numbers
+	 * @param kernel
+	 *            kernel for the prover
+	 * @param transcext
+	 *            use coefficients from transcendent extension if possible
+	 * @param freeVariables
+	 *            set of free variables
+	 * @return program or null if the CAS does not support it
+	 */
+	public static String createSolvableProgram(PPolynomial[] polys,
+			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+			boolean transcext, Set<PVariable> freeVariables) {
+		String[] strings = getSolvableStrings(polys, substitutions,
+				freeVariables);
+		return kernel.getGeoGebraCAS().getCurrentCAS()
+				.createGroebnerSolvableScript(substitutions, strings[0],
+						strings[1], strings[2], transcext);
+	}
+
+	/**
+	 * @return polynomials, free variables and dependent variables as comma
+	 *         separated strings
+	 */
+	private static String[] getSolvableStrings(PPolynomial[] polys,
+			HashMap<PVariable, BigInteger> substitutions,
+			Set<PVariable> freeVariables) {
+		// sorted, so that the same system always gives the same program
+		PPolynomial[] sortedPolys = Arrays.copyOf(polys, polys.length);
+		Arrays.sort(sortedPolys);
+		HashSet<PVariable> substVars = new HashSet<>(substitutions.keySet());
+		return new String[] { getPolysAsCommaSeparatedString(sortedPolys),
+				getVarsAsCommaSeparatedString(sortedPolys, substVars, true,
+						freeVariables),
+				getVarsAsCommaSeparatedString(sortedPolys, substVars, false,
+						freeVariables) };
+	}
+
+	/**
+	 * Evaluates prover programs of independent subtasks concurrently, each in
+	 * its own CAS instance, and stores the results in the kernel's CAS cache.
+	 * Subsequent calls of {@link #solvable} or {@link #eliminate} for the same
+	 * systems take the results from there.
+	 * 
+	 * @param programs
+	 *            programs from {@link #createSolvableProgram} or
+	 *            {@link #createEliminateProgram}, null entries are skipped
+	 * @param kernel
+	 *            kernel
+	 * @param runner
+	 *            runner for the subtasks
+	 * @param timeoutMillis
+	 *            timeout for each program
+	 */
+	public static void evaluateConcurrently(String[] programs,
+			final Kernel kernel, ParallelTaskRunner runner,
+			final long timeoutMillis) {
+		final CasPool pool = ((GeoGebraCAS) kernel.getGeoGebraCAS())
+				.getCasPool();
+		Runnable[] tasks = new Runnable[programs.length];
+		HashSet<String> keys = new HashSet<>();
+		int size = 0;
+		for (final String program : programs) {
+			if (program == null) {
+				continue;
+			}
+			final CanonicalVariables canonical = new CanonicalVariables(
+					program);
+			if (!keys.add(canonical.getProgram())
+					|| getCachedResult(kernel, GIAC, canonical) != null) {
+				continue;
+			}
+			tasks[size++] = new Runnable() {
+				@Override
+				public void run() {
+					double start = UtilFactory.getPrototype()
+							.getMillisecondTime();
+					String result = pool.evaluate(program, timeoutMillis);
+					cacheResult(kernel, GIAC, canonical, result, start);
+				}
+			};
+		}
+		if (size > 0) {
+			runner.runAll(tasks, size);
+		}
+	}
 	
+	/**
+	 * Evaluates a prover program in the internal CAS, or takes the result
+	 * from the kernel's CAS cache if the same system was computed before.
+	 * 
+	 * @param cas
+	 *            CAS
+	 * @param kernel
+	 *            kernel
+	 * @param program
+	 *            CAS program
+	 * @return result of the program
+	 */
+	private static String evaluateCached(GeoGebraCAS cas, Kernel kernel,
+			String program) {
+		CanonicalVariables canonical = new CanonicalVariables(program);
+		String result = getCachedResult(kernel, GIAC, canonical);
+		if (result == null) {
+			double start = UtilFactory.getPrototype().getMillisecondTime();
+			result = cas.evaluate(program);
+			cacheResult(kernel, GIAC, canonical, result, start);
+		}
+		return result;
+	}
+
+	/**
+	 * Cache keys and values use renumbered variables, so that results can be
+	 * reused after the variables got other ids.
+	 */
+	private static String getCachedResult(Kernel kernel, String prefix,
+			CanonicalVariables program) {
+		String result = kernel.getCasCache()
+				.get(prefix + program.getProgram());
+		return result == null ? null : program.fromCanonical(result);
+	}
+
+	/**
+	 * Stores the result unless it shows that the computation failed or timed
+	 * out, so that it is tried again next time.
+	 */
+	private static void cacheResult(Kernel kernel, String prefix,
+			CanonicalVariables program, String result, double start) {
+		if (result == null || "".equals(result) || "?".equals(result)
+				|| result.contains("halt")) {
+			return;
+		}
+		String canonicalResult = program.toCanonical(result);
+		if (canonicalResult != null) {
+			kernel.getCasCache().put(prefix + program.getProgram(),
+					canonicalResult,
+					UtilFactory.getPrototype().getMillisecondTime() - start);
+		}
+	}
+
 	/** Returns the square of the input polynomial
 	 * @param p input polynomial
 	 * @return the square (p*p)
@@ -1194,16 +1378,10 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		 * Maybe the freeVariables will be the same as the freeVariablesInput.
 		 * If this is always so, then the above code is redundant. TODO: check.
 		 */
-		PPolynomial[] eqSystemSubstituted;
+		PPolynomial[] eqSystemSubstituted = substituteSorted(eqSystem,
+				substitutions);
 		if (substitutions != null) {
-			eqSystemSubstituted = new PPolynomial[eqSystem.length];
-			for (int i = 0; i < eqSystem.length; i++) {
-				eqSystemSubstituted[i] = eqSystem[i]
-						.substitute(substitutions);
-			}
 			variables.removeAll(substitutions.keySet());
-		} else {
-			eqSystemSubstituted = eqSystem;
 		}
 		
 		String elimResult, elimProgram;
@@ -1273,7 +1451,15 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			else
 				Log.trace(elimProgram + " -> singular");
 			try {
-				elimResult = singularWS.directCommand(elimProgram);
+				CanonicalVariables canonical = new CanonicalVariables(
+						elimProgram);
+				elimResult = getCachedResult(kernel, SINGULAR, canonical);
+				if (elimResult == null) {
+					double start = UtilFactory.getPrototype()
+							.getMillisecondTime();
+					elimResult = singularWS.directCommand(elimProgram);
+					cacheResult(kernel, SINGULAR, canonical, elimResult, start);
+				}
 				if (elimResult == null) {
 					return null;
 				}
@@ -1291,30 +1477,15 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			// we try to use the internal CAS:
 			GeoGebraCAS cas = (GeoGebraCAS) kernel.getGeoGebraCAS();
 			
-			String polys = getPolysAsCommaSeparatedString(eqSystemSubstituted);
-			String elimVars = getVarsAsCommaSeparatedString(eqSystemSubstituted,
-					null, false, freeVariablesInput);
-			String freeVars = getVarsAsCommaSeparatedString(eqSystemSubstituted,
-					null, true, freeVariablesInput);
-			Log.trace("gbt polys = " + polys);
-			Log.trace("gbt vars = " + elimVars + "," + freeVars);
-			// Consider uncomment this if Giac cannot find a readable NDG:
-			// elimVars = dependentVariables.toString().replaceAll(" ", "");
-			// elimVars = elimVars.substring(1, elimVars.length()-1);
-
-			if (factorized) {
-				elimProgram = cas.getCurrentCAS()
-						.createEliminateFactorizedScript(polys, elimVars);
-			} else {
-				elimProgram = cas.getCurrentCAS().createEliminateScript(polys,
-						elimVars, oneCurve, kernel.precision());
-			}
+			elimProgram = createGiacEliminateProgram(eqSystemSubstituted,
+					kernel, factorized, oneCurve, freeVariablesInput);
 			if (elimProgram == null) {
 				Log.info("Not implemented (yet)");
 				return null; // cannot decide
 			}
 
-			elimResult = cas.evaluate(elimProgram).replace("unicode95u", "_")
+			elimResult = evaluateCached(cas, kernel, elimProgram)
+					.replace("unicode95u", "_")
 					.replace("unicode91u", "[");
 
 			if (!factorized) {
@@ -1364,4 +1535,155 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		return null; // cannot decide
 	}
 
+	/**
+	 * Creates the program that {@link #eliminate} evaluates in the internal
+	 * CAS.
+	 * 
+	 * @param eqSystem
+	 *            the equation system
+	 * @param substitutions
+	 *            fixed values for certain variables
+	 * @param kernel
+	 *            GeoGebra kernel
+	 * @param factorized
+	 *            compute output ideal in factorized form
+	 * @param oneCurve
+	 *            prefer getting one algebraic curve than an ideal with more
+	 *            elements
+	 * @param freeVariablesInput
+	 *            input set of free variables
+	 * @return program or null if the CAS does not support it
+	 */
+	public static String createEliminateProgram(PPolynomial[] eqSystem,
+			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+			boolean factorized, boolean oneCurve,
+			Set<PVariable> freeVariablesInput) {
+		return createGiacEliminateProgram(
+				substituteSorted(eqSystem, substitutions), kernel, factorized,
+				oneCurve, freeVariablesInput);
+	}
+
+	private static String createGiacEliminateProgram(
+			PPolynomial[] eqSystemSubstituted, Kernel kernel,
+			boolean factorized, boolean oneCurve,
+			Set<PVariable> freeVariablesInput) {
+		String polys = getPolysAsCommaSeparatedString(eqSystemSubstituted);
+		String elimVars = getVarsAsCommaSeparatedString(eqSystemSubstituted,
+				null, false, freeVariablesInput);
+		String freeVars = getVarsAsCommaSeparatedString(eqSystemSubstituted,
+				null, true, freeVariablesInput);
+		Log.trace("gbt polys = " + polys);
+		Log.trace("gbt vars = " + elimVars + "," + freeVars);
+		// Consider uncomment this if Giac cannot find a readable NDG:
+		// elimVars = dependentVariables.toString().replaceAll(" ", "");
+		// elimVars = elimVars.substring(1, elimVars.length()-1);
+
+		if (factorized) {
+			return kernel.getGeoGebraCAS().getCurrentCAS()
+					.createEliminateFactorizedScript(polys, elimVars);
+		}
+		return kernel.getGeoGebraCAS().getCurrentCAS().createEliminateScript(
+				polys, elimVars, oneCurve, kernel.precision());
+	}
+
+	/**
+	 * @return polynomials with substituted values, sorted so that the same
+	 *         system always gives the same program
+	 */
+	private static PPolynomial[] substituteSorted(PPolynomial[] eqSystem,
+			HashMap<PVariable, BigInteger> substitutions) {
+		PPolynomial[] eqSystemSubstituted;
+		if (substitutions != null) {
+			eqSystemSubstituted = new PPolynomial[eqSystem.length];
+			for (int i = 0; i < eqSystem.length; i++) {
+				eqSystemSubstituted[i] = eqSystem[i]
+						.substitute(substitutions);
+			}
+		} else {
+			eqSystemSubstituted = Arrays.copyOf(eqSystem, eqSystem.length);
+		}
+		Arrays.sort(eqSystemSubstituted);
+		return eqSystemSubstituted;
+	}
+
+	/**
+	 * Collects the terms of a polynomial in increasing order, skipping zero
+	 * coefficients. Coefficients are kept as long while they fit.
+	 */
+	private static final class Builder {
+		private final PTerm[] terms;
+		private final long[] coefficients;
+		private BigInteger[] bigCoefficients;
+		private int size;
+
+		Builder(int capacity) {
+			terms = new PTerm[capacity];
+			coefficients = new long[capacity];
+		}
+
+		Builder append(PTerm t, long c) {
+			if (c != 0) {
+				terms[size] = t;
+				coefficients[size++] = c;
+			}
+			return this;
+		}
+
+		Builder append(PTerm t, BigInteger c) {
+			if (c.bitLength() < 64) {
+				return append(t, c.longValue());
+			}
+			if (bigCoefficients == null) {
+				bigCoefficients = new BigInteger[terms.length];
+			}
+			terms[size] = t;
+			bigCoefficients[size++] = c;
+			return this;
+		}
+
+		void append(PPolynomial poly, int i) {
+			if (poly.isSmall(i)) {
+				append(poly.terms[i], poly.coefficients[i]);
+			} else {
+				append(poly.terms[i], poly.bigCoefficients[i]);
+			}
+		}
+
+		void appendSum(PPolynomial poly1, int i, PPolynomial poly2, int j) {
+			if (poly1.isSmall(i) && poly2.isSmall(j)) {
+				long c1 = poly1.coefficients[i];
+				long c2 = poly2.coefficients[j];
+				long sum = c1 + c2;
+				// no overflow
+				if (((c1 ^ sum) & (c2 ^ sum)) >= 0) {
+					append(poly1.terms[i], sum);
+					return;
+				}
+			}
+			append(poly1.terms[i],
+					poly1.getCoefficient(i).add(poly2.getCoefficient(j)));
+		}
+
+		PTerm[] getTerms() {
+			if (size == 0) {
+				return NO_TERMS;
+			}
+			return size == terms.length ? terms : Arrays.copyOf(terms, size);
+		}
+
+		long[] getCoefficients() {
+			if (size == 0) {
+				return NO_COEFFICIENTS;
+			}
+			return size == coefficients.length ? coefficients
+					: Arrays.copyOf(coefficients, size);
+		}
+
+		BigInteger[] getBigCoefficients() {
+			if (bigCoefficients == null || size == bigCoefficients.length) {
+				return bigCoefficients;
+			}
+			return Arrays.copyOf(bigCoefficients, size);
+		}
+	}
 }
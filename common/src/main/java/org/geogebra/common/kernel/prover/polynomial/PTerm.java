@@ -1,25 +1,33 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
+import java.math.BigInteger;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map.Entry;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
 
 /**
  * A simple class for terms which are a products of potences of variables.
  * 
+ * Terms are immutable. The powers are stored in a sparse exponent vector:
+ * each entry packs the id of a variable (upper 32 bits) and its exponent
+ * (lower 32 bits), sorted in the order of the variables.
+ * 
  * @author Simon Weitzhofer
  * 
  */
 public class PTerm implements Comparable<PTerm> {
-	private TreeMap<PVariable, Integer> variables;
+	private static final PVariable[] NO_VARIABLES = new PVariable[0];
+	private static final long[] NO_POWERS = new long[0];
+
+	private final PVariable[] variables;
+	private final long[] powers;
+	private final int hash;
 
 	/**
 	 * creates the 1 term
 	 */
 	public PTerm() {
-		variables = new TreeMap<>();
+		this(NO_VARIABLES, NO_POWERS);
 	}
 
 	/**
@@ -29,7 +37,7 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the term to copy
 	 */
 	public PTerm(final PTerm t) {
-		variables = new TreeMap<>(t.getTerm());
+		this(t.variables, t.powers);
 	}
 
 	/**
@@ -40,7 +48,8 @@ public class PTerm implements Comparable<PTerm> {
 	 *            The map
 	 */
 	PTerm(final TreeMap<PVariable, Integer> variables) {
-		this.variables = variables;
+		this(variables.keySet().toArray(new PVariable[variables.size()]),
+				pack(variables));
 	}
 
 	/**
@@ -50,8 +59,7 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the variable
 	 */
 	public PTerm(final PVariable variable) {
-		variables = new TreeMap<>();
-		variables.put(variable, 1);
+		this(variable, 1);
 	}
 
 	/**
@@ -63,8 +71,49 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the exponent
 	 */
 	public PTerm(final PVariable variable, final int exponent) {
-		variables = new TreeMap<>();
-		variables.put(variable, exponent);
+		this(new PVariable[] { variable },
+				new long[] { pack(variable, exponent) });
+	}
+
+	private PTerm(final PVariable[] variables, final long[] powers) {
+		this.variables = variables;
+		this.powers = powers;
+		int h = 1;
+		for (long power : powers) {
+			h = 31 * h + (int) (power ^ (power >>> 32));
+		}
+		hash = h;
+	}
+
+	private static long pack(PVariable variable, int exponent) {
+		return ((long) variable.getId() << 32) | (exponent & 0xFFFFFFFFL);
+	}
+
+	private static long[] pack(TreeMap<PVariable, Integer> variables) {
+		long[] powers = new long[variables.size()];
+		int i = 0;
+		for (Map.Entry<PVariable, Integer> entry : variables.entrySet()) {
+			powers[i++] = pack(entry.getKey(), entry.getValue());
+		}
+		return powers;
+	}
+
+	private static int idOf(long power) {
+		return (int) (power >>> 32);
+	}
+
+	private static int exponentOf(long power) {
+		return (int) power;
+	}
+
+	/**
+	 * Compares variables by id in the order of {@link PVariable}, which is
+	 * the reverse order of the ids.
+	 */
+	private static int compareIds(long power1, long power2) {
+		int id1 = idOf(power1);
+		int id2 = idOf(power2);
+		return id1 < id2 ? 1 : (id1 > id2 ? -1 : 0);
 	}
 
 	/**
@@ -75,29 +124,171 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return the product
 	 */
 	public PTerm times(final PTerm term) {
-		TreeMap<PVariable, Integer> productTerm = new TreeMap<>(
-				variables);
-
-		TreeMap<PVariable, Integer> variables2 = term.getTerm();
-		Iterator<PVariable> it = term.getTerm().keySet().iterator();
-		while (it.hasNext()) {
-			PVariable vp = it.next();
-			if (variables.containsKey(vp)) {
-				productTerm.put(vp, variables.get(vp) + variables2.get(vp));
+		if (term.powers.length == 0) {
+			return this;
+		}
+		if (powers.length == 0) {
+			return term;
+		}
+		long[] powers2 = term.powers;
+		PVariable[] productVariables = new PVariable[powers.length
+				+ powers2.length];
+		long[] productPowers = new long[productVariables.length];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < powers.length && j < powers2.length) {
+			int compare = compareIds(powers[i], powers2[j]);
+			if (compare < 0) {
+				productVariables[k] = variables[i];
+				productPowers[k++] = powers[i++];
+			} else if (compare > 0) {
+				productVariables[k] = term.variables[j];
+				productPowers[k++] = powers2[j++];
 			} else {
-				productTerm.put(vp, variables2.get(vp));
+				productVariables[k] = variables[i];
+				// ids are equal, so this adds the exponents
+				productPowers[k++] = powers[i++] + exponentOf(powers2[j++]);
+			}
+		}
+		while (i < powers.length) {
+			productVariables[k] = variables[i];
+			productPowers[k++] = powers[i++];
+		}
+		while (j < powers2.length) {
+			productVariables[k] = term.variables[j];
+			productPowers[k++] = powers2[j++];
+		}
+		if (k < productPowers.length) {
+			PVariable[] trimmedVariables = new PVariable[k];
+			long[] trimmedPowers = new long[k];
+			System.arraycopy(productVariables, 0, trimmedVariables, 0, k);
+			System.arraycopy(productPowers, 0, trimmedPowers, 0, k);
+			return new PTerm(trimmedVariables, trimmedPowers);
+		}
+		return new PTerm(productVariables, productPowers);
+	}
+
+	/**
+	 * Removes the given variables and collects their values.
+	 * 
+	 * @param values
+	 *            values of the variables to remove
+	 * @param coefficient
+	 *            output: coefficient[0] is multiplied by the removed powers
+	 * @return the term without the given variables
+	 */
+	PTerm substitute(Map<PVariable, BigInteger> values,
+			BigInteger[] coefficient) {
+		int kept = 0;
+		PVariable[] keptVariables = null;
+		long[] keptPowers = null;
+		for (int i = 0; i < powers.length; i++) {
+			BigInteger value = values.get(variables[i]);
+			if (value == null) {
+				if (keptVariables != null) {
+					keptVariables[kept] = variables[i];
+					keptPowers[kept] = powers[i];
+				}
+				kept++;
+				continue;
+			}
+			if (keptVariables == null) {
+				keptVariables = new PVariable[powers.length - 1];
+				keptPowers = new long[powers.length - 1];
+				System.arraycopy(variables, 0, keptVariables, 0, kept);
+				System.arraycopy(powers, 0, keptPowers, 0, kept);
 			}
+			coefficient[0] = coefficient[0]
+					.multiply(value.pow(exponentOf(powers[i])));
+		}
+		if (keptVariables == null) {
+			return this;
 		}
-		return new PTerm(productTerm);
+		PVariable[] trimmedVariables = new PVariable[kept];
+		long[] trimmedPowers = new long[kept];
+		System.arraycopy(keptVariables, 0, trimmedVariables, 0, kept);
+		System.arraycopy(keptPowers, 0, trimmedPowers, 0, kept);
+		return new PTerm(trimmedVariables, trimmedPowers);
+	}
+
+	/**
+	 * Replaces a variable by another one.
+	 * 
+	 * @param oldVar
+	 *            old variable
+	 * @param newVar
+	 *            new variable
+	 * @return the term with the variable replaced
+	 */
+	PTerm substitute(PVariable oldVar, PVariable newVar) {
+		int exponent = getExponent(oldVar);
+		if (exponent == 0) {
+			return this;
+		}
+		TreeMap<PVariable, Integer> term = getTerm();
+		term.remove(oldVar);
+		term.put(newVar, exponent + getExponent(newVar));
+		return new PTerm(term);
 	}
 
 	/**
 	 * Getter for the map containing the variables and the exponent
 	 * 
-	 * @return the map
+	 * @return a new map of the variables and their exponents
 	 */
 	public TreeMap<PVariable, Integer> getTerm() {
-		return variables;
+		TreeMap<PVariable, Integer> map = new TreeMap<>();
+		for (int i = 0; i < powers.length; i++) {
+			map.put(variables[i], exponentOf(powers[i]));
+		}
+		return map;
+	}
+
+	/**
+	 * @return number of variables in this term
+	 */
+	public int getVariableCount() {
+		return powers.length;
+	}
+
+	/**
+	 * @param i
+	 *            index, in the order of the variables
+	 * @return i-th variable of this term
+	 */
+	public PVariable getVariable(int i) {
+		return variables[i];
+	}
+
+	/**
+	 * @param i
+	 *            index, in the order of the variables
+	 * @return exponent of the i-th variable
+	 */
+	public int getExponent(int i) {
+		return exponentOf(powers[i]);
+	}
+
+	/**
+	 * @param variable
+	 *            variable
+	 * @return exponent of the variable in this term, 0 if it does not occur
+	 */
+	public int getExponent(PVariable variable) {
+		for (int i = 0; i < powers.length; i++) {
+			if (idOf(powers[i]) == variable.getId()) {
+				return exponentOf(powers[i]);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return whether this is the 1 term
+	 */
+	public boolean isOne() {
+		return powers.length == 0;
 	}
 
 	/**
@@ -106,7 +297,7 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return the variable with the highest order
 	 */
 	public PVariable getHighestVariable() {
-		return variables.lastKey();
+		return variables[variables.length - 1];
 	}
 
 	@Override
@@ -114,83 +305,63 @@ public class PTerm implements Comparable<PTerm> {
 		if (this == o) {
 			return 0;
 		}
-
-		TreeMap<PVariable, Integer> t = o.getTerm();
-		if (t.isEmpty()) {
-			if (variables.isEmpty()) {
-				return 0;
+		long[] powers2 = o.powers;
+		int i = powers.length - 1;
+		int j = powers2.length - 1;
+		while (i >= 0 && j >= 0) {
+			int compare = compareIds(powers[i], powers2[j]);
+			if (compare == 0) {
+				compare = exponentOf(powers[i]) < exponentOf(powers2[j])
+						? -1
+						: (exponentOf(powers[i]) == exponentOf(powers2[j])
+								? 0 : 1);
 			}
-			return 1;
-		}
-		if (variables.isEmpty()) {
-			return -1;
-		}
-
-		PVariable variablesLastKey = variables.lastKey(), tLastKey = t.lastKey();
-
-		int compare = variablesLastKey.compareTo(tLastKey);
-
-		if (compare == 0) {
-			compare = variables.get(variablesLastKey)
-					.compareTo(t.get(tLastKey));
+			if (compare != 0) {
+				return compare;
+			}
+			i--;
+			j--;
 		}
-
-		if (compare != 0) {
-			return compare;
+		if (i < 0) {
+			return j < 0 ? 0 : -1;
 		}
-
-		do {
-			SortedMap<PVariable, Integer> variablesSub = variables
-					.headMap(variablesLastKey);
-			SortedMap<PVariable, Integer> oSub = t.headMap(tLastKey);
-			if (variablesSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			variablesLastKey = variablesSub.lastKey();
-			tLastKey = oSub.lastKey();
-			compare = variablesLastKey.compareTo(tLastKey);
-			if (compare == 0) {
-				compare = variablesSub.get(variablesLastKey)
-						.compareTo(oSub.get(tLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return 1;
 	}
 
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof PTerm) {
-			return this.compareTo((PTerm) o) == 0;
+			PTerm t = (PTerm) o;
+			return hash == t.hash && this.compareTo(t) == 0;
 		}
 		return super.equals(o);
 	}
 
 	@Override
 	public String toString() {
-		StringBuilder sb = new StringBuilder("");
-		Iterator<Entry<PVariable, Integer>> it = variables.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PVariable, Integer> entry = it.next();
-			PVariable fv = entry.getKey();
-			sb.append("*");
-			sb.append(fv);
-			int power = entry.getValue();
+		StringBuilder sb = new StringBuilder();
+		appendTo(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Appends the term to a string builder.
+	 * 
+	 * @param sb
+	 *            string builder
+	 */
+	void appendTo(StringBuilder sb) {
+		for (int i = 0; i < powers.length; i++) {
+			if (i > 0) {
+				sb.append('*');
+			}
+			sb.append(variables[i]);
+			int power = exponentOf(powers[i]);
 			if (power > 1) {
-				sb.append("^");
+				sb.append('^');
 				sb.append(power);
 			}
 		}
-		if (sb.length() > 0) {
-			return sb.substring(1); // removing first "*" character
-		}
-		return "";
 	}
 
 	/**
@@ -200,12 +371,9 @@ public class PTerm implements Comparable<PTerm> {
 	 */
 	public String toTeX() {
 		StringBuilder sb = new StringBuilder("");
-		Iterator<Entry<PVariable, Integer>> it = variables.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PVariable, Integer> entry = it.next();
-			PVariable fv = entry.getKey();
-			sb.append(fv.toTeX());
-			int power = entry.getValue();
+		for (int i = 0; i < powers.length; i++) {
+			sb.append(variables[i].toTeX());
+			int power = exponentOf(powers[i]);
 			if (power > 1) {
 				sb.append("^{" + power + "}");
 			}
@@ -220,21 +388,25 @@ public class PTerm implements Comparable<PTerm> {
 	 */
 	public HashSet<PVariable> getVars() {
 		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PVariable> it = variables.keySet().iterator();
-		while (it.hasNext()) {
-			PVariable fv = it.next();
-			v.add(fv);
-		}
+		addVarsTo(v);
 		return v;
 	}
 
+	/**
+	 * Adds the variables of this term to a set.
+	 * 
+	 * @param set
+	 *            set of variables
+	 */
+	void addVarsTo(HashSet<PVariable> set) {
+		for (PVariable variable : variables) {
+			set.add(variable);
+		}
+	}
+
 	@Override
 	public int hashCode() {
-		if (variables.isEmpty()) {
-			return 0;
-		}
-		return variables.firstKey().hashCode() >> variables.lastKey()
-				.hashCode();
+		return hash;
 	}
 
 	/**
@@ -247,13 +419,14 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return true if g divides f and false otherwise
 	 */
 	public static boolean divides(final PTerm f, final PTerm g) {
-		TreeMap<PVariable, Integer> termG = g.getTerm();
-		Iterator<Entry<PVariable, Integer>> itG = termG.entrySet().iterator();
-		while (itG.hasNext()) {
-			Entry<PVariable, Integer> entry = itG.next();
-			PVariable var = entry.getKey();
-			Integer powF = f.getTerm().get(var);
-			if (powF == null || powF.intValue() < entry.getValue().intValue()) {
+		long[] powersF = f.powers;
+		int i = 0;
+		for (long powerG : g.powers) {
+			while (i < powersF.length && compareIds(powersF[i], powerG) < 0) {
+				i++;
+			}
+			if (i == powersF.length || compareIds(powersF[i], powerG) != 0
+					|| exponentOf(powersF[i]) < exponentOf(powerG)) {
 				return false;
 			}
 		}
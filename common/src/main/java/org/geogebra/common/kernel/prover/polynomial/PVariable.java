@@ -1,7 +1,5 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
-import java.util.HashMap;
-
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.geos.GeoElement;
 
@@ -15,7 +13,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 public class PVariable implements Comparable<PVariable> {
 	// private int nextAvailableNumber = 0;
 	// private HashMap<String,Integer> nameToId;
-	private HashMap<Integer, PVariable> twins = new HashMap<>();
+	private PVariable twin;
 
 	private GeoElement parent;
 	// private final String name;
@@ -134,7 +132,7 @@ public class PVariable implements Comparable<PVariable> {
 	 * @return the Variable
 	 */
 	public PVariable getTwin() {
-		return twins.get(id);
+		return twin;
 	}
 
 	/**
@@ -144,7 +142,7 @@ public class PVariable implements Comparable<PVariable> {
 	 *            the Variable. Is null if there is no twin.
 	 */
 	public void setTwin(PVariable twin) {
-		twins.put(id, twin);
+		this.twin = twin;
 	}
 
 	/**
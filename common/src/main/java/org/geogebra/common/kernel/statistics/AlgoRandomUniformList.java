@@ -9,7 +9,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
-import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.ListColumns;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 
 /**
@@ -75,27 +75,6 @@ public class AlgoRandomUniformList extends AlgoElement
 		return list;
 	}
 
-	private void ensureListSize(int n) {
-
-		// TODO: is suppress labels needed here?
-		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
-		cons.setSuppressLabelCreation(true);
-
-		if (list.size() < n) {
-			for (int i = list.size(); i < n; i++) {
-				list.add(new GeoNumeric(cons));
-			}
-
-		} else if (list.size() > n) {
-			for (int i = n - 1; i < list.size(); i++) {
-				list.remove(i);
-			}
-		}
-
-		cons.setSuppressLabelCreation(oldSuppressLabels);
-
-	}
-
 	@Override
 	public void compute() {
 
@@ -108,24 +87,31 @@ public class AlgoRandomUniformList extends AlgoElement
 			return;
 		}
 
-		ensureListSize((int) length.getDouble());
-
-		for (int i = 0; i < list.size(); i++) {
-			((GeoNumeric) list.get(i)).setValue(cons.getApplication()
-					.randomUniform(a.getDouble(), b.getDouble()));
+		// numbers are kept in an array, GeoNumerics are created only when
+		// the elements are accessed
+		int n = (int) length.getDouble();
+		ListColumns values = new ListColumns(false, n);
+		for (int i = 0; i < n; i++) {
+			values.add(cons.getApplication().randomUniform(a.getDouble(),
+					b.getDouble()));
 		}
-
+		list.setDefined(true);
+		list.setColumns(values);
 	}
 
 	@Override
 	public boolean setRandomValue(GeoElementND d) {
-		if (d instanceof ListValue) {
+		ListColumns old = list.getColumns();
+		if (d instanceof ListValue && old != null) {
 			ListValue lv = (ListValue) d;
-			int size = Math.min(list.size(), lv.size());
-			for (int i = 0; i < size; i++) {
-				((GeoNumeric) list.get(i)).setValue(Math.max(a.getDouble(),
-						Math.min(lv.getListElement(i).evaluateDouble(), b.getDouble())));
+			ListColumns values = new ListColumns(false, old.size());
+			for (int i = 0; i < old.size(); i++) {
+				values.add(i < lv.size() ? Math.max(a.getDouble(),
+						Math.min(lv.getListElement(i).evaluateDouble(),
+								b.getDouble()))
+						: old.getValue(i));
 			}
+			list.setColumns(values);
 			return true;
 		}
 		return false;
@@ -14,12 +14,9 @@ package org.geogebra.common.kernel.statistics;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.kernel.matrix.Coords;
 
 /**
  * Mean, covariance, sum, sum of squares, etc from two lists or a list of points
@@ -146,117 +143,70 @@ public abstract class AlgoStats2D extends AlgoElement {
 
 	@Override
 	final public void compute() {
-		double sumx = 0;
-		double sumy = 0;
-		double sumxx = 0;
-		double sumxy = 0;
-		double sumyy = 0;
-		double valx, valy;
-		int sizex = geoListx.size();
-		int sizey = sizex;
+		StatisticsAccumulator stats;
 		if (mode == MODE_DOUBLELIST) {
-			sizey = geoListy.size();
+			int sizex = geoListx.size();
 			if (!geoListx.isDefined() || !geoListy.isDefined() || sizex == 0
-					|| sizex != sizey) {
+					|| sizex != geoListy.size()) {
 				result.setUndefined();
 				return;
 			}
-
-			for (int i = 0; i < sizex; i++) {
-				GeoElement geox = geoListx.get(i);
-				GeoElement geoy = geoListy.get(i);
-				if (geox instanceof NumberValue
-						&& geoy instanceof NumberValue) {
-					valx = geox.evaluateDouble();
-					valy = geoy.evaluateDouble();
-					sumx += valx;
-					sumy += valy;
-					sumxx += valx * valx;
-					sumyy += valy * valy;
-					sumxy += valx * valy;
-				} else {
-					result.setUndefined();
-					return;
-				}
-			}
+			stats = StatisticsAccumulator.getPairs(geoListx, geoListy);
 		} else { // MODE_LISTOFPOINTS
-			for (int i = 0; i < sizex; i++) {
-				GeoElement geo = geoListx.get(i);
-				if (geo.isGeoPoint()) {
-					Coords coords = ((GeoPointND) geo).getInhomCoordsInD3();
-					double x = coords.getX();
-					double y = coords.getY();
-
-					valx = x;
-					valy = y;
-					sumx += valx;
-					sumy += valy;
-					sumxx += valx * valx;
-					sumyy += valy * valy;
-					sumxy += valx * valy;
-				} else {
-					result.setUndefined();
-					return;
-				}
-			}
-
+			stats = StatisticsAccumulator.getPoints(geoListx);
 		}
-
-		double mux = sumx / sizex;
-		double muy = sumy / sizex;
-		double var;
+		if (!stats.isDefined()) {
+			result.setUndefined();
+			return;
+		}
+		int n = stats.getCount();
 
 		switch (stat) {
 		default:
 			result.setValue(Double.NaN);
 			break;
 		case STATS_MEANX:
-			result.setValue(mux);
+			result.setValue(stats.getMeanX());
 			break;
 		case STATS_MEANY:
-			result.setValue(muy);
+			result.setValue(stats.getMeanY());
 			break;
 		case STATS_COVARIANCE:
-			result.setValue(sumxy / sizex - mux * muy);
+			result.setValue(stats.getSXY() / n);
 			break;
 		case STATS_SIGMAXY:
-			result.setValue(sumxy);
+			result.setValue(stats.getSigmaXY());
 			break;
 		case STATS_SIGMAXX:
-			result.setValue(sumxx);
+			result.setValue(stats.getSigmaXX());
 			break;
 		case STATS_SIGMAYY:
-			result.setValue(sumyy);
+			result.setValue(stats.getSigmaYY());
 			break;
 		case STATS_SXX:
-			result.setValue(sumxx - sumx * sumx / sizex);
+			result.setValue(stats.getSXX());
 			break;
 		case STATS_SYY:
-			result.setValue(sumyy - sumy * sumy / sizex);
+			result.setValue(stats.getSYY());
 			break;
 		case STATS_SXY:
-			result.setValue(sumxy - sumx * sumy / sizex);
+			result.setValue(stats.getSXY());
 			break;
 		case STATS_PMCC:
-			result.setValue((sumxy * sizex - sumx * sumy)
-					/ Math.sqrt((sumxx * sizex - sumx * sumx)
-							* (sumyy * sizex - sumy * sumy)));
+			result.setValue(stats.getSXY()
+					/ Math.sqrt(stats.getSXX() * stats.getSYY()));
 			break;
 		case STATS_SAMPLESDX:
-			var = (sumxx - sumx * sumx / sizex) / (sizex - 1);
-			result.setValue(Math.sqrt(var));
+			result.setValue(Math.sqrt(stats.getSXX() / (n - 1)));
 			break;
 		case STATS_SAMPLESDY:
-			var = (sumyy - sumy * sumy / sizey) / (sizey - 1);
-			result.setValue(Math.sqrt(var));
+			result.setValue(Math.sqrt(stats.getSYY() / (n - 1)));
 			break;
 		case STATS_SDX:
-			var = (sumxx - sumx * sumx / sizex) / sizex;
-			result.setValue(Math.sqrt(var));
+			result.setValue(Math.sqrt(stats.getSXX() / n));
 			break;
 		case STATS_SDY:
-			var = (sumyy - sumy * sumy / sizey) / sizey;
-			result.setValue(Math.sqrt(var));
+			result.setValue(Math.sqrt(stats.getSYY() / n));
 			break;
 		}
 	}
@@ -6,6 +6,7 @@ import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.ListColumns;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.util.debug.Log;
 
@@ -576,6 +577,12 @@ public final class RegressionMath {
 		double[] xy = new double[2];
 		GeoElement geoelement;
 		// GeoPoint geopoint;
+		ListColumns points = geolist.getColumns();
+		if (points != null && points.isPoints()) {
+			xlist = points.toArray();
+			ylist = points.toArrayY();
+			return;
+		}
 		xlist = new double[size];
 		ylist = new double[size];
 		for (int i = 0; i < size; i++) {
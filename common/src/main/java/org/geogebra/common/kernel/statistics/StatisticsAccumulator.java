@@ -0,0 +1,312 @@
+package org.geogebra.common.kernel.statistics;
+
+import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.ListColumns;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
+
+/**
+ * Sums, moments and extremes of a list of numbers, a list of points or a
+ * pair of number lists, computed in a single pass. Second moments use
+ * Welford's updates, which stay accurate for data with a large mean.
+ *
+ * The accumulator is stored in the (first) list, so all statistics algos
+ * using the same data share one pass over it. It is recomputed when the list
+ * changed and extended when elements were only appended.
+ */
+public final class StatisticsAccumulator {
+
+	private static final int NUMBERS = 0;
+	private static final int POINTS = 1;
+	private static final int PAIRS = 2;
+
+	private final int type;
+	/** y-values for pairs, null otherwise */
+	private final GeoList listY;
+	private int versionX = -1;
+	private int versionY = -1;
+
+	private boolean defined = true;
+	private int count;
+	private double meanX;
+	private double meanY;
+	private double m2X;
+	private double m2Y;
+	private double cXY;
+	private double sumX;
+	private double sumY;
+	private double sumXX;
+	private double sumYY;
+	private double sumXY;
+	private double product = 1;
+	private double minX = Double.POSITIVE_INFINITY;
+	private double maxX = Double.NEGATIVE_INFINITY;
+	private double minY = Double.POSITIVE_INFINITY;
+	private double maxY = Double.NEGATIVE_INFINITY;
+
+	private StatisticsAccumulator(int type, GeoList listY) {
+		this.type = type;
+		this.listY = listY;
+	}
+
+	/**
+	 * @param list
+	 *            list of numbers
+	 * @return statistics of the numbers, undefined if the list contains
+	 *         other objects
+	 */
+	public static StatisticsAccumulator getNumbers(GeoList list) {
+		return get(list, null, NUMBERS);
+	}
+
+	/**
+	 * @param list
+	 *            list of points
+	 * @return statistics of the coordinates, undefined if the list contains
+	 *         other objects
+	 */
+	public static StatisticsAccumulator getPoints(GeoList list) {
+		return get(list, null, POINTS);
+	}
+
+	/**
+	 * @param listX
+	 *            x-values
+	 * @param listY
+	 *            y-values, same size as x-values
+	 * @return statistics of the pairs, undefined if one of the lists
+	 *         contains other objects than numbers
+	 */
+	public static StatisticsAccumulator getPairs(GeoList listX,
+			GeoList listY) {
+		return get(listX, listY, PAIRS);
+	}
+
+	private static StatisticsAccumulator get(GeoList listX, GeoList listY,
+			int type) {
+		if (listY != null && listY.size() != listX.size()) {
+			StatisticsAccumulator stats = new StatisticsAccumulator(type,
+					listY);
+			stats.defined = false;
+			return stats;
+		}
+		StatisticsAccumulator stats = listX.getStatistics();
+		if (stats == null || !stats.canExtend(listX, listY, type)) {
+			stats = new StatisticsAccumulator(type, listY);
+			listX.setStatistics(stats);
+		}
+		stats.extend(listX);
+		return stats;
+	}
+
+	private boolean canExtend(GeoList listX, GeoList otherY, int otherType) {
+		return type == otherType && listY == otherY
+				&& listX.isAppendedSince(versionX)
+				&& (listY == null || listY.isAppendedSince(versionY))
+				&& count <= listX.size();
+	}
+
+	private void extend(GeoList listX) {
+		if (versionX == listX.getVersion()
+				&& (listY == null || versionY == listY.getVersion())) {
+			return;
+		}
+		versionX = listX.getVersion();
+		versionY = listY == null ? -1 : listY.getVersion();
+		int size = listX.size();
+		if (!defined) {
+			count = size;
+			return;
+		}
+		ListColumns columns = listX.getColumns();
+		if (columns != null && columns.isPoints() != (type == POINTS)) {
+			columns = null;
+		}
+		for (int i = count; i < size && defined; i++) {
+			if (columns != null) {
+				if (type == POINTS) {
+					add(columns.getX(i), columns.getY(i));
+				} else {
+					addFromElements(columns.getValue(i), i);
+				}
+			} else if (type == POINTS) {
+				GeoElement geo = listX.get(i);
+				if (geo.isGeoPoint()) {
+					Coords coords = ((GeoPointND) geo).getInhomCoordsInD3();
+					add(coords.getX(), coords.getY());
+				} else {
+					defined = false;
+				}
+			} else {
+				GeoElement geo = listX.get(i);
+				if (geo instanceof NumberValue) {
+					addFromElements(geo.evaluateDouble(), i);
+				} else {
+					defined = false;
+				}
+			}
+		}
+		count = size;
+	}
+
+	private void addFromElements(double x, int index) {
+		if (listY == null) {
+			add(x);
+			return;
+		}
+		GeoElement geoY = listY.get(index);
+		if (geoY instanceof NumberValue) {
+			add(x, geoY.evaluateDouble());
+		} else {
+			defined = false;
+		}
+	}
+
+	private void add(double x) {
+		int n = count + 1;
+		double dx = x - meanX;
+		meanX += dx / n;
+		m2X += dx * (x - meanX);
+		sumX += x;
+		sumXX += x * x;
+		product *= x;
+		minX = Math.min(minX, x);
+		maxX = Math.max(maxX, x);
+		count = n;
+	}
+
+	private void add(double x, double y) {
+		double dy = y - meanY;
+		meanY += dy / (count + 1);
+		m2Y += dy * (y - meanY);
+		// uses the updated y mean and the old x mean
+		cXY += (x - meanX) * (y - meanY);
+		sumY += y;
+		sumYY += y * y;
+		sumXY += x * y;
+		minY = Math.min(minY, y);
+		maxY = Math.max(maxY, y);
+		add(x);
+	}
+
+	/**
+	 * @return false if the data contain objects of wrong type
+	 */
+	public boolean isDefined() {
+		return defined;
+	}
+
+	/**
+	 * @return number of values (points, pairs)
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return mean of x-values
+	 */
+	public double getMeanX() {
+		return sumX / count;
+	}
+
+	/**
+	 * @return mean of y-values
+	 */
+	public double getMeanY() {
+		return sumY / count;
+	}
+
+	/**
+	 * @return sum of x-values
+	 */
+	public double getSigmaX() {
+		return sumX;
+	}
+
+	/**
+	 * @return sum of y-values
+	 */
+	public double getSigmaY() {
+		return sumY;
+	}
+
+	/**
+	 * @return sum of squares of x-values
+	 */
+	public double getSigmaXX() {
+		return sumXX;
+	}
+
+	/**
+	 * @return sum of squares of y-values
+	 */
+	public double getSigmaYY() {
+		return sumYY;
+	}
+
+	/**
+	 * @return sum of products x * y
+	 */
+	public double getSigmaXY() {
+		return sumXY;
+	}
+
+	/**
+	 * @return sum of squared deviations of x-values from their mean
+	 */
+	public double getSXX() {
+		return m2X;
+	}
+
+	/**
+	 * @return sum of squared deviations of y-values from their mean
+	 */
+	public double getSYY() {
+		return m2Y;
+	}
+
+	/**
+	 * @return sum of products of deviations from the means
+	 */
+	public double getSXY() {
+		return cXY;
+	}
+
+	/**
+	 * @return product of x-values
+	 */
+	public double getProduct() {
+		return product;
+	}
+
+	/**
+	 * @return minimum of x-values
+	 */
+	public double getMinX() {
+		return minX;
+	}
+
+	/**
+	 * @return maximum of x-values
+	 */
+	public double getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * @return minimum of y-values
+	 */
+	public double getMinY() {
+		return minY;
+	}
+
+	/**
+	 * @return maximum of y-values
+	 */
+	public double getMaxY() {
+		return maxY;
+	}
+}
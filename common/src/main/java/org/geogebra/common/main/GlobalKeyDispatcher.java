@@ -19,7 +19,6 @@ import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.ConstructionDefaults;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
-import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.geos.AbsoluteScreenLocateable;
 import org.geogebra.common.kernel.geos.GeoAngle;
 import org.geogebra.common.kernel.geos.GeoBoolean;
@@ -53,7 +52,6 @@ public abstract class GlobalKeyDispatcher {
 	@Weak
 	protected final SelectionManager selection;
 
-	private TreeSet<AlgoElement> tempSet;
 	private Coords tempVec;
 	private boolean hasUnsavedGeoChanges;
 
@@ -99,16 +97,6 @@ public abstract class GlobalKeyDispatcher {
 		}
 	}
 
-	/**
-	 * @return temporary set of algos
-	 */
-	protected TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	/**
 	 * Open rename dialog when first letter is typed
 	 * 
@@ -1593,7 +1581,7 @@ public abstract class GlobalKeyDispatcher {
 			}
 
 			// update all geos together
-			GeoElement.updateCascade(geos, getTempSet(), false);
+			GeoElement.updateCascade(geos, false);
 			app.getKernel().notifyRepaint();
 
 			return true;
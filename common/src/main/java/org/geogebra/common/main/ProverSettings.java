@@ -52,6 +52,12 @@ public class ProverSettings {
 	 */
 	public boolean captionAlgebra = false;
 
+	/**
+	 * Compute independent subtasks of a proof concurrently, each in its own CAS
+	 * instance. Used by Botana's prover with Giac on platforms with threads.
+	 */
+	public boolean parallel = false;
+
 	/**
 	 * @return singleton instance
 	 */
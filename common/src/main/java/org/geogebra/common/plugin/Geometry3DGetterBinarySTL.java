@@ -0,0 +1,226 @@
+package org.geogebra.common.plugin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Geometry getter writing binary STL to an output stream, triangle by
+ * triangle. Only the vertices of the current geometry and a small output
+ * buffer are kept in memory, whatever the size of the scene.
+ *
+ * Binary STL stores the number of triangles before the triangles. When it is
+ * not known in advance, the count written is 0: it can then be patched at
+ * {@link #TRIANGLE_COUNT_OFFSET} using {@link #getTriangleCount()} (e.g. with
+ * a file channel), or the export can be run once with a null output stream
+ * to count the triangles first.
+ */
+public class Geometry3DGetterBinarySTL implements Geometry3DGetter {
+
+	/** header length */
+	public static final int HEADER_LENGTH = 80;
+	/** offset of the triangle count (unsigned 32-bit little endian) */
+	public static final int TRIANGLE_COUNT_OFFSET = HEADER_LENGTH;
+	/** length of one triangle record */
+	public static final int TRIANGLE_LENGTH = 50;
+
+	private static final String HEADER = "geogebra binary stl";
+	// triangles written at once
+	private static final int BUFFER_TRIANGLES = 1024;
+
+	private final OutputStream out;
+	private final int expectedTriangleCount;
+	private final double scale;
+
+	private byte[] buffer;
+	private int bufferLength;
+	private boolean headerWritten;
+	private IOException error;
+
+	// vertices and normals of current geometry
+	private double[] vertices = new double[3 * 256];
+	private double[] normals = new double[3 * 256];
+	private int vertexCount;
+
+	private int triangleCount;
+
+	/**
+	 * @param out
+	 *            output stream; if null, only counts the triangles
+	 * @param expectedTriangleCount
+	 *            triangle count written in the header (0 if unknown)
+	 * @param scale
+	 *            scale from view units to STL units
+	 */
+	public Geometry3DGetterBinarySTL(OutputStream out,
+			int expectedTriangleCount, double scale) {
+		this.out = out;
+		this.expectedTriangleCount = expectedTriangleCount;
+		this.scale = scale;
+		if (out != null) {
+			buffer = new byte[TRIANGLE_LENGTH * BUFFER_TRIANGLES];
+		}
+	}
+
+	@Override
+	public boolean handles(GeoElement geo, GeometryType type) {
+		// axes are not part of the construction to print
+		return type != GeometryType.AXIS;
+	}
+
+	@Override
+	public void startGeometry(GeometryType type) {
+		vertexCount = 0;
+	}
+
+	@Override
+	public void addVertexNormalColor(double x, double y, double z, double nx,
+			double ny, double nz, double r, double g, double b, double a) {
+		int index = 3 * vertexCount;
+		if (index + 3 > vertices.length) {
+			vertices = grow(vertices);
+			normals = grow(normals);
+		}
+		vertices[index] = x * scale;
+		vertices[index + 1] = y * scale;
+		vertices[index + 2] = z * scale;
+		normals[index] = nx;
+		normals[index + 1] = ny;
+		normals[index + 2] = nz;
+		vertexCount++;
+	}
+
+	private static double[] grow(double[] array) {
+		double[] ret = new double[array.length * 2];
+		System.arraycopy(array, 0, ret, 0, array.length);
+		return ret;
+	}
+
+	@Override
+	public void addTriangle(int i1, int i2, int i3) {
+		if (i1 < 0 || i2 < 0 || i3 < 0 || i1 >= vertexCount
+				|| i2 >= vertexCount || i3 >= vertexCount) {
+			return;
+		}
+		int v1 = 3 * i1;
+		int v2 = 3 * i2;
+		int v3 = 3 * i3;
+
+		double ax = vertices[v2] - vertices[v1];
+		double ay = vertices[v2 + 1] - vertices[v1 + 1];
+		double az = vertices[v2 + 2] - vertices[v1 + 2];
+		double bx = vertices[v3] - vertices[v1];
+		double by = vertices[v3 + 1] - vertices[v1 + 1];
+		double bz = vertices[v3 + 2] - vertices[v1 + 2];
+		double nx = ay * bz - az * by;
+		double ny = az * bx - ax * bz;
+		double nz = ax * by - ay * bx;
+		double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+		if (length == 0 || Double.isNaN(length)) {
+			// degenerated triangle
+			return;
+		}
+		nx /= length;
+		ny /= length;
+		nz /= length;
+
+		// keep vertices order consistent with normals used for rendering
+		double dot = nx * (normals[v1] + normals[v2] + normals[v3])
+				+ ny * (normals[v1 + 1] + normals[v2 + 1] + normals[v3 + 1])
+				+ nz * (normals[v1 + 2] + normals[v2 + 2] + normals[v3 + 2]);
+		if (dot < 0) {
+			int tmp = v2;
+			v2 = v3;
+			v3 = tmp;
+			nx = -nx;
+			ny = -ny;
+			nz = -nz;
+		}
+
+		triangleCount++;
+		if (out == null || error != null) {
+			return;
+		}
+
+		if (!headerWritten) {
+			writeHeader();
+		}
+		if (bufferLength + TRIANGLE_LENGTH > buffer.length) {
+			flushBuffer();
+		}
+		putFloat(nx);
+		putFloat(ny);
+		putFloat(nz);
+		putVertex(v1);
+		putVertex(v2);
+		putVertex(v3);
+		// attribute byte count
+		buffer[bufferLength++] = 0;
+		buffer[bufferLength++] = 0;
+	}
+
+	private void writeHeader() {
+		headerWritten = true;
+		for (int i = 0; i < HEADER_LENGTH; i++) {
+			buffer[i] = i < HEADER.length() ? (byte) HEADER.charAt(i) : 32;
+		}
+		bufferLength = HEADER_LENGTH;
+		putInt(expectedTriangleCount);
+	}
+
+	private void putVertex(int index) {
+		putFloat(vertices[index]);
+		putFloat(vertices[index + 1]);
+		putFloat(vertices[index + 2]);
+	}
+
+	private void putFloat(double value) {
+		putInt(Float.floatToIntBits((float) value));
+	}
+
+	private void putInt(int value) {
+		buffer[bufferLength++] = (byte) value;
+		buffer[bufferLength++] = (byte) (value >> 8);
+		buffer[bufferLength++] = (byte) (value >> 16);
+		buffer[bufferLength++] = (byte) (value >> 24);
+	}
+
+	private void flushBuffer() {
+		try {
+			out.write(buffer, 0, bufferLength);
+		} catch (IOException e) {
+			error = e;
+		}
+		bufferLength = 0;
+	}
+
+	/**
+	 * Writes remaining data (and header if no triangle was written).
+	 *
+	 * @throws IOException
+	 *             if writing to the output stream failed
+	 */
+	public void finish() throws IOException {
+		if (out == null) {
+			return;
+		}
+		if (!headerWritten && error == null) {
+			writeHeader();
+		}
+		if (bufferLength > 0 && error == null) {
+			flushBuffer();
+		}
+		if (error != null) {
+			throw error;
+		}
+		out.flush();
+	}
+
+	/**
+	 * @return number of triangles exported so far
+	 */
+	public int getTriangleCount() {
+		return triangleCount;
+	}
+}
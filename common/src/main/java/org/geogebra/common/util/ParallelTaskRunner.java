@@ -0,0 +1,19 @@
+package org.geogebra.common.util;
+
+/**
+ * Runs mutually independent tasks concurrently. Only available on platforms
+ * with threads, see
+ * {@link org.geogebra.common.factories.UtilFactory#newParallelTaskRunner()}.
+ */
+public interface ParallelTaskRunner {
+
+	/**
+	 * Runs all given tasks and returns once all of them are done.
+	 * 
+	 * @param tasks
+	 *            tasks, none of them may depend on another
+	 * @param size
+	 *            number of tasks to run
+	 */
+	void runAll(Runnable[] tasks, int size);
+}
@@ -1,5 +1,7 @@
 package org.geogebra.desktop.geogebra3D.euclidian3D.opengl;
 
+import java.util.Arrays;
+
 import javax.media.opengl.GL;
 import javax.media.opengl.GL2ES2;
 import javax.media.opengl.GL2GL3;
@@ -177,6 +179,15 @@ public class RendererImplShadersD extends RendererImplShaders {
 		jogl.getGL2ES2().glGenBuffers(GLSL_ATTRIB_SIZE, vboHandles, 0);
 	}
 
+	@Override
+	final protected void createVBOs(int start) {
+		if (vboHandles.length < start + GLSL_ATTRIB_SIZE) {
+			vboHandles = Arrays.copyOf(vboHandles,
+					Math.max(2 * vboHandles.length, start + GLSL_ATTRIB_SIZE));
+		}
+		jogl.getGL2ES2().glGenBuffers(GLSL_ATTRIB_SIZE, vboHandles, start);
+	}
+
 	@Override
 	final protected int getStoreBufferNumBytes(int length, int size) {
 		return length * size * 4; // 4 bytes per float
@@ -233,6 +244,24 @@ public class RendererImplShadersD extends RendererImplShaders {
 
 	}
 
+	@Override
+	protected void glBufferSubData(int offset, int length, GLBuffer fb) {
+		fb.position(offset);
+		jogl.getGL2ES2().glBufferSubData(GL.GL_ARRAY_BUFFER, offset * 4L,
+				length * 4L, ((GLBufferJre) fb).getBuffer());
+		fb.rewind();
+	}
+
+	@Override
+	protected void glBufferSubDataIndices(int offset, int length,
+			GLBufferIndices arrayI) {
+		arrayI.position(offset);
+		jogl.getGL2ES2().glBufferSubData(GL.GL_ELEMENT_ARRAY_BUFFER,
+				offset * 2L, length * 2L,
+				((GLBufferIndicesJre) arrayI).getBuffer());
+		arrayI.rewind();
+	}
+
 	@Override
 	public void draw(Manager.Type type, int length) {
 
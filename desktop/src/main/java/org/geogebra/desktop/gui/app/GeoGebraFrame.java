@@ -43,6 +43,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -65,6 +67,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
+import org.geogebra.common.plugin.Geometry3DGetterBinarySTL;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
@@ -1054,6 +1057,18 @@ public class GeoGebraFrame extends JFrame
 				@Override
 				public void run() {
 
+					if ("stl".equals(extension)) {
+						try {
+							exportBinarySTL(app, new File(filename));
+							Log.debug("3D View exported successfully to "
+									+ filename);
+						} catch (Throwable t) {
+							t.printStackTrace();
+						}
+						AppD.exit(0);
+						return;
+					}
+
 					EuclidianViewInterfaceD ev = (EuclidianViewInterfaceD) app
 							.getActiveEuclidianView();
 					try {
@@ -1143,6 +1158,45 @@ public class GeoGebraFrame extends JFrame
 		}
 	}
 
+	/**
+	 * Streams the 3D construction as binary STL, so that memory does not
+	 * depend on the mesh size.
+	 * 
+	 * @param app
+	 *            application
+	 * @param file
+	 *            STL file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	static void exportBinarySTL(AppD app, File file) throws IOException {
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			// 1 unit = 10mm, as for 3D printing export
+			Geometry3DGetterBinarySTL getter = new Geometry3DGetterBinarySTL(
+					out, 0, 10);
+			if (app.isEuclidianView3Dinited()) {
+				// xmin > xmax: use 3D view settings
+				app.getGgbApi().exportGeometry3D(getter, 0, -1, 0, 0, 0, 0, 1,
+						1, 1, 1, 1);
+			} else {
+				app.getGgbApi().exportGeometry3D(getter, -5, 5, -5, 5, -5, 5,
+						1, 1, 1, 1, 1);
+			}
+			getter.finish();
+
+			// triangle count was unknown when header was written
+			ByteBuffer count = ByteBuffer.allocate(4)
+					.order(ByteOrder.LITTLE_ENDIAN);
+			count.putInt(getter.getTriangleCount());
+			count.flip();
+			out.getChannel().write(count,
+					Geometry3DGetterBinarySTL.TRIANGLE_COUNT_OFFSET);
+		} finally {
+			out.close();
+		}
+	}
+
 	@Override
 	public void componentMoved(ComponentEvent e) {
 		// TODO Auto-generated method stub
@@ -98,12 +98,18 @@ public class UndoManagerD extends UndoManager {
 			public Object run() {
 				try {
 					// perform the security-sensitive operation here
-					// save to file
-					AppState appStateToAdd = new FileAppState(undoXML);
+					// keep changes in memory or save to file
+					AppState appStateToAdd = createDeltaState(undoXML);
+					if (appStateToAdd == null) {
+						appStateToAdd = new FileAppState(undoXML);
+					}
 
 					// insert undo info
 					UndoCommand command = new UndoCommand(appStateToAdd);
-					maybeStoreUndoCommand(command);
+					if (!maybeStoreUndoCommand(command)) {
+						// same as current state
+						appStateToAdd.delete();
+					}
 					pruneStateList();
 					app.getEventDispatcher().dispatchEvent(
 							new Event(EventType.STOREUNDO));
@@ -133,9 +139,11 @@ public class UndoManagerD extends UndoManager {
 		InputStream is = null;
 
 		try {
-			// load from file
-			File tempFile = ((FileAppState) info).getFile();
-			is = new FileInputStream(tempFile);
+			// load from file, delta states are kept in memory
+			if (info instanceof FileAppState) {
+				File tempFile = ((FileAppState) info).getFile();
+				is = new FileInputStream(tempFile);
+			}
 
 			// make sure objects are displayed in the correct View
 			app.setActiveView(App.VIEW_EUCLIDIAN);
@@ -170,7 +178,11 @@ public class UndoManagerD extends UndoManager {
 
 			// load undo info
 			app.getScriptManager().disableListeners();
-			((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			if (is != null) {
+				((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			} else {
+				processXML(info.getXml(), false);
+			}
 			if (changed) {
 				listSelModel.setAnchorSelectionIndex(anchorIndex);
 				listSelModel.setLeadSelectionIndex(leadIndex);
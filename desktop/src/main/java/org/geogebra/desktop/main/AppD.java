@@ -117,6 +117,7 @@ import org.geogebra.common.GeoGebraConstants.Platform;
 import org.geogebra.common.awt.GDimension;
 import org.geogebra.common.awt.GFont;
 import org.geogebra.common.awt.MyImage;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.euclidian.EuclidianCursor;
@@ -775,6 +776,9 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 																	// accepted
 					+ "  --showSplash=BOOLEAN\tenable/disable the splash screen\n"
 					+ "  --enableUndo=BOOLEAN\tenable/disable Undo\n"
+					+ "  --parallelUpdate=BOOLEAN\tcompute independent objects of large updates in parallel\n"
+					+ "  --casCache=FILENAME\tload cached CAS results from file, save them on exit\n"
+					+ "  --deltaUndo=MEGABYTES\tkeep undo points in memory as changes, using at most MEGABYTES\n"
 					+ "  --fontSize=NUMBER\tset default font size\n"
 					+ "  --showAxes=BOOLEAN\tshow/hide coordinate axes\n"
 					+ "  --showGrid=BOOLEAN\tshow/hide grid\n"
@@ -829,6 +833,9 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 							+ "      captionalgebra:BOOLEAN\tshow algebraic debug information in object captions ["
 							+ proverSettings.captionAlgebra
 							+ "] (Botana only)\n"
+							+ "      parallel:BOOLEAN\tcompute independent subtasks concurrently ["
+							+ proverSettings.parallel
+							+ "] (Botana only, needs Giac)\n"
 							+ "  Example: --prover=engine:Botana,timeout:10,fpnevercoll:true,usefixcoords:43\n");
 			AppD.exit(0);
 		}
@@ -943,6 +950,25 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			setUndoActive(false);
 		}
 
+		if (args.getBooleanValue("parallelUpdate", false)) {
+			kernel.setParallelUpdate(true);
+		}
+
+		String casCacheFile = args.getStringValue("casCache");
+		if (casCacheFile.length() > 0) {
+			useCasCacheFile(casCacheFile);
+		}
+
+		String deltaUndo = args.getStringValue("deltaUndo");
+		if (deltaUndo.length() > 0) {
+			try {
+				kernel.getConstruction().getUndoManager()
+						.setDeltaStorage(Long.parseLong(deltaUndo) << 20);
+			} catch (NumberFormatException e) {
+				Log.warn("invalid undo memory: " + deltaUndo);
+			}
+		}
+
 		if (args.containsArg("showAxes")) {
 			boolean showAxesParam = args.getBooleanValue("showAxes", true);
 			this.showAxes[0] = showAxesParam;
@@ -1221,6 +1247,10 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			proverSettings.captionAlgebra = Boolean.parseBoolean(str[1]);
 			return;
 		}
+		if ("parallel".equalsIgnoreCase(str[0])) {
+			proverSettings.parallel = Boolean.parseBoolean(str[1]);
+			return;
+		}
 		Log.warn("Prover option not recognized: ".concat(option));
 	}
 
@@ -1493,6 +1523,29 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 		AppD.exit(0);
 	}
 
+	/**
+	 * Loads CAS results saved in a previous session and saves the cache when
+	 * the JVM exits.
+	 * 
+	 * @param fileName
+	 *            snapshot file, created on exit if it doesn't exist
+	 */
+	private void useCasCacheFile(final String fileName) {
+		final CasResultCache cache = kernel.getCasCache();
+		if (new File(fileName).exists()) {
+			int loaded = cache
+					.loadSnapshot(UtilD.loadFileIntoString(fileName));
+			Log.debug(loaded + " CAS results loaded from " + fileName);
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				Log.debug(cache);
+				UtilD.writeStringToFile(cache.getSnapshot(), fileName);
+			}
+		});
+	}
+
 	/**
 	 * This function helps determine if a ggt file was loaded because if a ggt
 	 * file was loaded we will need to load something instead of the ggb
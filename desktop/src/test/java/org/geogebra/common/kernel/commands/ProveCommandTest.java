@@ -1,8 +1,11 @@
 package org.geogebra.common.kernel.commands;
 
 import static org.geogebra.test.TestStringUtil.unicode;
+import static org.junit.Assert.assertEquals;
 
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.ProverSettings;
 import org.geogebra.desktop.headless.AppDNoGui;
 import org.geogebra.desktop.main.LocalizationD;
 import org.geogebra.test.TestStringUtil;
@@ -48,6 +51,27 @@ public class ProveCommandTest {
 		t("Prove[ (1,1)==P ]", "false");
 	}
 
+	@Test
+	public void cmdProveParallel() {
+		t("A=(0,0)", "(0, 0)");
+		t("B=(2,1)", "(2, 1)");
+		t("M=Midpoint(A,B)", "(1, 0.5)");
+		String sequential = proveDetails("AreCollinear(A,M,B)");
+		ProverSettings.get().parallel = true;
+		try {
+			t("Prove[ AreCollinear(A,M,B) ]", "true");
+			assertEquals(sequential, proveDetails("AreCollinear(A,M,B)"));
+		} finally {
+			ProverSettings.get().parallel = false;
+		}
+	}
+
+	private static String proveDetails(String statement) {
+		GeoElementND[] result = proc.processAlgebraCommand(
+				"ProveDetails[" + statement + "]", false);
+		return result[0].toValueString(StringTemplate.defaultTemplate);
+	}
+
 	@Test
 	public void cmdLocusEquation() {
 		t("c=Circle((0,0), 2)", TestStringUtil.unicode("x^2 + y^2 = 4"));
@@ -117,10 +117,36 @@ public class TeXIcon implements Icon {
 		}
 	}
 
+	private TeXIcon(TeXIcon icon) {
+		box = icon.box;
+		size = icon.size;
+		insets = new Insets(icon.insets.top, icon.insets.left,
+				icon.insets.bottom, icon.insets.right);
+		fg = icon.fg;
+		isColored = icon.isColored;
+	}
+
+	/**
+	 * Creates an icon that paints the same formula box; its insets and
+	 * foreground color can be changed without affecting this icon.
+	 *
+	 * @return copy of this icon
+	 */
+	public TeXIcon copy() {
+		return new TeXIcon(this);
+	}
+
 	public void setForeground(Color fg) {
 		this.fg = fg;
 	}
 
+	/**
+	 * @return foreground color, null to use the color of the component
+	 */
+	public Color getForeground() {
+		return fg;
+	}
+
 	/**
 	 * Get the insets of the TeXIcon.
 	 *
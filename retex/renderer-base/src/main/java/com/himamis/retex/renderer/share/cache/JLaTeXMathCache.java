@@ -45,12 +45,8 @@
 
 package com.himamis.retex.renderer.share.cache;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.LinkedHashMap;
 
 import com.himamis.retex.renderer.share.TeXFormula;
 import com.himamis.retex.renderer.share.TeXIcon;
@@ -60,20 +56,40 @@ import com.himamis.retex.renderer.share.platform.graphics.Color;
 import com.himamis.retex.renderer.share.platform.graphics.Graphics2DInterface;
 import com.himamis.retex.renderer.share.platform.graphics.Image;
 import com.himamis.retex.renderer.share.platform.graphics.Insets;
-import com.himamis.retex.renderer.share.platform.graphics.Transform;
 
 /**
- * Class to cache generated image from formulas
+ * Class to cache generated image from formulas.
+ * 
+ * Images are kept in a least recently used cache bounded by their number and
+ * by their total size in bytes. Parsed formulas are cached separately, so
+ * that rendering a formula at another size or color doesn't parse it again.
  * 
  * @author Calixte DENIZET
  */
 public final class JLaTeXMathCache {
 
-	private static final Transform identity = new Graphics().createTransform();
-	private static ConcurrentMap<CachedTeXFormula, SoftReference<CachedImage>> cache = new ConcurrentHashMap<CachedTeXFormula, SoftReference<CachedImage>>(
-			128);
+	/** default max total size of cached images in bytes */
+	public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+	/** default max number of cached parsed formulas */
+	public static final int DEFAULT_MAX_FORMULAS = 256;
+
+	// images and parsed formulas, least recently used first;
+	// cache is also the lock for all fields below
+	private static final LinkedHashMap<CachedTeXFormula, CachedImage> cache = new LinkedHashMap<>(
+			128, 0.75f, true);
+	private static final LinkedHashMap<String, TeXFormula> formulas = new LinkedHashMap<>(
+			128, 0.75f, true);
 	private static int max = Integer.MAX_VALUE;
-	private static ReferenceQueue queue = new ReferenceQueue();
+	private static long maxBytes = DEFAULT_MAX_BYTES;
+	private static int maxFormulas = DEFAULT_MAX_FORMULAS;
+	private static long bytes;
+
+	private static long hits;
+	private static long misses;
+	private static long evictions;
+	private static long formulaHits;
+	private static long formulaMisses;
+	private static long formulaEvictions;
 
 	private JLaTeXMathCache() {
 	}
@@ -85,10 +101,48 @@ public final class JLaTeXMathCache {
 	 *            the max size
 	 */
 	public static void setMaxCachedObjects(int max) {
-		JLaTeXMathCache.max = Math.max(max, 1);
-		cache.clear();
-		cache = new ConcurrentHashMap<CachedTeXFormula, SoftReference<CachedImage>>(
-				JLaTeXMathCache.max);
+		synchronized (cache) {
+			JLaTeXMathCache.max = Math.max(max, 1);
+			clearCache();
+		}
+	}
+
+	/**
+	 * Set max total size of cached images, least recently used images are
+	 * removed when it is exceeded
+	 * 
+	 * @param maxBytes
+	 *            the max size in bytes
+	 */
+	public static void setMaxCachedBytes(long maxBytes) {
+		synchronized (cache) {
+			JLaTeXMathCache.maxBytes = Math.max(maxBytes, 0);
+			evictImages();
+		}
+	}
+
+	/**
+	 * Set max number of cached parsed formulas
+	 * 
+	 * @param maxFormulas
+	 *            the max number of formulas
+	 */
+	public static void setMaxCachedFormulas(int maxFormulas) {
+		synchronized (cache) {
+			JLaTeXMathCache.maxFormulas = Math.max(maxFormulas, 0);
+			evictFormulas();
+		}
+	}
+
+	/**
+	 * @return current counters of the cache
+	 */
+	public static Statistics getStatistics() {
+		synchronized (cache) {
+			return new Statistics(cache.size(), bytes, hits, misses,
+					evictions, formulas.size(), formulaHits, formulaMisses,
+					formulaEvictions);
+		}
 	}
 
 	/**
@@ -125,10 +179,7 @@ public final class JLaTeXMathCache {
 			return new int[] { 0, 0, 0 };
 		}
 		CachedTeXFormula cached = (CachedTeXFormula) o;
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
-		}
+		getImage(cached);
 
 		return new int[] { cached.width, cached.height, cached.depth };
 	}
@@ -150,10 +201,7 @@ public final class JLaTeXMathCache {
 			int size, int inset, Color fgcolor) throws ParseException {
 		CachedTeXFormula cached = new CachedTeXFormula(f, style, type, size,
 				inset, fgcolor);
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
-		}
+		getImage(cached);
 
 		return cached;
 	}
@@ -167,7 +215,11 @@ public final class JLaTeXMathCache {
 	 * Clear the cache
 	 */
 	public static void clearCache() {
-		cache.clear();
+		synchronized (cache) {
+			cache.clear();
+			formulas.clear();
+			bytes = 0;
+		}
 	}
 
 	/**
@@ -184,7 +236,7 @@ public final class JLaTeXMathCache {
 	 */
 	public static void removeCachedTeXFormula(String f, int style, int type,
 			int size, int inset, Color fgcolor) throws ParseException {
-		cache.remove(
+		removeCachedTeXFormula(
 				new CachedTeXFormula(f, style, type, size, inset, fgcolor));
 	}
 
@@ -202,7 +254,12 @@ public final class JLaTeXMathCache {
 	 */
 	public static void removeCachedTeXFormula(Object o) throws ParseException {
 		if (o != null && o instanceof CachedTeXFormula) {
-			cache.remove(o);
+			synchronized (cache) {
+				CachedImage img = cache.remove(o);
+				if (img != null) {
+					bytes -= img.bytes;
+				}
+			}
 		}
 	}
 
@@ -293,19 +350,46 @@ public final class JLaTeXMathCache {
 			return null;
 		}
 		CachedTeXFormula cached = (CachedTeXFormula) o;
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
+
+		return getImage(cached).image;
+	}
+
+	private static CachedImage getImage(CachedTeXFormula cached)
+			throws ParseException {
+		synchronized (cache) {
+			CachedImage img = cache.get(cached);
+			if (img != null) {
+				hits++;
+				CachedTeXFormula c = img.cachedTf;
+				cached.setDimensions(c.width, c.height, c.depth);
+				return img;
+			}
+			misses++;
 		}
 
-		return img.get().image;
+		// render outside of the lock
+		CachedImage img = makeImage(cached);
+		synchronized (cache) {
+			CachedImage old = cache.put(cached, img);
+			if (old != null) {
+				bytes -= old.bytes;
+			}
+			bytes += img.bytes;
+			evictImages();
+		}
+
+		return img;
 	}
 
-	private static SoftReference<CachedImage> makeImage(CachedTeXFormula cached)
+	private static CachedImage makeImage(CachedTeXFormula cached)
 			throws ParseException {
-		TeXFormula formula = new TeXFormula(cached.f);
-		TeXIcon icon = formula.createTeXIcon(cached.style, cached.size,
-				cached.type, cached.fgcolor);
+		TeXFormula formula = getFormula(cached.f);
+		TeXIcon icon;
+		// boxes are built from the shared parsed atoms
+		synchronized (formula) {
+			icon = formula.createTeXIcon(cached.style, cached.size,
+					cached.type, cached.fgcolor);
+		}
 		icon.setInsets(new Insets(cached.inset, cached.inset, cached.inset,
 				cached.inset));
 		Image image = new Graphics().createImage(icon.getIconWidth(),
@@ -315,40 +399,166 @@ public final class JLaTeXMathCache {
 		g2.dispose();
 		cached.setDimensions(icon.getIconWidth(), icon.getIconHeight(),
 				icon.getIconDepth());
-		SoftReference<CachedImage> img = new SoftReference<CachedImage>(
-				new CachedImage(image, cached), queue);
-
-		if (cache.size() >= max) {
-			Reference soft;
-			while ((soft = queue.poll()) != null) {
-				CachedImage ci = (CachedImage) soft.get();
-				if (ci != null) {
-					cache.remove(ci.cachedTf);
-				}
-			}
-			Iterator<CachedTeXFormula> iter = cache.keySet().iterator();
-			if (iter.hasNext()) {
-				CachedTeXFormula c = iter.next();
-				SoftReference<CachedImage> cachedImage = cache.get(c);
-				if (cachedImage != null) {
-					cachedImage.clear();
-				}
-				cache.remove(c);
+
+		return new CachedImage(image, cached);
+	}
+
+	private static TeXFormula getFormula(String f) throws ParseException {
+		synchronized (cache) {
+			TeXFormula formula = formulas.get(f);
+			if (formula != null) {
+				formulaHits++;
+				return formula;
 			}
+			formulaMisses++;
 		}
-		cache.put(cached, img);
 
-		return img;
+		// parse outside of the lock
+		TeXFormula formula = new TeXFormula(f);
+		synchronized (cache) {
+			formulas.put(f, formula);
+			evictFormulas();
+		}
+
+		return formula;
+	}
+
+	/**
+	 * Removes least recently used images until the limits are respected; the
+	 * most recent image is kept even if it exceeds the size limit
+	 */
+	private static void evictImages() {
+		Iterator<CachedImage> iter = cache.values().iterator();
+		while ((cache.size() > max || bytes > maxBytes) && cache.size() > 1
+				&& iter.hasNext()) {
+			bytes -= iter.next().bytes;
+			iter.remove();
+			evictions++;
+		}
+	}
+
+	private static void evictFormulas() {
+		Iterator<TeXFormula> iter = formulas.values().iterator();
+		while (formulas.size() > maxFormulas && iter.hasNext()) {
+			iter.next();
+			iter.remove();
+			formulaEvictions++;
+		}
+	}
+
+	/**
+	 * Counters of the cache
+	 */
+	public static final class Statistics {
+
+		private final int imageCount;
+		private final long imageBytes;
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final int formulaCount;
+		private final long formulaHits;
+		private final long formulaMisses;
+		private final long formulaEvictions;
+
+		Statistics(int imageCount, long imageBytes, long hits, long misses,
+				long evictions, int formulaCount, long formulaHits,
+				long formulaMisses, long formulaEvictions) {
+			this.imageCount = imageCount;
+			this.imageBytes = imageBytes;
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.formulaCount = formulaCount;
+			this.formulaHits = formulaHits;
+			this.formulaMisses = formulaMisses;
+			this.formulaEvictions = formulaEvictions;
+		}
+
+		/**
+		 * @return number of cached images
+		 */
+		public int getImageCount() {
+			return imageCount;
+		}
+
+		/**
+		 * @return total size of cached images in bytes
+		 */
+		public long getImageBytes() {
+			return imageBytes;
+		}
+
+		/**
+		 * @return number of images found in the cache
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return number of images that had to be rendered
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * @return number of images removed to respect the limits
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * @return number of cached parsed formulas
+		 */
+		public int getFormulaCount() {
+			return formulaCount;
+		}
+
+		/**
+		 * @return number of parsed formulas found in the cache
+		 */
+		public long getFormulaHits() {
+			return formulaHits;
+		}
+
+		/**
+		 * @return number of formulas that had to be parsed
+		 */
+		public long getFormulaMisses() {
+			return formulaMisses;
+		}
+
+		/**
+		 * @return number of parsed formulas removed to respect the limit
+		 */
+		public long getFormulaEvictions() {
+			return formulaEvictions;
+		}
+
+		@Override
+		public String toString() {
+			return "images: " + imageCount + " (" + imageBytes
+					+ " bytes), hits: " + hits + ", misses: " + misses
+					+ ", evictions: " + evictions + "; formulas: "
+					+ formulaCount + ", hits: " + formulaHits + ", misses: "
+					+ formulaMisses + ", evictions: " + formulaEvictions;
+		}
 	}
 
 	private static class CachedImage {
 
 		Image image;
 		CachedTeXFormula cachedTf;
+		long bytes;
 
 		CachedImage(Image image, CachedTeXFormula cachedTf) {
 			this.image = image;
 			this.cachedTf = cachedTf;
+			// ARGB
+			this.bytes = 4L * image.getWidth() * image.getHeight();
 		}
 	}
 
@@ -389,7 +599,8 @@ public final class JLaTeXMathCache {
 				CachedTeXFormula c = (CachedTeXFormula) o;
 				boolean b = (c.f.equals(f) && c.style == style && c.type == type
 						&& c.size == size && c.inset == inset
-						&& c.fgcolor.equals(fgcolor));
+						&& (c.fgcolor == null ? fgcolor == null
+								: c.fgcolor.equals(fgcolor)));
 				if (b) {
 					if (c.width == -1) {
 						c.width = width;
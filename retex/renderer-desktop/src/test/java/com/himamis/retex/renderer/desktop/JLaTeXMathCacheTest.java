@@ -0,0 +1,75 @@
+package com.himamis.retex.renderer.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.himamis.retex.renderer.desktop.graphics.ColorD;
+import com.himamis.retex.renderer.share.TeXConstants;
+import com.himamis.retex.renderer.share.cache.JLaTeXMathCache;
+import com.himamis.retex.renderer.share.cache.JLaTeXMathCache.Statistics;
+import com.himamis.retex.renderer.share.platform.FactoryProvider;
+import com.himamis.retex.renderer.share.platform.graphics.Color;
+
+public class JLaTeXMathCacheTest {
+
+	private static final Color BLACK = new ColorD(0, 0, 0);
+
+	@Before
+	public void setUp() {
+		FactoryProvider.setInstance(new FactoryProviderDesktop());
+		JLaTeXMathCache.setMaxCachedObjects(100);
+		JLaTeXMathCache.setMaxCachedBytes(JLaTeXMathCache.DEFAULT_MAX_BYTES);
+	}
+
+	@After
+	public void tearDown() {
+		JLaTeXMathCache.clearCache();
+	}
+
+	private static Object render(String latex, int size) {
+		return JLaTeXMathCache.getCachedTeXFormula(latex,
+				TeXConstants.STYLE_DISPLAY, 0, size, 1, BLACK);
+	}
+
+	@Test
+	public void reusesImagesAndFormulas() {
+		Statistics before = JLaTeXMathCache.getStatistics();
+		render("\\frac{a}{b}", 12);
+		render("\\frac{a}{b}", 12);
+		render("\\frac{a}{b}", 20);
+		Statistics after = JLaTeXMathCache.getStatistics();
+
+		assertEquals(1, after.getHits() - before.getHits());
+		assertEquals(2, after.getMisses() - before.getMisses());
+		// parsed once, rendered at two sizes
+		assertEquals(1, after.getFormulaMisses() - before.getFormulaMisses());
+		assertEquals(1, after.getFormulaHits() - before.getFormulaHits());
+		assertEquals(2, after.getImageCount());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedImages() {
+		Object first = render("a^2", 12);
+		Statistics before = JLaTeXMathCache.getStatistics();
+		long bytes = before.getImageBytes();
+		assertTrue(bytes > 0);
+		// room for about two images of that size
+		JLaTeXMathCache.setMaxCachedBytes(2 * bytes + bytes / 2);
+		render("c^2", 12);
+		JLaTeXMathCache.getCachedTeXFormulaImage(first);
+		render("e^2", 12);
+
+		Statistics stats = JLaTeXMathCache.getStatistics();
+		assertEquals(2, stats.getImageCount());
+		assertEquals(1, stats.getEvictions() - before.getEvictions());
+		assertTrue(stats.getImageBytes() <= 2 * bytes + bytes / 2);
+		// c^2 was evicted: a^2 was used more recently
+		long misses = stats.getMisses();
+		JLaTeXMathCache.getCachedTeXFormulaImage(first);
+		assertEquals(misses, JLaTeXMathCache.getStatistics().getMisses());
+	}
+}
@@ -103,6 +103,17 @@ public class GLBufferIndicesW implements GLBufferIndices {
 		return impl;
 	}
 
+	/**
+	 * @param start
+	 *            first index
+	 * @param end
+	 *            end of the range (exclusive)
+	 * @return buffer for the range
+	 */
+	public MyInt16Array getBuffer(int start, int end) {
+		return impl.subarray(start, end);
+	}
+
 	@Override
 	public void reallocate(int size) {
 		MyInt16Array oldImpl = impl;
@@ -144,6 +144,17 @@ public class GLBufferW implements GLBuffer {
 		return impl.subarray(0, currentLength);
 	}
 
+	/**
+	 * @param start
+	 *            first value
+	 * @param end
+	 *            end of the range (exclusive)
+	 * @return buffer for the range
+	 */
+	public Float32Array getBuffer(int start, int end) {
+		return impl.subarray(start, end);
+	}
+
 	@Override
 	public void reallocate(int size) {
 		MyFloat32Array oldImpl = impl;
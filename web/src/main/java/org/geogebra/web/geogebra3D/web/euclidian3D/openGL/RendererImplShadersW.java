@@ -1,6 +1,7 @@
 package org.geogebra.web.geogebra3D.web.euclidian3D.openGL;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.draw.DrawLabel3D;
@@ -140,6 +141,17 @@ public class RendererImplShadersW extends RendererImplShaders {
 		}
 	}
 
+	@Override
+	protected final void createVBOs(int start) {
+		if (vboHandles.length < start + GLSL_ATTRIB_SIZE) {
+			vboHandles = Arrays.copyOf(vboHandles,
+					Math.max(2 * vboHandles.length, start + GLSL_ATTRIB_SIZE));
+		}
+		for (int i = start; i < start + GLSL_ATTRIB_SIZE; i++) {
+			vboHandles[i] = glContext.createBuffer();
+		}
+	}
+
 	@Override
 	protected final int getStoreBufferNumBytes(int length, int size) {
 		return length * size * 4; // 4 bytes per float
@@ -197,6 +209,20 @@ public class RendererImplShadersW extends RendererImplShaders {
 						GL_TYPE_DRAW_TO_BUFFER);
 	}
 
+	@Override
+	protected void glBufferSubData(int offset, int length, GLBuffer fb) {
+		glContext.bufferSubData(WebGLRenderingContext.ARRAY_BUFFER, offset * 4,
+				((GLBufferW) fb).getBuffer(offset, offset + length));
+	}
+
+	@Override
+	protected void glBufferSubDataIndices(int offset, int length,
+			GLBufferIndices arrayI) {
+		glContext.bufferSubData(WebGLRenderingContext.ELEMENT_ARRAY_BUFFER,
+				offset * 2, ((GLBufferIndicesW) arrayI).getBuffer(offset,
+						offset + length));
+	}
+
 	@Override
 	public void draw(Manager.Type type, int length) {
 		glContext.drawElements(getGLType(type), length,